@@ -1,12 +1,17 @@
 package ru.sfedu.agileflow;
 
+import org.apache.log4j.LogManager;
 import org.apache.log4j.Logger;
+import ru.sfedu.agileflow.config.Instrumentation;
+import ru.sfedu.agileflow.config.SlowQueryLog;
 import ru.sfedu.agileflow.constants.Constants;
 import ru.sfedu.agileflow.dao.*;
+import ru.sfedu.agileflow.lab5.SummaryDAO;
 import ru.sfedu.agileflow.models.*;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.function.Function;
 
 /**
  * Класс для реализации командного интерфейса (CLI) приложения AgileFlow.
@@ -20,6 +25,14 @@ public class CLIApplication {
     private static final SprintDAO sprintDAO = new SprintDAO();
     private static final TaskDAO taskDAO = new TaskDAO();
     private static final RetrospectiveDAO retrospectiveDAO = new RetrospectiveDAO();
+    // CRUD-операции выполняются через обертки, записывающие метрики (пункт меню «Статистика»)
+    private static final GenericDAO<User, Integer> meteredUserDAO = InstrumentedDAO.wrap(userDAO);
+    private static final GenericDAO<Project, Integer> meteredProjectDAO = InstrumentedDAO.wrap(projectDAO);
+    private static final GenericDAO<Sprint, Integer> meteredSprintDAO = InstrumentedDAO.wrap(sprintDAO);
+    private static final GenericDAO<Task, Integer> meteredTaskDAO = InstrumentedDAO.wrap(taskDAO);
+    private static final GenericDAO<Retrospective, Integer> meteredRetrospectiveDAO = InstrumentedDAO.wrap(retrospectiveDAO);
+    // Размер страницы в списках спринтов и задач
+    private static final int PAGE_SIZE = 10;
     private static User currentUser;
 
     /**
@@ -27,7 +40,12 @@ public class CLIApplication {
      */
     public static void main(String[] args) {
         String methodName = "main";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        // Журнал пишется асинхронно: при выходе выводим оставшиеся в буфере события
+        Runtime.getRuntime().addShutdownHook(new Thread(LogManager::shutdown));
+        Instrumentation.registerMBean();
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
         try {
             showLoginMenu();
             while (true) {
@@ -37,7 +55,9 @@ public class CLIApplication {
             log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
             throw new RuntimeException("Ошибка в работе CLI приложения", e);
         } finally {
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
         }
     }
 
@@ -46,7 +66,9 @@ public class CLIApplication {
      */
     private static void showLoginMenu() {
         String methodName = "showLoginMenu";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
         while (currentUser == null) {
             System.out.println("\n=== Меню входа ===");
             System.out.println("1. Войти");
@@ -63,7 +85,9 @@ public class CLIApplication {
                 default -> System.out.println("Неверный выбор. Попробуйте снова.");
             }
         }
-        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+        }
     }
 
     /**
@@ -71,7 +95,9 @@ public class CLIApplication {
      */
     private static void login() {
         String methodName = "login";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
         System.out.print("Введите email: ");
         String email = scanner.nextLine();
         log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "Email: " + email));
@@ -80,14 +106,16 @@ public class CLIApplication {
         if (userOpt.isPresent()) {
             currentUser = userOpt.get();
             currentUser.setLastLogin(new Date());
-            userDAO.update(currentUser);
+            meteredUserDAO.update(currentUser);
             System.out.println("Добро пожаловать, " + currentUser.getName() + "!");
             log.info("login [1] Пользователь успешно вошел: " + currentUser.getName());
         } else {
             System.out.println("Пользователь с таким email не найден.");
             log.error("login [1] Пользователь с email " + email + " не найден");
         }
-        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+        }
     }
 
     /**
@@ -95,7 +123,9 @@ public class CLIApplication {
      */
     private static void register() {
         String methodName = "register";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
         System.out.print("Введите имя: ");
         String name = scanner.nextLine();
         System.out.print("Введите email: ");
@@ -107,7 +137,7 @@ public class CLIApplication {
 
         User user = new User(name, email, bio, true, new Date());
         try {
-            userDAO.create(user);
+            meteredUserDAO.create(user);
             currentUser = user;
             System.out.println("Регистрация успешна! Добро пожаловать, " + name + "!");
             log.info("register [1] Пользователь успешно зарегистрирован: " + name);
@@ -115,7 +145,9 @@ public class CLIApplication {
             System.out.println("Ошибка при регистрации: " + e.getMessage());
             log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
         }
-        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+        }
     }
 
     /**
@@ -123,11 +155,16 @@ public class CLIApplication {
      */
     private static void showMainMenu() {
         String methodName = "showMainMenu";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
         System.out.println("\n=== Главное меню ===");
         System.out.println("1. Просмотреть проекты");
         System.out.println("2. Создать проект");
-        System.out.println("3. Выйти");
+        System.out.println("3. Мои задачи");
+        System.out.println("4. Статистика производительности");
+        System.out.println("5. Сравнение запросов подсчета задач");
+        System.out.println("6. Выйти");
         System.out.print("Выберите опцию: ");
         String choice = scanner.nextLine();
         log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "Выбрана опция: " + choice));
@@ -135,13 +172,80 @@ public class CLIApplication {
         switch (choice) {
             case "1" -> showProjects();
             case "2" -> createProject();
-            case "3" -> {
+            case "3" -> showMyTasks();
+            case "4" -> System.out.println("\n=== Статистика производительности ===\n" + Instrumentation.dump()
+                    + "\n" + SlowQueryLog.dump());
+            case "5" -> analyzeQueries();
+            case "6" -> {
                 currentUser = null;
                 showLoginMenu();
             }
             default -> System.out.println("Неверный выбор. Попробуйте снова.");
         }
-        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+        }
+    }
+
+    /**
+     * Сравнивает варианты запроса подсчета задач (NativeSQL, HQL, Criteria) для проекта
+     * лабораторной работы 5 и выводит отчет.
+     */
+    private static void analyzeQueries() {
+        String methodName = "analyzeQueries";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
+        System.out.print("Введите id проекта (лабораторная 5): ");
+        String projectStr = scanner.nextLine();
+        System.out.print("Итераций прогрева: ");
+        String warmupStr = scanner.nextLine();
+        System.out.print("Итераций замера: ");
+        String iterationsStr = scanner.nextLine();
+        System.out.print("Потоков: ");
+        String threadsStr = scanner.nextLine();
+
+        try {
+            System.out.println("\n=== Сравнение запросов ===\n" + new SummaryDAO().analyzeTaskCountPerformance(
+                    Integer.parseInt(projectStr), Integer.parseInt(warmupStr),
+                    Integer.parseInt(iterationsStr), Integer.parseInt(threadsStr)).format());
+        } catch (NumberFormatException e) {
+            System.out.println("Введите целые числа.");
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Некорректный ввод: " + e.getMessage()));
+        } catch (Exception e) {
+            System.out.println("Ошибка при сравнении запросов: " + e.getMessage());
+            log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
+        }
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+        }
+    }
+
+    /**
+     * Отображает задачи, назначенные текущему пользователю, во всех проектах.
+     */
+    private static void showMyTasks() {
+        String methodName = "showMyTasks";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
+        List<Task> tasks = taskDAO.findByAssignee(currentUser.getId());
+        log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Найдено задач: " + tasks.size()));
+
+        if (tasks.isEmpty()) {
+            System.out.println("Вам не назначено ни одной задачи.");
+        } else {
+            System.out.println("\nМои задачи:");
+            for (int i = 0; i < tasks.size(); i++) {
+                Task task = tasks.get(i);
+                System.out.println((i + 1) + ". " + task.getTitle() + " (Статус: " + task.getStatus() +
+                        ", Приоритет: " + task.getPriority() +
+                        ", Проект: " + (task.getSprint() != null ? task.getSprint().getProject().getName() : "—") + ")");
+            }
+        }
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+        }
     }
 
     /**
@@ -149,7 +253,9 @@ public class CLIApplication {
      */
     private static void showProjects() {
         String methodName = "showProjects";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
         List<Project> projects = projectUserDAO.getProjectsByUser(currentUser.getId());
         log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Найдено проектов: " + projects.size()));
 
@@ -178,7 +284,9 @@ public class CLIApplication {
                 }
             }
         }
-        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+        }
     }
 
     /**
@@ -186,7 +294,9 @@ public class CLIApplication {
      */
     private static void createProject() {
         String methodName = "createProject";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
         System.out.print("Введите название проекта: ");
         String name = scanner.nextLine();
         System.out.print("Введите описание проекта: ");
@@ -196,7 +306,7 @@ public class CLIApplication {
 
         Project project = new Project(name, description);
         try {
-            projectDAO.create(project);
+            meteredProjectDAO.create(project);
             projectUserDAO.addUserToProject(project.getId(), currentUser.getId());
             System.out.println("Проект успешно создан!");
             log.info("createProject [1] Проект успешно создан: " + name);
@@ -204,7 +314,9 @@ public class CLIApplication {
             System.out.println("Ошибка при создании проекта: " + e.getMessage());
             log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
         }
-        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+        }
     }
 
     /**
@@ -213,7 +325,9 @@ public class CLIApplication {
      */
     private static void showProjectMenu(Project project) {
         String methodName = "showProjectMenu";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
         while (true) {
             System.out.println("\n=== Управление проектом: " + project.getName() + " ===");
             System.out.println("1. Просмотреть пользователей");
@@ -246,7 +360,9 @@ public class CLIApplication {
      */
     private static void showProjectUsers(Project project) {
         String methodName = "showProjectUsers";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
         List<User> users = projectUserDAO.getUsersByProject(project.getId());
         log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Найдено пользователей: " + users.size()));
 
@@ -258,7 +374,9 @@ public class CLIApplication {
                 System.out.println("- " + user.getName() + " (" + user.getEmail() + ")");
             }
         }
-        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+        }
     }
 
     /**
@@ -267,7 +385,9 @@ public class CLIApplication {
      */
     private static void addUserToProject(Project project) {
         String methodName = "addUserToProject";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
         System.out.print("Введите email пользователя: ");
         String email = scanner.nextLine();
         log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "Email: " + email));
@@ -286,7 +406,9 @@ public class CLIApplication {
             System.out.println("Пользователь с таким email не найден.");
             log.error("addUserToProject [1] Пользователь не найден: " + email);
         }
-        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+        }
     }
 
     /**
@@ -295,7 +417,9 @@ public class CLIApplication {
      */
     private static void removeUserFromProject(Project project) {
         String methodName = "removeUserFromProject";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
         System.out.print("Введите email пользователя: ");
         String email = scanner.nextLine();
         log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "Email: " + email));
@@ -314,7 +438,9 @@ public class CLIApplication {
             System.out.println("Пользователь с таким email не найден.");
             log.error("removeUserFromProject [1] Пользователь не найден: " + email);
         }
-        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+        }
     }
 
     /**
@@ -323,38 +449,17 @@ public class CLIApplication {
      */
     private static void showSprints(Project project) {
         String methodName = "showSprints";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        List<Sprint> sprints = sprintDAO.findAll().stream()
-                .filter(s -> s.getProject().getId() == project.getId())
-                .toList();
-        log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Найдено спринтов: " + sprints.size()));
-
-        if (sprints.isEmpty()) {
-            System.out.println("В проекте нет спринтов.");
-        } else {
-            System.out.println("\nСпринты проекта:");
-            for (int i = 0; i < sprints.size(); i++) {
-                System.out.println((i + 1) + ". Спринт " + sprints.get(i).getId() + " (" + sprints.get(i).getStartDate() + " - " + sprints.get(i).getEndDate() + ")");
-            }
-            System.out.print("Выберите спринт (номер) или 0 для возврата: ");
-            String choice = scanner.nextLine();
-            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "Выбрана опция: " + choice));
-
-            if (!choice.equals("0")) {
-                try {
-                    int index = Integer.parseInt(choice) - 1;
-                    if (index >= 0 && index < sprints.size()) {
-                        showSprintMenu(sprints.get(index));
-                    } else {
-                        System.out.println("Неверный выбор.");
-                    }
-                } catch (NumberFormatException e) {
-                    System.out.println("Введите корректный номер.");
-                    log.error(String.format(Constants.LOG_ERROR, methodName, "Некорректный ввод: " + choice));
-                }
-            }
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
+        Optional<Sprint> sprint = selectFromPages(
+                cursor -> sprintDAO.findByProject(project.getId(), cursor, PAGE_SIZE),
+                s -> "Спринт " + s.getId() + " (" + s.getStartDate() + " - " + s.getEndDate() + ")",
+                "Спринты проекта", "В проекте нет спринтов.", "Выберите спринт (номер)");
+        sprint.ifPresent(CLIApplication::showSprintMenu);
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_END, methodName));
         }
-        log.info(String.format(Constants.LOG_METHOD_END, methodName));
     }
 
     /**
@@ -363,7 +468,9 @@ public class CLIApplication {
      */
     private static void createSprint(Project project) {
         String methodName = "createSprint";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
         System.out.print("Введите дату начала (гггг-мм-дд): ");
         String startDateStr = scanner.nextLine();
         System.out.print("Введите дату окончания (гггг-мм-дд): ");
@@ -376,7 +483,7 @@ public class CLIApplication {
             Date startDate = sdf.parse(startDateStr);
             Date endDate = sdf.parse(endDateStr);
             Sprint sprint = new Sprint(startDate, endDate, project);
-            sprintDAO.create(sprint);
+            meteredSprintDAO.create(sprint);
             System.out.println("Спринт успешно создан!");
             log.info("createSprint [1] Спринт успешно создан");
         } catch (ParseException e) {
@@ -386,7 +493,9 @@ public class CLIApplication {
             System.out.println("Ошибка при создании спринта: " + e.getMessage());
             log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
         }
-        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+        }
     }
 
     /**
@@ -395,7 +504,9 @@ public class CLIApplication {
      */
     private static void showSprintMenu(Sprint sprint) {
         String methodName = "showSprintMenu";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
         while (true) {
             System.out.println("\n=== Управление спринтом: " + sprint.getId() + " ===");
             System.out.println("1. Просмотреть задачи");
@@ -403,7 +514,8 @@ public class CLIApplication {
             System.out.println("3. Редактировать задачу");
             System.out.println("4. Просмотреть ретроспективу");
             System.out.println("5. Создать/обновить ретроспективу");
-            System.out.println("6. Вернуться в меню проекта");
+            System.out.println("6. Закрыть спринт (завершить все задачи)");
+            System.out.println("7. Вернуться в меню проекта");
             System.out.print("Выберите опцию: ");
             String choice = scanner.nextLine();
             log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "Выбрана опция: " + choice));
@@ -414,7 +526,8 @@ public class CLIApplication {
                 case "3" -> editTask(sprint);
                 case "4" -> showRetrospective(sprint);
                 case "5" -> createOrUpdateRetrospective(sprint);
-                case "6" -> {
+                case "6" -> closeSprint(sprint);
+                case "7" -> {
                     return;
                 }
                 default -> System.out.println("Неверный выбор. Попробуйте снова.");
@@ -428,24 +541,79 @@ public class CLIApplication {
      */
     private static void showTasks(Sprint sprint) {
         String methodName = "showTasks";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        List<Task> tasks = taskDAO.findAll().stream()
-                .filter(t -> t.getSprint().getId() == sprint.getId())
-                .toList();
-        log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Найдено задач: " + tasks.size()));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
+        selectFromPages(cursor -> taskDAO.findBySprint(sprint.getId(), cursor, PAGE_SIZE), CLIApplication::describeTask,
+                "Задачи спринта", "В спринте нет задач.", null);
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+        }
+    }
 
-        if (tasks.isEmpty()) {
-            System.out.println("В спринте нет задач.");
-        } else {
-            System.out.println("\nЗадачи спринта:");
-            for (int i = 0; i < tasks.size(); i++) {
-                Task task = tasks.get(i);
-                System.out.println((i + 1) + ". " + task.getTitle() + " (Статус: " + task.getStatus() +
-                        ", Приоритет: " + task.getPriority() +
-                        ", Назначен: " + (task.getAssignedUser() != null ? task.getAssignedUser().getName() : "Никто") + ")");
+    /**
+     * Возвращает строку задачи для списков.
+     * @param task Задача
+     * @return Описание задачи
+     */
+    private static String describeTask(Task task) {
+        return task.getTitle() + " (Статус: " + task.getStatus() +
+                ", Приоритет: " + task.getPriority() +
+                ", Назначен: " + (task.getAssignedUser() != null ? task.getAssignedUser().getName() : "Никто") + ")";
+    }
+
+    /**
+     * Выводит список постранично по {@value #PAGE_SIZE} элементов, запрашивая следующую страницу
+     * только по команде пользователя, и предлагает выбрать элемент текущей страницы.
+     * @param pages Загрузка страницы по курсору (null - первая страница)
+     * @param format Строка элемента
+     * @param title Заголовок списка
+     * @param emptyMessage Сообщение для пустого списка
+     * @param prompt Приглашение к выбору элемента или null, если список только просматривается
+     * @return Выбранный элемент или пустой Optional
+     */
+    private static <T> Optional<T> selectFromPages(Function<Cursor, Page<T>> pages, Function<T, String> format,
+                                                   String title, String emptyMessage, String prompt) {
+        String methodName = "selectFromPages";
+        Page<T> page = pages.apply(null);
+        if (page.isEmpty()) {
+            System.out.println(emptyMessage);
+            return Optional.empty();
+        }
+        System.out.println("\n" + title + ":");
+        int offset = 0;
+        while (true) {
+            List<T> items = page.getItems();
+            for (int i = 0; i < items.size(); i++) {
+                System.out.println((offset + i + 1) + ". " + format.apply(items.get(i)));
+            }
+            if (prompt == null && !page.hasNext()) {
+                return Optional.empty();
+            }
+            System.out.print((prompt != null ? prompt + ", " : "")
+                    + (page.hasNext() ? "Enter для следующей страницы, " : "") + "0 для возврата: ");
+            String choice = scanner.nextLine();
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "Выбрана опция: " + choice));
+            if (choice.isEmpty() && page.hasNext()) {
+                offset += items.size();
+                page = pages.apply(page.getNext());
+                continue;
             }
+            if (choice.equals("0") || prompt == null) {
+                return Optional.empty();
+            }
+            try {
+                int index = Integer.parseInt(choice) - 1 - offset;
+                if (index >= 0 && index < items.size()) {
+                    return Optional.of(items.get(index));
+                }
+                System.out.println("Неверный выбор.");
+            } catch (NumberFormatException e) {
+                System.out.println("Введите корректный номер.");
+                log.error(String.format(Constants.LOG_ERROR, methodName, "Некорректный ввод: " + choice));
+            }
+            return Optional.empty();
         }
-        log.info(String.format(Constants.LOG_METHOD_END, methodName));
     }
 
     /**
@@ -454,7 +622,9 @@ public class CLIApplication {
      */
     private static void createTask(Sprint sprint) {
         String methodName = "createTask";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
         System.out.print("Введите название задачи: ");
         String title = scanner.nextLine();
         System.out.print("Введите описание задачи: ");
@@ -483,7 +653,7 @@ public class CLIApplication {
                 }
             }
             Task task = new Task(title, description, status, priority, sprint, assignedUser);
-            taskDAO.create(task);
+            meteredTaskDAO.create(task);
             System.out.println("Задача успешно создана!");
             log.info("createTask [1] Задача успешно создана: " + title);
         } catch (NumberFormatException e) {
@@ -496,7 +666,9 @@ public class CLIApplication {
             System.out.println("Ошибка при создании задачи: " + e.getMessage());
             log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
         }
-        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+        }
     }
 
     /**
@@ -505,90 +677,76 @@ public class CLIApplication {
      */
     private static void editTask(Sprint sprint) {
         String methodName = "editTask";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        List<Task> tasks = taskDAO.findAll().stream()
-                .filter(t -> t.getSprint().getId() == sprint.getId())
-                .toList();
-        log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Найдено задач: " + tasks.size()));
-
-        if (tasks.isEmpty()) {
-            System.out.println("В спринте нет задач для редактирования.");
-            log.info("editTask [1] Нет задач для редактирования");
-            return;
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
         }
-
-        showTasks(sprint);
-        System.out.print("Выберите задачу для редактирования (номер) или 0 для возврата: ");
-        String choice = scanner.nextLine();
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "Выбрана опция: " + choice));
-
-        if (choice.equals("0")) {
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+        Optional<Task> selected = selectFromPages(
+                cursor -> taskDAO.findBySprint(sprint.getId(), cursor, PAGE_SIZE), CLIApplication::describeTask,
+                "Задачи спринта", "В спринте нет задач для редактирования.", "Выберите задачу для редактирования (номер)");
+        if (selected.isEmpty()) {
+            log.info("editTask [1] Задача не выбрана");
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
             return;
         }
 
+        Task task = selected.get();
         try {
-            int index = Integer.parseInt(choice) - 1;
-            if (index >= 0 && index < tasks.size()) {
-                Task task = tasks.get(index);
-                System.out.println("Текущие данные задачи:");
-                System.out.println("Название: " + task.getTitle());
-                System.out.println("Описание: " + task.getDescription());
-                System.out.println("Статус: " + task.getStatus());
-                System.out.println("Приоритет: " + task.getPriority());
-                System.out.println("Назначен: " + (task.getAssignedUser() != null ? task.getAssignedUser().getName() : "Никто"));
-
-                System.out.print("Введите новое название (или Enter для сохранения текущего): ");
-                String title = scanner.nextLine();
-                if (!title.isEmpty()) {
-                    task.setTitle(title);
-                }
+            System.out.println("Текущие данные задачи:");
+            System.out.println("Название: " + task.getTitle());
+            System.out.println("Описание: " + task.getDescription());
+            System.out.println("Статус: " + task.getStatus());
+            System.out.println("Приоритет: " + task.getPriority());
+            System.out.println("Назначен: " + (task.getAssignedUser() != null ? task.getAssignedUser().getName() : "Никто"));
+
+            System.out.print("Введите новое название (или Enter для сохранения текущего): ");
+            String title = scanner.nextLine();
+            if (!title.isEmpty()) {
+                task.setTitle(title);
+            }
 
-                System.out.print("Введите новое описание (или Enter для сохранения текущего): ");
-                String description = scanner.nextLine();
-                if (!description.isEmpty()) {
-                    task.setDescription(description);
-                }
+            System.out.print("Введите новое описание (или Enter для сохранения текущего): ");
+            String description = scanner.nextLine();
+            if (!description.isEmpty()) {
+                task.setDescription(description);
+            }
 
-                System.out.print("Введите новый статус (TO_DO, IN_PROGRESS, DONE, или Enter для сохранения текущего): ");
-                String statusStr = scanner.nextLine();
-                if (!statusStr.isEmpty()) {
-                    task.setStatus(TaskStatus.valueOf(statusStr.toUpperCase()));
-                }
+            System.out.print("Введите новый статус (TO_DO, IN_PROGRESS, DONE, или Enter для сохранения текущего): ");
+            String statusStr = scanner.nextLine();
+            if (!statusStr.isEmpty()) {
+                task.setStatus(TaskStatus.valueOf(statusStr.toUpperCase()));
+            }
 
-                System.out.print("Введите новый приоритет (1-5, или Enter для сохранения текущего): ");
-                String priorityStr = scanner.nextLine();
-                if (!priorityStr.isEmpty()) {
-                    task.setPriority(Integer.parseInt(priorityStr));
-                }
+            System.out.print("Введите новый приоритет (1-5, или Enter для сохранения текущего): ");
+            String priorityStr = scanner.nextLine();
+            if (!priorityStr.isEmpty()) {
+                task.setPriority(Integer.parseInt(priorityStr));
+            }
 
-                System.out.print("Введите email нового назначенного пользователя (пусто для отсутствия, 'none' для удаления текущего): ");
-                String email = scanner.nextLine();
-                if (!email.isEmpty()) {
-                    if (email.equalsIgnoreCase("none")) {
-                        task.setAssignedUser(null);
+            System.out.print("Введите email нового назначенного пользователя (пусто для отсутствия, 'none' для удаления текущего): ");
+            String email = scanner.nextLine();
+            if (!email.isEmpty()) {
+                if (email.equalsIgnoreCase("none")) {
+                    task.setAssignedUser(null);
+                } else {
+                    Optional<User> userOpt = userDAO.findByEmail(email);
+                    if (userOpt.isPresent()) {
+                        task.setAssignedUser(userOpt.get());
                     } else {
-                        Optional<User> userOpt = userDAO.findByEmail(email);
-                        if (userOpt.isPresent()) {
-                            task.setAssignedUser(userOpt.get());
-                        } else {
-                            System.out.println("Пользователь с таким email не найден. Назначение не изменено.");
-                            log.error("editTask [2] Пользователь не найден: " + email);
-                            return;
-                        }
+                        System.out.println("Пользователь с таким email не найден. Назначение не изменено.");
+                        log.error("editTask [2] Пользователь не найден: " + email);
+                        return;
                     }
                 }
-
-                taskDAO.update(task);
-                System.out.println("Задача успешно обновлена!");
-                log.info("editTask [3] Задача успешно обновлена: " + task.getTitle());
-            } else {
-                System.out.println("Неверный выбор.");
-                log.error("editTask [2] Неверный выбор задачи: " + choice);
             }
+
+            meteredTaskDAO.update(task);
+            System.out.println("Задача успешно обновлена!");
+            log.info("editTask [3] Задача успешно обновлена: " + task.getTitle());
         } catch (NumberFormatException e) {
-            System.out.println("Введите корректный номер.");
-            log.error(String.format(Constants.LOG_ERROR, methodName, "Некорректный ввод номера: " + choice));
+            System.out.println("Введите корректный приоритет.");
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Некорректный ввод приоритета: " + e.getMessage()));
         } catch (IllegalArgumentException e) {
             System.out.println("Неверный статус задачи.");
             log.error(String.format(Constants.LOG_ERROR, methodName, "Неверный статус: " + e.getMessage()));
@@ -596,7 +754,31 @@ public class CLIApplication {
             System.out.println("Ошибка при редактировании задачи: " + e.getMessage());
             log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
         }
-        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+        }
+    }
+
+    /**
+     * Переводит все незавершенные задачи спринта в статус DONE одним запросом.
+     * @param sprint Спринт
+     */
+    private static void closeSprint(Sprint sprint) {
+        String methodName = "closeSprint";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
+        try {
+            int closed = taskDAO.bulkUpdateStatus(sprint.getId(), null, TaskStatus.DONE);
+            System.out.println("Завершено задач: " + closed);
+            log.info("closeSprint [1] Завершено задач: " + closed);
+        } catch (Exception e) {
+            System.out.println("Ошибка при закрытии спринта: " + e.getMessage());
+            log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
+        }
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+        }
     }
 
     /**
@@ -605,8 +787,12 @@ public class CLIApplication {
      */
     private static void showRetrospective(Sprint sprint) {
         String methodName = "showRetrospective";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        Retrospective retrospective = sprint.getRetrospective();
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
+        // Списки ретроспективы загружаются лениво, поэтому она читается заново через DAO
+        Retrospective retrospective = sprint.getRetrospective() != null
+                ? meteredRetrospectiveDAO.findById(sprint.getRetrospective().getId()).orElse(null) : null;
         log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, retrospective != null ? "Ретроспектива найдена" : "Ретроспектива не найдена"));
 
         if (retrospective == null) {
@@ -623,7 +809,9 @@ public class CLIApplication {
                 System.out.println("- " + improvement);
             }
         }
-        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+        }
     }
 
     /**
@@ -632,7 +820,9 @@ public class CLIApplication {
      */
     private static void createOrUpdateRetrospective(Sprint sprint) {
         String methodName = "createOrUpdateRetrospective";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
         System.out.print("Введите резюме ретроспективы: ");
         String summary = scanner.nextLine();
         System.out.println("Введите положительные моменты (вводите по одному, пустая строка для завершения):");
@@ -656,16 +846,16 @@ public class CLIApplication {
             Retrospective retrospective = sprint.getRetrospective();
             if (retrospective == null) {
                 retrospective = new Retrospective(sprint, summary, improvements, positives);
-                retrospectiveDAO.create(retrospective);
+                meteredRetrospectiveDAO.create(retrospective);
                 sprint.setRetrospective(retrospective);
-                sprintDAO.update(sprint);
+                meteredSprintDAO.update(sprint);
                 System.out.println("Ретроспектива успешно создана!");
                 log.info("createOrUpdateRetrospective [1] Ретроспектива создана");
             } else {
                 retrospective.setSummary(summary);
                 retrospective.setPositives(positives);
                 retrospective.setImprovements(improvements);
-                retrospectiveDAO.update(retrospective);
+                meteredRetrospectiveDAO.update(retrospective);
                 System.out.println("Ретроспектива успешно обновлена!");
                 log.info("createOrUpdateRetrospective [1] Ретроспектива обновлена");
             }
@@ -673,6 +863,8 @@ public class CLIApplication {
             System.out.println("Ошибка при создании/обновлении ретроспективы: " + e.getMessage());
             log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
         }
-        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,612 @@
+package ru.sfedu.agileflow.config;
+
+import com.opencsv.CSVWriter;
+import org.apache.log4j.Logger;
+import ru.sfedu.agileflow.constants.Constants;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+/**
+ * Журнальное (append-only) хранилище одного CSV-файла.
+ * Новые записи, замены и удаления дописываются в конец файла, а индекс ключ → смещение
+ * в байтах позволяет читать запись по ключу без чтения всего файла.
+ * Удаление записывается как tombstone-запись: ключевые столбцы и маркер {@link #TOMBSTONE}.
+ * Когда мертвых записей становится слишком много, файл переписывается в фоне (компакция).
+ */
+public class AppendOnlyCsvStore {
+    private static final Logger log = Logger.getLogger(AppendOnlyCsvStore.class);
+
+    /**
+     * Маркер удаленной записи.
+     */
+    public static final String TOMBSTONE = "#deleted";
+
+    private static final String KEY_SEPARATOR = ",";
+    private static final ExecutorService compactionExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "csv-compaction");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Path filePath;
+    private final String[] header;
+    private final int keyColumns;
+    private final int compactionMinDead;
+    private final double compactionDeadRatio;
+
+    // Порядок ключей соответствует порядку первого появления записи в файле
+    private final Map<String, Long> index = new LinkedHashMap<>();
+    // Неизменяемый снимок индекса для потоков записей; сбрасывается при каждом изменении файла
+    private Map<String, Long> liveSnapshot;
+    private long length = -1;
+    private long lastModified;
+    private int deadRecords;
+    private boolean compactionScheduled;
+
+    /**
+     * Создает хранилище для CSV-файла.
+     * @param filePath Путь к файлу
+     * @param header Заголовок файла
+     * @param keyColumns Количество ведущих столбцов, образующих ключ записи
+     * @param compactionMinDead Минимальное количество мертвых записей для запуска компакции
+     * @param compactionDeadRatio Доля мертвых записей относительно живых для запуска компакции
+     */
+    public AppendOnlyCsvStore(Path filePath, String[] header, int keyColumns, int compactionMinDead, double compactionDeadRatio) {
+        if (keyColumns < 1) {
+            throw new IllegalArgumentException("Количество ключевых столбцов должно быть положительным");
+        }
+        this.filePath = filePath;
+        this.header = header;
+        this.keyColumns = keyColumns;
+        this.compactionMinDead = compactionMinDead;
+        this.compactionDeadRatio = compactionDeadRatio;
+    }
+
+    /**
+     * Дописывает новую запись в конец файла.
+     * @param record Запись
+     * @throws IllegalStateException если запись с таким ключом уже существует
+     */
+    public synchronized void append(String[] record) {
+        String methodName = "append";
+        log.debug(LogMessage.format(Constants.LOG_METHOD_START, methodName));
+        ensureLoaded();
+        String key = keyOf(record);
+        if (index.containsKey(key)) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Запись с ключом " + key + " уже существует"));
+            throw new IllegalStateException("Запись с ключом " + key + " уже существует");
+        }
+        index.put(key, writeRecord(record));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Запись добавлена с ключом: " + key));
+        }
+        log.debug(LogMessage.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    /**
+     * Дописывает несколько новых записей одной операцией записи.
+     * @param records Записи
+     * @throws IllegalStateException если запись с одним из ключей уже существует;
+     * в этом случае файл не изменяется
+     */
+    public synchronized void appendAll(List<String[]> records) {
+        String methodName = "appendAll";
+        log.debug(LogMessage.format(Constants.LOG_METHOD_START, methodName));
+        ensureLoaded();
+        Set<String> keys = new HashSet<>();
+        for (String[] record : records) {
+            String key = keyOf(record);
+            if (index.containsKey(key) || !keys.add(key)) {
+                log.error(String.format(Constants.LOG_ERROR, methodName, "Запись с ключом " + key + " уже существует"));
+                throw new IllegalStateException("Запись с ключом " + key + " уже существует");
+            }
+        }
+        long[] offsets = writeRecords(records);
+        for (int i = 0; i < records.size(); i++) {
+            index.put(keyOf(records.get(i)), offsets[i]);
+        }
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Добавлено записей: " + records.size()));
+        }
+        log.debug(LogMessage.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    /**
+     * Дописывает замещающую запись для существующего ключа.
+     * @param record Новая версия записи
+     * @return true, если запись с таким ключом существовала
+     */
+    public synchronized boolean replace(String[] record) {
+        String methodName = "replace";
+        log.debug(LogMessage.format(Constants.LOG_METHOD_START, methodName));
+        ensureLoaded();
+        String key = keyOf(record);
+        if (!index.containsKey(key)) {
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Запись не найдена для ключа: " + key));
+            }
+            log.debug(LogMessage.format(Constants.LOG_METHOD_END, methodName));
+            return false;
+        }
+        index.put(key, writeRecord(record));
+        deadRecords++;
+        scheduleCompactionIfNeeded();
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Запись заменена для ключа: " + key));
+        }
+        log.debug(LogMessage.format(Constants.LOG_METHOD_END, methodName));
+        return true;
+    }
+
+    /**
+     * Дописывает замещающие записи одной операцией записи.
+     * @param records Новые версии записей
+     * @return true, если все ключи существовали; иначе файл не изменяется
+     */
+    public synchronized boolean replaceAll(List<String[]> records) {
+        String methodName = "replaceAll";
+        log.debug(LogMessage.format(Constants.LOG_METHOD_START, methodName));
+        ensureLoaded();
+        for (String[] record : records) {
+            if (!index.containsKey(keyOf(record))) {
+                if (log.isDebugEnabled()) {
+                    log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Запись не найдена для ключа: " + keyOf(record)));
+                }
+                log.debug(LogMessage.format(Constants.LOG_METHOD_END, methodName));
+                return false;
+            }
+        }
+        long[] offsets = writeRecords(records);
+        for (int i = 0; i < records.size(); i++) {
+            index.put(keyOf(records.get(i)), offsets[i]);
+        }
+        deadRecords += records.size();
+        scheduleCompactionIfNeeded();
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Заменено записей: " + records.size()));
+        }
+        log.debug(LogMessage.format(Constants.LOG_METHOD_END, methodName));
+        return true;
+    }
+
+    /**
+     * Дописывает tombstone-запись для ключа.
+     * @param key Значения ключевых столбцов
+     * @return true, если запись с таким ключом существовала
+     */
+    public synchronized boolean delete(String... key) {
+        String methodName = "delete";
+        log.debug(LogMessage.format(Constants.LOG_METHOD_START, methodName));
+        ensureLoaded();
+        String joinedKey = joinKey(key);
+        if (index.remove(joinedKey) == null) {
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Запись не найдена для ключа: " + joinedKey));
+            }
+            log.debug(LogMessage.format(Constants.LOG_METHOD_END, methodName));
+            return false;
+        }
+        String[] tombstone = Arrays.copyOf(key, keyColumns + 1);
+        tombstone[keyColumns] = TOMBSTONE;
+        writeRecord(tombstone);
+        // Мертвыми становятся и удаленная запись, и сам tombstone
+        deadRecords += 2;
+        scheduleCompactionIfNeeded();
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Запись удалена для ключа: " + joinedKey));
+        }
+        log.debug(LogMessage.format(Constants.LOG_METHOD_END, methodName));
+        return true;
+    }
+
+    /**
+     * Дописывает tombstone-записи для существующих ключей одной операцией записи.
+     * @param keys Значения ключевых столбцов
+     * @return Ключи, записи которых были удалены
+     */
+    public synchronized List<String[]> deleteAll(List<String[]> keys) {
+        String methodName = "deleteAll";
+        log.debug(LogMessage.format(Constants.LOG_METHOD_START, methodName));
+        ensureLoaded();
+        List<String[]> removed = new ArrayList<>();
+        List<String[]> tombstones = new ArrayList<>();
+        for (String[] key : keys) {
+            if (index.remove(joinKey(key)) != null) {
+                String[] tombstone = Arrays.copyOf(key, keyColumns + 1);
+                tombstone[keyColumns] = TOMBSTONE;
+                tombstones.add(tombstone);
+                removed.add(key);
+            }
+        }
+        if (!tombstones.isEmpty()) {
+            writeRecords(tombstones);
+            deadRecords += 2 * tombstones.size();
+            scheduleCompactionIfNeeded();
+        }
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Удалено записей: " + removed.size()));
+        }
+        log.debug(LogMessage.format(Constants.LOG_METHOD_END, methodName));
+        return removed;
+    }
+
+    /**
+     * Читает запись по ключу, переходя сразу к ее смещению в файле.
+     * @param key Значения ключевых столбцов
+     * @return Optional с записью, если найдена
+     */
+    public synchronized Optional<String[]> get(String... key) {
+        String methodName = "get";
+        log.debug(LogMessage.format(Constants.LOG_METHOD_START, methodName));
+        ensureLoaded();
+        Long offset = index.get(joinKey(key));
+        if (offset == null) {
+            log.debug(LogMessage.format(Constants.LOG_METHOD_END, methodName));
+            return Optional.empty();
+        }
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            channel.position(offset);
+            InputStream in = new BufferedInputStream(Channels.newInputStream(channel));
+            byte[] record = readRecordBytes(in);
+            Instrumentation.count(Instrumentation.CSV_BYTES_READ, record.length);
+            MappedCsvReader reader = MappedCsvReader.wrap(ByteBuffer.wrap(record));
+            log.debug(LogMessage.format(Constants.LOG_METHOD_END, methodName));
+            return reader.next() ? Optional.of(reader.toArray()) : Optional.empty();
+        } catch (IOException e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось прочитать запись: " + e.getMessage()), e);
+            throw new RuntimeException("Не удалось прочитать запись", e);
+        }
+    }
+
+    /**
+     * Проверяет наличие записи с ключом без чтения файла.
+     * @param key Значения ключевых столбцов
+     * @return true, если запись существует
+     */
+    public synchronized boolean contains(String... key) {
+        ensureLoaded();
+        return index.containsKey(joinKey(key));
+    }
+
+    /**
+     * Возвращает все живые записи в порядке их первого появления.
+     * @return Список записей без заголовка
+     */
+    public synchronized List<String[]> readAll() {
+        String methodName = "readAll";
+        log.debug(LogMessage.format(Constants.LOG_METHOD_START, methodName));
+        ensureLoaded();
+        Map<String, String[]> live = new HashMap<>();
+        scan(row -> {
+            String key = keyOf(row);
+            Long liveOffset = index.get(key);
+            // Строки создаются только для живых версий записей
+            if (liveOffset != null && liveOffset == row.rowOffset()) {
+                live.put(key, row.toArray());
+            }
+        });
+        List<String[]> records = new ArrayList<>(index.size());
+        for (String key : index.keySet()) {
+            String[] record = live.get(key);
+            if (record != null) {
+                records.add(record);
+            }
+        }
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Прочитано живых записей: " + records.size()));
+        }
+        log.debug(LogMessage.format(Constants.LOG_METHOD_END, methodName));
+        return records;
+    }
+
+    /**
+     * Возвращает живые записи потоком в порядке их расположения в файле.
+     * Строки читаются с диска по мере потребления; живые версии определяются по неизменяемому
+     * снимку индекса, который создается один раз после изменения файла и общий для всех потоков.
+     * Записи, дописанные после открытия потока, в него не попадают.
+     * @return Поток записей без заголовка; поток необходимо закрыть
+     */
+    public Stream<String[]> streamLive() {
+        String methodName = "streamLive";
+        log.debug(LogMessage.format(Constants.LOG_METHOD_START, methodName));
+        Map<String, Long> snapshot;
+        MappedCsvReader reader;
+        synchronized (this) {
+            ensureLoaded();
+            if (liveSnapshot == null) {
+                liveSnapshot = Map.copyOf(index);
+            }
+            snapshot = liveSnapshot;
+            try {
+                reader = MappedCsvReader.open(filePath);
+            } catch (IOException e) {
+                log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось открыть CSV-файл: " + e.getMessage()), e);
+                throw new RuntimeException("Не удалось открыть CSV-файл", e);
+            }
+        }
+        log.debug(LogMessage.format(Constants.LOG_METHOD_END, methodName));
+        return reader.stream(row -> {
+            if (row.fieldCount() < keyColumns || isHeader(row)) {
+                return false;
+            }
+            Long liveOffset = snapshot.get(keyOf(row));
+            return liveOffset != null && liveOffset == row.rowOffset();
+        });
+    }
+
+    /**
+     * Возвращает максимальный целочисленный ключ среди живых записей.
+     * @return Максимальный ключ или 0, если записей нет
+     */
+    public synchronized int maxIntKey() {
+        ensureLoaded();
+        int max = 0;
+        for (String key : index.keySet()) {
+            try {
+                max = Math.max(max, Integer.parseInt(key));
+            } catch (NumberFormatException e) {
+                // Пропускаем нечисловые ключи
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Сбрасывает индекс; при следующем обращении он будет перестроен по файлу.
+     */
+    public synchronized void invalidate() {
+        length = -1;
+    }
+
+    /**
+     * Переписывает файл, оставляя только заголовок и живые записи, и перестраивает индекс.
+     */
+    public synchronized void compact() {
+        String methodName = "compact";
+        log.debug(LogMessage.format(Constants.LOG_METHOD_START, methodName));
+        compactionScheduled = false;
+        List<String[]> records = readAll();
+        Path tempPath = filePath.resolveSibling(filePath.getFileName() + ".compact");
+        try {
+            try (CSVWriter writer = new CSVWriter(Files.newBufferedWriter(tempPath, StandardCharsets.UTF_8))) {
+                log.debug(LogMessage.format(Constants.LOG_DB_OPERATION, methodName));
+                if (header.length > 0) {
+                    writer.writeNext(header);
+                }
+                writer.writeAll(records);
+            }
+            Instrumentation.count(Instrumentation.CSV_BYTES_WRITTEN, Files.size(tempPath));
+            Files.move(tempPath, filePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            length = -1;
+            ensureLoaded();
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Файл уплотнен, живых записей: " + records.size()));
+            }
+            log.debug(LogMessage.format(Constants.LOG_METHOD_END, methodName));
+        } catch (IOException e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось уплотнить CSV-файл: " + e.getMessage()), e);
+            throw new RuntimeException("Не удалось уплотнить CSV-файл", e);
+        }
+    }
+
+    /**
+     * Возвращает количество мертвых (замещенных и удаленных) записей в файле.
+     * @return Количество мертвых записей
+     */
+    public synchronized int getDeadRecords() {
+        ensureLoaded();
+        return deadRecords;
+    }
+
+    /**
+     * Возвращает количество живых записей.
+     * @return Количество живых записей
+     */
+    public synchronized int size() {
+        ensureLoaded();
+        return index.size();
+    }
+
+    private void scheduleCompactionIfNeeded() {
+        if (compactionScheduled || deadRecords < compactionMinDead || deadRecords < index.size() * compactionDeadRatio) {
+            return;
+        }
+        compactionScheduled = true;
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_DB_DEBUG, "scheduleCompactionIfNeeded", "Запланирована компакция: " + filePath));
+        }
+        compactionExecutor.submit(() -> {
+            try {
+                compact();
+            } catch (RuntimeException e) {
+                log.error(String.format(Constants.LOG_ERROR, "compact", e.getMessage()), e);
+            }
+        });
+    }
+
+    /**
+     * Загружает индекс, если он еще не построен или файл изменен в обход хранилища.
+     */
+    private void ensureLoaded() {
+        String methodName = "ensureLoaded";
+        try {
+            if (!Files.exists(filePath)) {
+                Files.createDirectories(filePath.getParent());
+                try (CSVWriter writer = new CSVWriter(Files.newBufferedWriter(filePath, StandardCharsets.UTF_8))) {
+                    if (header.length > 0) {
+                        writer.writeNext(header);
+                    }
+                }
+                index.clear();
+                deadRecords = 0;
+                rememberFileState();
+                return;
+            }
+            if (length == Files.size(filePath) && lastModified == Files.getLastModifiedTime(filePath).toMillis()) {
+                return;
+            }
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Построение индекса: " + filePath));
+            }
+            index.clear();
+            deadRecords = 0;
+            // Для построения индекса из строки читаются только ключевые столбцы
+            scan(row -> {
+                if (isTombstone(row)) {
+                    if (index.remove(keyOf(row)) != null) {
+                        deadRecords++;
+                    }
+                    deadRecords++;
+                } else if (index.put(keyOf(row), row.rowOffset()) != null) {
+                    deadRecords++;
+                }
+            });
+            rememberFileState();
+        } catch (IOException e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось построить индекс: " + e.getMessage()), e);
+            throw new RuntimeException("Не удалось построить индекс CSV-файла", e);
+        }
+    }
+
+    private void rememberFileState() throws IOException {
+        liveSnapshot = null;
+        length = Files.size(filePath);
+        lastModified = Files.getLastModifiedTime(filePath).toMillis();
+    }
+
+    /**
+     * Последовательно читает файл, передавая курсор на каждую строку данных.
+     */
+    private void scan(RowConsumer consumer) {
+        try (MappedCsvReader reader = MappedCsvReader.open(filePath)) {
+            while (reader.next()) {
+                if (reader.fieldCount() >= keyColumns && !isHeader(reader)) {
+                    consumer.accept(reader);
+                }
+            }
+        } catch (IOException e) {
+            log.error(String.format(Constants.LOG_ERROR, "scan", "Не удалось прочитать CSV-файл: " + e.getMessage()), e);
+            throw new RuntimeException("Не удалось прочитать CSV-файл", e);
+        }
+    }
+
+    /**
+     * Дописывает запись в конец файла.
+     * @return Смещение записанной записи
+     */
+    private long writeRecord(String[] record) {
+        return writeRecords(Collections.singletonList(record))[0];
+    }
+
+    /**
+     * Дописывает записи в конец файла одной операцией записи.
+     * @return Смещения записанных записей
+     */
+    private long[] writeRecords(List<String[]> records) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        long[] relativeOffsets = new long[records.size()];
+        for (int i = 0; i < records.size(); i++) {
+            relativeOffsets[i] = bytes.size();
+            StringWriter buffer = new StringWriter();
+            try (CSVWriter writer = new CSVWriter(buffer)) {
+                writer.writeNext(records.get(i));
+            } catch (IOException e) {
+                throw new RuntimeException("Не удалось сериализовать запись", e);
+            }
+            bytes.writeBytes(buffer.toString().getBytes(StandardCharsets.UTF_8));
+        }
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            long offset = channel.size();
+            ByteBuffer data = ByteBuffer.wrap(bytes.toByteArray());
+            Instrumentation.count(Instrumentation.CSV_BYTES_WRITTEN, data.remaining());
+            while (data.hasRemaining()) {
+                channel.write(data);
+            }
+            rememberFileState();
+            for (int i = 0; i < relativeOffsets.length; i++) {
+                relativeOffsets[i] += offset;
+            }
+            return relativeOffsets;
+        } catch (IOException e) {
+            log.error(String.format(Constants.LOG_ERROR, "writeRecords", "Не удалось дописать записи: " + e.getMessage()), e);
+            throw new RuntimeException("Не удалось дописать запись в CSV-файл", e);
+        }
+    }
+
+    /**
+     * Читает байты одной записи вместе с переводом строки.
+     * Перевод строки внутри кавычек не завершает запись.
+     * @return Байты записи или null в конце файла
+     */
+    static byte[] readRecordBytes(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(128);
+        boolean quoted = false;
+        int b;
+        while ((b = in.read()) != -1) {
+            out.write(b);
+            if (b == '"') {
+                quoted = !quoted;
+            } else if (b == '\n' && !quoted) {
+                break;
+            }
+        }
+        return out.size() == 0 ? null : out.toByteArray();
+    }
+
+    private boolean isHeader(MappedCsvReader row) {
+        return header.length > 0 && row.fieldCount() == header.length && row.startsWith(header);
+    }
+
+    private boolean isTombstone(MappedCsvReader row) {
+        return row.fieldCount() == keyColumns + 1 && row.fieldEquals(keyColumns, TOMBSTONE);
+    }
+
+    private String keyOf(MappedCsvReader row) {
+        String[] key = new String[keyColumns];
+        for (int i = 0; i < keyColumns; i++) {
+            key[i] = row.getString(i);
+        }
+        return joinKey(key);
+    }
+
+    private String keyOf(String[] record) {
+        return joinKey(Arrays.copyOf(record, keyColumns));
+    }
+
+    private String joinKey(String... key) {
+        if (key.length != keyColumns) {
+            throw new IllegalArgumentException("Ожидалось ключевых столбцов: " + keyColumns);
+        }
+        return String.join(KEY_SEPARATOR, key);
+    }
+
+    @FunctionalInterface
+    private interface RowConsumer {
+        void accept(MappedCsvReader row);
+    }
+}
@@ -0,0 +1,83 @@
+package ru.sfedu.agileflow.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Снимок статистики одного региона кэша второго уровня или кэша запросов Hibernate.
+ * Статистика собирается, только если для PU включено свойство {@code hibernate.generate_statistics}.
+ */
+public final class CacheStatistics {
+    private final String region;
+    private final long hits;
+    private final long misses;
+    private final long puts;
+
+    private CacheStatistics(String region, long hits, long misses, long puts) {
+        this.region = region;
+        this.hits = hits;
+        this.misses = misses;
+        this.puts = puts;
+    }
+
+    /**
+     * Возвращает статистику всех регионов кэша фабрики.
+     * @param factory EntityManagerFactory
+     * @return Имя региона → статистика, в алфавитном порядке регионов
+     */
+    public static Map<String, CacheStatistics> of(EntityManagerFactory factory) {
+        Statistics statistics = factory.unwrap(SessionFactory.class).getStatistics();
+        String[] regions = statistics.getSecondLevelCacheRegionNames();
+        Arrays.sort(regions);
+        Map<String, CacheStatistics> result = new LinkedHashMap<>();
+        for (String region : regions) {
+            CacheRegionStatistics regionStatistics = statistics.getCacheRegionStatistics(region);
+            if (regionStatistics != null) {
+                result.put(region, new CacheStatistics(region, regionStatistics.getHitCount(),
+                        regionStatistics.getMissCount(), regionStatistics.getPutCount()));
+            }
+        }
+        return result;
+    }
+
+    public String getRegion() {
+        return region;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public long getPuts() {
+        return puts;
+    }
+
+    /**
+     * Возвращает долю обращений к региону, обслуженных из кэша.
+     * @return Доля попаданий от 0 до 1; 0, если обращений не было
+     */
+    public double getHitRatio() {
+        long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStatistics{" +
+                "region='" + region + '\'' +
+                ", hits=" + hits +
+                ", misses=" + misses +
+                ", puts=" + puts +
+                '}';
+    }
+}
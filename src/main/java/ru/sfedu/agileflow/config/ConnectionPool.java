@@ -0,0 +1,354 @@
+package ru.sfedu.agileflow.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import org.apache.log4j.Logger;
+import org.hibernate.cfg.JdbcSettings;
+import ru.sfedu.agileflow.constants.Constants;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Пул соединений JDBC на основе HikariCP, общий для всех единиц персистентности,
+ * подключенных к одной базе данных (один URL и пользователь).
+ * Пул создается при первом запросе от {@link PooledConnectionProvider} и закрывается,
+ * когда его освобождает последняя использующая его EntityManagerFactory.
+ * Параметры пула берутся из настроек первой PU; при расхождении настроек у последующих PU
+ * выводится предупреждение. Свойства драйвера задаются ключами db.pool.&lt;субпротокол&gt;.&lt;свойство&gt;,
+ * например {@code db.pool.postgresql.prepareThreshold}, и передаются только драйверу базы
+ * с таким субпротоколом URL, поэтому профиль с настройками PostgreSQL можно запускать и на H2.
+ */
+public class ConnectionPool {
+    private static final Logger log = Logger.getLogger(ConnectionPool.class);
+    private static final int DEFAULT_MIN_IDLE = 2;
+    private static final int DEFAULT_MAX_SIZE = 10;
+    private static final long DEFAULT_IDLE_TIMEOUT = 600_000;
+    private static final long DEFAULT_CONNECTION_TIMEOUT = 30_000;
+    private static final long DEFAULT_LEAK_DETECTION_THRESHOLD = 60_000;
+    private static final AtomicInteger poolNumber = new AtomicInteger();
+
+    // URL|пользователь → пул; изменяется только под блокировкой класса
+    private static final Map<String, ConnectionPool> pools = new LinkedHashMap<>();
+
+    private final String key;
+    private final Map<String, Object> settings;
+    private final HikariDataSource dataSource;
+    private final long leakDetectionThreshold;
+    private int references;
+
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder leaks = new LongAdder();
+
+    private ConnectionPool(String key, Map<String, Object> settings) {
+        this.key = key;
+        this.settings = poolSettings(settings);
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("agileflow-pool-" + poolNumber.incrementAndGet());
+        config.setJdbcUrl(jdbcSetting(settings, JdbcSettings.JAKARTA_JDBC_URL));
+        config.setUsername(jdbcSetting(settings, JdbcSettings.JAKARTA_JDBC_USER));
+        config.setPassword(jdbcSetting(settings, JdbcSettings.JAKARTA_JDBC_PASSWORD));
+        String driver = jdbcSetting(settings, JdbcSettings.JAKARTA_JDBC_DRIVER);
+        if (driver != null) {
+            config.setDriverClassName(driver);
+        }
+        config.setMinimumIdle(intSetting(settings, Constants.DB_POOL_MIN_IDLE_KEY, DEFAULT_MIN_IDLE));
+        config.setMaximumPoolSize(intSetting(settings, Constants.DB_POOL_MAX_SIZE_KEY, DEFAULT_MAX_SIZE));
+        config.setIdleTimeout(longSetting(settings, Constants.DB_POOL_IDLE_TIMEOUT_KEY, DEFAULT_IDLE_TIMEOUT));
+        config.setConnectionTimeout(longSetting(settings, Constants.DB_POOL_CONNECTION_TIMEOUT_KEY, DEFAULT_CONNECTION_TIMEOUT));
+        leakDetectionThreshold = longSetting(settings, Constants.DB_POOL_LEAK_DETECTION_KEY, DEFAULT_LEAK_DETECTION_THRESHOLD);
+        config.setLeakDetectionThreshold(leakDetectionThreshold);
+        String driverPrefix = driverPrefix(config.getJdbcUrl());
+        for (Map.Entry<String, Object> entry : this.settings.entrySet()) {
+            if (entry.getKey().startsWith(driverPrefix)) {
+                config.addDataSourceProperty(entry.getKey().substring(driverPrefix.length()), entry.getValue());
+            }
+        }
+        config.setMetricsTrackerFactory((poolName, poolStats) -> new Tracker());
+        this.dataSource = new HikariDataSource(config);
+    }
+
+    /**
+     * Возвращает пул для базы данных из настроек PU, создавая его при первом обращении,
+     * и увеличивает счетчик его пользователей.
+     * @param settings Настройки PU
+     * @return Пул соединений
+     * @throws RuntimeException если не удалось создать пул
+     */
+    public static synchronized ConnectionPool acquire(Map<String, Object> settings) {
+        String methodName = "acquire";
+        String url = jdbcSetting(settings, JdbcSettings.JAKARTA_JDBC_URL);
+        if (url == null) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "В настройках PU не задан URL базы данных"));
+            throw new IllegalArgumentException("В настройках PU не задан URL базы данных");
+        }
+        String key = url + "|" + jdbcSetting(settings, JdbcSettings.JAKARTA_JDBC_USER);
+        ConnectionPool pool = pools.get(key);
+        if (pool == null) {
+            try {
+                pool = new ConnectionPool(key, settings);
+            } catch (RuntimeException e) {
+                log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось создать пул соединений для " + url + ": " + e.getMessage()), e);
+                throw new RuntimeException("Не удалось создать пул соединений для " + url, e);
+            }
+            pools.put(key, pool);
+            log.info(String.format(Constants.LOG_DB_DEBUG, methodName, "Создан пул " + pool.getName() + " для " + url + " " + pool.settings));
+        } else if (!pool.settings.equals(poolSettings(settings))) {
+            log.warn(String.format(Constants.LOG_DB_DEBUG, methodName, "Пул " + pool.getName()
+                    + " уже создан с настройками " + pool.settings + ", настройки PU " + poolSettings(settings) + " не применяются"));
+        }
+        pool.references++;
+        return pool;
+    }
+
+    /**
+     * Уменьшает счетчик пользователей пула и закрывает пул, если пользователей не осталось.
+     */
+    public void release() {
+        String methodName = "release";
+        synchronized (ConnectionPool.class) {
+            if (references == 0) {
+                return;
+            }
+            if (--references > 0) {
+                return;
+            }
+            pools.remove(key, this);
+        }
+        dataSource.close();
+        log.info(String.format(Constants.LOG_DB_DEBUG, methodName, "Пул " + getName() + " закрыт"));
+    }
+
+    /**
+     * Получает соединение из пула, ожидая освобождения не дольше connectionTimeout.
+     * @return Соединение; возвращается в пул при закрытии
+     * @throws SQLException если соединение не получено за время ожидания
+     */
+    public Connection getConnection() throws SQLException {
+        return dataSource.getConnection();
+    }
+
+    public String getName() {
+        return dataSource.getPoolName();
+    }
+
+    public boolean isClosed() {
+        return dataSource.isClosed();
+    }
+
+    /**
+     * Возвращает снимок показателей пула.
+     * @return Показатели пула
+     */
+    public Metrics getMetrics() {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        long count = acquisitions.sum();
+        return new Metrics(getName(),
+                pool != null ? pool.getActiveConnections() : 0,
+                pool != null ? pool.getIdleConnections() : 0,
+                pool != null ? pool.getTotalConnections() : 0,
+                pool != null ? pool.getThreadsAwaitingConnection() : 0,
+                count,
+                count == 0 ? 0 : totalWaitNanos.sum() / count,
+                maxWaitNanos.get(),
+                timeouts.sum(),
+                leaks.sum());
+    }
+
+    /**
+     * Возвращает показатели всех открытых пулов.
+     * @return Имя пула → показатели
+     */
+    public static synchronized Map<String, Metrics> getAllMetrics() {
+        Map<String, Metrics> result = new LinkedHashMap<>();
+        for (ConnectionPool pool : pools.values()) {
+            result.put(pool.getName(), pool.getMetrics());
+        }
+        return result;
+    }
+
+    private static Map<String, Object> poolSettings(Map<String, Object> settings) {
+        Map<String, Object> result = new TreeMap<>();
+        for (Map.Entry<String, Object> entry : settings.entrySet()) {
+            if (entry.getKey().startsWith(Constants.DB_POOL_PREFIX) && entry.getValue() != null) {
+                result.put(entry.getKey(), entry.getValue().toString());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Возвращает префикс ключей свойств драйвера для URL вида jdbc:&lt;субпротокол&gt;:...
+     */
+    private static String driverPrefix(String url) {
+        String[] parts = url.split(":", 3);
+        return Constants.DB_POOL_PREFIX + (parts.length > 1 ? parts[1] : "") + ".";
+    }
+
+    /**
+     * Возвращает параметр подключения по ключу jakarta.persistence.jdbc.*, а при его отсутствии по устаревшему
+     * ключу javax.persistence.jdbc.* (его используют системные свойства запуска на другой базе) или hibernate.connection.*.
+     */
+    @SuppressWarnings("deprecation")
+    private static String jdbcSetting(Map<String, Object> settings, String jakartaKey) {
+        return switch (jakartaKey) {
+            case JdbcSettings.JAKARTA_JDBC_URL -> setting(settings, jakartaKey, JdbcSettings.JPA_JDBC_URL, JdbcSettings.URL);
+            case JdbcSettings.JAKARTA_JDBC_USER -> setting(settings, jakartaKey, JdbcSettings.JPA_JDBC_USER, JdbcSettings.USER);
+            case JdbcSettings.JAKARTA_JDBC_PASSWORD -> setting(settings, jakartaKey, JdbcSettings.JPA_JDBC_PASSWORD, JdbcSettings.PASS);
+            case JdbcSettings.JAKARTA_JDBC_DRIVER -> setting(settings, jakartaKey, JdbcSettings.JPA_JDBC_DRIVER, JdbcSettings.DRIVER);
+            default -> throw new IllegalArgumentException("Неизвестный параметр подключения: " + jakartaKey);
+        };
+    }
+
+    private static String setting(Map<String, Object> settings, String... names) {
+        for (String name : names) {
+            Object value = settings.get(name);
+            if (value != null) {
+                return value.toString();
+            }
+        }
+        return null;
+    }
+
+    private static int intSetting(Map<String, Object> settings, String name, int defaultValue) {
+        String value = setting(settings, name);
+        return value != null ? Integer.parseInt(value.trim()) : defaultValue;
+    }
+
+    private static long longSetting(Map<String, Object> settings, String name, long defaultValue) {
+        String value = setting(settings, name);
+        return value != null ? Long.parseLong(value.trim()) : defaultValue;
+    }
+
+    /**
+     * Получает от HikariCP время ожидания и использования соединений.
+     */
+    private class Tracker implements IMetricsTracker {
+        @Override
+        public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+            acquisitions.increment();
+            totalWaitNanos.add(elapsedAcquiredNanos);
+            maxWaitNanos.accumulateAndGet(elapsedAcquiredNanos, Math::max);
+        }
+
+        @Override
+        public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+            // HikariCP только предупреждает о возможной утечке в журнале; здесь такие соединения считаются
+            if (leakDetectionThreshold > 0 && elapsedBorrowedMillis >= leakDetectionThreshold) {
+                leaks.increment();
+            }
+        }
+
+        @Override
+        public void recordConnectionTimeout() {
+            timeouts.increment();
+        }
+    }
+
+    /**
+     * Снимок показателей пула соединений.
+     */
+    public static final class Metrics {
+        private final String poolName;
+        private final int active;
+        private final int idle;
+        private final int total;
+        private final int awaiting;
+        private final long acquisitions;
+        private final long averageWaitNanos;
+        private final long maxWaitNanos;
+        private final long timeouts;
+        private final long leaks;
+
+        private Metrics(String poolName, int active, int idle, int total, int awaiting, long acquisitions,
+                        long averageWaitNanos, long maxWaitNanos, long timeouts, long leaks) {
+            this.poolName = poolName;
+            this.active = active;
+            this.idle = idle;
+            this.total = total;
+            this.awaiting = awaiting;
+            this.acquisitions = acquisitions;
+            this.averageWaitNanos = averageWaitNanos;
+            this.maxWaitNanos = maxWaitNanos;
+            this.timeouts = timeouts;
+            this.leaks = leaks;
+        }
+
+        public String getPoolName() {
+            return poolName;
+        }
+
+        public int getActive() {
+            return active;
+        }
+
+        public int getIdle() {
+            return idle;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        public int getAwaiting() {
+            return awaiting;
+        }
+
+        /**
+         * Возвращает количество запросов соединения, включая завершившиеся превышением
+         * времени ожидания; по ним же считается время ожидания.
+         * @return Количество запросов
+         */
+        public long getAcquisitions() {
+            return acquisitions;
+        }
+
+        public long getAverageWaitNanos() {
+            return averageWaitNanos;
+        }
+
+        public long getMaxWaitNanos() {
+            return maxWaitNanos;
+        }
+
+        public long getTimeouts() {
+            return timeouts;
+        }
+
+        /**
+         * Возвращает количество соединений, удерживавшихся дольше порога обнаружения утечек.
+         * @return Количество соединений
+         */
+        public long getLeaks() {
+            return leaks;
+        }
+
+        @Override
+        public String toString() {
+            return "Metrics{" +
+                    "poolName='" + poolName + '\'' +
+                    ", active=" + active +
+                    ", idle=" + idle +
+                    ", total=" + total +
+                    ", awaiting=" + awaiting +
+                    ", acquisitions=" + acquisitions +
+                    ", averageWaitMs=" + TimeUnit.NANOSECONDS.toMillis(averageWaitNanos) +
+                    ", maxWaitMs=" + TimeUnit.NANOSECONDS.toMillis(maxWaitNanos) +
+                    ", timeouts=" + timeouts +
+                    ", leaks=" + leaks +
+                    '}';
+        }
+    }
+}
@@ -1,31 +1,62 @@
 package ru.sfedu.agileflow.config;
 
-import com.opencsv.CSVReader;
 import com.opencsv.CSVWriter;
-import com.opencsv.exceptions.CsvValidationException;
 import org.apache.log4j.Logger;
 import ru.sfedu.agileflow.constants.Constants;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
 /**
  * Утилитный класс для работы с CSV-файлами.
+ * Поддерживает два режима хранения: перезапись всего файла при каждом изменении
+ * и журнальный режим ({@link AppendOnlyCsvStore}), в котором изменения дописываются в конец файла.
+ * Для выбранных столбцов поддерживаются вторичные индексы ({@link CsvSecondaryIndex}).
  */
 public class CsvConfig {
     private static final Logger log = Logger.getLogger(CsvConfig.class);
-    private static final String CSV_DIR = "data/csv";
+    // Каталог CSV-файлов; ключ -Dcsv.dir позволяет, например, бенчмаркам работать во временном каталоге
+    private static final String CSV_DIR = System.getProperty(Constants.CSV_DIR_KEY, "data/csv");
+
+    /**
+     * Режим хранения CSV-файлов.
+     */
+    public enum StorageMode {
+        /** Каждое изменение перечитывает и перезаписывает весь файл. */
+        REWRITE,
+        /** Изменения дописываются в конец файла, чтение по ключу идет через индекс смещений. */
+        APPEND
+    }
 
     // Определение заголовков для каждого CSV-файла
     private static final Map<String, String[]> CSV_HEADERS = new HashMap<>();
 
+    // Количество ведущих столбцов, образующих ключ записи, для файлов с уникальным ключом
+    private static final Map<String, Integer> KEY_COLUMNS = new HashMap<>();
+
+    // Столбцы, по которым поддерживаются вторичные индексы
+    private static final Map<String, String[]> INDEXED_COLUMNS = new HashMap<>();
+
+    private static final Map<String, AppendOnlyCsvStore> stores = new ConcurrentHashMap<>();
+    private static final Map<String, CsvSecondaryIndex> indexes = new ConcurrentHashMap<>();
+    private static final Map<String, CsvIdSequence> sequences = new ConcurrentHashMap<>();
+    private static final String SEQUENCE_SUFFIX = ".seq";
+    private static final String INDEX_SUFFIX = ".idx";
+    private static volatile StorageMode storageMode = StorageMode.valueOf(
+            System.getProperty(Constants.CSV_STORAGE_MODE_KEY, StorageMode.REWRITE.name()).toUpperCase());
+
     static {
         CSV_HEADERS.put("projects.csv", new String[]{"id", "name", "description"});
         CSV_HEADERS.put("users.csv", new String[]{"id", "name", "email", "bio", "isActive", "lastLogin", "dateJoined"});
@@ -35,6 +66,58 @@ public class CsvConfig {
         CSV_HEADERS.put("retrospective_improvements.csv", new String[]{"retrospectiveId", "improvement"});
         CSV_HEADERS.put("retrospective_positives.csv", new String[]{"retrospectiveId", "positive"});
         CSV_HEADERS.put("project_users.csv", new String[]{"projectId", "userId"});
+
+        KEY_COLUMNS.put("projects.csv", 1);
+        KEY_COLUMNS.put("users.csv", 1);
+        KEY_COLUMNS.put("sprints.csv", 1);
+        KEY_COLUMNS.put("tasks.csv", 1);
+        KEY_COLUMNS.put("retrospectives.csv", 1);
+        KEY_COLUMNS.put("project_users.csv", 2);
+
+        INDEXED_COLUMNS.put("users.csv", new String[]{"email"});
+        INDEXED_COLUMNS.put("tasks.csv", new String[]{"sprintId", "assignedUserId"});
+        INDEXED_COLUMNS.put("sprints.csv", new String[]{"projectId"});
+        INDEXED_COLUMNS.put("project_users.csv", new String[]{"projectId", "userId"});
+
+        // При корректном завершении сохраняем точные значения последовательностей, чтобы не было пропусков,
+        // и измененные индексы, чтобы при следующем запуске не перестраивать их
+        Runtime.getRuntime().addShutdownHook(new Thread(CsvConfig::flush, "csv-sequence-flush"));
+    }
+
+    /**
+     * Сохраняет значения последовательностей и измененные индексы и сбрасывает их кэш:
+     * следующее обращение загрузит их из файлов заново. Вызывается при завершении JVM,
+     * а также перед удалением каталога CSV-файлов, чтобы при завершении они не были созданы снова.
+     */
+    static synchronized void flush() {
+        sequences.values().forEach(CsvIdSequence::flush);
+        indexes.values().forEach(CsvSecondaryIndex::flush);
+        sequences.clear();
+        indexes.clear();
+    }
+
+    /**
+     * Возвращает текущий режим хранения.
+     * @return Режим хранения
+     */
+    public static StorageMode getStorageMode() {
+        return storageMode;
+    }
+
+    /**
+     * Устанавливает режим хранения. По умолчанию режим берется из системного свойства
+     * {@value Constants#CSV_STORAGE_MODE_KEY}.
+     * @param mode Режим хранения
+     */
+    public static void setStorageMode(StorageMode mode) {
+        String methodName = "setStorageMode";
+        log.debug(LogMessage.format(Constants.LOG_METHOD_START, methodName));
+        storageMode = mode;
+        stores.values().forEach(AppendOnlyCsvStore::invalidate);
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Режим хранения: " + mode));
+        }
+        log.debug(LogMessage.format(Constants.LOG_METHOD_END, methodName));
     }
 
     /**
@@ -43,23 +126,29 @@ public class CsvConfig {
      */
     private static void initializeCsvIfNotExists(String fileName) {
         String methodName = "initializeCsvIfNotExists";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        log.debug(LogMessage.format(Constants.LOG_METHOD_START, methodName));
         Path filePath = Paths.get(CSV_DIR, fileName);
 
         try {
             if (!Files.exists(filePath)) {
-                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "CSV-файл не существует, создается: " + fileName));
+                if (log.isDebugEnabled()) {
+                    log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "CSV-файл не существует, создается: " + fileName));
+                }
                 Files.createDirectories(filePath.getParent());
-                try (CSVWriter writer = new CSVWriter(new FileWriter(filePath.toFile()))) {
+                try (CSVWriter writer = new CSVWriter(Files.newBufferedWriter(filePath, StandardCharsets.UTF_8))) {
                     String[] header = CSV_HEADERS.getOrDefault(fileName, new String[]{});
                     if (header.length > 0) {
                         writer.writeNext(header);
-                        log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Заголовок записан: " + String.join(",", header)));
+                        if (log.isDebugEnabled()) {
+                            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Заголовок записан: " + String.join(",", header)));
+                        }
                     }
                 }
-                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "CSV-файл создан: " + fileName));
+                if (log.isDebugEnabled()) {
+                    log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "CSV-файл создан: " + fileName));
+                }
             }
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            log.debug(LogMessage.format(Constants.LOG_METHOD_END, methodName));
         } catch (IOException e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось создать CSV-файл: " + e.getMessage()), e);
             throw new RuntimeException("Не удалось создать CSV-файл", e);
@@ -73,41 +162,90 @@ public class CsvConfig {
      */
     public static List<String[]> readCsv(String fileName) {
         String methodName = "readCsv";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        log.debug(LogMessage.format(Constants.LOG_METHOD_START, methodName));
+        if (isJournaled(fileName)) {
+            List<String[]> records = store(fileName).readAll();
+            log.debug(LogMessage.format(Constants.LOG_METHOD_END, methodName));
+            return records;
+        }
         initializeCsvIfNotExists(fileName);
         List<String[]> records = new ArrayList<>();
         Path filePath = Paths.get(CSV_DIR, fileName);
+        String[] header = CSV_HEADERS.getOrDefault(fileName, new String[]{});
 
-        try (CSVReader reader = new CSVReader(new FileReader(filePath.toFile()))) {
-            log.info(String.format(Constants.LOG_DB_OPERATION, methodName));
-            String[] record;
-            while ((record = reader.readNext()) != null) {
-                records.add(record);
+        try (MappedCsvReader reader = MappedCsvReader.open(filePath)) {
+            log.debug(LogMessage.format(Constants.LOG_DB_OPERATION, methodName));
+            while (reader.next()) {
+                String[] record = reader.toArray();
+                if (!Arrays.equals(record, header)) {
+                    records.add(record);
+                }
+            }
+            records = resolveJournal(fileName, records);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Прочитано записей: " + records.size()));
             }
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Прочитано записей: " + records.size()));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
-        } catch (IOException | CsvValidationException e) {
+            log.debug(LogMessage.format(Constants.LOG_METHOD_END, methodName));
+        } catch (IOException e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось прочитать CSV-файл: " + e.getMessage()), e);
             throw new RuntimeException("Не удалось прочитать CSV-файл", e);
         }
         return records;
     }
 
+    /**
+     * Читает записи CSV-файла потоком, не загружая файл в кучу целиком.
+     * Для файлов с уникальным ключом в поток попадает только последняя версия каждой записи.
+     * @param fileName Имя файла
+     * @return Поток записей без заголовка; поток необходимо закрыть
+     */
+    public static Stream<String[]> streamCsv(String fileName) {
+        String methodName = "streamCsv";
+        log.debug(LogMessage.format(Constants.LOG_METHOD_START, methodName));
+        if (KEY_COLUMNS.containsKey(fileName)) {
+            // Индекс хранилища разрешает замещающие и tombstone-записи в любом режиме
+            Stream<String[]> records = store(fileName).streamLive();
+            log.debug(LogMessage.format(Constants.LOG_METHOD_END, methodName));
+            return records;
+        }
+        initializeCsvIfNotExists(fileName);
+        String[] header = CSV_HEADERS.getOrDefault(fileName, new String[]{});
+        try {
+            MappedCsvReader reader = MappedCsvReader.open(Paths.get(CSV_DIR, fileName));
+            log.debug(LogMessage.format(Constants.LOG_METHOD_END, methodName));
+            return reader.stream(row -> !(row.fieldCount() == header.length && row.startsWith(header)));
+        } catch (IOException e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось прочитать CSV-файл: " + e.getMessage()), e);
+            throw new RuntimeException("Не удалось прочитать CSV-файл", e);
+        }
+    }
+
     /**
      * Записывает записи в CSV-файл.
      * @param fileName Имя файла
      * @param records Список записей
      */
     public static void writeCsv(String fileName, List<String[]> records) {
-        String methodName = "writeCsv";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        writeRecords(fileName, records);
+        // Содержимое файла заменено произвольными записями, индексы будут перестроены
+        indexesOf(fileName).forEach(CsvSecondaryIndex::invalidate);
+    }
+
+    /**
+     * Перезаписывает CSV-файл, не затрагивая вторичные индексы.
+     * @param fileName Имя файла
+     * @param records Список записей
+     */
+    private static void writeRecords(String fileName, List<String[]> records) {
+        String methodName = "writeRecords";
+        log.debug(LogMessage.format(Constants.LOG_METHOD_START, methodName));
         initializeCsvIfNotExists(fileName);
         Path filePath = Paths.get(CSV_DIR, fileName);
 
         try {
             Files.createDirectories(filePath.getParent());
-            try (CSVWriter writer = new CSVWriter(new FileWriter(filePath.toFile()))) {
-                log.info(String.format(Constants.LOG_DB_OPERATION, methodName));
+            try (CSVWriter writer = new CSVWriter(Files.newBufferedWriter(filePath, StandardCharsets.UTF_8))) {
+                log.debug(LogMessage.format(Constants.LOG_DB_OPERATION, methodName));
                 // Записываем заголовок
                 String[] header = CSV_HEADERS.getOrDefault(fileName, new String[]{});
                 if (header.length > 0 && records.isEmpty()) {
@@ -118,9 +256,17 @@ public class CsvConfig {
                 } else {
                     writer.writeAll(records);
                 }
-                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Записано записей: " + records.size()));
-                log.info(String.format(Constants.LOG_METHOD_END, methodName));
+                if (log.isDebugEnabled()) {
+                    log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Записано записей: " + records.size()));
+                }
             }
+            Instrumentation.count(Instrumentation.CSV_BYTES_WRITTEN, Files.size(filePath));
+            // Файл переписан целиком, индекс журнального хранилища устарел
+            AppendOnlyCsvStore store = stores.get(fileName);
+            if (store != null) {
+                store.invalidate();
+            }
+            log.debug(LogMessage.format(Constants.LOG_METHOD_END, methodName));
         } catch (IOException e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось записать CSV-файл: " + e.getMessage()), e);
             throw new RuntimeException("Не удалось записать CSV-файл", e);
@@ -129,28 +275,54 @@ public class CsvConfig {
 
     /**
      * Генерирует новый идентификатор для сущности.
+     * Идентификаторы выдаются из персистентной последовательности ({@link CsvIdSequence}),
+     * поэтому файл данных читается не при каждой вставке, а только при восстановлении последовательности.
      * @param fileName Имя файла
      * @return Новый идентификатор
      */
     public static int generateId(String fileName) {
         String methodName = "generateId";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        List<String[]> records = readCsv(fileName);
+        log.debug(LogMessage.format(Constants.LOG_METHOD_START, methodName));
+        int newId = sequence(fileName).next();
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Сгенерирован ID: " + newId));
+        }
+        log.debug(LogMessage.format(Constants.LOG_METHOD_END, methodName));
+        return newId;
+    }
+
+    /**
+     * Находит максимальный идентификатор в файле полным чтением.
+     * @param fileName Имя файла
+     * @return Максимальный идентификатор или 0, если записей нет
+     */
+    private static int scanMaxId(String fileName) {
+        String methodName = "scanMaxId";
+        log.debug(LogMessage.format(Constants.LOG_METHOD_START, methodName));
+        if (isJournaled(fileName)) {
+            int maxId = store(fileName).maxIntKey();
+            log.debug(LogMessage.format(Constants.LOG_METHOD_END, methodName));
+            return maxId;
+        }
+        initializeCsvIfNotExists(fileName);
         int maxId = 0;
-        for (String[] record : records) {
-            try {
-                int id = Integer.parseInt(record[0]);
-                if (id > maxId) {
-                    maxId = id;
+        try (MappedCsvReader reader = MappedCsvReader.open(Paths.get(CSV_DIR, fileName))) {
+            while (reader.next()) {
+                try {
+                    maxId = Math.max(maxId, reader.getInt(0));
+                } catch (NumberFormatException e) {
+                    // Пропускаем заголовок и некорректные записи
                 }
-            } catch (NumberFormatException e) {
-                // Пропускаем некорректные записи
             }
+        } catch (IOException e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось прочитать CSV-файл: " + e.getMessage()), e);
+            throw new RuntimeException("Не удалось прочитать CSV-файл", e);
         }
-        int newId = maxId + 1;
-        log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Сгенерирован ID: " + newId));
-        log.info(String.format(Constants.LOG_METHOD_END, methodName));
-        return newId;
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Максимальный ID: " + maxId));
+        }
+        log.debug(LogMessage.format(Constants.LOG_METHOD_END, methodName));
+        return maxId;
     }
 
     /**
@@ -160,18 +332,371 @@ public class CsvConfig {
      * @return Optional с массивом строки, если найдено
      */
     public static Optional<String[]> findById(String fileName, int id) {
-        String methodName = "findById";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        List<String[]> records = readCsv(fileName);
+        return findByKey(fileName, String.valueOf(id));
+    }
+
+    /**
+     * Находит запись по значениям ключевых столбцов.
+     * Для файлов с уникальным ключом запись читается по смещению из индекса хранилища
+     * в любом режиме: индекс строится один раз и перестраивается только после изменения файла.
+     * @param fileName Имя файла
+     * @param key Значения ключевых столбцов
+     * @return Optional с массивом строки, если найдено
+     */
+    public static Optional<String[]> findByKey(String fileName, String... key) {
+        String methodName = "findByKey";
+        log.debug(LogMessage.format(Constants.LOG_METHOD_START, methodName));
+        if (KEY_COLUMNS.containsKey(fileName)) {
+            Optional<String[]> record = store(fileName).get(key);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, (record.isPresent() ? "Запись найдена для ключа: " : "Запись не найдена для ключа: ") + String.join(",", key)));
+            }
+            log.debug(LogMessage.format(Constants.LOG_METHOD_END, methodName));
+            return record;
+        }
+        initializeCsvIfNotExists(fileName);
+        String[] found = null;
+        // Файл без уникального ключа просматривается курсором до первого совпадения
+        try (MappedCsvReader reader = MappedCsvReader.open(Paths.get(CSV_DIR, fileName))) {
+            log.debug(LogMessage.format(Constants.LOG_DB_OPERATION, methodName));
+            while (reader.next()) {
+                if (reader.startsWith(key)) {
+                    found = reader.toArray();
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось прочитать CSV-файл: " + e.getMessage()), e);
+            throw new RuntimeException("Не удалось прочитать CSV-файл", e);
+        }
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, (found != null ? "Запись найдена для ключа: " : "Запись не найдена для ключа: ") + String.join(",", key)));
+        }
+        log.debug(LogMessage.format(Constants.LOG_METHOD_END, methodName));
+        return Optional.ofNullable(found);
+    }
+
+    /**
+     * Находит записи по значению индексированного столбца через вторичный индекс.
+     * @param fileName Имя файла
+     * @param column Имя индексированного столбца
+     * @param value Значение столбца
+     * @return Список записей в порядке добавления
+     * @throws IllegalArgumentException если по столбцу нет индекса
+     */
+    public static List<String[]> findByIndex(String fileName, String column, String value) {
+        String methodName = "findByIndex";
+        log.debug(LogMessage.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, fileName + "." + column + " = " + value));
+        }
+        List<String[]> keys = index(fileName, column).lookup(value);
+        List<String[]> records;
+        if (keys.isEmpty() || keyColumns(fileName) == CSV_HEADERS.get(fileName).length) {
+            // Запись целиком состоит из ключа, читать файл не нужно
+            records = keys;
+        } else {
+            records = new ArrayList<>(keys.size());
+            for (String[] key : keys) {
+                findByKey(fileName, key).ifPresent(records::add);
+            }
+        }
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Найдено записей: " + records.size()));
+        }
+        log.debug(LogMessage.format(Constants.LOG_METHOD_END, methodName));
+        return records;
+    }
+
+    /**
+     * Добавляет новую запись в файл.
+     * @param fileName Имя файла
+     * @param record Запись
+     */
+    public static void insertRecord(String fileName, String[] record) {
+        String methodName = "insertRecord";
+        log.debug(LogMessage.format(Constants.LOG_METHOD_START, methodName));
+        if (isJournaled(fileName)) {
+            store(fileName).append(record);
+        } else {
+            List<String[]> records = readCsv(fileName);
+            records.add(record);
+            writeRecords(fileName, records);
+        }
+        indexesOf(fileName).forEach(index -> index.put(record));
+        log.debug(LogMessage.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    /**
+     * Заменяет запись с тем же ключом, что и у переданной.
+     * @param fileName Имя файла
+     * @param record Новая версия записи
+     * @return true, если запись с таким ключом существовала
+     */
+    public static boolean updateRecord(String fileName, String[] record) {
+        String methodName = "updateRecord";
+        log.debug(LogMessage.format(Constants.LOG_METHOD_START, methodName));
+        boolean found = false;
+        if (isJournaled(fileName)) {
+            found = store(fileName).replace(record);
+        } else {
+            String[] key = Arrays.copyOf(record, keyColumns(fileName));
+            List<String[]> records = readCsv(fileName);
+            for (int i = 0; i < records.size(); i++) {
+                if (matchesKey(records.get(i), key)) {
+                    records.set(i, record);
+                    found = true;
+                    break;
+                }
+            }
+            if (found) {
+                writeRecords(fileName, records);
+            }
+        }
+        if (found) {
+            indexesOf(fileName).forEach(index -> index.put(record));
+        }
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, found ? "Запись обновлена" : "Запись не найдена"));
+        }
+        log.debug(LogMessage.format(Constants.LOG_METHOD_END, methodName));
+        return found;
+    }
+
+    /**
+     * Удаляет запись по значениям ключевых столбцов.
+     * @param fileName Имя файла
+     * @param key Значения ключевых столбцов
+     * @return true, если запись была удалена
+     */
+    public static boolean deleteRecord(String fileName, String... key) {
+        String methodName = "deleteRecord";
+        log.debug(LogMessage.format(Constants.LOG_METHOD_START, methodName));
+        boolean removed;
+        if (isJournaled(fileName)) {
+            removed = store(fileName).delete(key);
+        } else {
+            List<String[]> records = readCsv(fileName);
+            removed = records.removeIf(record -> matchesKey(record, key));
+            if (removed) {
+                writeRecords(fileName, records);
+            }
+        }
+        if (removed) {
+            indexesOf(fileName).forEach(index -> index.remove(key));
+        }
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, removed ? "Запись удалена" : "Запись не найдена"));
+        }
+        log.debug(LogMessage.format(Constants.LOG_METHOD_END, methodName));
+        return removed;
+    }
+
+    /**
+     * Добавляет несколько записей за одну операцию записи в файл.
+     * @param fileName Имя файла
+     * @param records Записи
+     */
+    public static void insertRecords(String fileName, List<String[]> records) {
+        String methodName = "insertRecords";
+        log.debug(LogMessage.format(Constants.LOG_METHOD_START, methodName));
+        if (records.isEmpty()) {
+            log.debug(LogMessage.format(Constants.LOG_METHOD_END, methodName));
+            return;
+        }
+        if (isJournaled(fileName)) {
+            store(fileName).appendAll(records);
+        } else {
+            List<String[]> existing = readCsv(fileName);
+            existing.addAll(records);
+            writeRecords(fileName, existing);
+        }
+        indexesOf(fileName).forEach(index -> records.forEach(index::put));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Добавлено записей: " + records.size()));
+        }
+        log.debug(LogMessage.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    /**
+     * Заменяет несколько записей за одну операцию записи в файл.
+     * Если хотя бы одна запись не найдена, файл не изменяется.
+     * @param fileName Имя файла
+     * @param records Новые версии записей
+     * @return true, если все записи найдены и заменены
+     */
+    public static boolean updateRecords(String fileName, List<String[]> records) {
+        String methodName = "updateRecords";
+        log.debug(LogMessage.format(Constants.LOG_METHOD_START, methodName));
+        boolean found;
+        if (isJournaled(fileName)) {
+            found = store(fileName).replaceAll(records);
+        } else {
+            int keyColumns = keyColumns(fileName);
+            Map<String, String[]> replacements = new HashMap<>();
+            for (String[] record : records) {
+                replacements.put(String.join(",", Arrays.copyOf(record, keyColumns)), record);
+            }
+            List<String[]> existing = readCsv(fileName);
+            int replaced = 0;
+            for (int i = 0; i < existing.size(); i++) {
+                String[] replacement = replacements.get(String.join(",", Arrays.copyOf(existing.get(i), keyColumns)));
+                if (replacement != null) {
+                    existing.set(i, replacement);
+                    replaced++;
+                }
+            }
+            found = replaced == replacements.size();
+            if (found && replaced > 0) {
+                writeRecords(fileName, existing);
+            }
+        }
+        if (found) {
+            indexesOf(fileName).forEach(index -> records.forEach(index::put));
+        }
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, found ? "Записи обновлены: " + records.size() : "Не все записи найдены"));
+        }
+        log.debug(LogMessage.format(Constants.LOG_METHOD_END, methodName));
+        return found;
+    }
+
+    /**
+     * Удаляет несколько записей по ключам за одну операцию записи в файл.
+     * @param fileName Имя файла
+     * @param keys Значения ключевых столбцов для каждой записи
+     * @return Количество удаленных записей
+     */
+    public static int deleteRecords(String fileName, List<String[]> keys) {
+        String methodName = "deleteRecords";
+        log.debug(LogMessage.format(Constants.LOG_METHOD_START, methodName));
+        List<String[]> removed;
+        if (isJournaled(fileName)) {
+            removed = store(fileName).deleteAll(keys);
+        } else {
+            int keyColumns = keyColumns(fileName);
+            Map<String, String[]> pending = new HashMap<>();
+            for (String[] key : keys) {
+                pending.put(String.join(",", key), key);
+            }
+            removed = new ArrayList<>();
+            List<String[]> existing = readCsv(fileName);
+            List<String[]> kept = new ArrayList<>(existing.size());
+            for (String[] record : existing) {
+                String[] key = pending.get(String.join(",", Arrays.copyOf(record, Math.min(keyColumns, record.length))));
+                if (key != null) {
+                    removed.add(key);
+                } else {
+                    kept.add(record);
+                }
+            }
+            if (!removed.isEmpty()) {
+                writeRecords(fileName, kept);
+            }
+        }
+        indexesOf(fileName).forEach(index -> removed.forEach(index::remove));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Удалено записей: " + removed.size()));
+        }
+        log.debug(LogMessage.format(Constants.LOG_METHOD_END, methodName));
+        return removed.size();
+    }
+
+    /**
+     * Синхронно уплотняет файл журнального хранилища, удаляя замещенные записи и tombstone-записи.
+     * @param fileName Имя файла
+     */
+    public static void compact(String fileName) {
+        String methodName = "compact";
+        log.debug(LogMessage.format(Constants.LOG_METHOD_START, methodName));
+        if (KEY_COLUMNS.containsKey(fileName)) {
+            store(fileName).compact();
+        } else {
+            writeRecords(fileName, readCsv(fileName));
+        }
+        log.debug(LogMessage.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    private static boolean isJournaled(String fileName) {
+        return storageMode == StorageMode.APPEND && KEY_COLUMNS.containsKey(fileName);
+    }
+
+    private static int keyColumns(String fileName) {
+        return KEY_COLUMNS.getOrDefault(fileName, 1);
+    }
+
+    private static AppendOnlyCsvStore store(String fileName) {
+        return stores.computeIfAbsent(fileName, name -> new AppendOnlyCsvStore(
+                Paths.get(CSV_DIR, name),
+                CSV_HEADERS.getOrDefault(name, new String[]{}),
+                KEY_COLUMNS.get(name),
+                Integer.getInteger(Constants.CSV_COMPACTION_MIN_DEAD_KEY, 1000),
+                0.5));
+    }
+
+    private static CsvSecondaryIndex index(String fileName, String column) {
+        int columnIndex = Arrays.asList(CSV_HEADERS.getOrDefault(fileName, new String[]{})).indexOf(column);
+        if (columnIndex < 0 || !KEY_COLUMNS.containsKey(fileName)
+                || !Arrays.asList(INDEXED_COLUMNS.getOrDefault(fileName, new String[]{})).contains(column)) {
+            log.error(String.format(Constants.LOG_ERROR, "index", "Нет индекса по столбцу " + column + " файла " + fileName));
+            throw new IllegalArgumentException("Нет индекса по столбцу " + column + " файла " + fileName);
+        }
+        return indexes.computeIfAbsent(fileName + "." + column, name -> new CsvSecondaryIndex(
+                Paths.get(CSV_DIR, fileName),
+                Paths.get(CSV_DIR, name + INDEX_SUFFIX),
+                columnIndex,
+                KEY_COLUMNS.get(fileName),
+                () -> streamCsv(fileName)));
+    }
+
+    private static List<CsvSecondaryIndex> indexesOf(String fileName) {
+        List<CsvSecondaryIndex> result = new ArrayList<>();
+        for (String column : INDEXED_COLUMNS.getOrDefault(fileName, new String[]{})) {
+            result.add(index(fileName, column));
+        }
+        return result;
+    }
+
+    private static CsvIdSequence sequence(String fileName) {
+        return sequences.computeIfAbsent(fileName, name -> new CsvIdSequence(
+                Paths.get(CSV_DIR, name + SEQUENCE_SUFFIX),
+                Integer.getInteger(Constants.CSV_ID_BLOCK_SIZE_KEY, 100),
+                () -> scanMaxId(name)));
+    }
+
+    private static boolean matchesKey(String[] record, String... key) {
+        if (record.length < key.length) {
+            return false;
+        }
+        for (int i = 0; i < key.length; i++) {
+            if (!record[i].equals(key[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Применяет к записям журнальную семантику, если файл был записан в журнальном режиме:
+     * последняя версия записи с ключом замещает предыдущие, tombstone-записи удаляют ключ.
+     */
+    private static List<String[]> resolveJournal(String fileName, List<String[]> records) {
+        Integer keyColumns = KEY_COLUMNS.get(fileName);
+        if (keyColumns == null) {
+            return records;
+        }
+        Map<String, String[]> live = new LinkedHashMap<>();
         for (String[] record : records) {
-            if (record[0].equals(String.valueOf(id))) {
-                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Запись найдена для ID: " + id));
-                log.info(String.format(Constants.LOG_METHOD_END, methodName));
-                return Optional.of(record);
+            if (record.length < keyColumns) {
+                continue;
+            }
+            String key = String.join(",", Arrays.copyOf(record, keyColumns));
+            if (record.length == keyColumns + 1 && AppendOnlyCsvStore.TOMBSTONE.equals(record[keyColumns])) {
+                live.remove(key);
+            } else {
+                live.put(key, record);
             }
         }
-        log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Запись не найдена для ID: " + id));
-        log.info(String.format(Constants.LOG_METHOD_END, methodName));
-        return Optional.empty();
+        return live.size() == records.size() ? records : new ArrayList<>(live.values());
     }
-}
\ No newline at end of file
+}
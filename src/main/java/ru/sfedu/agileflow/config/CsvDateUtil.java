@@ -36,15 +36,19 @@ public class CsvDateUtil {
      */
     public static Date deserializeDate(String dateStr, boolean isTimestamp) {
         String methodName = "deserializeDate";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        log.debug(LogMessage.format(Constants.LOG_METHOD_START, methodName));
         if (dateStr == null || dateStr.isEmpty()) {
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Строка даты пустая"));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Строка даты пустая"));
+            }
             return null;
         }
         try {
             Date date = isTimestamp ? TIMESTAMP_FORMAT.parse(dateStr) : DATE_FORMAT.parse(dateStr);
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Дата десериализована: " + date));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Дата десериализована: " + date));
+            }
+            log.debug(LogMessage.format(Constants.LOG_METHOD_END, methodName));
             return date;
         } catch (ParseException e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось десериализовать дату: " + e.getMessage()), e);
@@ -0,0 +1,143 @@
+package ru.sfedu.agileflow.config;
+
+import org.apache.log4j.Logger;
+import ru.sfedu.agileflow.constants.Constants;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+
+/**
+ * Персистентная последовательность идентификаторов для CSV-файла.
+ * Верхняя граница выданных идентификаторов (high-water mark) хранится в отдельном файле рядом с CSV
+ * и резервируется блоками: граница записывается на диск до выдачи идентификаторов из блока,
+ * поэтому после аварийного завершения идентификаторы не повторяются (возможен лишь пропуск
+ * неиспользованного остатка блока). При корректном завершении сохраняется точное значение.
+ * Если файл границы отсутствует или поврежден, последовательность восстанавливается
+ * однократным чтением максимального идентификатора из CSV.
+ */
+public class CsvIdSequence {
+    private static final Logger log = Logger.getLogger(CsvIdSequence.class);
+
+    private final Path sequencePath;
+    private final int blockSize;
+    private final IntSupplier recovery;
+
+    // Последний выданный идентификатор
+    private final AtomicInteger current = new AtomicInteger();
+    // Граница, сохраненная на диске: все выданные идентификаторы не превышают ее
+    private volatile int reserved;
+    private volatile boolean loaded;
+
+    /**
+     * Создает последовательность.
+     * @param sequencePath Путь к файлу с верхней границей
+     * @param blockSize Размер резервируемого блока идентификаторов
+     * @param recovery Источник максимального существующего идентификатора для восстановления
+     */
+    public CsvIdSequence(Path sequencePath, int blockSize, IntSupplier recovery) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Размер блока должен быть положительным");
+        }
+        this.sequencePath = sequencePath;
+        this.blockSize = blockSize;
+        this.recovery = recovery;
+    }
+
+    /**
+     * Возвращает следующий идентификатор.
+     * @return Новый идентификатор
+     */
+    public int next() {
+        if (!loaded) {
+            load();
+        }
+        int id = current.incrementAndGet();
+        if (id > reserved) {
+            synchronized (this) {
+                if (id > reserved) {
+                    // Граница публикуется только после записи на диск: до этого другие потоки
+                    // с идентификаторами из нового блока ожидают здесь же
+                    int bound = id + blockSize - 1;
+                    persist(bound);
+                    reserved = bound;
+                }
+            }
+        }
+        return id;
+    }
+
+    /**
+     * Сохраняет точное значение последнего выданного идентификатора, чтобы после
+     * перезапуска не возникало пропусков.
+     */
+    public synchronized void flush() {
+        if (!loaded) {
+            return;
+        }
+        // Понижение границы направляет новые идентификаторы через блокировку; повторное чтение
+        // учитывает идентификаторы, выданные до понижения без блокировки
+        reserved = current.get();
+        int last = current.get();
+        persist(last);
+        reserved = last;
+    }
+
+    private synchronized void load() {
+        if (loaded) {
+            return;
+        }
+        String methodName = "load";
+        log.debug(LogMessage.format(Constants.LOG_METHOD_START, methodName));
+        int start;
+        try {
+            start = Integer.parseInt(Files.readString(sequencePath, StandardCharsets.UTF_8).trim());
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Граница последовательности прочитана: " + start));
+            }
+        } catch (IOException | NumberFormatException e) {
+            // Файл границы отсутствует или поврежден: восстанавливаемся по данным
+            start = recovery.getAsInt();
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Последовательность восстановлена по CSV: " + start));
+            }
+            persist(start);
+        }
+        current.set(start);
+        reserved = start;
+        loaded = true;
+        log.debug(LogMessage.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    /**
+     * Атомарно записывает границу: во временный файл с fsync и затем переименованием.
+     */
+    private void persist(int value) {
+        String methodName = "persist";
+        Path tempPath = sequencePath.resolveSibling(sequencePath.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(sequencePath.toAbsolutePath().getParent());
+            try (FileChannel channel = FileChannel.open(tempPath, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                channel.write(ByteBuffer.wrap(String.valueOf(value).getBytes(StandardCharsets.UTF_8)));
+                channel.force(true);
+            }
+            try {
+                Files.move(tempPath, sequencePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempPath, sequencePath, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось сохранить границу последовательности: " + e.getMessage()), e);
+            throw new RuntimeException("Не удалось сохранить границу последовательности", e);
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package ru.sfedu.agileflow.config;
+
+import com.opencsv.CSVWriter;
+import org.apache.log4j.Logger;
+import ru.sfedu.agileflow.constants.Constants;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Вторичный хеш-индекс по одному столбцу CSV-файла: значение столбца → ключи записей.
+ * Индекс строится лениво при первом поиске и поддерживается {@link CsvConfig} при каждой записи.
+ * Состояние индекса сохраняется в отдельном файле рядом с CSV вместе с отметкой (размер и время
+ * изменения) CSV-файла, по которой оно было построено. Если при поиске отметка не совпадает
+ * с текущим состоянием CSV-файла (файл изменен в обход {@link CsvConfig} или уплотнен),
+ * индекс перестраивается полным чтением файла.
+ */
+public class CsvSecondaryIndex {
+    private static final Logger log = Logger.getLogger(CsvSecondaryIndex.class);
+    private static final String STAMP_MARKER = "#stamp";
+    private static final String KEY_SEPARATOR = ",";
+
+    private final Path csvPath;
+    private final Path indexPath;
+    private final int columnIndex;
+    private final int keyColumns;
+    private final Supplier<Stream<String[]>> source;
+
+    // Значение столбца → ключи записей в порядке добавления
+    private final Map<String, Set<String>> entries = new HashMap<>();
+    // Ключ записи → значение столбца, нужно для обновления и удаления
+    private final Map<String, String> values = new HashMap<>();
+    // Отметка CSV-файла, которой соответствует индекс в памяти; null — индекс не загружен
+    private String fileStamp;
+    private boolean dirty;
+
+    /**
+     * Создает индекс.
+     * @param csvPath Путь к CSV-файлу
+     * @param indexPath Путь к файлу индекса
+     * @param columnIndex Номер индексируемого столбца
+     * @param keyColumns Количество ведущих столбцов, образующих ключ записи
+     * @param source Источник живых записей CSV-файла для перестроения индекса
+     */
+    public CsvSecondaryIndex(Path csvPath, Path indexPath, int columnIndex, int keyColumns, Supplier<Stream<String[]>> source) {
+        if (keyColumns < 1) {
+            throw new IllegalArgumentException("Количество ключевых столбцов должно быть положительным");
+        }
+        this.csvPath = csvPath;
+        this.indexPath = indexPath;
+        this.columnIndex = columnIndex;
+        this.keyColumns = keyColumns;
+        this.source = source;
+    }
+
+    /**
+     * Возвращает ключи записей с заданным значением столбца.
+     * @param value Значение столбца
+     * @return Ключи записей; пустой список, если записей нет
+     */
+    public synchronized List<String[]> lookup(String value) {
+        String methodName = "lookup";
+        log.debug(LogMessage.format(Constants.LOG_METHOD_START, methodName));
+        ensureLoaded();
+        Set<String> keys = entries.getOrDefault(value, Set.of());
+        List<String[]> result = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            result.add(key.split(KEY_SEPARATOR, -1));
+        }
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Найдено ключей: " + result.size()));
+        }
+        log.debug(LogMessage.format(Constants.LOG_METHOD_END, methodName));
+        return result;
+    }
+
+    /**
+     * Учитывает новую или измененную запись. Вызывается после записи в CSV-файл.
+     * @param record Запись
+     */
+    public synchronized void put(String[] record) {
+        if (fileStamp == null) {
+            // Индекс еще не загружен и будет построен по уже измененному файлу
+            return;
+        }
+        index(String.join(KEY_SEPARATOR, Arrays.copyOf(record, keyColumns)),
+                record.length > columnIndex ? record[columnIndex] : "");
+        touch();
+    }
+
+    /**
+     * Удаляет запись из индекса. Вызывается после удаления записи из CSV-файла.
+     * @param key Значения ключевых столбцов
+     */
+    public synchronized void remove(String... key) {
+        if (fileStamp == null) {
+            return;
+        }
+        unindex(String.join(KEY_SEPARATOR, key));
+        touch();
+    }
+
+    /**
+     * Сбрасывает индекс в памяти; при следующем поиске он будет загружен или перестроен.
+     */
+    public synchronized void invalidate() {
+        fileStamp = null;
+        dirty = false;
+    }
+
+    /**
+     * Сохраняет индекс в файл, если он изменялся после последнего сохранения.
+     */
+    public synchronized void flush() {
+        if (dirty && fileStamp != null && fileStamp.equals(stamp(csvPath))) {
+            persist();
+        }
+    }
+
+    private void index(String key, String value) {
+        String previous = values.put(key, value);
+        if (previous != null) {
+            removeEntry(previous, key);
+        }
+        entries.computeIfAbsent(value, v -> new LinkedHashSet<>()).add(key);
+    }
+
+    private void unindex(String key) {
+        String previous = values.remove(key);
+        if (previous != null) {
+            removeEntry(previous, key);
+        }
+    }
+
+    private void removeEntry(String value, String key) {
+        Set<String> keys = entries.get(value);
+        if (keys != null && keys.remove(key) && keys.isEmpty()) {
+            entries.remove(value);
+        }
+    }
+
+    /**
+     * Запоминает текущее состояние CSV-файла после изменения, внесенного через индекс.
+     */
+    private void touch() {
+        fileStamp = stamp(csvPath);
+        dirty = true;
+    }
+
+    /**
+     * Проверяет актуальность индекса и при необходимости загружает его из файла или перестраивает.
+     */
+    private void ensureLoaded() {
+        String methodName = "ensureLoaded";
+        String current = stamp(csvPath);
+        if (current != null && current.equals(fileStamp)) {
+            return;
+        }
+        entries.clear();
+        values.clear();
+        if (current != null && load(current)) {
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Индекс загружен из файла: " + indexPath));
+            }
+            fileStamp = current;
+            dirty = false;
+            return;
+        }
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Перестроение индекса: " + indexPath));
+        }
+        entries.clear();
+        values.clear();
+        try (Stream<String[]> records = source.get()) {
+            records.filter(record -> record.length >= keyColumns)
+                    .forEach(record -> index(String.join(KEY_SEPARATOR, Arrays.copyOf(record, keyColumns)),
+                            record.length > columnIndex ? record[columnIndex] : ""));
+        }
+        // Источник мог создать CSV-файл, поэтому отметка снимается после чтения
+        fileStamp = stamp(csvPath);
+        persist();
+    }
+
+    /**
+     * Загружает сохраненный индекс, если он построен по текущему состоянию CSV-файла.
+     * @return true, если индекс загружен
+     */
+    private boolean load(String expectedStamp) {
+        if (!Files.exists(indexPath)) {
+            return false;
+        }
+        try (MappedCsvReader reader = MappedCsvReader.open(indexPath)) {
+            if (!reader.next() || !reader.fieldEquals(0, STAMP_MARKER) || !reader.fieldEquals(1, expectedStamp)) {
+                return false;
+            }
+            while (reader.next()) {
+                String[] row = reader.toArray();
+                if (row.length != keyColumns + 1) {
+                    return false;
+                }
+                index(String.join(KEY_SEPARATOR, Arrays.copyOfRange(row, 1, row.length)), row[0]);
+            }
+            return true;
+        } catch (IOException | RuntimeException e) {
+            // Поврежденный файл индекса не является ошибкой: индекс будет перестроен
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, "load", "Файл индекса не прочитан: " + e.getMessage()));
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Атомарно записывает индекс: во временный файл и затем переименованием.
+     */
+    private void persist() {
+        String methodName = "persist";
+        if (fileStamp == null) {
+            return;
+        }
+        Path tempPath = indexPath.resolveSibling(indexPath.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(indexPath.toAbsolutePath().getParent());
+            try (CSVWriter writer = new CSVWriter(Files.newBufferedWriter(tempPath, StandardCharsets.UTF_8))) {
+                writer.writeNext(new String[]{STAMP_MARKER, fileStamp});
+                for (Map.Entry<String, String> entry : values.entrySet()) {
+                    String[] key = entry.getKey().split(KEY_SEPARATOR, -1);
+                    String[] row = new String[keyColumns + 1];
+                    row[0] = entry.getValue();
+                    System.arraycopy(key, 0, row, 1, keyColumns);
+                    writer.writeNext(row);
+                }
+            }
+            Instrumentation.count(Instrumentation.CSV_BYTES_WRITTEN, Files.size(tempPath));
+            try {
+                Files.move(tempPath, indexPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempPath, indexPath, StandardCopyOption.REPLACE_EXISTING);
+            }
+            dirty = false;
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Индекс сохранен: " + indexPath));
+            }
+        } catch (IOException e) {
+            // Индекс восстанавливается по данным, поэтому ошибка сохранения не прерывает операцию
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось сохранить индекс: " + e.getMessage()), e);
+        }
+    }
+
+    /**
+     * Возвращает отметку состояния файла: размер и время последнего изменения.
+     * @return Отметка или null, если файл не существует
+     */
+    private static String stamp(Path path) {
+        try {
+            return Files.size(path) + ":" + Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
@@ -3,69 +3,297 @@ package ru.sfedu.agileflow.config;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityManagerFactory;
 import jakarta.persistence.Persistence;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
 import org.apache.log4j.Logger;
+import org.hibernate.SessionFactory;
 import ru.sfedu.agileflow.constants.Constants;
+import ru.sfedu.agileflow.dao.Cursor;
+import ru.sfedu.agileflow.dao.Page;
+import ru.sfedu.agileflow.dao.Sort;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 /**
  * Класс для конфигурации и управления подключением к базе данных через Hibernate.
+ * EntityManagerFactory каждой единицы персистентности создается при первом обращении к ней,
+ * поэтому обращение к одной PU не требует инициализации остальных. В режиме
+ * {@link BootstrapMode#PARALLEL} все фабрики дополнительно создаются при загрузке класса
+ * параллельно в фоновых потоках; обращение к PU, фабрика которой еще создается, ожидает
+ * завершения создания. Время создания каждой фабрики доступно через {@link #getBootstrapTimes()}.
+ * <p>
+ * Настройки PU из persistence.xml переопределяются, по возрастанию приоритета, файлом database.properties,
+ * файлом профиля database-&lt;профиль&gt;.properties (см. {@link Profile}) и системными свойствами JPA и Hibernate.
  */
 public class DatabaseConfig {
     private static final Logger log = Logger.getLogger(DatabaseConfig.class);
-    private static final EntityManagerFactory emf;
-    private static final EntityManagerFactory lab3SingleTableEmf;
-    private static final EntityManagerFactory lab3TablePerClassEmf;
-    private static final EntityManagerFactory lab3JoinedTableEmf;
-    private static final EntityManagerFactory lab3MappedSuperclassEmf;
-    private static final EntityManagerFactory lab4Emf;
-    private static final EntityManagerFactory lab5Emf;
+    private static final List<String> PERSISTENCE_UNITS = List.of(
+            "AgileFlowPU",
+            "Lab3SingleTablePU",
+            "Lab3TablePerClassPU",
+            "Lab3JoinedTablePU",
+            "Lab3MappedSuperclassPU",
+            "Lab4PU",
+            "Lab5PU");
+    private static final Properties props = new Properties();
+    private static final BootstrapMode bootstrapMode;
+    private static final Profile profile;
+    // Имя PU → фабрика; запись появляется в начале создания, поэтому фабрика создается один раз
+    private static final Map<String, CompletableFuture<EntityManagerFactory>> factories = new ConcurrentHashMap<>();
+    private static final Map<String, Duration> bootstrapTimes = new ConcurrentHashMap<>();
+    private static volatile boolean closed;
+    private static final int STREAM_FETCH_SIZE = 500;
+    private static final int DEFAULT_BATCH_SIZE = 50;
+    // Подсказка JPA: атрибуты графа загружаются вместе с сущностью, остальные - по отображению
+    private static final String LOAD_GRAPH = "jakarta.persistence.loadgraph";
+
+    /**
+     * Момент создания EntityManagerFactory.
+     */
+    public enum BootstrapMode {
+        /** Фабрика создается при первом обращении к своей PU. */
+        LAZY,
+        /** Все фабрики создаются параллельно в фоновых потоках при загрузке класса. */
+        PARALLEL
+    }
+
+    /**
+     * Профиль настроек всех PU. Выбирается ключом {@code db.profile} (системное свойство
+     * или database.properties), по умолчанию {@link #DEV}.
+     */
+    public enum Profile {
+        /** Настройки persistence.xml без изменений: вывод SQL, обновление схемы лабораторных PU. */
+        DEV,
+        /**
+         * Настройки из database-prod.properties поверх persistence.xml: без вывода SQL, пакетная отправка
+         * операторов, кэш операторов и размер выборки. Режим схемы остается из persistence.xml: проверка
+         * для AgileFlowPU, схема которой создается RequestsSQL, и обновление для лабораторных PU без DDL-скрипта.
+         */
+        PROD
+    }
 
     static {
         String methodName = "static_initializer";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
         try {
-            Properties props = new Properties();
             log.info("static_initializer [1] Загрузка свойств базы данных");
             props.load(DatabaseConfig.class.getClassLoader().getResourceAsStream(Constants.DB_PROPERTIES_PATH));
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Свойства загружены: " + props.toString()));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Свойства загружены: " + props.toString()));
+            }
+            profile = Profile.valueOf(System.getProperty(Constants.DB_PROFILE_KEY,
+                    props.getProperty(Constants.DB_PROFILE_KEY, Profile.DEV.name())).toUpperCase());
+            loadProfile(profile);
+            // Системные свойства JPA и Hibernate переопределяют persistence.xml, например для запуска на другой базе
+            for (String name : System.getProperties().stringPropertyNames()) {
+                if (name.startsWith("jakarta.persistence.") || name.startsWith("javax.persistence.") || name.startsWith("hibernate.")) {
+                    props.setProperty(name, System.getProperty(name));
+                }
+            }
+            bootstrapMode = BootstrapMode.valueOf(System.getProperty(Constants.DB_BOOTSTRAP_KEY,
+                    props.getProperty(Constants.DB_BOOTSTRAP_KEY, BootstrapMode.LAZY.name())).toUpperCase());
+        } catch (IOException e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось загрузить свойства базы данных: " + e.getMessage()));
+            throw new RuntimeException("Не удалось загрузить свойства базы данных", e);
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось инициализировать EntityManagerFactory: " + e.getMessage()));
+            throw new RuntimeException("Не удалось инициализировать Hibernate", e);
+        }
+        if (bootstrapMode == BootstrapMode.PARALLEL) {
+            log.info("static_initializer [2] Параллельная инициализация EntityManagerFactory");
+            warmUp();
+        }
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+        }
+    }
 
-            log.info("static_initializer [2] Инициализация EntityManagerFactory для AgileFlowPU");
-            emf = Persistence.createEntityManagerFactory("AgileFlowPU", props);
-            log.info("static_initializer [3] EntityManagerFactory для AgileFlowPU успешно инициализирован");
+    /**
+     * Добавляет к свойствам настройки профиля из файла database-&lt;профиль&gt;.properties, если он есть.
+     */
+    private static void loadProfile(Profile profile) throws IOException {
+        String methodName = "loadProfile";
+        String path = String.format(Constants.DB_PROFILE_PROPERTIES_PATTERN, profile.name().toLowerCase());
+        try (InputStream in = DatabaseConfig.class.getClassLoader().getResourceAsStream(path)) {
+            if (in == null) {
+                log.info(LogMessage.format(Constants.LOG_DB_DEBUG, methodName, "Профиль " + profile + " без файла " + path));
+                return;
+            }
+            Properties profileProps = new Properties();
+            profileProps.load(in);
+            props.putAll(profileProps);
+            log.info(LogMessage.format(Constants.LOG_DB_DEBUG, methodName, "Профиль " + profile + ": " + profileProps.size()
+                    + " свойств из " + path));
+        }
+    }
 
-            log.info("static_initializer [4] Инициализация EntityManagerFactory для Lab3SingleTablePU");
-            lab3SingleTableEmf = Persistence.createEntityManagerFactory("Lab3SingleTablePU", props);
-            log.info("static_initializer [5] EntityManagerFactory для Lab3SingleTablePU успешно инициализирован");
+    /**
+     * Пул фоновой инициализации; создается только при первом вызове {@link #warmUp(String...)}.
+     */
+    private static final class BootstrapExecutor {
+        private static final AtomicInteger threadNumber = new AtomicInteger();
+        private static final ExecutorService executor = Executors.newFixedThreadPool(
+                Math.min(PERSISTENCE_UNITS.size(), Runtime.getRuntime().availableProcessors()), r -> {
+                    Thread thread = new Thread(r, "emf-bootstrap-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
 
-            log.info("static_initializer [6] Инициализация EntityManagerFactory для Lab3TablePerClassPU");
-            lab3TablePerClassEmf = Persistence.createEntityManagerFactory("Lab3TablePerClassPU", props);
-            log.info("static_initializer [7] EntityManagerFactory для Lab3TablePerClassPU успешно инициализирован");
+    /**
+     * Возвращает режим создания EntityManagerFactory.
+     * @return Режим создания
+     */
+    public static BootstrapMode getBootstrapMode() {
+        return bootstrapMode;
+    }
 
-            log.info("static_initializer [8] Инициализация EntityManagerFactory для Lab3JoinedTablePU");
-            lab3JoinedTableEmf = Persistence.createEntityManagerFactory("Lab3JoinedTablePU", props);
-            log.info("static_initializer [9] EntityManagerFactory для Lab3JoinedTablePU успешно инициализирован");
+    /**
+     * Возвращает профиль настроек PU.
+     * @return Профиль
+     */
+    public static Profile getProfile() {
+        return profile;
+    }
 
-            log.info("static_initializer [10] Инициализация EntityManagerFactory для Lab3MappedSuperclassPU");
-            lab3MappedSuperclassEmf = Persistence.createEntityManagerFactory("Lab3MappedSuperclassPU", props);
-            log.info("static_initializer [11] EntityManagerFactory для Lab3MappedSuperclassPU успешно инициализирован");
+    /**
+     * Запускает в фоновых потоках создание фабрик указанных PU, которые еще не созданы
+     * и не создаются.
+     * @param persistenceUnits Имена PU; без аргументов — все PU
+     * @return Future, завершающийся после создания всех указанных фабрик
+     */
+    public static CompletableFuture<Void> warmUp(String... persistenceUnits) {
+        String methodName = "warmUp";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
+        List<String> units = persistenceUnits.length == 0 ? PERSISTENCE_UNITS : List.of(persistenceUnits);
+        List<CompletableFuture<EntityManagerFactory>> futures = new ArrayList<>(units.size());
+        for (String unit : units) {
+            CompletableFuture<EntityManagerFactory> created = new CompletableFuture<>();
+            CompletableFuture<EntityManagerFactory> existing = factories.putIfAbsent(unit, created);
+            if (existing == null) {
+                BootstrapExecutor.executor.execute(() -> bootstrap(unit, created));
+                existing = created;
+            }
+            futures.add(existing);
+        }
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, units));
+            log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+        }
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new));
+    }
 
-            log.info("static_initializer [12] Инициализация EntityManagerFactory для Lab4PU");
-            lab4Emf = Persistence.createEntityManagerFactory("Lab4PU", props);
-            log.info("static_initializer [13] EntityManagerFactory для Lab4PU успешно инициализирован");
+    /**
+     * Возвращает время создания фабрик, созданных к моменту вызова.
+     * @return Имя PU → время создания, в порядке объявления PU
+     */
+    public static Map<String, Duration> getBootstrapTimes() {
+        Map<String, Duration> result = new LinkedHashMap<>();
+        for (String unit : PERSISTENCE_UNITS) {
+            Duration time = bootstrapTimes.get(unit);
+            if (time != null) {
+                result.put(unit, time);
+            }
+        }
+        return Collections.unmodifiableMap(result);
+    }
 
-            log.info("static_initializer [14] Инициализация EntityManagerFactory для Lab5PU");
-            lab5Emf = Persistence.createEntityManagerFactory("Lab5PU", props);
-            log.info("static_initializer [15] EntityManagerFactory для Lab5PU успешно инициализирован");
-        } catch (IOException e) {
-            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось загрузить свойства базы данных: " + e.getMessage()));
-            throw new RuntimeException("Не удалось загрузить свойства базы данных", e);
-        } catch (Exception e) {
-            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось инициализировать EntityManagerFactory: " + e.getMessage()));
-            throw new RuntimeException("Не удалось инициализировать Hibernate", e);
+    /**
+     * Возвращает показатели пулов соединений, открытых созданными фабриками.
+     * @return Имя пула → показатели
+     */
+    public static Map<String, ConnectionPool.Metrics> getPoolMetrics() {
+        return ConnectionPool.getAllMetrics();
+    }
+
+    /**
+     * Возвращает статистику регионов кэша второго уровня и кэша запросов основной PU.
+     * @return Имя региона → статистика
+     */
+    public static Map<String, CacheStatistics> getCacheStatistics() {
+        return CacheStatistics.of(getFactory("AgileFlowPU"));
+    }
+
+    /**
+     * Очищает кэш второго уровня и кэш запросов основной PU, например после изменения
+     * данных в обход Hibernate.
+     */
+    public static void evictCache() {
+        String methodName = "evictCache";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
+        getFactory("AgileFlowPU").getCache().evictAll();
+        getFactory("AgileFlowPU").unwrap(SessionFactory.class).getCache().evictQueryRegions();
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+        }
+    }
+
+    /**
+     * Возвращает фабрику PU, создавая ее в текущем потоке, если она еще не создана и не создается.
+     */
+    private static EntityManagerFactory getFactory(String persistenceUnitName) {
+        if (closed) {
+            throw new IllegalStateException("EntityManagerFactory не инициализирован или закрыт");
+        }
+        CompletableFuture<EntityManagerFactory> created = new CompletableFuture<>();
+        CompletableFuture<EntityManagerFactory> existing = factories.putIfAbsent(persistenceUnitName, created);
+        if (existing == null) {
+            bootstrap(persistenceUnitName, created);
+            existing = created;
+        }
+        try {
+            return existing.join();
+        } catch (CompletionException e) {
+            throw new RuntimeException("Не удалось инициализировать Hibernate для " + persistenceUnitName, e.getCause());
+        }
+    }
+
+    private static void bootstrap(String persistenceUnitName, CompletableFuture<EntityManagerFactory> result) {
+        String methodName = "bootstrap_" + persistenceUnitName;
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
+        long start = System.nanoTime();
+        try {
+            EntityManagerFactory factory = Persistence.createEntityManagerFactory(persistenceUnitName, props);
+            Duration time = Duration.ofNanos(System.nanoTime() - start);
+            bootstrapTimes.put(persistenceUnitName, time);
+            log.info(String.format(Constants.LOG_DB_DEBUG, methodName, "EntityManagerFactory создан за " + time.toMillis() + " мс"));
+            result.complete(factory);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+        } catch (RuntimeException e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось инициализировать EntityManagerFactory: " + e.getMessage()), e);
+            // Следующее обращение к PU повторит попытку
+            factories.remove(persistenceUnitName, result);
+            result.completeExceptionally(e);
         }
-        log.info(String.format(Constants.LOG_METHOD_END, methodName));
     }
 
     /**
@@ -133,39 +361,22 @@ public class DatabaseConfig {
 
     private static EntityManager getEntityManager(String persistenceUnitName) {
         String methodName = "getEntityManager_" + persistenceUnitName;
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        log.debug(LogMessage.format(Constants.LOG_METHOD_START, methodName));
         try {
-            EntityManagerFactory factory;
-            switch (persistenceUnitName) {
-                case "Lab3SingleTablePU":
-                    factory = lab3SingleTableEmf;
-                    break;
-                case "Lab3TablePerClassPU":
-                    factory = lab3TablePerClassEmf;
-                    break;
-                case "Lab3JoinedTablePU":
-                    factory = lab3JoinedTableEmf;
-                    break;
-                case "Lab3MappedSuperclassPU":
-                    factory = lab3MappedSuperclassEmf;
-                    break;
-                case "Lab4PU":
-                    factory = lab4Emf;
-                    break;
-                case "Lab5PU":
-                    factory = lab5Emf;
-                    break;
-                default:
-                    factory = emf;
-            }
+            EntityManagerFactory factory = getFactory(persistenceUnitName);
             if (factory == null || !factory.isOpen()) {
                 log.error(String.format(Constants.LOG_ERROR, methodName, "EntityManagerFactory не инициализирован или закрыт"));
                 throw new RuntimeException("EntityManagerFactory не инициализирован или закрыт");
             }
-            log.info(methodName + " [1] Создание EntityManager");
+            if (log.isDebugEnabled()) {
+                log.debug(methodName + " [1] Создание EntityManager");
+            }
             EntityManager em = factory.createEntityManager();
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "EntityManager успешно создан"));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            Instrumentation.count(Instrumentation.JPA_ENTITY_MANAGERS, 1);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "EntityManager успешно создан"));
+            }
+            log.debug(LogMessage.format(Constants.LOG_METHOD_END, methodName));
             return em;
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось создать EntityManager: " + e.getMessage()), e);
@@ -173,19 +384,297 @@ public class DatabaseConfig {
         }
     }
 
+    /**
+     * Выполняет JPQL-запрос к основной PU и возвращает результат потоком.
+     * Строки читаются из курсора JDBC порциями по {@value #STREAM_FETCH_SIZE}, контекст
+     * персистентности очищается после каждой порции, поэтому память не растет с размером таблицы.
+     * Возвращаемые сущности отсоединены. Поток необходимо закрыть: при закрытии
+     * завершается транзакция и закрывается EntityManager.
+     * @param jpql Текст запроса
+     * @param resultClass Класс результата
+     * @return Поток результатов
+     */
+    public static <T> Stream<T> streamResults(String jpql, Class<T> resultClass) {
+        return streamResults(jpql, resultClass, null);
+    }
+
+    /**
+     * Выполняет JPQL-запрос к основной PU и возвращает результат потоком, загружая связи
+     * по именованному графу сущностей.
+     * @param jpql Текст запроса
+     * @param resultClass Класс результата
+     * @param graph Имя графа сущностей или null
+     * @return Поток результатов
+     * @see #streamResults(String, Class)
+     */
+    public static <T> Stream<T> streamResults(String jpql, Class<T> resultClass, String graph) {
+        return streamResults(jpql, resultClass, graph, null);
+    }
+
+    /**
+     * Выполняет JPQL-запрос к основной PU и возвращает результат потоком. Инициализатор
+     * вызывается для каждой сущности, пока она еще присоединена к контексту, и догружает
+     * ленивые связи, которые нельзя получить графом.
+     * @param jpql Текст запроса
+     * @param resultClass Класс результата
+     * @param graph Имя графа сущностей или null
+     * @param initializer Инициализатор сущности или null
+     * @return Поток результатов
+     * @see #streamResults(String, Class)
+     */
+    public static <T> Stream<T> streamResults(String jpql, Class<T> resultClass, String graph, Consumer<? super T> initializer) {
+        String methodName = "streamResults";
+        log.debug(LogMessage.format(Constants.LOG_METHOD_START, methodName));
+        EntityManager em = getEntityManager();
+        try {
+            // PostgreSQL читает результат порциями только внутри транзакции
+            em.getTransaction().begin();
+            TypedQuery<T> query = withGraph(em, em.createQuery(jpql, resultClass), graph)
+                    .setHint("org.hibernate.fetchSize", STREAM_FETCH_SIZE)
+                    .setHint("org.hibernate.readOnly", true);
+            AtomicInteger count = new AtomicInteger();
+            Stream<T> results = query.getResultStream()
+                    .peek(entity -> {
+                        if (initializer != null) {
+                            initializer.accept(entity);
+                        }
+                        if (count.incrementAndGet() % STREAM_FETCH_SIZE == 0) {
+                            em.clear();
+                        }
+                    })
+                    .onClose(() -> {
+                        if (em.getTransaction().isActive()) {
+                            em.getTransaction().rollback();
+                        }
+                        em.close();
+                        if (log.isDebugEnabled()) {
+                            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Поток закрыт, прочитано: " + count.get()));
+                        }
+                    });
+            log.debug(LogMessage.format(Constants.LOG_METHOD_END, methodName));
+            return results;
+        } catch (Exception e) {
+            if (em.getTransaction().isActive()) {
+                em.getTransaction().rollback();
+            }
+            em.close();
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось выполнить потоковый запрос: " + e.getMessage()), e);
+            throw new RuntimeException("Не удалось выполнить потоковый запрос", e);
+        }
+    }
+
+    /**
+     * Выбирает страницу сущностей keyset-запросом: условие «после курсора» по паре
+     * (поле сортировки, id) и ORDER BY по той же паре позволяют базе данных читать индекс
+     * с нужной позиции, не пропуская OFFSET строк. Запрашивается limit + 1 строка,
+     * чтобы узнать, есть ли следующая страница.
+     * @param em EntityManager нужной PU; не закрывается
+     * @param entityClass Класс сущности
+     * @param filter Условия равенства: путь JPQL относительно сущности (например, "sprint.id") и значение
+     * @param after Курсор предыдущей страницы или null для первой страницы
+     * @param limit Размер страницы
+     * @param sort Порядок выборки; null означает порядок по идентификатору
+     * @return Страница сущностей
+     * @throws IllegalArgumentException если размер страницы меньше единицы или поле сортировки не является простым атрибутом
+     */
+    public static <T> Page<T> findPage(EntityManager em, Class<T> entityClass, Map<String, Object> filter,
+                                       Cursor after, int limit, Sort sort) {
+        return findPage(em, entityClass, filter, after, limit, sort, null);
+    }
+
+    /**
+     * Выбирает страницу сущностей keyset-запросом, загружая связи по именованному графу.
+     * Граф не должен содержать коллекций: соединение с коллекцией размножает строки,
+     * и ограничение размера страницы перестало бы выполняться в базе данных.
+     * @param graph Имя графа сущностей или null
+     * @return Страница сущностей
+     * @see #findPage(EntityManager, Class, Map, Cursor, int, Sort)
+     */
+    public static <T> Page<T> findPage(EntityManager em, Class<T> entityClass, Map<String, Object> filter,
+                                       Cursor after, int limit, Sort sort, String graph) {
+        String methodName = "findPage";
+        log.debug(LogMessage.format(Constants.LOG_METHOD_START, methodName));
+        Page.checkLimit(limit);
+        Sort order = sort != null ? sort : Sort.byId();
+        EntityType<T> entity = em.getMetamodel().entity(entityClass);
+        // Имя поля подставляется в текст запроса, поэтому допускаются только простые атрибуты сущности
+        Attribute<? super T, ?> attribute = entity.getAttribute(order.getProperty());
+        if (attribute.getPersistentAttributeType() != Attribute.PersistentAttributeType.BASIC) {
+            throw new IllegalArgumentException("Сортировка возможна только по простому атрибуту: " + order.getProperty());
+        }
+        String field = "e." + attribute.getName();
+        boolean asc = order.getDirection() == Sort.Direction.ASC;
+        String direction = asc ? " ASC" : " DESC";
+        String cmp = asc ? " > " : " < ";
+
+        List<String> conditions = new ArrayList<>();
+        int parameter = 0;
+        for (String path : filter.keySet()) {
+            conditions.add("e." + path + " = :p" + parameter++);
+        }
+        if (after != null) {
+            if (order.isById()) {
+                conditions.add("e.id" + cmp + ":id");
+            } else if (after.getValue() == null) {
+                // Пустые значения стоят первыми по возрастанию и последними по убыванию
+                conditions.add(asc ? "((" + field + " IS NULL AND e.id > :id) OR " + field + " IS NOT NULL)"
+                        : "(" + field + " IS NULL AND e.id < :id)");
+            } else {
+                conditions.add("(" + field + cmp + ":value OR (" + field + " = :value AND e.id" + cmp + ":id)"
+                        + (asc ? "" : " OR " + field + " IS NULL") + ")");
+            }
+        }
+        StringBuilder jpql = new StringBuilder("SELECT e FROM ").append(entity.getName()).append(" e");
+        if (!conditions.isEmpty()) {
+            jpql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        jpql.append(" ORDER BY ");
+        if (!order.isById()) {
+            jpql.append(field).append(direction).append(asc ? " NULLS FIRST, " : " NULLS LAST, ");
+        }
+        jpql.append("e.id").append(direction);
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, jpql));
+        }
+
+        TypedQuery<T> query = withGraph(em, em.createQuery(jpql.toString(), entityClass), graph).setMaxResults(limit + 1);
+        parameter = 0;
+        for (Object value : filter.values()) {
+            query.setParameter("p" + parameter++, value);
+        }
+        if (after != null) {
+            query.setParameter("id", after.getId());
+            if (!order.isById() && after.getValue() != null) {
+                query.setParameter("value", after.getValue());
+            }
+        }
+        Page<T> page = Page.of(query.getResultList(), limit, order);
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, page.toString()));
+        }
+        log.debug(LogMessage.format(Constants.LOG_METHOD_END, methodName));
+        return page;
+    }
+
+    /**
+     * Находит сущность по идентификатору, загружая связи по именованному графу.
+     * @param em EntityManager нужной PU; не закрывается
+     * @param entityClass Класс сущности
+     * @param id Идентификатор
+     * @param graph Имя графа сущностей или null
+     * @return Сущность или null, если не найдена
+     */
+    public static <T> T find(EntityManager em, Class<T> entityClass, Object id, String graph) {
+        if (graph == null) {
+            return em.find(entityClass, id);
+        }
+        return em.find(entityClass, id, Map.of(LOAD_GRAPH, em.getEntityGraph(graph)));
+    }
+
+    /**
+     * Назначает запросу именованный граф сущностей.
+     * @param em EntityManager, создавший запрос
+     * @param query Запрос
+     * @param graph Имя графа сущностей или null
+     * @return Тот же запрос
+     */
+    public static <T> TypedQuery<T> withGraph(EntityManager em, TypedQuery<T> query, String graph) {
+        return graph != null ? query.setHint(LOAD_GRAPH, em.getEntityGraph(graph)) : query;
+    }
+
+    /**
+     * Возвращает размер пакета JDBC основной PU (свойство hibernate.jdbc.batch_size).
+     * @return Размер пакета
+     */
+    public static int getBatchSize() {
+        Object value = getFactory("AgileFlowPU").getProperties().get("hibernate.jdbc.batch_size");
+        return value != null ? Integer.parseInt(value.toString()) : DEFAULT_BATCH_SIZE;
+    }
+
+    /**
+     * Применяет операцию к каждому объекту в одной транзакции основной PU.
+     * Каждые {@link #getBatchSize()} объектов контекст персистентности сбрасывается в базу
+     * и очищается: Hibernate отправляет накопленные операторы пакетом JDBC, а память не растет
+     * с размером коллекции. При ошибке транзакция откатывается целиком.
+     * @param items Объекты
+     * @param operation Операция над объектом, например {@code EntityManager::persist}
+     */
+    public static <T> void executeBatch(Collection<T> items, BiConsumer<EntityManager, T> operation) {
+        String methodName = "executeBatch";
+        log.debug(LogMessage.format(Constants.LOG_METHOD_START, methodName));
+        int batchSize = getBatchSize();
+        try (EntityManager em = getEntityManager()) {
+            try {
+                em.getTransaction().begin();
+                int count = 0;
+                for (T item : items) {
+                    operation.accept(em, item);
+                    if (++count % batchSize == 0) {
+                        em.flush();
+                        em.clear();
+                    }
+                }
+                em.getTransaction().commit();
+                if (log.isDebugEnabled()) {
+                    log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Обработано объектов: " + count));
+                }
+            } catch (RuntimeException e) {
+                if (em.getTransaction().isActive()) {
+                    em.getTransaction().rollback();
+                }
+                throw e;
+            }
+        }
+        log.debug(LogMessage.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    /**
+     * Удаляет сущности по идентификаторам в одной транзакции основной PU.
+     * Сущности загружаются порциями одним запросом на порцию, удаление выполняется
+     * через {@link EntityManager#remove}, поэтому правила каскадирования сохраняются.
+     * @param entityClass Класс сущности
+     * @param ids Идентификаторы; отсутствующие пропускаются
+     */
+    public static <T> void removeAllById(Class<T> entityClass, Collection<?> ids) {
+        String methodName = "removeAllById";
+        log.debug(LogMessage.format(Constants.LOG_METHOD_START, methodName));
+        List<List<Object>> chunks = new ArrayList<>();
+        int batchSize = getBatchSize();
+        for (Object id : ids) {
+            if (chunks.isEmpty() || chunks.get(chunks.size() - 1).size() == batchSize) {
+                chunks.add(new ArrayList<>(batchSize));
+            }
+            chunks.get(chunks.size() - 1).add(id);
+        }
+        String jpql = "SELECT e FROM " + entityClass.getSimpleName() + " e WHERE e.id IN :ids";
+        executeBatch(chunks, (em, chunk) -> {
+            em.createQuery(jpql, entityClass)
+                    .setParameter("ids", chunk)
+                    .getResultList()
+                    .forEach(em::remove);
+            em.flush();
+            em.clear();
+        });
+        log.debug(LogMessage.format(Constants.LOG_METHOD_END, methodName));
+    }
+
     /**
      * Выполняет тестовое соединение к базе данных и проверяет доступность.
      * @throws RuntimeException если не удалось установить соединение
      */
     public static void testConnection() {
         String methodName = "testConnection";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
         try (EntityManager em = getEntityManager()) {
             log.info("testConnection [1] Проверка соединения с базой данных");
             em.createNativeQuery("SELECT 1").getSingleResult();
             log.info("testConnection [2] Соединение успешно проверено");
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Соединение успешно протестировано"));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Соединение успешно протестировано"));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось протестировать соединение: " + e.getMessage()), e);
             throw new RuntimeException("Не удалось протестировать соединение: " + e.getMessage(), e);
@@ -193,52 +682,43 @@ public class DatabaseConfig {
     }
 
     /**
-     * Закрывает EntityManagerFactory и освобождает ресурсы.
+     * Закрывает созданные EntityManagerFactory и освобождает ресурсы.
+     * Фабрики, которые создаются в этот момент, закрываются после завершения создания.
+     * После закрытия получение EntityManager невозможно.
      */
     public static void close() {
         String methodName = "close";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
+        closed = true;
         try {
-            if (emf != null && emf.isOpen()) {
-                log.info("close [1] Закрытие EntityManagerFactory для AgileFlowPU");
-                emf.close();
-                log.info("close [2] EntityManagerFactory для AgileFlowPU успешно закрыт");
-            }
-            if (lab3SingleTableEmf != null && lab3SingleTableEmf.isOpen()) {
-                log.info("close [3] Закрытие EntityManagerFactory для Lab3SingleTablePU");
-                lab3SingleTableEmf.close();
-                log.info("close [4] EntityManagerFactory для Lab3SingleTablePU успешно закрыт");
-            }
-            if (lab3TablePerClassEmf != null && lab3TablePerClassEmf.isOpen()) {
-                log.info("close [5] Закрытие EntityManagerFactory для Lab3TablePerClassPU");
-                lab3TablePerClassEmf.close();
-                log.info("close [6] EntityManagerFactory для Lab3TablePerClassPU успешно закрыт");
-            }
-            if (lab3JoinedTableEmf != null && lab3JoinedTableEmf.isOpen()) {
-                log.info("close [7] Закрытие EntityManagerFactory для Lab3JoinedTablePU");
-                lab3JoinedTableEmf.close();
-                log.info("close [8] EntityManagerFactory для Lab3JoinedTablePU успешно закрыт");
-            }
-            if (lab3MappedSuperclassEmf != null && lab3MappedSuperclassEmf.isOpen()) {
-                log.info("close [9] Закрытие EntityManagerFactory для Lab3MappedSuperclassPU");
-                lab3MappedSuperclassEmf.close();
-                log.info("close [10] EntityManagerFactory для Lab3MappedSuperclassPU успешно закрыт");
-            }
-            if (lab4Emf != null && lab4Emf.isOpen()) {
-                log.info("close [11] Закрытие EntityManagerFactory для Lab4PU");
-                lab4Emf.close();
-                log.info("close [12] EntityManagerFactory для Lab4PU успешно закрыт");
-            }
-            if (lab5Emf != null && lab5Emf.isOpen()) {
-                log.info("close [13] Закрытие EntityManagerFactory для Lab5PU");
-                lab5Emf.close();
-                log.info("close [14] EntityManagerFactory для Lab5PU успешно закрыт");
-            }
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "EntityManagerFactory уже закрыт или не инициализирован"));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            int step = 0;
+            for (String unit : PERSISTENCE_UNITS) {
+                CompletableFuture<EntityManagerFactory> future = factories.get(unit);
+                EntityManagerFactory factory;
+                try {
+                    factory = future != null ? future.join() : null;
+                } catch (CompletionException e) {
+                    factory = null;
+                }
+                if (factory != null && factory.isOpen()) {
+                    log.info("close [" + (++step) + "] Закрытие EntityManagerFactory для " + unit);
+                    factory.close();
+                    log.info("close [" + (++step) + "] EntityManagerFactory для " + unit + " успешно закрыт");
+                }
+            }
+            if (step == 0) {
+                if (log.isDebugEnabled()) {
+                    log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "EntityManagerFactory уже закрыт или не инициализирован"));
+                }
+            }
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось закрыть EntityManagerFactory: " + e.getMessage()), e);
             throw new RuntimeException("Не удалось закрыть EntityManagerFactory", e);
         }
     }
-}
\ No newline at end of file
+}
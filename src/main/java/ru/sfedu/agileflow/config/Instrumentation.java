@@ -0,0 +1,173 @@
+package ru.sfedu.agileflow.config;
+
+import org.apache.log4j.Logger;
+import ru.sfedu.agileflow.constants.Constants;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Точка доступа к метрикам приложения: текущий {@link MetricsRegistry}, имена общих счетчиков,
+ * текстовый отчет для CLI и регистрация в JMX.
+ * Сбор метрик отключается системным свойством {@code metrics.enabled=false}.
+ */
+public final class Instrumentation {
+    private static final Logger log = Logger.getLogger(Instrumentation.class);
+
+    /** Имя JMX-объекта с метриками. */
+    public static final String OBJECT_NAME = "ru.sfedu.agileflow:type=Instrumentation";
+
+    /** Байт прочитано из CSV-файлов. */
+    public static final String CSV_BYTES_READ = "csv.bytesRead";
+    /** Байт записано в CSV-файлы. */
+    public static final String CSV_BYTES_WRITTEN = "csv.bytesWritten";
+    /** Байт прочитано из XML-файлов. */
+    public static final String XML_BYTES_READ = "xml.bytesRead";
+    /** Байт записано в XML-файлы. */
+    public static final String XML_BYTES_WRITTEN = "xml.bytesWritten";
+    /** Созданных EntityManager всех PU. */
+    public static final String JPA_ENTITY_MANAGERS = "jpa.entityManagers";
+    /** Завершенных транзакций основной PU. */
+    public static final String JPA_TRANSACTIONS = "jpa.transactions";
+    /** Транзакций основной PU, завершенных откатом. */
+    public static final String JPA_ROLLBACKS = "jpa.rollbacks";
+    /** Выполнений JDBC-операторов и пакетов основной PU. */
+    public static final String JPA_STATEMENTS = "jpa.statements";
+    /** Медленных SQL-запросов всех PU (см. {@link SlowQueryLog}). */
+    public static final String JPA_SLOW_QUERIES = "jpa.slowQueries";
+
+    private static final double NANOS_PER_MICRO = 1_000.0;
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private static volatile MetricsRegistry registry =
+            Boolean.parseBoolean(System.getProperty(Constants.METRICS_ENABLED_KEY, "true"))
+                    ? new SimpleMetricsRegistry() : MetricsRegistry.NOOP;
+
+    private Instrumentation() {
+    }
+
+    /**
+     * Возвращает текущий реестр метрик.
+     * @return Реестр
+     */
+    public static MetricsRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * Заменяет реестр метрик. Значения старого реестра не переносятся.
+     * @param metricsRegistry Новый реестр; {@link MetricsRegistry#NOOP} отключает сбор
+     */
+    public static void setRegistry(MetricsRegistry metricsRegistry) {
+        registry = Objects.requireNonNull(metricsRegistry, "Реестр метрик не может быть null");
+    }
+
+    /**
+     * Увеличивает счетчик текущего реестра.
+     * @param name Имя счетчика
+     * @param delta Приращение
+     */
+    public static void count(String name, long delta) {
+        registry.increment(name, delta);
+    }
+
+    /**
+     * Оборачивает поток так, чтобы прочитанные из него байты добавлялись к счетчику.
+     * Подходит для потокового чтения, которое может закончиться до конца файла.
+     * @param in Исходный поток
+     * @param counter Имя счетчика
+     * @return Поток с подсчетом байт
+     */
+    public static InputStream countingInput(InputStream in, String counter) {
+        return new FilterInputStream(in) {
+            @Override
+            public int read() throws IOException {
+                int b = super.read();
+                if (b >= 0) {
+                    count(counter, 1);
+                }
+                return b;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                int read = super.read(buffer, offset, length);
+                if (read > 0) {
+                    count(counter, read);
+                }
+                return read;
+            }
+        };
+    }
+
+    /**
+     * Формирует текстовый отчет: для каждого таймера число операций, пропускную способность,
+     * p50, p99 и максимум в микросекундах, затем значения счетчиков.
+     * Таймеры упорядочены по суммарному времени, поэтому первой идет операция, на которую
+     * ушло больше всего времени.
+     * @return Отчет
+     */
+    public static String dump() {
+        MetricsRegistry current = registry;
+        double seconds = Math.max(current.getUptimeNanos(), 1) / NANOS_PER_SECOND;
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("Метрики за %.1f с%n", seconds));
+        report.append(String.format("%-40s %10s %10s %10s %10s %12s %10s%n",
+                "Операция", "Вызовов", "Оп/с", "p50, мкс", "p99, мкс", "max, мкс", "Всего, мс"));
+        current.getTimers().entrySet().stream()
+                .sorted((a, b) -> Long.compare(b.getValue().getTotalNanos(), a.getValue().getTotalNanos()))
+                .forEach(entry -> {
+                    LatencyHistogram.Snapshot timer = entry.getValue();
+                    report.append(String.format("%-40s %10d %10.1f %10.1f %10.1f %12.1f %10.1f%n",
+                            entry.getKey(), timer.getCount(), timer.getCount() / seconds,
+                            timer.getP50Nanos() / NANOS_PER_MICRO, timer.getP99Nanos() / NANOS_PER_MICRO,
+                            timer.getMaxNanos() / NANOS_PER_MICRO, timer.getTotalNanos() / NANOS_PER_MICRO / 1_000));
+                });
+        Map<String, Long> counters = current.getCounters();
+        if (!counters.isEmpty()) {
+            report.append(String.format("%-40s %10s%n", "Счетчик", "Значение"));
+            counters.forEach((name, value) -> report.append(String.format("%-40s %10d%n", name, value)));
+        }
+        return report.toString();
+    }
+
+    /**
+     * Регистрирует метрики в платформенном MBeanServer под именем {@value #OBJECT_NAME},
+     * чтобы их можно было смотреть через jconsole или VisualVM. Повторный вызов ничего не делает.
+     */
+    public static synchronized void registerMBean() {
+        String methodName = "registerMBean";
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(new InstrumentationMXBean() {
+                    @Override
+                    public String dump() {
+                        return Instrumentation.dump();
+                    }
+
+                    @Override
+                    public Map<String, Long> getCounters() {
+                        return registry.getCounters();
+                    }
+
+                    @Override
+                    public void reset() {
+                        registry.reset();
+                    }
+                }, name);
+                log.info(String.format(Constants.LOG_DB_DEBUG, methodName, "Метрики зарегистрированы в JMX: " + OBJECT_NAME));
+            }
+        } catch (JMException e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось зарегистрировать метрики в JMX: " + e.getMessage()), e);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package ru.sfedu.agileflow.config;
+
+import java.util.Map;
+
+/**
+ * JMX-представление метрик приложения (объект {@value Instrumentation#OBJECT_NAME}).
+ */
+public interface InstrumentationMXBean {
+
+    /**
+     * Возвращает текстовый отчет по всем таймерам и счетчикам.
+     * @return Отчет
+     */
+    String dump();
+
+    /**
+     * Возвращает значения всех счетчиков.
+     * @return Имя счетчика → значение
+     */
+    Map<String, Long> getCounters();
+
+    /**
+     * Сбрасывает все метрики.
+     */
+    void reset();
+}
@@ -0,0 +1,36 @@
+package ru.sfedu.agileflow.config;
+
+/**
+ * Сообщение журнала с отложенным форматированием: шаблон и аргументы сохраняются,
+ * а {@link String#format} выполняется, только когда сообщение действительно выводится.
+ * Log4j проверяет уровень до вызова {@code toString()}, поэтому при отключенном уровне
+ * вызов журнала не форматирует строку. Аргументы-объекты тоже преобразуются в строку лишь при выводе.
+ */
+public final class LogMessage {
+    private final String pattern;
+    private final Object[] args;
+    private String text;
+
+    private LogMessage(String pattern, Object[] args) {
+        this.pattern = pattern;
+        this.args = args;
+    }
+
+    /**
+     * Создает сообщение по шаблону {@link String#format}.
+     * @param pattern Шаблон, например {@code Constants.LOG_METHOD_START}
+     * @param args Аргументы шаблона
+     * @return Сообщение, форматируемое при выводе
+     */
+    public static LogMessage format(String pattern, Object... args) {
+        return new LogMessage(pattern, args);
+    }
+
+    @Override
+    public String toString() {
+        if (text == null) {
+            text = String.format(pattern, args);
+        }
+        return text;
+    }
+}
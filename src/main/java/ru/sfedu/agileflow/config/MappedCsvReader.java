@@ -0,0 +1,361 @@
+package ru.sfedu.agileflow.config;
+
+import org.apache.log4j.Logger;
+import ru.sfedu.agileflow.constants.Constants;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Потоковый читатель CSV-файла поверх {@link FileChannel#map}.
+ * Читатель работает как курсор: {@link #next()} только находит границы очередной строки,
+ * границы полей вычисляются при первом обращении к полю, а строки Java создаются лишь
+ * для тех полей, которые запрошены через {@link #getString(int)}.
+ * Формат соответствует выводу {@code CSVWriter} по умолчанию: разделитель ',', поля в кавычках,
+ * кавычка внутри поля удваивается, перевод строки внутри кавычек допускается.
+ * Файлы меньше порога {@value Constants#CSV_MMAP_THRESHOLD_KEY} читаются в кучу целиком,
+ * чтобы не удерживать отображение небольших файлов (до сборки мусора отображенный файл
+ * нельзя удалить или переименовать в Windows).
+ */
+public class MappedCsvReader implements Closeable {
+    private static final Logger log = Logger.getLogger(MappedCsvReader.class);
+    private static final long DEFAULT_MMAP_THRESHOLD = 1024 * 1024;
+    private static final byte QUOTE = '"';
+    private static final byte SEPARATOR = ',';
+
+    private final ByteBuffer buffer;
+    private final int limit;
+
+    private int rowStart;
+    private int rowEnd;
+    private int nextRowStart;
+    private boolean fieldsParsed;
+    private int fieldCount;
+    private int[] fieldStarts = new int[16];
+    private int[] fieldEnds = new int[16];
+    private boolean[] fieldEscaped = new boolean[16];
+    private byte[] scratch = new byte[256];
+
+    private MappedCsvReader(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.limit = buffer.limit();
+    }
+
+    /**
+     * Открывает файл для чтения.
+     * @param filePath Путь к файлу
+     * @return Читатель, установленный перед первой строкой
+     * @throws IOException если файл не удалось прочитать
+     */
+    public static MappedCsvReader open(Path filePath) throws IOException {
+        String methodName = "open";
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                log.error(String.format(Constants.LOG_ERROR, methodName, "Файл слишком велик для отображения: " + size));
+                throw new IOException("Файл больше 2 ГБ не поддерживается: " + filePath);
+            }
+            Instrumentation.count(Instrumentation.CSV_BYTES_READ, size);
+            if (size >= Long.getLong(Constants.CSV_MMAP_THRESHOLD_KEY, DEFAULT_MMAP_THRESHOLD)) {
+                // Отображение остается действительным после закрытия канала
+                return new MappedCsvReader(channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+            }
+            ByteBuffer heap = ByteBuffer.allocate((int) size);
+            while (heap.hasRemaining() && channel.read(heap) >= 0) {
+                // Читаем файл целиком
+            }
+            heap.flip();
+            return new MappedCsvReader(heap);
+        }
+    }
+
+    /**
+     * Создает читатель поверх уже прочитанных байтов CSV.
+     * @param buffer Буфер с содержимым CSV
+     * @return Читатель, установленный перед первой строкой
+     */
+    public static MappedCsvReader wrap(ByteBuffer buffer) {
+        return new MappedCsvReader(buffer);
+    }
+
+    /**
+     * Переходит к следующей непустой строке.
+     * @return false, если строк больше нет
+     */
+    public boolean next() {
+        while (nextRowStart < limit) {
+            rowStart = nextRowStart;
+            boolean quoted = false;
+            int pos = rowStart;
+            while (pos < limit) {
+                byte b = buffer.get(pos);
+                if (b == QUOTE) {
+                    quoted = !quoted;
+                } else if (b == '\n' && !quoted) {
+                    break;
+                }
+                pos++;
+            }
+            nextRowStart = pos < limit ? pos + 1 : limit;
+            rowEnd = pos;
+            if (rowEnd > rowStart && buffer.get(rowEnd - 1) == '\r') {
+                rowEnd--;
+            }
+            fieldsParsed = false;
+            if (rowEnd > rowStart) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Возвращает смещение текущей строки от начала файла в байтах.
+     * @return Смещение строки
+     */
+    public long rowOffset() {
+        return rowStart;
+    }
+
+    /**
+     * Возвращает количество полей текущей строки.
+     * @return Количество полей
+     */
+    public int fieldCount() {
+        parseFields();
+        return fieldCount;
+    }
+
+    /**
+     * Возвращает значение поля как строку.
+     * @param index Номер поля
+     * @return Значение поля
+     */
+    public String getString(int index) {
+        parseFields();
+        checkIndex(index);
+        int length = copyField(index);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Разбирает поле как целое число без создания строки.
+     * @param index Номер поля
+     * @return Значение поля
+     * @throws NumberFormatException если поле не является целым числом
+     */
+    public int getInt(int index) {
+        parseFields();
+        checkIndex(index);
+        int start = fieldStarts[index];
+        int end = fieldEnds[index];
+        if (start == end) {
+            throw new NumberFormatException("Пустое поле");
+        }
+        boolean negative = buffer.get(start) == '-';
+        int pos = negative ? start + 1 : start;
+        if (pos == end) {
+            throw new NumberFormatException("Некорректное число");
+        }
+        long value = 0;
+        for (; pos < end; pos++) {
+            int digit = buffer.get(pos) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new NumberFormatException("Некорректное число");
+            }
+            value = value * 10 + digit;
+            if (value > (long) Integer.MAX_VALUE + 1) {
+                throw new NumberFormatException("Число вне диапазона int");
+            }
+        }
+        value = negative ? -value : value;
+        if (value > Integer.MAX_VALUE) {
+            throw new NumberFormatException("Число вне диапазона int");
+        }
+        return (int) value;
+    }
+
+    /**
+     * Сравнивает поле со строкой без создания строки из поля.
+     * @param index Номер поля
+     * @param expected Ожидаемое значение
+     * @return true, если значения совпадают
+     */
+    public boolean fieldEquals(int index, String expected) {
+        parseFields();
+        if (index >= fieldCount) {
+            return false;
+        }
+        if (fieldEscaped[index]) {
+            return getString(index).equals(expected);
+        }
+        byte[] bytes = expected.getBytes(StandardCharsets.UTF_8);
+        int start = fieldStarts[index];
+        if (fieldEnds[index] - start != bytes.length) {
+            return false;
+        }
+        for (int i = 0; i < bytes.length; i++) {
+            if (buffer.get(start + i) != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Сравнивает ведущие поля строки со значениями.
+     * @param values Ожидаемые значения
+     * @return true, если строка начинается с этих значений
+     */
+    public boolean startsWith(String... values) {
+        for (int i = 0; i < values.length; i++) {
+            if (!fieldEquals(i, values[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Материализует текущую строку в массив строк.
+     * @return Значения всех полей
+     */
+    public String[] toArray() {
+        parseFields();
+        String[] values = new String[fieldCount];
+        for (int i = 0; i < fieldCount; i++) {
+            values[i] = getString(i);
+        }
+        return values;
+    }
+
+    /**
+     * Возвращает оставшиеся строки потоком. Строка материализуется в массив только после
+     * прохождения фильтра, который проверяет ее через методы курсора.
+     * Закрытие потока закрывает читатель.
+     * @param filter Условие отбора строк
+     * @return Поток строк
+     */
+    public Stream<String[]> stream(Predicate<MappedCsvReader> filter) {
+        Spliterator<String[]> spliterator = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super String[]> action) {
+                while (next()) {
+                    if (filter.test(MappedCsvReader.this)) {
+                        action.accept(toArray());
+                        return true;
+                    }
+                }
+                return false;
+            }
+        };
+        return StreamSupport.stream(spliterator, false).onClose(this::close);
+    }
+
+    @Override
+    public void close() {
+        // Отображение освобождается сборщиком мусора; явного освобождения в Java API нет
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= fieldCount) {
+            throw new IndexOutOfBoundsException("Поле " + index + " отсутствует, полей: " + fieldCount);
+        }
+    }
+
+    /**
+     * Вычисляет границы полей текущей строки.
+     */
+    private void parseFields() {
+        if (fieldsParsed) {
+            return;
+        }
+        fieldCount = 0;
+        int pos = rowStart;
+        while (true) {
+            ensureFieldCapacity();
+            if (pos < rowEnd && buffer.get(pos) == QUOTE) {
+                int start = ++pos;
+                boolean escaped = false;
+                while (pos < rowEnd) {
+                    if (buffer.get(pos) == QUOTE) {
+                        if (pos + 1 < rowEnd && buffer.get(pos + 1) == QUOTE) {
+                            escaped = true;
+                            pos += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    pos++;
+                }
+                fieldStarts[fieldCount] = start;
+                fieldEnds[fieldCount] = pos;
+                fieldEscaped[fieldCount] = escaped;
+                // Пропускаем закрывающую кавычку и все до разделителя
+                while (pos < rowEnd && buffer.get(pos) != SEPARATOR) {
+                    pos++;
+                }
+            } else {
+                int start = pos;
+                while (pos < rowEnd && buffer.get(pos) != SEPARATOR) {
+                    pos++;
+                }
+                fieldStarts[fieldCount] = start;
+                fieldEnds[fieldCount] = pos;
+                fieldEscaped[fieldCount] = false;
+            }
+            fieldCount++;
+            if (pos >= rowEnd) {
+                break;
+            }
+            pos++;
+        }
+        fieldsParsed = true;
+    }
+
+    private void ensureFieldCapacity() {
+        if (fieldCount == fieldStarts.length) {
+            int capacity = fieldStarts.length * 2;
+            fieldStarts = Arrays.copyOf(fieldStarts, capacity);
+            fieldEnds = Arrays.copyOf(fieldEnds, capacity);
+            fieldEscaped = Arrays.copyOf(fieldEscaped, capacity);
+        }
+    }
+
+    /**
+     * Копирует байты поля в буфер, заменяя удвоенные кавычки одинарными.
+     * @return Длина значения в байтах
+     */
+    private int copyField(int index) {
+        int start = fieldStarts[index];
+        int length = fieldEnds[index] - start;
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        buffer.get(start, scratch, 0, length);
+        if (!fieldEscaped[index]) {
+            return length;
+        }
+        int out = 0;
+        for (int i = 0; i < length; i++) {
+            scratch[out++] = scratch[i];
+            if (scratch[i] == QUOTE && i + 1 < length && scratch[i + 1] == QUOTE) {
+                i++;
+            }
+        }
+        return out;
+    }
+}
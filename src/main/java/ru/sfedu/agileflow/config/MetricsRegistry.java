@@ -0,0 +1,82 @@
+package ru.sfedu.agileflow.config;
+
+import java.util.Map;
+
+/**
+ * Хранилище метрик: таймеры (гистограммы длительностей) и счетчики.
+ * Реализация по умолчанию - {@link SimpleMetricsRegistry}; другую реализацию, например адаптер
+ * к внешней системе мониторинга, можно установить через {@link Instrumentation#setRegistry(MetricsRegistry)}.
+ * Методы записи вызываются на каждой операции DAO и должны быть потокобезопасными и дешевыми.
+ */
+public interface MetricsRegistry {
+
+    /**
+     * Реестр, отбрасывающий все значения.
+     */
+    MetricsRegistry NOOP = new MetricsRegistry() {
+        @Override
+        public void recordTime(String name, long nanos) {
+        }
+
+        @Override
+        public void increment(String name, long delta) {
+        }
+
+        @Override
+        public Map<String, LatencyHistogram.Snapshot> getTimers() {
+            return Map.of();
+        }
+
+        @Override
+        public Map<String, Long> getCounters() {
+            return Map.of();
+        }
+
+        @Override
+        public long getUptimeNanos() {
+            return 0;
+        }
+
+        @Override
+        public void reset() {
+        }
+    };
+
+    /**
+     * Записывает длительность операции.
+     * @param name Имя таймера, например {@code TaskCsvDAO.update}
+     * @param nanos Длительность в наносекундах
+     */
+    void recordTime(String name, long nanos);
+
+    /**
+     * Увеличивает счетчик.
+     * @param name Имя счетчика, например {@code csv.bytesWritten}
+     * @param delta Приращение
+     */
+    void increment(String name, long delta);
+
+    /**
+     * Возвращает снимки всех таймеров.
+     * @return Имя таймера → снимок, в алфавитном порядке имен
+     */
+    Map<String, LatencyHistogram.Snapshot> getTimers();
+
+    /**
+     * Возвращает значения всех счетчиков.
+     * @return Имя счетчика → значение, в алфавитном порядке имен
+     */
+    Map<String, Long> getCounters();
+
+    /**
+     * Возвращает время, прошедшее с создания или последнего сброса реестра.
+     * По нему считается пропускная способность.
+     * @return Длительность в наносекундах
+     */
+    long getUptimeNanos();
+
+    /**
+     * Сбрасывает все таймеры и счетчики.
+     */
+    void reset();
+}
@@ -0,0 +1,31 @@
+package ru.sfedu.agileflow.config;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Слушатель событий сессии Hibernate, считающий транзакции и выполненные JDBC-операторы
+ * (пакет из {@code hibernate.jdbc.batch_size} операторов считается одним выполнением).
+ * Подключается к PU свойством {@code hibernate.session.events.auto}; Hibernate создает
+ * отдельный экземпляр на каждую сессию, поэтому состояние хранится только в реестре метрик.
+ */
+public class MetricsSessionEventListener extends BaseSessionEventListener {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public void transactionCompletion(boolean successful) {
+        Instrumentation.count(Instrumentation.JPA_TRANSACTIONS, 1);
+        if (!successful) {
+            Instrumentation.count(Instrumentation.JPA_ROLLBACKS, 1);
+        }
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        Instrumentation.count(Instrumentation.JPA_STATEMENTS, 1);
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        Instrumentation.count(Instrumentation.JPA_STATEMENTS, 1);
+    }
+}
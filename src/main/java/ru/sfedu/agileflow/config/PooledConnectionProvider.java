@@ -0,0 +1,84 @@
+package ru.sfedu.agileflow.config;
+
+import org.apache.log4j.Logger;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.service.UnknownUnwrapTypeException;
+import org.hibernate.service.spi.Configurable;
+import org.hibernate.service.spi.Stoppable;
+import ru.sfedu.agileflow.constants.Constants;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+
+/**
+ * Поставщик соединений Hibernate, выдающий соединения из общего {@link ConnectionPool}.
+ * Подключается свойством {@code hibernate.connection.provider_class} в persistence.xml;
+ * каждая EntityManagerFactory создает свой экземпляр, а экземпляры PU с одной базой данных
+ * используют один пул. Выдаваемые соединения проверяются журналом медленных запросов {@link SlowQueryLog}.
+ */
+public class PooledConnectionProvider implements ConnectionProvider, Configurable, Stoppable {
+    private static final long serialVersionUID = 1L;
+    private static final Logger log = Logger.getLogger(PooledConnectionProvider.class);
+
+    private ConnectionPool pool;
+
+    @Override
+    public void configure(Map<String, Object> settings) {
+        String methodName = "configure";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
+        pool = ConnectionPool.acquire(settings);
+        SlowQueryLog.configure(settings);
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return SlowQueryLog.wrap(pool.getConnection());
+    }
+
+    @Override
+    public void closeConnection(Connection connection) throws SQLException {
+        // Закрытие соединения пула возвращает его в пул
+        connection.close();
+    }
+
+    @Override
+    public boolean supportsAggressiveRelease() {
+        return false;
+    }
+
+    @Override
+    public void stop() {
+        if (pool != null) {
+            pool.release();
+            pool = null;
+        }
+    }
+
+    /**
+     * Возвращает пул, из которого выдаются соединения.
+     * @return Пул соединений
+     */
+    public ConnectionPool getPool() {
+        return pool;
+    }
+
+    @Override
+    public boolean isUnwrappableAs(Class<?> unwrapType) {
+        return unwrapType.isAssignableFrom(PooledConnectionProvider.class);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap(Class<T> unwrapType) {
+        if (isUnwrappableAs(unwrapType)) {
+            return (T) this;
+        }
+        throw new UnknownUnwrapTypeException(unwrapType);
+    }
+}
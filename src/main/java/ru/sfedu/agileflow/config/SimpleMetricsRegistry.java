@@ -0,0 +1,52 @@
+package ru.sfedu.agileflow.config;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Реестр метрик в памяти процесса. Таймеры и счетчики создаются при первой записи.
+ */
+public class SimpleMetricsRegistry implements MetricsRegistry {
+    private final Map<String, LatencyHistogram> timers = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private volatile long startNanos = System.nanoTime();
+
+    @Override
+    public void recordTime(String name, long nanos) {
+        timers.computeIfAbsent(name, key -> new LatencyHistogram()).record(nanos);
+    }
+
+    @Override
+    public void increment(String name, long delta) {
+        counters.computeIfAbsent(name, key -> new LongAdder()).add(delta);
+    }
+
+    @Override
+    public Map<String, LatencyHistogram.Snapshot> getTimers() {
+        Map<String, LatencyHistogram.Snapshot> result = new TreeMap<>();
+        timers.forEach((name, histogram) -> result.put(name, histogram.snapshot()));
+        return Collections.unmodifiableMap(result);
+    }
+
+    @Override
+    public Map<String, Long> getCounters() {
+        Map<String, Long> result = new TreeMap<>();
+        counters.forEach((name, counter) -> result.put(name, counter.sum()));
+        return Collections.unmodifiableMap(result);
+    }
+
+    @Override
+    public long getUptimeNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    @Override
+    public void reset() {
+        timers.values().forEach(LatencyHistogram::reset);
+        counters.values().forEach(LongAdder::reset);
+        startNanos = System.nanoTime();
+    }
+}
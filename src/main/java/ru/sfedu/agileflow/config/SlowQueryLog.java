@@ -0,0 +1,552 @@
+package ru.sfedu.agileflow.config;
+
+import org.apache.log4j.Logger;
+import ru.sfedu.agileflow.constants.Constants;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Журнал медленных SQL-запросов всех PU. {@link PooledConnectionProvider} оборачивает выдаваемые
+ * соединения, и каждое выполнение оператора, длившееся не меньше порога, записывается вместе с SQL,
+ * параметрами, длительностью и количеством строк.
+ * <p>
+ * Длительность - время выполнения оператора драйвером без чтения строк результата; строки запроса
+ * считаются по мере чтения, и запись появляется после закрытия результата. Записи доступны через
+ * {@link #getEntries()} (последние {@code capacity}) и пишутся логгером {@value #LOGGER_NAME}
+ * в отдельный файл logs/slow-queries.log (см. log4j.xml).
+ * <p>
+ * Если включен план ({@code db.slowQuery.explain=true}), для медленных SELECT дополнительно выполняется
+ * EXPLAIN ANALYZE с теми же параметрами, то есть запрос выполняется еще раз. Анализируются только простые
+ * SELECT: запросы с WITH (CTE может изменять данные), блокировкой FOR UPDATE/SHARE, SELECT INTO
+ * и получением значений последовательностей повторно не выполняются. Внутри транзакции EXPLAIN выполняется
+ * после точки сохранения и откатывается к ней, поэтому его ошибка не прерывает транзакцию вызывающего кода;
+ * если точку сохранения создать нельзя, план не запрашивается.
+ * <p>
+ * Настройки читаются из database.properties: {@code db.slowQuery.threshold} - порог в миллисекундах
+ * (отрицательное значение отключает журнал, соединения не оборачиваются), {@code db.slowQuery.explain},
+ * {@code db.slowQuery.capacity}; во время работы их можно изменить методами класса.
+ */
+public final class SlowQueryLog {
+    private static final Logger log = Logger.getLogger(SlowQueryLog.class);
+
+    /** Имя логгера, в который пишутся медленные запросы. */
+    public static final String LOGGER_NAME = "ru.sfedu.agileflow.slowquery";
+    private static final Logger slowLog = Logger.getLogger(LOGGER_NAME);
+
+    private static final Pattern SELECT = Pattern.compile("select\\b");
+    // Конструкции, при которых повторное выполнение SELECT меняет состояние базы
+    private static final Pattern SIDE_EFFECTS = Pattern.compile(
+            "\\bfor\\s+(no\\s+key\\s+)?(update|share|key\\s+share)\\b|\\binto\\b|\\bnextval\\b|\\bnext\\s+value\\s+for\\b|\\bsetval\\b");
+
+    private static final long DEFAULT_THRESHOLD = 500;
+    private static final int DEFAULT_CAPACITY = 100;
+
+    private static volatile long thresholdNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_THRESHOLD);
+    private static volatile boolean explain;
+    private static volatile int capacity = DEFAULT_CAPACITY;
+    // Последние записи; изменяется только под собственной блокировкой
+    private static final Deque<Entry> entries = new ArrayDeque<>();
+    private static final LongAdder recorded = new LongAdder();
+
+    private SlowQueryLog() {
+    }
+
+    /**
+     * Применяет настройки журнала из настроек PU; отсутствующие ключи не меняют текущих значений.
+     * @param settings Настройки PU
+     */
+    public static void configure(Map<String, Object> settings) {
+        Object threshold = settings.get(Constants.DB_SLOW_QUERY_THRESHOLD_KEY);
+        if (threshold != null) {
+            setThresholdMillis(Long.parseLong(threshold.toString().trim()));
+        }
+        Object explainPlan = settings.get(Constants.DB_SLOW_QUERY_EXPLAIN_KEY);
+        if (explainPlan != null) {
+            setExplain(Boolean.parseBoolean(explainPlan.toString().trim()));
+        }
+        Object size = settings.get(Constants.DB_SLOW_QUERY_CAPACITY_KEY);
+        if (size != null) {
+            setCapacity(Integer.parseInt(size.toString().trim()));
+        }
+    }
+
+    /**
+     * Возвращает порог медленного запроса.
+     * @return Порог в миллисекундах; отрицательный, если журнал отключен
+     */
+    public static long getThresholdMillis() {
+        long threshold = thresholdNanos;
+        return threshold < 0 ? -1 : TimeUnit.NANOSECONDS.toMillis(threshold);
+    }
+
+    /**
+     * Задает порог медленного запроса. Отключение действует на соединения, выданные после вызова.
+     * @param millis Порог в миллисекундах; 0 - записывать все запросы, отрицательное значение - отключить журнал
+     */
+    public static void setThresholdMillis(long millis) {
+        thresholdNanos = millis < 0 ? -1 : TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    public static boolean isExplain() {
+        return explain;
+    }
+
+    /**
+     * Включает или отключает сохранение плана EXPLAIN ANALYZE для медленных SELECT.
+     * @param enabled true, чтобы сохранять план
+     */
+    public static void setExplain(boolean enabled) {
+        explain = enabled;
+    }
+
+    public static int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Задает количество хранимых последних записей.
+     * @param size Количество записей, больше нуля
+     */
+    public static void setCapacity(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Размер журнала медленных запросов должен быть больше нуля: " + size);
+        }
+        synchronized (entries) {
+            capacity = size;
+            while (entries.size() > size) {
+                entries.removeFirst();
+            }
+        }
+    }
+
+    /**
+     * Возвращает последние медленные запросы.
+     * @return Записи от старых к новым
+     */
+    public static List<Entry> getEntries() {
+        synchronized (entries) {
+            return new ArrayList<>(entries);
+        }
+    }
+
+    /**
+     * Возвращает количество медленных запросов с запуска или последней очистки, включая вытесненные из журнала.
+     * @return Количество запросов
+     */
+    public static long getCount() {
+        return recorded.sum();
+    }
+
+    /**
+     * Очищает журнал и счетчик.
+     */
+    public static void clear() {
+        synchronized (entries) {
+            entries.clear();
+            recorded.reset();
+        }
+    }
+
+    /**
+     * Формирует текстовый отчет о последних медленных запросах для CLI.
+     * @return Отчет
+     */
+    public static String dump() {
+        List<Entry> snapshot = getEntries();
+        StringBuilder builder = new StringBuilder(String.format("Медленных запросов: %d (порог %d мс, показаны последние %d)%n",
+                getCount(), getThresholdMillis(), snapshot.size()));
+        for (int i = snapshot.size() - 1; i >= 0; i--) {
+            builder.append(snapshot.get(i)).append(System.lineSeparator());
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Оборачивает соединение так, чтобы выполнения его операторов проверялись на порог.
+     * @param connection Соединение пула
+     * @return Обертка или то же соединение, если журнал отключен
+     */
+    public static Connection wrap(Connection connection) {
+        if (thresholdNanos < 0) {
+            return connection;
+        }
+        return proxy(Connection.class, new ConnectionHandler(connection));
+    }
+
+    private static void record(Connection connection, String sql, List<Object> binds, long nanos, long rows) {
+        String methodName = "record";
+        String plan = null;
+        if (explain && isQuery(sql)) {
+            try {
+                plan = explain(connection, sql, binds);
+            } catch (SQLException e) {
+                log.warn(LogMessage.format(Constants.LOG_ERROR, methodName, "Не удалось получить план запроса: " + e.getMessage()));
+            }
+        }
+        List<String> values = new ArrayList<>(binds.size());
+        binds.forEach(value -> values.add(String.valueOf(value)));
+        Entry entry = new Entry(Instant.now(), sql, values, nanos, rows, plan);
+        synchronized (entries) {
+            if (entries.size() >= capacity) {
+                entries.removeFirst();
+            }
+            entries.addLast(entry);
+            recorded.increment();
+        }
+        Instrumentation.count(Instrumentation.JPA_SLOW_QUERIES, 1);
+        slowLog.warn(entry);
+    }
+
+    /**
+     * Выполняет EXPLAIN запроса на соединении вызывающего кода, внутри транзакции - между точкой
+     * сохранения и откатом к ней.
+     * @return План или null, если точку сохранения создать нельзя
+     */
+    private static String explain(Connection connection, String sql, List<Object> binds) throws SQLException {
+        String methodName = "explain";
+        if (connection.getAutoCommit()) {
+            return runExplain(connection, sql, binds);
+        }
+        Savepoint savepoint;
+        try {
+            savepoint = connection.setSavepoint();
+        } catch (SQLException | UnsupportedOperationException e) {
+            log.debug(LogMessage.format(Constants.LOG_DB_DEBUG, methodName, "План не запрашивается без точки сохранения: " + e.getMessage()));
+            return null;
+        }
+        try {
+            return runExplain(connection, sql, binds);
+        } finally {
+            connection.rollback(savepoint);
+            connection.releaseSavepoint(savepoint);
+        }
+    }
+
+    private static String runExplain(Connection connection, String sql, List<Object> binds) throws SQLException {
+        String product = connection.getMetaData().getDatabaseProductName();
+        String prefix = switch (product) {
+            case "PostgreSQL" -> "EXPLAIN (ANALYZE, BUFFERS) ";
+            case "H2", "MySQL" -> "EXPLAIN ANALYZE ";
+            default -> "EXPLAIN ";
+        };
+        try (PreparedStatement statement = connection.prepareStatement(prefix + sql)) {
+            for (int i = 0; i < binds.size(); i++) {
+                statement.setObject(i + 1, binds.get(i));
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    if (!plan.isEmpty()) {
+                        plan.append(System.lineSeparator());
+                    }
+                    plan.append(resultSet.getString(1));
+                }
+            }
+            return plan.toString();
+        }
+    }
+
+    /**
+     * Проверяет, что оператор - простой SELECT (после комментариев Hibernate), повторное выполнение
+     * которого ничего не изменяет: без WITH, блокировок строк, SELECT INTO и последовательностей.
+     */
+    static boolean isQuery(String sql) {
+        String text = sql.stripLeading();
+        while (text.startsWith("/*")) {
+            int end = text.indexOf("*/");
+            if (end < 0) {
+                return false;
+            }
+            text = text.substring(end + 2).stripLeading();
+        }
+        String lower = text.toLowerCase();
+        return SELECT.matcher(lower).lookingAt() && !SIDE_EFFECTS.matcher(lower).find();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(SlowQueryLog.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Обертка соединения: оборачивает создаваемые операторы.
+     */
+    private static final class ConnectionHandler implements InvocationHandler {
+        private final Connection connection;
+
+        ConnectionHandler(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "SlowQueryLog[" + connection + "]";
+                default:
+                    break;
+            }
+            Object result = SlowQueryLog.invoke(connection, method, args);
+            if (result instanceof Statement statement && method.getName().startsWith("prepare")) {
+                String sql = (String) args[0];
+                return proxy(method.getReturnType(), new StatementHandler(connection, statement, sql));
+            }
+            if (result instanceof Statement statement && method.getName().equals("createStatement")) {
+                return proxy(Statement.class, new StatementHandler(connection, statement, null));
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Обертка оператора: запоминает параметры и замеряет выполнения.
+     */
+    private static final class StatementHandler implements InvocationHandler {
+        private final Connection connection;
+        private final Statement statement;
+        private final String preparedSql;
+        private final Map<Integer, Object> binds = new TreeMap<>();
+        private ResultSetHandler pending;
+
+        StatementHandler(Connection connection, Statement statement, String preparedSql) {
+            this.connection = connection;
+            this.statement = statement;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (preparedSql != null && name.startsWith("set") && args != null && args.length >= 2
+                    && args[0] instanceof Integer index) {
+                binds.put(index, name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                binds.clear();
+            } else if (name.equals("close")) {
+                finishPending();
+            } else if (name.equals("equals")) {
+                return proxy == args[0];
+            } else if (name.equals("hashCode")) {
+                return System.identityHashCode(proxy);
+            } else if (name.startsWith("execute")) {
+                return execute(method, args);
+            }
+            return SlowQueryLog.invoke(statement, method, args);
+        }
+
+        private Object execute(Method method, Object[] args) throws Throwable {
+            finishPending();
+            String sql = preparedSql != null ? preparedSql : (String) args[0];
+            long start = System.nanoTime();
+            Object result = SlowQueryLog.invoke(statement, method, args);
+            long nanos = System.nanoTime() - start;
+            long threshold = thresholdNanos;
+            if (threshold < 0 || nanos < threshold) {
+                return result;
+            }
+            List<Object> values = new ArrayList<>(binds.values());
+            if (result instanceof ResultSet resultSet) {
+                // Строки считаются по мере чтения, запись - после закрытия результата
+                pending = new ResultSetHandler(this, resultSet, sql, values, nanos);
+                return proxy(ResultSet.class, pending);
+            }
+            long rows;
+            if (result instanceof Integer || result instanceof Long) {
+                rows = ((Number) result).longValue();
+            } else if (result instanceof int[] counts) {
+                rows = 0;
+                for (int count : counts) {
+                    rows += Math.max(count, 0);
+                }
+            } else if (result instanceof long[] counts) {
+                rows = 0;
+                for (long count : counts) {
+                    rows += Math.max(count, 0);
+                }
+            } else {
+                // execute(): результат запроса или количество измененных строк
+                rows = Boolean.TRUE.equals(result) ? -1 : statement.getUpdateCount();
+            }
+            record(connection, sql, values, nanos, rows);
+            return result;
+        }
+
+        private void finishPending() {
+            if (pending != null) {
+                ResultSetHandler finished = pending;
+                pending = null;
+                finished.finish();
+            }
+        }
+    }
+
+    /**
+     * Обертка результата медленного запроса: считает прочитанные строки.
+     */
+    private static final class ResultSetHandler implements InvocationHandler {
+        private final StatementHandler owner;
+        private final ResultSet resultSet;
+        private final String sql;
+        private final List<Object> binds;
+        private final long nanos;
+        private long rows;
+        private boolean finished;
+
+        ResultSetHandler(StatementHandler owner, ResultSet resultSet, String sql, List<Object> binds, long nanos) {
+            this.owner = owner;
+            this.resultSet = resultSet;
+            this.sql = sql;
+            this.binds = binds;
+            this.nanos = nanos;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "next":
+                    Object next = SlowQueryLog.invoke(resultSet, method, args);
+                    if (Boolean.TRUE.equals(next)) {
+                        rows++;
+                    }
+                    return next;
+                case "close":
+                    try {
+                        return SlowQueryLog.invoke(resultSet, method, args);
+                    } finally {
+                        if (owner.pending == this) {
+                            owner.pending = null;
+                        }
+                        finish();
+                    }
+                default:
+                    return SlowQueryLog.invoke(resultSet, method, args);
+            }
+        }
+
+        void finish() {
+            if (!finished) {
+                finished = true;
+                record(owner.connection, sql, binds, nanos, rows);
+            }
+        }
+    }
+
+    /**
+     * Запись о медленном запросе.
+     */
+    public static final class Entry {
+        private final Instant time;
+        private final String sql;
+        private final List<String> binds;
+        private final long durationNanos;
+        private final long rows;
+        private final String plan;
+
+        Entry(Instant time, String sql, List<String> binds, long durationNanos, long rows, String plan) {
+            this.time = time;
+            this.sql = sql;
+            this.binds = Collections.unmodifiableList(binds);
+            this.durationNanos = durationNanos;
+            this.rows = rows;
+            this.plan = plan;
+        }
+
+        public Instant getTime() {
+            return time;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        /**
+         * Возвращает значения параметров в порядке номеров.
+         * @return Значения параметров в виде строк
+         */
+        public List<String> getBinds() {
+            return binds;
+        }
+
+        public long getDurationNanos() {
+            return durationNanos;
+        }
+
+        /**
+         * Возвращает количество прочитанных или измененных строк.
+         * @return Количество строк; -1, если неизвестно
+         */
+        public long getRows() {
+            return rows;
+        }
+
+        /**
+         * Возвращает план выполнения запроса.
+         * @return План или null, если он не запрашивался
+         */
+        public String getPlan() {
+            return plan;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Entry entry = (Entry) o;
+            return durationNanos == entry.durationNanos && rows == entry.rows && time.equals(entry.time)
+                    && sql.equals(entry.sql) && binds.equals(entry.binds) && Objects.equals(plan, entry.plan);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(time, sql, binds, durationNanos, rows, plan);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder();
+            builder.append(String.format("%.1f мс, строк %d: %s; параметры %s",
+                    durationNanos / 1_000_000.0, rows, sql.replaceAll("\\s+", " ").trim(), binds));
+            if (plan != null) {
+                builder.append(System.lineSeparator()).append(plan);
+            }
+            return builder.toString();
+        }
+    }
+}
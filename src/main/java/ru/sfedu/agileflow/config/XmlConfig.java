@@ -6,22 +6,100 @@ import jakarta.xml.bind.Marshaller;
 import jakarta.xml.bind.Unmarshaller;
 import org.apache.log4j.Logger;
 import ru.sfedu.agileflow.constants.Constants;
+import ru.sfedu.agileflow.models.Project;
+import ru.sfedu.agileflow.models.Retrospective;
+import ru.sfedu.agileflow.models.Sprint;
+import ru.sfedu.agileflow.models.Task;
+import ru.sfedu.agileflow.models.User;
 import ru.sfedu.agileflow.xml.XmlDataWrapper;
 
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Класс для конфигурации и управления JAXB контекстом для работы с XML.
+ * JAXBContext создается один раз; Marshaller и Unmarshaller кэшируются по одному на поток.
+ * Доступ к файлам сущностей идет через {@link XmlEntityStore}, поведение которого задается
+ * режимом хранения и режимом надежности записи.
  */
 public class XmlConfig {
     private static final Logger log = Logger.getLogger(XmlConfig.class);
     private static final String XML_STORAGE_PATH = "data/xml/";
+    private static final long DEFAULT_FLUSH_INTERVAL = 1000;
     private static JAXBContext jaxbContext;
 
+    /**
+     * Режим хранения XML-файлов.
+     */
+    public enum StorageMode {
+        /** Каждая операция читает и перезаписывает весь файл. */
+        FILE,
+        /** Файл читается один раз, операции обслуживаются из памяти с отложенной записью. */
+        MEMORY,
+        /**
+         * Файл читается и переписывается потоково через StAX: в памяти находится только
+         * текущий элемент сущности.
+         */
+        STREAM
+    }
+
+    /**
+     * Момент записи изменений на диск в режиме {@link StorageMode#MEMORY}.
+     */
+    public enum Durability {
+        /** Изменения записываются до возврата из операции DAO. */
+        SYNC,
+        /** Изменения за интервал сбрасываются одной записью файла в фоновом потоке. */
+        PERIODIC
+    }
+
+    private static volatile StorageMode storageMode = StorageMode.valueOf(
+            System.getProperty(Constants.XML_STORAGE_MODE_KEY, StorageMode.FILE.name()).toUpperCase());
+    private static volatile Durability durability = Durability.valueOf(
+            System.getProperty(Constants.XML_DURABILITY_KEY, Durability.PERIODIC.name()).toUpperCase());
+    private static volatile long flushInterval = Long.getLong(Constants.XML_FLUSH_INTERVAL_KEY, DEFAULT_FLUSH_INTERVAL);
+    // Количество шардов определяет имена файлов, поэтому задается только при запуске
+    private static final int shardCount = Integer.getInteger(Constants.XML_SHARDS_KEY, 1);
+
+    private static final Map<Class<?>, XmlEntityStore<?>> stores = new ConcurrentHashMap<>();
+    private static final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "xml-write-behind");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Чтение и запись шардов — блокирующий ввод-вывод, поэтому общий пул ForkJoin не используется
+    private static final ForkJoinPool shardPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors(), pool -> {
+        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("xml-shard-" + thread.getPoolIndex());
+        return thread;
+    }, null, false);
+
+    // Marshaller и Unmarshaller не потокобезопасны: кэшируются по одному экземпляру на поток
+    private static final ThreadLocal<Marshaller> marshallers = new ThreadLocal<>();
+    private static final ThreadLocal<Marshaller> fragmentMarshallers = new ThreadLocal<>();
+    private static final ThreadLocal<Unmarshaller> unmarshallers = new ThreadLocal<>();
+    private static final LongAdder marshallerHits = new LongAdder();
+    private static final LongAdder marshallerMisses = new LongAdder();
+    private static final LongAdder unmarshallerHits = new LongAdder();
+    private static final LongAdder unmarshallerMisses = new LongAdder();
+
     static {
         String methodName = "static_initializer";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
+        if (shardCount < 1) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Некорректное количество шардов: " + shardCount));
+            throw new IllegalArgumentException("Количество шардов должно быть положительным: " + shardCount);
+        }
         try {
             log.info("static_initializer [1] Инициализация JAXB контекста");
             jaxbContext = JAXBContext.newInstance(
@@ -34,7 +112,26 @@ public class XmlConfig {
             );
             log.info("static_initializer [2] JAXB контекст успешно инициализирован");
             Files.createDirectories(Path.of(XML_STORAGE_PATH));
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Директория для XML создана: " + XML_STORAGE_PATH));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Директория для XML создана: " + XML_STORAGE_PATH));
+            }
+            register(Project.class, new XmlEntityStore<>(Path.of(getFilePath(Project.class)), Project.class, "project",
+                    XmlDataWrapper::getProjects, Project::getId, shardCount));
+            register(User.class, new XmlEntityStore<>(Path.of(getFilePath(User.class)), User.class, "user",
+                    XmlDataWrapper::getUsers, User::getId, shardCount)
+                    .withIndex("email", u -> u.getEmail() != null ? u.getEmail().toLowerCase() : null, "email"));
+            register(Sprint.class, new XmlEntityStore<>(Path.of(getFilePath(Sprint.class)), Sprint.class, "sprint",
+                    XmlDataWrapper::getSprints, Sprint::getId, shardCount)
+                    .withIndex("projectId", s -> s.getProject() != null ? s.getProject().getId() : null));
+            register(Task.class, new XmlEntityStore<>(Path.of(getFilePath(Task.class)), Task.class, "task",
+                    XmlDataWrapper::getTasks, Task::getId, shardCount)
+                    .withIndex("status", Task::getStatus, "status")
+                    .withIndex("sprintId", t -> t.getSprint() != null ? t.getSprint().getId() : null)
+                    .withIndex("assigneeId", t -> t.getAssignedUser() != null ? t.getAssignedUser().getId() : null));
+            register(Retrospective.class, new XmlEntityStore<>(Path.of(getFilePath(Retrospective.class)), Retrospective.class, "retrospective",
+                    XmlDataWrapper::getRetrospectives, Retrospective::getId, shardCount)
+                    .withIndex("sprintId", r -> r.getSprint() != null ? r.getSprint().getId() : null));
+            Runtime.getRuntime().addShutdownHook(new Thread(XmlConfig::flushAll, "xml-flush"));
         } catch (JAXBException e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось инициализировать JAXB контекст: " + e.getMessage()));
             throw new RuntimeException("Не удалось инициализировать JAXB контекст", e);
@@ -42,22 +139,204 @@ public class XmlConfig {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось создать директорию для XML: " + e.getMessage()));
             throw new RuntimeException("Не удалось создать директорию для XML", e);
         }
-        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+        }
+    }
+
+    private static <T> void register(Class<T> type, XmlEntityStore<T> store) {
+        stores.put(type, store);
+    }
+
+    /**
+     * Возвращает хранилище сущностей указанного типа.
+     * @param type Класс сущности
+     * @return Хранилище
+     * @throws IllegalArgumentException если тип не хранится в XML
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> XmlEntityStore<T> getStore(Class<T> type) {
+        XmlEntityStore<T> store = (XmlEntityStore<T>) stores.get(type);
+        if (store == null) {
+            throw new IllegalArgumentException("Тип не хранится в XML: " + type.getName());
+        }
+        return store;
+    }
+
+    /**
+     * Возвращает текущий режим хранения.
+     * @return Режим хранения
+     */
+    public static StorageMode getStorageMode() {
+        return storageMode;
+    }
+
+    /**
+     * Переключает режим хранения. Несброшенные изменения записываются на диск,
+     * состояние в памяти сбрасывается.
+     * @param mode Новый режим
+     */
+    public static void setStorageMode(StorageMode mode) {
+        String methodName = "setStorageMode";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
+        stores.values().forEach(XmlEntityStore::invalidate);
+        storageMode = mode;
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Режим хранения: " + mode));
+            log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+        }
+    }
+
+    /**
+     * Возвращает режим надежности записи.
+     * @return Режим надежности
+     */
+    public static Durability getDurability() {
+        return durability;
+    }
+
+    /**
+     * Задает режим надежности записи. Несброшенные изменения записываются на диск.
+     * @param mode Новый режим
+     */
+    public static void setDurability(Durability mode) {
+        flushAll();
+        durability = mode;
+    }
+
+    /**
+     * Возвращает интервал периодического сброса изменений.
+     * @return Интервал в миллисекундах
+     */
+    public static long getFlushInterval() {
+        return flushInterval;
+    }
+
+    /**
+     * Задает интервал периодического сброса изменений для следующих запланированных сбросов.
+     * @param millis Интервал в миллисекундах
+     */
+    public static void setFlushInterval(long millis) {
+        if (millis < 0) {
+            throw new IllegalArgumentException("Интервал сброса не может быть отрицательным");
+        }
+        flushInterval = millis;
+    }
+
+    /**
+     * Записывает на диск несброшенные изменения всех хранилищ.
+     */
+    public static void flushAll() {
+        String methodName = "flushAll";
+        for (XmlEntityStore<?> store : stores.values()) {
+            try {
+                store.flush();
+            } catch (RuntimeException e) {
+                log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()), e);
+            }
+        }
+    }
+
+    /**
+     * Возвращает количество шардов, на которые разбивается файл каждого типа сущностей.
+     * @return Количество шардов
+     */
+    public static int getShardCount() {
+        return shardCount;
+    }
+
+    /**
+     * Возвращает пул, в котором параллельно читаются и записываются шарды.
+     * @return Пул ForkJoin
+     */
+    static ForkJoinPool getShardPool() {
+        return shardPool;
+    }
+
+    static void scheduleFlush(Runnable flush, long delay, TimeUnit unit) {
+        flusher.schedule(flush, delay, unit);
     }
 
     /**
-     * Получает Marshaller для сериализации объектов в XML.
+     * Возвращает Marshaller текущего потока для сериализации объектов в XML.
+     * Экземпляры Marshaller не потокобезопасны, поэтому каждый поток получает собственный
+     * экземпляр, созданный при первом обращении и переиспользуемый при последующих.
+     * Возвращенный объект нельзя передавать в другие потоки и перенастраивать;
+     * для этого следует использовать {@link #createMarshaller()}.
      * @return Marshaller
      * @throws RuntimeException если не удалось создать Marshaller
      */
     public static Marshaller getMarshaller() {
-        String methodName = "getMarshaller";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        Marshaller marshaller = marshallers.get();
+        if (marshaller != null) {
+            marshallerHits.increment();
+            return marshaller;
+        }
+        marshallerMisses.increment();
+        marshaller = createMarshaller();
+        marshallers.set(marshaller);
+        return marshaller;
+    }
+
+    /**
+     * Возвращает Marshaller текущего потока для записи отдельных элементов без XML-декларации
+     * (свойство {@link Marshaller#JAXB_FRAGMENT}), например в {@code XMLStreamWriter}.
+     * Правила использования те же, что и для {@link #getMarshaller()}.
+     * @return Marshaller
+     * @throws RuntimeException если не удалось создать Marshaller
+     */
+    public static Marshaller getFragmentMarshaller() {
+        String methodName = "getFragmentMarshaller";
+        Marshaller marshaller = fragmentMarshallers.get();
+        if (marshaller != null) {
+            marshallerHits.increment();
+            return marshaller;
+        }
+        marshallerMisses.increment();
+        marshaller = createMarshaller();
+        try {
+            marshaller.setProperty(Marshaller.JAXB_FRAGMENT, true);
+        } catch (JAXBException e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось настроить Marshaller: " + e.getMessage()));
+            throw new RuntimeException("Не удалось настроить Marshaller", e);
+        }
+        fragmentMarshallers.set(marshaller);
+        return marshaller;
+    }
+
+    /**
+     * Возвращает Unmarshaller текущего потока для десериализации XML в объекты.
+     * Правила использования те же, что и для {@link #getMarshaller()}.
+     * @return Unmarshaller
+     * @throws RuntimeException если не удалось создать Unmarshaller
+     */
+    public static Unmarshaller getUnmarshaller() {
+        Unmarshaller unmarshaller = unmarshallers.get();
+        if (unmarshaller != null) {
+            unmarshallerHits.increment();
+            return unmarshaller;
+        }
+        unmarshallerMisses.increment();
+        unmarshaller = createUnmarshaller();
+        unmarshallers.set(unmarshaller);
+        return unmarshaller;
+    }
+
+    /**
+     * Создает новый настроенный Marshaller, не связанный с кэшем потока.
+     * @return Marshaller
+     * @throws RuntimeException если не удалось создать Marshaller
+     */
+    public static Marshaller createMarshaller() {
+        String methodName = "createMarshaller";
         try {
             Marshaller marshaller = jaxbContext.createMarshaller();
             marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, true);
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Marshaller успешно создан"));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Marshaller успешно создан"));
+            }
             return marshaller;
         } catch (JAXBException e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось создать Marshaller: " + e.getMessage()));
@@ -66,17 +345,17 @@ public class XmlConfig {
     }
 
     /**
-     * Получает Unmarshaller для десериализации XML в объекты.
+     * Создает новый Unmarshaller, не связанный с кэшем потока.
      * @return Unmarshaller
      * @throws RuntimeException если не удалось создать Unmarshaller
      */
-    public static Unmarshaller getUnmarshaller() {
-        String methodName = "getUnmarshaller";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+    public static Unmarshaller createUnmarshaller() {
+        String methodName = "createUnmarshaller";
         try {
             Unmarshaller unmarshaller = jaxbContext.createUnmarshaller();
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Unmarshaller успешно создан"));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Unmarshaller успешно создан"));
+            }
             return unmarshaller;
         } catch (JAXBException e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось создать Unmarshaller: " + e.getMessage()));
@@ -85,11 +364,95 @@ public class XmlConfig {
     }
 
     /**
-     * Возвращает путь к файлу XML для указанного класса.
+     * Возвращает статистику обращений к кэшу Marshaller/Unmarshaller.
+     * @return Снимок счетчиков попаданий и промахов
+     */
+    public static PoolStatistics getPoolStatistics() {
+        return new PoolStatistics(marshallerHits.sum(), marshallerMisses.sum(),
+                unmarshallerHits.sum(), unmarshallerMisses.sum());
+    }
+
+    /**
+     * Обнуляет счетчики статистики кэша.
+     */
+    public static void resetPoolStatistics() {
+        marshallerHits.reset();
+        marshallerMisses.reset();
+        unmarshallerHits.reset();
+        unmarshallerMisses.reset();
+    }
+
+    /**
+     * Удаляет экземпляры Marshaller/Unmarshaller текущего потока, например перед возвратом
+     * потока в пул, который переживает приложение.
+     */
+    public static void releaseThreadResources() {
+        marshallers.remove();
+        fragmentMarshallers.remove();
+        unmarshallers.remove();
+    }
+
+    /**
+     * Возвращает путь к файлу XML для указанного класса. При разбиении на шарды
+     * это базовое имя, от которого образуются имена файлов шардов.
      * @param clazz Класс сущности
      * @return Путь к файлу
      */
     public static String getFilePath(Class<?> clazz) {
         return XML_STORAGE_PATH + clazz.getSimpleName().toLowerCase() + "s.xml";
     }
+
+    /**
+     * Снимок статистики кэша Marshaller/Unmarshaller.
+     * Промах означает создание нового экземпляра для потока.
+     */
+    public static final class PoolStatistics {
+        private final long marshallerHits;
+        private final long marshallerMisses;
+        private final long unmarshallerHits;
+        private final long unmarshallerMisses;
+
+        private PoolStatistics(long marshallerHits, long marshallerMisses, long unmarshallerHits, long unmarshallerMisses) {
+            this.marshallerHits = marshallerHits;
+            this.marshallerMisses = marshallerMisses;
+            this.unmarshallerHits = unmarshallerHits;
+            this.unmarshallerMisses = unmarshallerMisses;
+        }
+
+        public long getMarshallerHits() {
+            return marshallerHits;
+        }
+
+        public long getMarshallerMisses() {
+            return marshallerMisses;
+        }
+
+        public long getUnmarshallerHits() {
+            return unmarshallerHits;
+        }
+
+        public long getUnmarshallerMisses() {
+            return unmarshallerMisses;
+        }
+
+        /**
+         * Возвращает долю обращений, обслуженных без создания экземпляра.
+         * @return Доля попаданий от 0 до 1; 0, если обращений не было
+         */
+        public double getHitRatio() {
+            long hits = marshallerHits + unmarshallerHits;
+            long total = hits + marshallerMisses + unmarshallerMisses;
+            return total == 0 ? 0 : (double) hits / total;
+        }
+
+        @Override
+        public String toString() {
+            return "PoolStatistics{" +
+                    "marshallerHits=" + marshallerHits +
+                    ", marshallerMisses=" + marshallerMisses +
+                    ", unmarshallerHits=" + unmarshallerHits +
+                    ", unmarshallerMisses=" + unmarshallerMisses +
+                    '}';
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,811 @@
+package ru.sfedu.agileflow.config;
+
+import jakarta.xml.bind.JAXBException;
+import org.apache.log4j.Logger;
+import ru.sfedu.agileflow.constants.Constants;
+import ru.sfedu.agileflow.xml.XmlDataWrapper;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Хранилище сущностей одного типа в XML-файле.
+ * Поведение зависит от режима {@link XmlConfig#getStorageMode()}:
+ * <ul>
+ *     <li>{@link XmlConfig.StorageMode#FILE} — каждая операция читает файл целиком, изменения
+ *     сразу перезаписывают его;</li>
+ *     <li>{@link XmlConfig.StorageMode#MEMORY} — файл читается один раз, чтение обслуживается
+ *     из карты id → сущность и вторичных индексов, а изменения записываются на диск
+ *     отложенно: сразу после операции ({@link XmlConfig.Durability#SYNC}) или одним
+ *     сбросом за интервал ({@link XmlConfig.Durability#PERIODIC}).</li>
+ *     <li>{@link XmlConfig.StorageMode#STREAM} — каждая операция читает или переписывает файл
+ *     потоково через {@link XmlStreamFile}, не загружая документ целиком.</li>
+ * </ul>
+ * Хранилище может быть разбито на несколько файлов-шардов по хэшу идентификатора
+ * ({@code tasks.0.xml}, {@code tasks.1.xml}, ...): шарды читаются параллельно в пуле
+ * {@link XmlConfig#getShardPool()}, поиск по идентификатору читает один шард, а изменение
+ * переписывает только шарды измененных сущностей. Порядок сущностей при этом сохраняется
+ * только внутри шарда. Файл без шардов, оставшийся от прежней конфигурации, при первом
+ * обращении разносится по шардам.
+ * В режиме MEMORY возвращаются сами хранимые экземпляры; изменения в них становятся
+ * постоянными только после {@link #save(Collection)}. Процесс считается единственным
+ * владельцем файла: изменения, внесенные в файл извне, не отслеживаются.
+ * @param <T> Тип сущности
+ */
+public class XmlEntityStore<T> {
+    private static final Logger log = Logger.getLogger(XmlEntityStore.class);
+
+    private final Path filePath;
+    private final Function<XmlDataWrapper, List<T>> entities;
+    private final ToIntFunction<T> idOf;
+    private final int shardCount;
+    private final List<Path> shardPaths;
+    private final List<XmlStreamFile<T>> streamFiles;
+    private volatile boolean layoutChecked;
+    private final Map<String, Function<T, Object>> indexKeys = new LinkedHashMap<>();
+    // Имя индекса → дочерний элемент XML с тем же значением, для предварительного отбора в режиме STREAM
+    private final Map<String, String> indexElements = new HashMap<>();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Сериализует запись файла между сбросами из разных потоков
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicLong flushCount = new AtomicLong();
+    // Последний выданный идентификатор; при первом обращении продолжает максимальный сохраненный
+    private final AtomicInteger lastId = new AtomicInteger();
+    private volatile boolean idSeeded;
+
+    // Состояние режима MEMORY; защищено lock
+    private final Map<Integer, T> byId = new LinkedHashMap<>();
+    private final Map<String, Map<Object, Set<Integer>>> indexes = new HashMap<>();
+    // Идентификатор → ключи индексов, с которыми сущность была проиндексирована; нужен,
+    // потому что хранимый экземпляр мог быть изменен вызывающим кодом до сохранения
+    private final Map<Integer, Object[]> indexedKeys = new HashMap<>();
+    // Шарды с изменениями, еще не записанными на диск
+    private final BitSet dirtyShards = new BitSet();
+    private boolean loaded;
+    private boolean flushScheduled;
+
+    /**
+     * Создает хранилище в одном файле.
+     * @param filePath Путь к XML-файлу
+     * @param type Класс сущности
+     * @param elementName Имя элемента сущности внутри {@link XmlDataWrapper}
+     * @param entities Список сущностей этого типа внутри {@link XmlDataWrapper}
+     * @param idOf Идентификатор сущности
+     */
+    public XmlEntityStore(Path filePath, Class<T> type, String elementName,
+                          Function<XmlDataWrapper, List<T>> entities, ToIntFunction<T> idOf) {
+        this(filePath, type, elementName, entities, idOf, 1);
+    }
+
+    /**
+     * Создает хранилище, разбитое на шарды.
+     * @param filePath Путь к XML-файлу; при числе шардов больше одного шард {@code i}
+     *                 хранится в файле с суффиксом {@code .i} перед расширением
+     * @param type Класс сущности
+     * @param elementName Имя элемента сущности внутри {@link XmlDataWrapper}
+     * @param entities Список сущностей этого типа внутри {@link XmlDataWrapper}
+     * @param idOf Идентификатор сущности
+     * @param shardCount Количество шардов
+     */
+    public XmlEntityStore(Path filePath, Class<T> type, String elementName,
+                          Function<XmlDataWrapper, List<T>> entities, ToIntFunction<T> idOf, int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("Количество шардов должно быть положительным: " + shardCount);
+        }
+        this.filePath = filePath;
+        this.entities = entities;
+        this.idOf = idOf;
+        this.shardCount = shardCount;
+        List<Path> paths = new ArrayList<>(shardCount);
+        List<XmlStreamFile<T>> files = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            Path path = shardCount == 1 ? filePath : shardPath(filePath, i);
+            paths.add(path);
+            files.add(new XmlStreamFile<>(path, type, elementName, entities, idOf));
+        }
+        this.shardPaths = List.copyOf(paths);
+        this.streamFiles = List.copyOf(files);
+        // Для одного файла переносить нечего
+        this.layoutChecked = shardCount == 1;
+    }
+
+    /**
+     * Регистрирует вторичный индекс. Сущности, для которых ключ равен null, в индекс не попадают.
+     * @param name Имя индекса
+     * @param key Значение, по которому ищутся сущности
+     * @return Это хранилище
+     */
+    public XmlEntityStore<T> withIndex(String name, Function<T, Object> key) {
+        indexKeys.put(name, key);
+        return this;
+    }
+
+    /**
+     * Регистрирует вторичный индекс, значение которого (без учета регистра) записано текстом
+     * дочернего элемента сущности. В режиме STREAM по этому элементу отбираются кандидаты
+     * до разбора в объект.
+     * @param name Имя индекса
+     * @param key Значение, по которому ищутся сущности
+     * @param element Имя дочернего элемента XML
+     * @return Это хранилище
+     */
+    public XmlEntityStore<T> withIndex(String name, Function<T, Object> key, String element) {
+        indexElements.put(name, element);
+        return withIndex(name, key);
+    }
+
+    /**
+     * Возвращает все сущности.
+     * @return Новый список сущностей
+     */
+    public List<T> findAll() {
+        XmlConfig.StorageMode mode = XmlConfig.getStorageMode();
+        if (mode == XmlConfig.StorageMode.FILE) {
+            return concat(allShards(shard -> entities.apply(readFile(shardPaths.get(shard)))));
+        }
+        if (mode == XmlConfig.StorageMode.STREAM) {
+            return concat(allShards(shard -> streamFiles.get(shard).findAll()));
+        }
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(byId.values());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Возвращает все сущности потоком. В режиме STREAM элементы читаются из файла по мере
+     * обращения к потоку, поэтому поток необходимо закрывать.
+     * @return Поток сущностей
+     */
+    public Stream<T> stream() {
+        if (XmlConfig.getStorageMode() == XmlConfig.StorageMode.STREAM) {
+            checkLayout();
+            if (shardCount == 1) {
+                return streamFiles.get(0).stream();
+            }
+            // flatMap открывает поток следующего шарда только после исчерпания предыдущего
+            return IntStream.range(0, shardCount).boxed().flatMap(shard -> streamFiles.get(shard).stream());
+        }
+        return findAll().stream();
+    }
+
+    /**
+     * Находит сущность по идентификатору.
+     * @param id Идентификатор
+     * @return Optional с сущностью, если найдена
+     */
+    public Optional<T> findById(int id) {
+        XmlConfig.StorageMode mode = XmlConfig.getStorageMode();
+        if (mode == XmlConfig.StorageMode.FILE) {
+            checkLayout();
+            return entities.apply(readFile(shardPaths.get(shardOf(id)))).stream()
+                    .filter(e -> idOf.applyAsInt(e) == id).findFirst();
+        }
+        if (mode == XmlConfig.StorageMode.STREAM) {
+            checkLayout();
+            return streamFiles.get(shardOf(id)).findById(id);
+        }
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(byId.get(id));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Находит сущности по значению вторичного индекса.
+     * @param name Имя индекса, зарегистрированного через {@link #withIndex(String, Function)}
+     * @param value Значение
+     * @return Сущности в порядке хранения
+     */
+    public List<T> findByIndex(String name, Object value) {
+        Function<T, Object> key = indexKeys.get(name);
+        if (key == null) {
+            throw new IllegalArgumentException("Индекс не зарегистрирован: " + name);
+        }
+        Predicate<T> matches = e -> Objects.equals(key.apply(e), value);
+        String element = indexElements.get(name);
+        if (element != null && value != null && XmlConfig.getStorageMode() == XmlConfig.StorageMode.STREAM) {
+            String text = String.valueOf(value);
+            return concat(allShards(shard -> streamFiles.get(shard).findByChildText(element, text::equalsIgnoreCase, matches)));
+        }
+        if (!isMemory()) {
+            return find(matches);
+        }
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            Set<Integer> ids = indexes.get(name).getOrDefault(value, Set.of());
+            List<T> result = new ArrayList<>(ids.size());
+            for (Integer id : ids) {
+                result.add(byId.get(id));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Находит сущности, удовлетворяющие условию, полным просмотром.
+     * @param filter Условие
+     * @return Найденные сущности
+     */
+    public List<T> find(Predicate<T> filter) {
+        XmlConfig.StorageMode mode = XmlConfig.getStorageMode();
+        if (mode == XmlConfig.StorageMode.FILE) {
+            return concat(allShards(shard -> entities.apply(readFile(shardPaths.get(shard))).stream().filter(filter).toList()));
+        }
+        if (mode == XmlConfig.StorageMode.STREAM) {
+            return concat(allShards(shard -> streamFiles.get(shard).find(filter)));
+        }
+        ensureLoaded();
+        lock.readLock().lock();
+        try {
+            return byId.values().stream().filter(filter).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Сохраняет сущности: существующие с тем же идентификатором заменяются на месте,
+     * новые добавляются в конец своего шарда. Переписываются только затронутые шарды.
+     * @param values Сущности
+     */
+    public void save(Collection<T> values) {
+        XmlConfig.StorageMode mode = XmlConfig.getStorageMode();
+        if (mode == XmlConfig.StorageMode.STREAM) {
+            checkLayout();
+            groupByShard(values, idOf).forEach((shard, shardValues) -> streamFiles.get(shard).save(shardValues));
+            return;
+        }
+        if (mode == XmlConfig.StorageMode.FILE) {
+            checkLayout();
+            groupByShard(values, idOf).forEach((shard, shardValues) -> {
+                Path path = shardPaths.get(shard);
+                XmlDataWrapper wrapper = readFile(path);
+                merge(entities.apply(wrapper), shardValues);
+                writeFile(path, wrapper);
+            });
+            return;
+        }
+        ensureLoaded();
+        lock.writeLock().lock();
+        try {
+            for (T value : values) {
+                int id = idOf.applyAsInt(value);
+                unindex(id);
+                byId.put(id, value);
+                index(id, value);
+                markDirty(shardOf(id));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        afterWrite();
+    }
+
+    /**
+     * Добавляет новые сущности, не заменяя сохраненные.
+     * @param values Сущности
+     * @throws IllegalStateException если сущность с одним из идентификаторов уже сохранена;
+     * в этом случае ничего не сохраняется
+     */
+    public void insert(Collection<T> values) {
+        String methodName = "insert";
+        Set<Integer> ids = new HashSet<>();
+        for (T value : values) {
+            if (!ids.add(idOf.applyAsInt(value))) {
+                throw duplicateId(methodName, idOf.applyAsInt(value));
+            }
+        }
+        XmlConfig.StorageMode mode = XmlConfig.getStorageMode();
+        if (mode == XmlConfig.StorageMode.STREAM) {
+            checkLayout();
+            Map<Integer, List<T>> byShard = groupByShard(values, idOf);
+            byShard.keySet().forEach(shard -> streamFiles.get(shard).find(e -> ids.contains(idOf.applyAsInt(e))).stream()
+                    .findFirst().ifPresent(e -> {
+                        throw duplicateId(methodName, idOf.applyAsInt(e));
+                    }));
+            save(values);
+            return;
+        }
+        if (mode == XmlConfig.StorageMode.FILE) {
+            checkLayout();
+            Map<Integer, List<T>> byShard = groupByShard(values, idOf);
+            Map<Integer, XmlDataWrapper> wrappers = new LinkedHashMap<>();
+            for (Integer shard : byShard.keySet()) {
+                XmlDataWrapper wrapper = readFile(shardPaths.get(shard));
+                for (T existing : entities.apply(wrapper)) {
+                    if (ids.contains(idOf.applyAsInt(existing))) {
+                        throw duplicateId(methodName, idOf.applyAsInt(existing));
+                    }
+                }
+                wrappers.put(shard, wrapper);
+            }
+            wrappers.forEach((shard, wrapper) -> {
+                entities.apply(wrapper).addAll(byShard.get(shard));
+                writeFile(shardPaths.get(shard), wrapper);
+            });
+            return;
+        }
+        ensureLoaded();
+        lock.writeLock().lock();
+        try {
+            for (Integer id : ids) {
+                if (byId.containsKey(id)) {
+                    throw duplicateId(methodName, id);
+                }
+            }
+            for (T value : values) {
+                int id = idOf.applyAsInt(value);
+                byId.put(id, value);
+                index(id, value);
+                markDirty(shardOf(id));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        afterWrite();
+    }
+
+    /**
+     * Возвращает максимальный идентификатор среди сохраненных сущностей.
+     * @return Максимальный идентификатор или 0, если сущностей нет
+     */
+    public int maxId() {
+        if (isMemory()) {
+            ensureLoaded();
+            lock.readLock().lock();
+            try {
+                return byId.keySet().stream().mapToInt(Integer::intValue).max().orElse(0);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+        try (Stream<T> all = stream()) {
+            return all.mapToInt(idOf).max().orElse(0);
+        }
+    }
+
+    /**
+     * Выдает идентификатор новой сущности. При первом вызове счетчик продолжает
+     * {@link #maxId()}, поэтому после перезапуска идентификаторы сохраненных сущностей не выдаются повторно.
+     * @return Новый идентификатор
+     */
+    public int nextId() {
+        if (!idSeeded) {
+            synchronized (lastId) {
+                if (!idSeeded) {
+                    lastId.set(maxId());
+                    idSeeded = true;
+                }
+            }
+        }
+        return lastId.incrementAndGet();
+    }
+
+    /**
+     * Удаляет сущности по идентификаторам.
+     * @param ids Идентификаторы
+     * @return Количество удаленных сущностей
+     */
+    public int delete(Collection<Integer> ids) {
+        XmlConfig.StorageMode mode = XmlConfig.getStorageMode();
+        if (mode == XmlConfig.StorageMode.STREAM) {
+            checkLayout();
+            int removed = 0;
+            for (Map.Entry<Integer, List<Integer>> entry : groupByShard(ids, Integer::intValue).entrySet()) {
+                removed += streamFiles.get(entry.getKey()).delete(entry.getValue());
+            }
+            return removed;
+        }
+        if (mode == XmlConfig.StorageMode.FILE) {
+            checkLayout();
+            int removed = 0;
+            for (Map.Entry<Integer, List<Integer>> entry : groupByShard(ids, Integer::intValue).entrySet()) {
+                Path path = shardPaths.get(entry.getKey());
+                XmlDataWrapper wrapper = readFile(path);
+                Set<Integer> removedIds = Set.copyOf(entry.getValue());
+                List<T> list = entities.apply(wrapper);
+                int before = list.size();
+                list.removeIf(e -> removedIds.contains(idOf.applyAsInt(e)));
+                if (list.size() != before) {
+                    writeFile(path, wrapper);
+                }
+                removed += before - list.size();
+            }
+            return removed;
+        }
+        ensureLoaded();
+        int removed = 0;
+        lock.writeLock().lock();
+        try {
+            for (Integer id : ids) {
+                if (byId.containsKey(id)) {
+                    unindex(id);
+                    byId.remove(id);
+                    markDirty(shardOf(id));
+                    removed++;
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        afterWrite();
+        return removed;
+    }
+
+    /**
+     * Записывает накопленные изменения режима MEMORY на диск, если они есть.
+     * Переписываются только шарды, в которых были изменения.
+     */
+    public void flush() {
+        String methodName = "flush";
+        flushLock.lock();
+        try {
+            BitSet shards;
+            Map<Integer, XmlDataWrapper> snapshots = new LinkedHashMap<>();
+            lock.writeLock().lock();
+            try {
+                if (dirtyShards.isEmpty()) {
+                    return;
+                }
+                shards = (BitSet) dirtyShards.clone();
+                shards.stream().forEach(shard -> snapshots.put(shard, new XmlDataWrapper()));
+                for (Map.Entry<Integer, T> entry : byId.entrySet()) {
+                    XmlDataWrapper wrapper = snapshots.get(shardOf(entry.getKey()));
+                    if (wrapper != null) {
+                        entities.apply(wrapper).add(entry.getValue());
+                    }
+                }
+                // Изменения, сделанные во время записи, снова пометят шарды
+                dirtyShards.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            try {
+                inParallel(List.copyOf(snapshots.keySet()), shard -> {
+                    writeFile(shardPaths.get(shard), snapshots.get(shard));
+                    return null;
+                });
+                flushCount.incrementAndGet();
+                if (log.isDebugEnabled()) {
+                    log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Сброшено шардов: " + snapshots.size() + " из " + shardCount + " для " + filePath));
+                }
+            } catch (RuntimeException e) {
+                lock.writeLock().lock();
+                try {
+                    dirtyShards.or(shards);
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                throw e;
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Сбрасывает изменения и забывает состояние в памяти; следующее обращение перечитает файл.
+     */
+    public void invalidate() {
+        flush();
+        lock.writeLock().lock();
+        try {
+            byId.clear();
+            indexes.clear();
+            indexedKeys.clear();
+            loaded = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Возвращает количество записей файла, выполненных сбросом изменений режима MEMORY.
+     * @return Количество сбросов
+     */
+    public long getFlushCount() {
+        return flushCount.get();
+    }
+
+    /**
+     * Возвращает количество шардов хранилища.
+     * @return Количество шардов
+     */
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    /**
+     * Возвращает пути к файлам шардов.
+     * @return Пути в порядке номеров шардов
+     */
+    public List<Path> getShardPaths() {
+        return shardPaths;
+    }
+
+    private IllegalStateException duplicateId(String methodName, int id) {
+        log.error(String.format(Constants.LOG_ERROR, methodName, "Сущность с ID " + id + " уже существует в " + filePath));
+        return new IllegalStateException("Сущность с ID " + id + " уже существует");
+    }
+
+    private boolean isMemory() {
+        return XmlConfig.getStorageMode() == XmlConfig.StorageMode.MEMORY;
+    }
+
+    private void ensureLoaded() {
+        String methodName = "ensureLoaded";
+        lock.readLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            for (String name : indexKeys.keySet()) {
+                indexes.put(name, new HashMap<>());
+            }
+            for (T value : concat(allShards(shard -> entities.apply(readFile(shardPaths.get(shard)))))) {
+                int id = idOf.applyAsInt(value);
+                byId.put(id, value);
+                index(id, value);
+            }
+            loaded = true;
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Загружено сущностей: " + byId.size() + " из " + filePath));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void index(int id, T value) {
+        if (indexKeys.isEmpty()) {
+            return;
+        }
+        Object[] keys = new Object[indexKeys.size()];
+        int i = 0;
+        for (Map.Entry<String, Function<T, Object>> entry : indexKeys.entrySet()) {
+            Object key = entry.getValue().apply(value);
+            if (key != null) {
+                indexes.get(entry.getKey()).computeIfAbsent(key, k -> new LinkedHashSet<>()).add(id);
+            }
+            keys[i++] = key;
+        }
+        indexedKeys.put(id, keys);
+    }
+
+    private void unindex(int id) {
+        Object[] keys = indexedKeys.remove(id);
+        if (keys == null) {
+            return;
+        }
+        int i = 0;
+        for (String name : indexKeys.keySet()) {
+            Object key = keys[i++];
+            Map<Object, Set<Integer>> index = indexes.get(name);
+            Set<Integer> ids = key != null ? index.get(key) : null;
+            if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Помечает шард измененным и в периодическом режиме планирует один сброс на интервал.
+     * Вызывается под блокировкой записи.
+     */
+    private void markDirty(int shard) {
+        dirtyShards.set(shard);
+        if (XmlConfig.getDurability() == XmlConfig.Durability.PERIODIC && !flushScheduled) {
+            flushScheduled = true;
+            XmlConfig.scheduleFlush(this::scheduledFlush, XmlConfig.getFlushInterval(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void afterWrite() {
+        if (XmlConfig.getDurability() == XmlConfig.Durability.SYNC) {
+            flush();
+        }
+    }
+
+    private void scheduledFlush() {
+        String methodName = "scheduledFlush";
+        lock.writeLock().lock();
+        try {
+            flushScheduled = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            // Изменения остаются в памяти и будут записаны следующим сбросом
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось сбросить изменения: " + e.getMessage()), e);
+        }
+    }
+
+    private int shardOf(int id) {
+        return Math.floorMod(Integer.hashCode(id), shardCount);
+    }
+
+    private static Path shardPath(Path filePath, int shard) {
+        String name = filePath.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String shardName = dot < 0 ? name + "." + shard : name.substring(0, dot) + "." + shard + name.substring(dot);
+        return filePath.resolveSibling(shardName);
+    }
+
+    private <V> Map<Integer, List<V>> groupByShard(Collection<V> values, ToIntFunction<V> id) {
+        Map<Integer, List<V>> result = new LinkedHashMap<>();
+        for (V value : values) {
+            result.computeIfAbsent(shardOf(id.applyAsInt(value)), k -> new ArrayList<>()).add(value);
+        }
+        return result;
+    }
+
+    /**
+     * Заменяет в списке сущности с теми же идентификаторами на месте и добавляет новые в конец.
+     */
+    private void merge(List<T> list, Collection<T> values) {
+        Map<Integer, Integer> positions = new HashMap<>();
+        for (int i = 0; i < list.size(); i++) {
+            positions.put(idOf.applyAsInt(list.get(i)), i);
+        }
+        for (T value : values) {
+            Integer position = positions.get(idOf.applyAsInt(value));
+            if (position != null) {
+                list.set(position, value);
+            } else {
+                positions.put(idOf.applyAsInt(value), list.size());
+                list.add(value);
+            }
+        }
+    }
+
+    private static <V> List<V> concat(List<List<V>> parts) {
+        if (parts.size() == 1) {
+            return parts.get(0);
+        }
+        List<V> result = new ArrayList<>(parts.stream().mapToInt(List::size).sum());
+        parts.forEach(result::addAll);
+        return result;
+    }
+
+    private <R> List<R> allShards(IntFunction<R> action) {
+        checkLayout();
+        return inParallel(IntStream.range(0, shardCount).boxed().toList(), action);
+    }
+
+    /**
+     * Выполняет действие для каждого шарда в пуле {@link XmlConfig#getShardPool()}.
+     * Единственный шард обрабатывается в текущем потоке.
+     * @return Результаты в порядке переданных шардов
+     */
+    private <R> List<R> inParallel(List<Integer> shards, IntFunction<R> action) {
+        if (shards.size() == 1) {
+            return Collections.singletonList(action.apply(shards.get(0)));
+        }
+        ForkJoinPool pool = XmlConfig.getShardPool();
+        List<ForkJoinTask<R>> tasks = new ArrayList<>(shards.size());
+        for (Integer shard : shards) {
+            tasks.add(pool.submit(() -> action.apply(shard)));
+        }
+        List<R> results = new ArrayList<>(shards.size());
+        for (ForkJoinTask<R> task : tasks) {
+            results.add(task.join());
+        }
+        return results;
+    }
+
+    /**
+     * Разносит по шардам файл без шардов, оставшийся от конфигурации с одним файлом,
+     * если файлов шардов еще нет.
+     */
+    private void checkLayout() {
+        String methodName = "checkLayout";
+        if (layoutChecked) {
+            return;
+        }
+        synchronized (this) {
+            if (layoutChecked) {
+                return;
+            }
+            if (Files.exists(filePath) && shardPaths.stream().noneMatch(Files::exists)) {
+                Map<Integer, List<T>> byShard = groupByShard(entities.apply(readFile(filePath)), idOf);
+                for (int shard = 0; shard < shardCount; shard++) {
+                    XmlDataWrapper wrapper = new XmlDataWrapper();
+                    entities.apply(wrapper).addAll(byShard.getOrDefault(shard, List.of()));
+                    writeFile(shardPaths.get(shard), wrapper);
+                }
+                try {
+                    Files.delete(filePath);
+                } catch (IOException e) {
+                    log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось удалить " + filePath + ": " + e.getMessage()));
+                    throw new RuntimeException("Не удалось удалить XML файл: " + filePath, e);
+                }
+                log.info(String.format(Constants.LOG_DB_DEBUG, methodName, filePath + " разнесен по шардам: " + shardCount));
+            }
+            layoutChecked = true;
+        }
+    }
+
+    private XmlDataWrapper readFile(Path filePath) {
+        String methodName = "readFile";
+        if (!Files.exists(filePath)) {
+            return new XmlDataWrapper();
+        }
+        try {
+            Instrumentation.count(Instrumentation.XML_BYTES_READ, filePath.toFile().length());
+            return (XmlDataWrapper) XmlConfig.getUnmarshaller().unmarshal(filePath.toFile());
+        } catch (JAXBException e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось прочитать " + filePath + ": " + e.getMessage()));
+            throw new RuntimeException("Не удалось прочитать XML файл: " + filePath, e);
+        }
+    }
+
+    /**
+     * Атомарно записывает файл: во временный файл и затем переименованием.
+     */
+    private void writeFile(Path filePath, XmlDataWrapper wrapper) {
+        String methodName = "writeFile";
+        Path tempPath = filePath.resolveSibling(filePath.getFileName() + ".tmp");
+        try {
+            XmlConfig.getMarshaller().marshal(wrapper, tempPath.toFile());
+            Instrumentation.count(Instrumentation.XML_BYTES_WRITTEN, Files.size(tempPath));
+            try {
+                Files.move(tempPath, filePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempPath, filePath, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (JAXBException | IOException e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось записать " + filePath + ": " + e.getMessage()));
+            throw new RuntimeException("Не удалось записать XML файл: " + filePath, e);
+        }
+    }
+}
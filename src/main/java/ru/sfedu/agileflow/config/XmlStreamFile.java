@@ -0,0 +1,603 @@
+package ru.sfedu.agileflow.config;
+
+import jakarta.xml.bind.JAXBElement;
+import jakarta.xml.bind.JAXBException;
+import org.apache.log4j.Logger;
+import ru.sfedu.agileflow.constants.Constants;
+import ru.sfedu.agileflow.xml.XmlDataWrapper;
+
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLEventReader;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.stream.events.XMLEvent;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Потоковый доступ к XML-файлу хранилища через StAX.
+ * Файл имеет вид {@code <data><task id="1">...</task>...</data>}. При чтении документ
+ * просматривается по событиям, и в объекты превращаются только нужные элементы:
+ * поиск по идентификатору сравнивает атрибут {@code id} открывающего тега и разбирает
+ * единственный подходящий элемент, остальные запросы разбирают элементы по одному.
+ * Изменения переписывают документ потоковым копированием во временный файл: неизмененные
+ * элементы копируются событиями без разбора в объекты, измененные записываются заново.
+ * Объем используемой памяти не зависит от размера файла.
+ * @param <T> Тип сущности
+ */
+public class XmlStreamFile<T> {
+    private static final Logger log = Logger.getLogger(XmlStreamFile.class);
+    private static final String ROOT_ELEMENT = "data";
+    private static final String ID_ATTRIBUTE = "id";
+    private static final XMLInputFactory inputFactory = XMLInputFactory.newFactory();
+    private static final XMLOutputFactory outputFactory = XMLOutputFactory.newFactory();
+
+    static {
+        // Файлы хранилища не используют DTD; внешние сущности отключены
+        inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+
+    private final Path filePath;
+    private final Class<T> type;
+    private final QName elementName;
+    private final Function<XmlDataWrapper, List<T>> entities;
+    private final ToIntFunction<T> idOf;
+
+    /**
+     * Создает потоковый доступ к файлу.
+     * @param filePath Путь к XML-файлу
+     * @param type Класс сущности
+     * @param elementName Имя элемента сущности внутри корневого элемента
+     * @param entities Список сущностей этого типа внутри {@link XmlDataWrapper}
+     * @param idOf Идентификатор сущности
+     */
+    public XmlStreamFile(Path filePath, Class<T> type, String elementName,
+                         Function<XmlDataWrapper, List<T>> entities, ToIntFunction<T> idOf) {
+        this.filePath = filePath;
+        this.type = type;
+        this.elementName = new QName(elementName);
+        this.entities = entities;
+        this.idOf = idOf;
+    }
+
+    /**
+     * Находит сущность по идентификатору; разбирается только найденный элемент.
+     * @param id Идентификатор
+     * @return Optional с сущностью, если найдена
+     */
+    public Optional<T> findById(int id) {
+        String methodName = "findById";
+        if (!Files.exists(filePath)) {
+            return Optional.empty();
+        }
+        try (InputStream input = Instrumentation.countingInput(Files.newInputStream(filePath), Instrumentation.XML_BYTES_READ)) {
+            XMLStreamReader reader = openReader(input);
+            try {
+                while (nextChild(reader)) {
+                    if (!isEntity(reader)) {
+                        skipElement(reader);
+                    } else if (readId(reader) == id) {
+                        return Optional.of(unmarshal(reader));
+                    } else {
+                        skipElement(reader);
+                    }
+                }
+                return Optional.empty();
+            } finally {
+                reader.close();
+            }
+        } catch (IOException | XMLStreamException | JAXBException e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось прочитать " + filePath + ": " + e.getMessage()));
+            throw new RuntimeException("Не удалось прочитать XML файл: " + filePath, e);
+        }
+    }
+
+    /**
+     * Находит сущности, удовлетворяющие условию; элементы разбираются по одному,
+     * неподходящие сразу отбрасываются.
+     * @param filter Условие
+     * @return Найденные сущности
+     */
+    public List<T> find(Predicate<T> filter) {
+        try (Stream<T> entities = stream()) {
+            return entities.filter(filter).toList();
+        }
+    }
+
+    /**
+     * Находит сущности по тексту дочернего элемента. События каждого дочернего элемента корня
+     * накапливаются в буфере вместе с текстом дочернего элемента сущности, и дальше, в разбор
+     * одним вызовом JAXB, передаются только элементы, прошедшие предварительную проверку текста.
+     * @param childName Имя дочернего элемента
+     * @param candidate Предварительная проверка текста дочернего элемента; может пропускать
+     *                  лишние элементы, но не должна отбрасывать подходящие
+     * @param filter Окончательное условие для разобранной сущности
+     * @return Найденные сущности
+     */
+    public List<T> findByChildText(String childName, Predicate<String> candidate, Predicate<T> filter) {
+        String methodName = "findByChildText";
+        List<T> result = new ArrayList<>();
+        if (!Files.exists(filePath)) {
+            return result;
+        }
+        try (InputStream input = Instrumentation.countingInput(Files.newInputStream(filePath), Instrumentation.XML_BYTES_READ)) {
+            XMLEventReader events = inputFactory.createXMLEventReader(input);
+            try {
+                // Один вызов JAXB на весь документ, в котором оставлены только элементы-кандидаты
+                XmlDataWrapper wrapper = XmlConfig.getUnmarshaller().unmarshal(
+                        new CandidateEventReader(events, childName, candidate), XmlDataWrapper.class).getValue();
+                for (T value : entities.apply(wrapper)) {
+                    if (filter.test(value)) {
+                        result.add(value);
+                    }
+                }
+                return result;
+            } finally {
+                events.close();
+            }
+        } catch (IOException | XMLStreamException | JAXBException e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось прочитать " + filePath + ": " + e.getMessage()));
+            throw new RuntimeException("Не удалось прочитать XML файл: " + filePath, e);
+        }
+    }
+
+    /**
+     * Возвращает все сущности.
+     * @return Новый список сущностей
+     */
+    public List<T> findAll() {
+        try (Stream<T> entities = stream()) {
+            return entities.collect(ArrayList::new, ArrayList::add, ArrayList::addAll);
+        }
+    }
+
+    /**
+     * Возвращает сущности ленивым потоком: очередной элемент читается и разбирается при
+     * обращении к потоку. Поток держит файл открытым и должен быть закрыт.
+     * @return Поток сущностей
+     */
+    public Stream<T> stream() {
+        String methodName = "stream";
+        if (!Files.exists(filePath)) {
+            return Stream.empty();
+        }
+        InputStream input = null;
+        try {
+            input = Instrumentation.countingInput(Files.newInputStream(filePath), Instrumentation.XML_BYTES_READ);
+            XMLStreamReader reader = openReader(input);
+            InputStream opened = input;
+            Spliterator<T> spliterator = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE,
+                    Spliterator.ORDERED | Spliterator.NONNULL) {
+                @Override
+                public boolean tryAdvance(Consumer<? super T> action) {
+                    try {
+                        while (nextChild(reader)) {
+                            if (isEntity(reader)) {
+                                action.accept(unmarshal(reader));
+                                return true;
+                            }
+                            skipElement(reader);
+                        }
+                        return false;
+                    } catch (XMLStreamException | JAXBException e) {
+                        log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось прочитать " + filePath + ": " + e.getMessage()));
+                        throw new RuntimeException("Не удалось прочитать XML файл: " + filePath, e);
+                    }
+                }
+            };
+            return StreamSupport.stream(spliterator, false).onClose(() -> close(reader, opened));
+        } catch (IOException | XMLStreamException e) {
+            close(null, input);
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось открыть " + filePath + ": " + e.getMessage()));
+            throw new RuntimeException("Не удалось открыть XML файл: " + filePath, e);
+        }
+    }
+
+    /**
+     * Сохраняет сущности: элементы с теми же идентификаторами заменяются на месте,
+     * новые дописываются в конец документа.
+     * @param values Сущности
+     */
+    public void save(Collection<T> values) {
+        Map<Integer, T> replacements = new LinkedHashMap<>();
+        for (T value : values) {
+            replacements.put(idOf.applyAsInt(value), value);
+        }
+        rewrite(replacements, Set.of());
+    }
+
+    /**
+     * Удаляет элементы с указанными идентификаторами.
+     * @param ids Идентификаторы
+     * @return Количество удаленных элементов
+     */
+    public int delete(Collection<Integer> ids) {
+        return rewrite(Map.of(), new HashSet<>(ids));
+    }
+
+    /**
+     * Переписывает документ потоковым копированием во временный файл с последующей заменой.
+     * @return Количество удаленных элементов
+     */
+    private synchronized int rewrite(Map<Integer, T> replacements, Set<Integer> deletions) {
+        String methodName = "rewrite";
+        Path tempPath = filePath.resolveSibling(filePath.getFileName() + ".tmp");
+        Map<Integer, T> pending = new LinkedHashMap<>(replacements);
+        int removed = 0;
+        try {
+            try (BufferedWriter output = Files.newBufferedWriter(tempPath, StandardCharsets.UTF_8)) {
+                XMLStreamWriter writer = outputFactory.createXMLStreamWriter(output);
+                writer.writeStartDocument(StandardCharsets.UTF_8.name(), "1.0");
+                writer.writeCharacters("\n");
+                writer.writeStartElement(ROOT_ELEMENT);
+                if (Files.exists(filePath)) {
+                    try (InputStream input = Instrumentation.countingInput(Files.newInputStream(filePath), Instrumentation.XML_BYTES_READ)) {
+                        XMLStreamReader reader = openReader(input);
+                        try {
+                            while (nextChild(reader)) {
+                                if (!isEntity(reader)) {
+                                    writer.writeCharacters("\n    ");
+                                    copyElement(reader, writer);
+                                    continue;
+                                }
+                                int id = readId(reader);
+                                if (deletions.contains(id)) {
+                                    skipElement(reader);
+                                    removed++;
+                                } else if (replacements.containsKey(id)) {
+                                    skipElement(reader);
+                                    T value = pending.remove(id);
+                                    if (value != null) {
+                                        writer.writeCharacters("\n    ");
+                                        marshal(value, writer);
+                                    }
+                                } else {
+                                    writer.writeCharacters("\n    ");
+                                    copyElement(reader, writer);
+                                }
+                            }
+                        } finally {
+                            reader.close();
+                        }
+                    }
+                }
+                for (T value : pending.values()) {
+                    writer.writeCharacters("\n    ");
+                    marshal(value, writer);
+                }
+                writer.writeCharacters("\n");
+                writer.writeEndElement();
+                writer.writeEndDocument();
+                writer.close();
+            }
+            Instrumentation.count(Instrumentation.XML_BYTES_WRITTEN, Files.size(tempPath));
+            try {
+                Files.move(tempPath, filePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempPath, filePath, StandardCopyOption.REPLACE_EXISTING);
+            }
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Файл переписан: " + filePath
+                        + ", заменено/добавлено: " + replacements.size() + ", удалено: " + removed));
+            }
+            return removed;
+        } catch (IOException | XMLStreamException | JAXBException e) {
+            try {
+                Files.deleteIfExists(tempPath);
+            } catch (IOException ignored) {
+                // Временный файл будет перезаписан следующей операцией
+            }
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось записать " + filePath + ": " + e.getMessage()));
+            throw new RuntimeException("Не удалось записать XML файл: " + filePath, e);
+        }
+    }
+
+    /**
+     * Открывает читатель и устанавливает его сразу после открывающего тега корневого элемента.
+     */
+    private static XMLStreamReader openReader(InputStream input) throws XMLStreamException {
+        XMLStreamReader reader = inputFactory.createXMLStreamReader(input);
+        reader.nextTag();
+        reader.next();
+        return reader;
+    }
+
+    /**
+     * Переходит к следующему дочернему элементу корня.
+     * Все методы, обрабатывающие элемент, оставляют читатель на событии после его закрывающего тега.
+     * @return false, если дочерних элементов больше нет
+     */
+    private static boolean nextChild(XMLStreamReader reader) throws XMLStreamException {
+        while (true) {
+            int event = reader.getEventType();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                return true;
+            }
+            if (event == XMLStreamConstants.END_ELEMENT || event == XMLStreamConstants.END_DOCUMENT) {
+                return false;
+            }
+            reader.next();
+        }
+    }
+
+    private boolean isEntity(XMLStreamReader reader) {
+        return elementName.getLocalPart().equals(reader.getLocalName());
+    }
+
+    private static int readId(XMLStreamReader reader) {
+        String value = reader.getAttributeValue(null, ID_ATTRIBUTE);
+        // Отсутствующий атрибут соответствует значению поля по умолчанию
+        return value != null ? Integer.parseInt(value.trim()) : 0;
+    }
+
+    private T unmarshal(XMLStreamReader reader) throws JAXBException {
+        return XmlConfig.getUnmarshaller().unmarshal(reader, type).getValue();
+    }
+
+    private void marshal(T value, XMLStreamWriter writer) throws JAXBException {
+        XmlConfig.getFragmentMarshaller().marshal(new JAXBElement<>(elementName, type, value), writer);
+    }
+
+    private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 0;
+        while (true) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                if (depth == 0) {
+                    break;
+                }
+                depth--;
+            }
+        }
+        reader.next();
+    }
+
+    /**
+     * Накапливает события элемента, начинающегося со следующего события, собирая текст
+     * его дочернего элемента.
+     */
+    private static void bufferElement(XMLEventReader events, List<XMLEvent> element,
+                                      String childName, StringBuilder childText) throws XMLStreamException {
+        int depth = 0;
+        boolean inChild = false;
+        do {
+            XMLEvent event = events.nextEvent();
+            element.add(event);
+            if (event.isStartElement()) {
+                depth++;
+                inChild = depth == 2 && event.asStartElement().getName().getLocalPart().equals(childName);
+            } else if (event.isEndElement()) {
+                depth--;
+                inChild = false;
+            } else if (inChild && event.isCharacters()) {
+                childText.append(event.asCharacters().getData());
+            }
+        } while (depth > 0);
+    }
+
+    /**
+     * Копирует элемент событиями, не разбирая его в объект.
+     */
+    private static void copyElement(XMLStreamReader reader, XMLStreamWriter writer) throws XMLStreamException {
+        int depth = 0;
+        do {
+            switch (reader.getEventType()) {
+                case XMLStreamConstants.START_ELEMENT -> {
+                    copyStartElement(reader, writer);
+                    depth++;
+                }
+                case XMLStreamConstants.END_ELEMENT -> {
+                    writer.writeEndElement();
+                    depth--;
+                }
+                case XMLStreamConstants.CHARACTERS, XMLStreamConstants.SPACE ->
+                        writer.writeCharacters(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                case XMLStreamConstants.CDATA -> writer.writeCData(reader.getText());
+                case XMLStreamConstants.COMMENT -> writer.writeComment(reader.getText());
+                default -> {
+                    // Прочие события внутри элементов хранилища не встречаются
+                }
+            }
+            reader.next();
+        } while (depth > 0);
+    }
+
+    private static void copyStartElement(XMLStreamReader reader, XMLStreamWriter writer) throws XMLStreamException {
+        String prefix = reader.getPrefix();
+        String namespace = reader.getNamespaceURI();
+        if (namespace == null || namespace.isEmpty()) {
+            writer.writeStartElement(reader.getLocalName());
+        } else {
+            writer.writeStartElement(prefix == null ? "" : prefix, reader.getLocalName(), namespace);
+        }
+        for (int i = 0; i < reader.getNamespaceCount(); i++) {
+            String nsPrefix = reader.getNamespacePrefix(i);
+            if (nsPrefix == null || nsPrefix.isEmpty()) {
+                writer.writeDefaultNamespace(reader.getNamespaceURI(i));
+            } else {
+                writer.writeNamespace(nsPrefix, reader.getNamespaceURI(i));
+            }
+        }
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            String attrNamespace = reader.getAttributeNamespace(i);
+            if (attrNamespace == null || attrNamespace.isEmpty()) {
+                writer.writeAttribute(reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+            } else {
+                writer.writeAttribute(reader.getAttributePrefix(i), attrNamespace,
+                        reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+            }
+        }
+    }
+
+    private static void close(XMLStreamReader reader, InputStream input) {
+        try {
+            if (reader != null) {
+                reader.close();
+            }
+            if (input != null) {
+                input.close();
+            }
+        } catch (IOException | XMLStreamException e) {
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, "close", "Не удалось закрыть файл: " + e.getMessage()));
+            }
+        }
+    }
+
+    /**
+     * Читатель событий, пропускающий из исходного документа только корневой элемент
+     * и элементы сущностей, текст дочернего элемента которых прошел предварительную проверку.
+     * Каждый дочерний элемент корня накапливается в буфере целиком перед проверкой.
+     */
+    private final class CandidateEventReader implements XMLEventReader {
+        private final XMLEventReader source;
+        private final String childName;
+        private final Predicate<String> candidate;
+        private final ArrayDeque<XMLEvent> pending = new ArrayDeque<>();
+        private final List<XMLEvent> element = new ArrayList<>();
+        private final StringBuilder childText = new StringBuilder();
+        private int depth;
+
+        private CandidateEventReader(XMLEventReader source, String childName, Predicate<String> candidate) {
+            this.source = source;
+            this.childName = childName;
+            this.candidate = candidate;
+        }
+
+        /**
+         * Пополняет очередь событий, пока она пуста и исходный документ не закончился.
+         */
+        private void fill() throws XMLStreamException {
+            while (pending.isEmpty() && source.hasNext()) {
+                XMLEvent next = source.peek();
+                if (depth == 1 && next.isStartElement()) {
+                    element.clear();
+                    childText.setLength(0);
+                    bufferElement(source, element, childName, childText);
+                    if (elementName.equals(next.asStartElement().getName())
+                            && candidate.test(childText.toString().trim())) {
+                        pending.addAll(element);
+                    }
+                    continue;
+                }
+                XMLEvent event = source.nextEvent();
+                if (event.isStartElement()) {
+                    depth++;
+                } else if (event.isEndElement()) {
+                    depth--;
+                } else if (depth == 1 && event.isCharacters()) {
+                    // Пробелы между элементами корня не нужны для разбора
+                    continue;
+                }
+                pending.add(event);
+            }
+        }
+
+        @Override
+        public XMLEvent nextEvent() throws XMLStreamException {
+            fill();
+            if (pending.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            return pending.poll();
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                fill();
+            } catch (XMLStreamException e) {
+                throw new RuntimeException("Не удалось прочитать XML файл: " + filePath, e);
+            }
+            return !pending.isEmpty();
+        }
+
+        @Override
+        public XMLEvent peek() throws XMLStreamException {
+            fill();
+            return pending.peek();
+        }
+
+        @Override
+        public String getElementText() throws XMLStreamException {
+            StringBuilder text = new StringBuilder();
+            while (hasNext()) {
+                XMLEvent event = nextEvent();
+                if (event.isEndElement()) {
+                    return text.toString();
+                }
+                if (event.isStartElement()) {
+                    throw new XMLStreamException("Элемент содержит вложенные элементы");
+                }
+                if (event.isCharacters()) {
+                    text.append(event.asCharacters().getData());
+                }
+            }
+            throw new XMLStreamException("Неожиданный конец документа");
+        }
+
+        @Override
+        public XMLEvent nextTag() throws XMLStreamException {
+            while (hasNext()) {
+                XMLEvent event = nextEvent();
+                if (event.isStartElement() || event.isEndElement()) {
+                    return event;
+                }
+                if (event.isCharacters() && !event.asCharacters().isWhiteSpace()) {
+                    throw new XMLStreamException("Ожидался тег, найден текст");
+                }
+            }
+            throw new XMLStreamException("Неожиданный конец документа");
+        }
+
+        @Override
+        public Object getProperty(String name) {
+            return source.getProperty(name);
+        }
+
+        @Override
+        public void close() throws XMLStreamException {
+            source.close();
+        }
+
+        @Override
+        public Object next() {
+            try {
+                return nextEvent();
+            } catch (XMLStreamException e) {
+                throw new RuntimeException("Не удалось прочитать XML файл: " + filePath, e);
+            }
+        }
+    }
+}
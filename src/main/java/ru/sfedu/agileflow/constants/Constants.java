@@ -10,6 +10,37 @@ public class Constants {
     public static final String DB_URL_KEY = "db.url";
     public static final String DB_USERNAME_KEY = "db.username";
     public static final String DB_PASSWORD_KEY = "db.password";
+    public static final String DB_BOOTSTRAP_KEY = "db.bootstrap";
+    public static final String DB_PROFILE_KEY = "db.profile";
+    public static final String DB_PROFILE_PROPERTIES_PATTERN = "database-%s.properties";
+    public static final String DB_POOL_PREFIX = "db.pool.";
+    public static final String DB_POOL_MIN_IDLE_KEY = "db.pool.minIdle";
+    public static final String DB_POOL_MAX_SIZE_KEY = "db.pool.maxSize";
+    public static final String DB_POOL_IDLE_TIMEOUT_KEY = "db.pool.idleTimeout";
+    public static final String DB_POOL_CONNECTION_TIMEOUT_KEY = "db.pool.connectionTimeout";
+    public static final String DB_POOL_LEAK_DETECTION_KEY = "db.pool.leakDetectionThreshold";
+    public static final String DB_SLOW_QUERY_THRESHOLD_KEY = "db.slowQuery.threshold";
+    public static final String DB_SLOW_QUERY_EXPLAIN_KEY = "db.slowQuery.explain";
+    public static final String DB_SLOW_QUERY_CAPACITY_KEY = "db.slowQuery.capacity";
+
+    // Константы для CSV-хранилища
+    public static final String CSV_DIR_KEY = "csv.dir";
+    public static final String CSV_STORAGE_MODE_KEY = "csv.storage.mode";
+    public static final String CSV_COMPACTION_MIN_DEAD_KEY = "csv.compaction.minDead";
+    public static final String CSV_ID_BLOCK_SIZE_KEY = "csv.id.blockSize";
+    public static final String CSV_MMAP_THRESHOLD_KEY = "csv.mmap.threshold";
+
+    // Константы для XML-хранилища
+    public static final String XML_STORAGE_MODE_KEY = "xml.storage.mode";
+    public static final String XML_DURABILITY_KEY = "xml.durability";
+    public static final String XML_FLUSH_INTERVAL_KEY = "xml.flush.interval";
+    public static final String XML_SHARDS_KEY = "xml.shards";
+
+    // Константы для сводки по проектам (лабораторная работа 5)
+    public static final String SUMMARY_RECONCILE_INTERVAL_KEY = "summary.reconcile.interval";
+
+    // Константы для метрик
+    public static final String METRICS_ENABLED_KEY = "metrics.enabled";
 
     // Константы для логирования
     public static final String LOG_METHOD_START = "%s [1] Начало выполнения метода";
@@ -7,8 +7,11 @@ import ru.sfedu.agileflow.models.Project;
 import ru.sfedu.agileflow.config.CsvConfig;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * DAO-класс для работы с проектами в CSV.
@@ -20,42 +23,77 @@ public class ProjectCsvDAO implements GenericDAO<Project, Integer> {
     @Override
     public void create(Project project) {
         String methodName = "create";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
         if (project == null) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Проект не может быть null"));
             throw new IllegalArgumentException("Проект не может быть null");
         }
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, project.toString()));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, project.toString()));
+        }
 
         try {
-            List<String[]> records = CsvConfig.readCsv(FILE_NAME);
             project.setId(CsvConfig.generateId(FILE_NAME));
-            String[] record = new String[]{
-                    String.valueOf(project.getId()),
-                    project.getName(),
-                    project.getDescription()
-            };
-            records.add(record);
-            CsvConfig.writeCsv(FILE_NAME, records);
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Проект сохранен с ID: " + project.getId()));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            String[] record = toRecord(project);
+            CsvConfig.insertRecord(FILE_NAME, record);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Проект сохранен с ID: " + project.getId()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось создать проект: " + e.getMessage()), e);
             throw new RuntimeException("Не удалось создать проект", e);
         }
     }
 
+    @Override
+    public void createAll(Collection<Project> projects) {
+        String methodName = "createAll";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
+        if (projects == null || projects.contains(null)) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Проект не может быть null"));
+            throw new IllegalArgumentException("Проект не может быть null");
+        }
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "size: " + projects.size()));
+        }
+
+        try {
+            List<String[]> records = new ArrayList<>(projects.size());
+            for (Project project : projects) {
+                project.setId(CsvConfig.generateId(FILE_NAME));
+                records.add(toRecord(project));
+            }
+            CsvConfig.insertRecords(FILE_NAME, records);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Сохранено проектов: " + records.size()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось создать проекты: " + e.getMessage()), e);
+            throw new RuntimeException("Не удалось создать проекты", e);
+        }
+    }
+
     @Override
     public Optional<Project> findById(Integer id) {
         String methodName = "findById";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "id: " + id));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "id: " + id));
+        }
 
         try {
             Optional<String[]> recordOpt = CsvConfig.findById(FILE_NAME, id);
             if (recordOpt.isEmpty()) {
-                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Проект не найден"));
-                log.info(String.format(Constants.LOG_METHOD_END, methodName));
+                if (log.isDebugEnabled()) {
+                    log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Проект не найден"));
+                    log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+                }
                 return Optional.empty();
             }
             String[] record = recordOpt.get();
@@ -63,8 +101,10 @@ public class ProjectCsvDAO implements GenericDAO<Project, Integer> {
             project.setId(Integer.parseInt(record[0]));
             project.setName(record[1]);
             project.setDescription(record[2]);
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Проект найден: " + project));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Проект найден: " + project));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
             return Optional.of(project);
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось найти проект: " + e.getMessage()), e);
@@ -75,24 +115,44 @@ public class ProjectCsvDAO implements GenericDAO<Project, Integer> {
     @Override
     public List<Project> findAll() {
         String methodName = "findAll";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
 
         try {
             List<String[]> records = CsvConfig.readCsv(FILE_NAME);
             List<Project> projects = new ArrayList<>();
             for (String[] record : records) {
-                try {
-                    Project project = new Project();
-                    project.setId(Integer.parseInt(record[0]));
-                    project.setName(record[1]);
-                    project.setDescription(record[2]);
+                Project project = toProject(record);
+                if (project != null) {
                     projects.add(project);
-                } catch (NumberFormatException e) {
-                    // Пропускаем некорректные записи
                 }
             }
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Найдено проектов: " + projects.size()));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Найдено проектов: " + projects.size()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+            return projects;
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось получить проекты: " + e.getMessage()), e);
+            throw new RuntimeException("Не удалось получить проекты", e);
+        }
+    }
+
+    @Override
+    public Stream<Project> streamAll() {
+        String methodName = "streamAll";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
+
+        try {
+            Stream<Project> projects = CsvConfig.streamCsv(FILE_NAME)
+                    .map(this::toProject)
+                    .filter(Objects::nonNull);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
             return projects;
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось получить проекты: " + e.getMessage()), e);
@@ -103,55 +163,138 @@ public class ProjectCsvDAO implements GenericDAO<Project, Integer> {
     @Override
     public void update(Project project) {
         String methodName = "update";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
         if (project == null) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Проект не может быть null"));
             throw new IllegalArgumentException("Проект не может быть null");
         }
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, project.toString()));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, project.toString()));
+        }
 
         try {
-            List<String[]> records = CsvConfig.readCsv(FILE_NAME);
-            boolean found = false;
-            for (int i = 0; i < records.size(); i++) {
-                if (records.get(i)[0].equals(String.valueOf(project.getId()))) {
-                    records.set(i, new String[]{
-                            String.valueOf(project.getId()),
-                            project.getName(),
-                            project.getDescription()
-                    });
-                    found = true;
-                    break;
-                }
-            }
-            if (!found) {
+            String[] record = toRecord(project);
+            if (!CsvConfig.updateRecord(FILE_NAME, record)) {
                 log.error(String.format(Constants.LOG_ERROR, methodName, "Проект с ID " + project.getId() + " не найден"));
                 throw new RuntimeException("Проект не найден");
             }
-            CsvConfig.writeCsv(FILE_NAME, records);
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Проект обновлен"));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Проект обновлен"));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось обновить проект: " + e.getMessage()), e);
             throw new RuntimeException("Не удалось обновить проект", e);
         }
     }
 
+    @Override
+    public void updateAll(Collection<Project> projects) {
+        String methodName = "updateAll";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
+        if (projects == null || projects.contains(null)) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Проект не может быть null"));
+            throw new IllegalArgumentException("Проект не может быть null");
+        }
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "size: " + projects.size()));
+        }
+
+        try {
+            List<String[]> records = new ArrayList<>(projects.size());
+            for (Project project : projects) {
+                records.add(toRecord(project));
+            }
+            if (!CsvConfig.updateRecords(FILE_NAME, records)) {
+                log.error(String.format(Constants.LOG_ERROR, methodName, "Не все проекты найдены"));
+                throw new RuntimeException("Не все проекты найдены");
+            }
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Обновлено проектов: " + records.size()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось обновить проекты: " + e.getMessage()), e);
+            throw new RuntimeException("Не удалось обновить проекты", e);
+        }
+    }
+
     @Override
     public void delete(Integer id) {
         String methodName = "delete";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "id: " + id));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "id: " + id));
+        }
 
         try {
-            List<String[]> records = CsvConfig.readCsv(FILE_NAME);
-            records.removeIf(record -> record[0].equals(String.valueOf(id)));
-            CsvConfig.writeCsv(FILE_NAME, records);
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Проект удален"));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            CsvConfig.deleteRecord(FILE_NAME, String.valueOf(id));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Проект удален"));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось удалить проект: " + e.getMessage()), e);
             throw new RuntimeException("Не удалось удалить проект", e);
         }
     }
+
+    @Override
+    public void deleteAllById(Collection<Integer> ids) {
+        String methodName = "deleteAllById";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "ids: " + ids));
+        }
+
+        try {
+            List<String[]> keys = new ArrayList<>(ids.size());
+            for (Integer id : ids) {
+                keys.add(new String[]{String.valueOf(id)});
+            }
+            int removed = CsvConfig.deleteRecords(FILE_NAME, keys);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Удалено проектов: " + removed));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось удалить проекты: " + e.getMessage()), e);
+            throw new RuntimeException("Не удалось удалить проекты", e);
+        }
+    }
+
+    /**
+     * Преобразует проект в запись CSV.
+     * @param project Проект
+     * @return Запись CSV
+     */
+    private String[] toRecord(Project project) {
+        return new String[]{
+                String.valueOf(project.getId()),
+                project.getName(),
+                project.getDescription()
+        };
+    }
+
+    /**
+     * Преобразует запись CSV в проект.
+     * @param record Запись CSV
+     * @return Проект или null, если запись некорректна
+     */
+    private Project toProject(String[] record) {
+        try {
+            Project project = new Project();
+            project.setId(Integer.parseInt(record[0]));
+            project.setName(record[1]);
+            project.setDescription(record[2]);
+            return project;
+        } catch (NumberFormatException e) {
+            // Пропускаем некорректные записи
+            return null;
+        }
+    }
 }
\ No newline at end of file
@@ -23,21 +23,26 @@ public class ProjectUserCsvDAO {
      */
     public void addUserToProject(Integer projectId, Integer userId) {
         String methodName = "addUserToProject";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "projectId: " + projectId + ", userId: " + userId));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "projectId: " + projectId + ", userId: " + userId));
+        }
 
         try {
-            List<String[]> records = CsvConfig.readCsv(FILE_NAME);
-            boolean exists = records.stream()
-                    .anyMatch(record -> record[0].equals(String.valueOf(projectId)) && record[1].equals(String.valueOf(userId)));
+            boolean exists = CsvConfig.findByKey(FILE_NAME, String.valueOf(projectId), String.valueOf(userId)).isPresent();
             if (!exists) {
-                records.add(new String[]{String.valueOf(projectId), String.valueOf(userId)});
-                CsvConfig.writeCsv(FILE_NAME, records);
-                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Пользователь добавлен в проект"));
+                CsvConfig.insertRecord(FILE_NAME, new String[]{String.valueOf(projectId), String.valueOf(userId)});
+                if (log.isDebugEnabled()) {
+                    log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Пользователь добавлен в проект"));
+                }
             } else {
-                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Связь уже существует"));
+                if (log.isDebugEnabled()) {
+                    log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Связь уже существует"));
+                }
+            }
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
             }
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось добавить пользователя в проект: " + e.getMessage()), e);
             throw new RuntimeException("Не удалось добавить пользователя в проект", e);
@@ -51,15 +56,17 @@ public class ProjectUserCsvDAO {
      */
     public void removeUserFromProject(Integer projectId, Integer userId) {
         String methodName = "removeUserFromProject";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "projectId: " + projectId + ", userId: " + userId));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "projectId: " + projectId + ", userId: " + userId));
+        }
 
         try {
-            List<String[]> records = CsvConfig.readCsv(FILE_NAME);
-            records.removeIf(record -> record[0].equals(String.valueOf(projectId)) && record[1].equals(String.valueOf(userId)));
-            CsvConfig.writeCsv(FILE_NAME, records);
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Пользователь удален из проекта"));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            CsvConfig.deleteRecord(FILE_NAME, String.valueOf(projectId), String.valueOf(userId));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Пользователь удален из проекта"));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось удалить пользователя из проекта: " + e.getMessage()), e);
             throw new RuntimeException("Не удалось удалить пользователя из проекта", e);
@@ -73,25 +80,27 @@ public class ProjectUserCsvDAO {
      */
     public List<User> getUsersByProject(Integer projectId) {
         String methodName = "getUsersByProject";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "projectId: " + projectId));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "projectId: " + projectId));
+        }
 
         try {
-            List<String[]> records = CsvConfig.readCsv(FILE_NAME);
+            List<String[]> records = CsvConfig.findByIndex(FILE_NAME, "projectId", String.valueOf(projectId));
             UserCsvDAO userDAO = new UserCsvDAO();
             List<User> users = new ArrayList<>();
             for (String[] record : records) {
-                if (record[0].equals(String.valueOf(projectId))) {
-                    try {
-                        int userId = Integer.parseInt(record[1]);
-                        userDAO.findById(userId).ifPresent(users::add);
-                    } catch (NumberFormatException e) {
-                        // Пропускаем некорректные записи
-                    }
+                try {
+                    int userId = Integer.parseInt(record[1]);
+                    userDAO.findById(userId).ifPresent(users::add);
+                } catch (NumberFormatException e) {
+                    // Пропускаем некорректные записи
                 }
             }
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Найдено пользователей: " + users.size()));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Найдено пользователей: " + users.size()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
             return users;
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось получить пользователей проекта: " + e.getMessage()), e);
@@ -106,25 +115,27 @@ public class ProjectUserCsvDAO {
      */
     public List<Project> getProjectsByUser(Integer userId) {
         String methodName = "getProjectsByUser";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "userId: " + userId));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "userId: " + userId));
+        }
 
         try {
-            List<String[]> records = CsvConfig.readCsv(FILE_NAME);
+            List<String[]> records = CsvConfig.findByIndex(FILE_NAME, "userId", String.valueOf(userId));
             ProjectCsvDAO projectDAO = new ProjectCsvDAO();
             List<Project> projects = new ArrayList<>();
             for (String[] record : records) {
-                if (record[1].equals(String.valueOf(userId))) {
-                    try {
-                        int projectId = Integer.parseInt(record[0]);
-                        projectDAO.findById(projectId).ifPresent(projects::add);
-                    } catch (NumberFormatException e) {
-                        // Пропускаем некорректные записи
-                    }
+                try {
+                    int projectId = Integer.parseInt(record[0]);
+                    projectDAO.findById(projectId).ifPresent(projects::add);
+                } catch (NumberFormatException e) {
+                    // Пропускаем некорректные записи
                 }
             }
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Найдено проектов: " + projects.size()));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Найдено проектов: " + projects.size()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
             return projects;
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось получить проекты пользователя: " + e.getMessage()), e);
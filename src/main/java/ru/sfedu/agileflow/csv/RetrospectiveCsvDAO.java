@@ -7,9 +7,16 @@ import ru.sfedu.agileflow.models.Retrospective;
 import ru.sfedu.agileflow.config.CsvConfig;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * DAO-класс для работы с ретроспективами в CSV.
@@ -23,24 +30,22 @@ public class RetrospectiveCsvDAO implements GenericDAO<Retrospective, Integer> {
     @Override
     public void create(Retrospective retrospective) {
         String methodName = "create";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
         if (retrospective == null) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Ретроспектива не может быть null"));
             throw new IllegalArgumentException("Ретроспектива не может быть null");
         }
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, retrospective.toString()));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, retrospective.toString()));
+        }
 
         try {
             // Сохранение ретроспективы
-            List<String[]> records = CsvConfig.readCsv(FILE_NAME);
             retrospective.setId(CsvConfig.generateId(FILE_NAME));
-            String[] record = new String[]{
-                    String.valueOf(retrospective.getId()),
-                    retrospective.getSprint() != null ? String.valueOf(retrospective.getSprint().getId()) : "",
-                    retrospective.getSummary()
-            };
-            records.add(record);
-            CsvConfig.writeCsv(FILE_NAME, records);
+            String[] record = toRecord(retrospective);
+            CsvConfig.insertRecord(FILE_NAME, record);
 
             // Сохранение improvements
             if (retrospective.getImprovements() != null && !retrospective.getImprovements().isEmpty()) {
@@ -66,25 +71,64 @@ public class RetrospectiveCsvDAO implements GenericDAO<Retrospective, Integer> {
                 CsvConfig.writeCsv(POSITIVES_FILE, positiveRecords);
             }
 
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Ретроспектива сохранена с ID: " + retrospective.getId()));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Ретроспектива сохранена с ID: " + retrospective.getId()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось создать ретроспективу: " + e.getMessage()), e);
             throw new RuntimeException("Не удалось создать ретроспективу", e);
         }
     }
 
+    @Override
+    public void createAll(Collection<Retrospective> retrospectives) {
+        String methodName = "createAll";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
+        if (retrospectives == null || retrospectives.contains(null)) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Ретроспектива не может быть null"));
+            throw new IllegalArgumentException("Ретроспектива не может быть null");
+        }
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "size: " + retrospectives.size()));
+        }
+
+        try {
+            List<String[]> records = new ArrayList<>(retrospectives.size());
+            for (Retrospective retrospective : retrospectives) {
+                retrospective.setId(CsvConfig.generateId(FILE_NAME));
+                records.add(toRecord(retrospective));
+            }
+            CsvConfig.insertRecords(FILE_NAME, records);
+            replaceChildren(IMPROVEMENTS_FILE, Set.of(), retrospectives, Retrospective::getImprovements);
+            replaceChildren(POSITIVES_FILE, Set.of(), retrospectives, Retrospective::getPositives);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Сохранено ретроспектив: " + records.size()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось создать ретроспективы: " + e.getMessage()), e);
+            throw new RuntimeException("Не удалось создать ретроспективы", e);
+        }
+    }
+
     @Override
     public Optional<Retrospective> findById(Integer id) {
         String methodName = "findById";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "id: " + id));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "id: " + id));
+        }
 
         try {
             Optional<String[]> recordOpt = CsvConfig.findById(FILE_NAME, id);
             if (recordOpt.isEmpty()) {
-                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Ретроспектива не найдена"));
-                log.info(String.format(Constants.LOG_METHOD_END, methodName));
+                if (log.isDebugEnabled()) {
+                    log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Ретроспектива не найдена"));
+                    log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+                }
                 return Optional.empty();
             }
             String[] record = recordOpt.get();
@@ -108,8 +152,10 @@ public class RetrospectiveCsvDAO implements GenericDAO<Retrospective, Integer> {
                     .collect(Collectors.toList());
             retrospective.setPositives(positives);
 
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Ретроспектива найдена: " + retrospective));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Ретроспектива найдена: " + retrospective));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
             return Optional.of(retrospective);
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось найти ретроспективу: " + e.getMessage()), e);
@@ -120,41 +166,49 @@ public class RetrospectiveCsvDAO implements GenericDAO<Retrospective, Integer> {
     @Override
     public List<Retrospective> findAll() {
         String methodName = "findAll";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
 
         try {
             List<String[]> records = CsvConfig.readCsv(FILE_NAME);
+            // Дочерние файлы читаются один раз, а не для каждой ретроспективы
+            Map<String, List<String>> improvements = groupByRetrospective(IMPROVEMENTS_FILE);
+            Map<String, List<String>> positives = groupByRetrospective(POSITIVES_FILE);
             List<Retrospective> retrospectives = new ArrayList<>();
             for (String[] record : records) {
-                try {
-                    int id = Integer.parseInt(record[0]);
-                    Retrospective retrospective = new Retrospective();
-                    retrospective.setId(id);
-                    retrospective.setSummary(record[2]);
-
-                    // Загрузка improvements
-                    List<String[]> improvementRecords = CsvConfig.readCsv(IMPROVEMENTS_FILE);
-                    List<String> improvements = improvementRecords.stream()
-                            .filter(r -> r[0].equals(String.valueOf(id)))
-                            .map(r -> r[1])
-                            .collect(Collectors.toList());
-                    retrospective.setImprovements(improvements);
-
-                    // Загрузка positives
-                    List<String[]> positiveRecords = CsvConfig.readCsv(POSITIVES_FILE);
-                    List<String> positives = positiveRecords.stream()
-                            .filter(r -> r[0].equals(String.valueOf(id)))
-                            .map(r -> r[1])
-                            .collect(Collectors.toList());
-                    retrospective.setPositives(positives);
-
+                Retrospective retrospective = toRetrospective(record, improvements, positives);
+                if (retrospective != null) {
                     retrospectives.add(retrospective);
-                } catch (NumberFormatException e) {
-                    // Пропускаем некорректные записи
                 }
             }
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Найдено ретроспектив: " + retrospectives.size()));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Найдено ретроспектив: " + retrospectives.size()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+            return retrospectives;
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось получить ретроспективы: " + e.getMessage()), e);
+            throw new RuntimeException("Не удалось получить ретроспективы", e);
+        }
+    }
+
+    @Override
+    public Stream<Retrospective> streamAll() {
+        String methodName = "streamAll";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
+
+        try {
+            Map<String, List<String>> improvements = groupByRetrospective(IMPROVEMENTS_FILE);
+            Map<String, List<String>> positives = groupByRetrospective(POSITIVES_FILE);
+            Stream<Retrospective> retrospectives = CsvConfig.streamCsv(FILE_NAME)
+                    .map(record -> toRetrospective(record, improvements, positives))
+                    .filter(Objects::nonNull);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
             return retrospectives;
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось получить ретроспективы: " + e.getMessage()), e);
@@ -165,33 +219,24 @@ public class RetrospectiveCsvDAO implements GenericDAO<Retrospective, Integer> {
     @Override
     public void update(Retrospective retrospective) {
         String methodName = "update";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
         if (retrospective == null) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Ретроспектива не может быть null"));
             throw new IllegalArgumentException("Ретроспектива не может быть null");
         }
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, retrospective.toString()));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, retrospective.toString()));
+        }
 
         try {
             // Обновление ретроспективы
-            List<String[]> records = CsvConfig.readCsv(FILE_NAME);
-            boolean found = false;
-            for (int i = 0; i < records.size(); i++) {
-                if (records.get(i)[0].equals(String.valueOf(retrospective.getId()))) {
-                    records.set(i, new String[]{
-                            String.valueOf(retrospective.getId()),
-                            retrospective.getSprint() != null ? String.valueOf(retrospective.getSprint().getId()) : "",
-                            retrospective.getSummary()
-                    });
-                    found = true;
-                    break;
-                }
-            }
-            if (!found) {
+            String[] record = toRecord(retrospective);
+            if (!CsvConfig.updateRecord(FILE_NAME, record)) {
                 log.error(String.format(Constants.LOG_ERROR, methodName, "Ретроспектива с ID " + retrospective.getId() + " не найдена"));
                 throw new RuntimeException("Ретроспектива не найдена");
             }
-            CsvConfig.writeCsv(FILE_NAME, records);
 
             // Обновление improvements
             List<String[]> improvementRecords = CsvConfig.readCsv(IMPROVEMENTS_FILE);
@@ -219,25 +264,64 @@ public class RetrospectiveCsvDAO implements GenericDAO<Retrospective, Integer> {
             }
             CsvConfig.writeCsv(POSITIVES_FILE, positiveRecords);
 
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Ретроспектива обновлена"));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Ретроспектива обновлена"));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось обновить ретроспективу: " + e.getMessage()), e);
             throw new RuntimeException("Не удалось обновить ретроспективу", e);
         }
     }
 
+    @Override
+    public void updateAll(Collection<Retrospective> retrospectives) {
+        String methodName = "updateAll";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
+        if (retrospectives == null || retrospectives.contains(null)) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Ретроспектива не может быть null"));
+            throw new IllegalArgumentException("Ретроспектива не может быть null");
+        }
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "size: " + retrospectives.size()));
+        }
+
+        try {
+            List<String[]> records = new ArrayList<>(retrospectives.size());
+            Set<String> ids = new HashSet<>();
+            for (Retrospective retrospective : retrospectives) {
+                records.add(toRecord(retrospective));
+                ids.add(String.valueOf(retrospective.getId()));
+            }
+            if (!CsvConfig.updateRecords(FILE_NAME, records)) {
+                log.error(String.format(Constants.LOG_ERROR, methodName, "Не все ретроспективы найдены"));
+                throw new RuntimeException("Не все ретроспективы найдены");
+            }
+            replaceChildren(IMPROVEMENTS_FILE, ids, retrospectives, Retrospective::getImprovements);
+            replaceChildren(POSITIVES_FILE, ids, retrospectives, Retrospective::getPositives);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Обновлено ретроспектив: " + records.size()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось обновить ретроспективы: " + e.getMessage()), e);
+            throw new RuntimeException("Не удалось обновить ретроспективы", e);
+        }
+    }
+
     @Override
     public void delete(Integer id) {
         String methodName = "delete";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "id: " + id));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "id: " + id));
+        }
 
         try {
             // Удаление ретроспективы
-            List<String[]> records = CsvConfig.readCsv(FILE_NAME);
-            records.removeIf(record -> record[0].equals(String.valueOf(id)));
-            CsvConfig.writeCsv(FILE_NAME, records);
+            CsvConfig.deleteRecord(FILE_NAME, String.valueOf(id));
 
             // Удаление improvements
             List<String[]> improvementRecords = CsvConfig.readCsv(IMPROVEMENTS_FILE);
@@ -249,11 +333,112 @@ public class RetrospectiveCsvDAO implements GenericDAO<Retrospective, Integer> {
             positiveRecords.removeIf(r -> r[0].equals(String.valueOf(id)));
             CsvConfig.writeCsv(POSITIVES_FILE, positiveRecords);
 
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Ретроспектива удалена"));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Ретроспектива удалена"));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось удалить ретроспективу: " + e.getMessage()), e);
             throw new RuntimeException("Не удалось удалить ретроспективу", e);
         }
     }
+
+    @Override
+    public void deleteAllById(Collection<Integer> ids) {
+        String methodName = "deleteAllById";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "ids: " + ids));
+        }
+
+        try {
+            List<String[]> keys = new ArrayList<>(ids.size());
+            Set<String> removedIds = new HashSet<>();
+            for (Integer id : ids) {
+                keys.add(new String[]{String.valueOf(id)});
+                removedIds.add(String.valueOf(id));
+            }
+            int removed = CsvConfig.deleteRecords(FILE_NAME, keys);
+            replaceChildren(IMPROVEMENTS_FILE, removedIds, List.of(), Retrospective::getImprovements);
+            replaceChildren(POSITIVES_FILE, removedIds, List.of(), Retrospective::getPositives);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Удалено ретроспектив: " + removed));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось удалить ретроспективы: " + e.getMessage()), e);
+            throw new RuntimeException("Не удалось удалить ретроспективы", e);
+        }
+    }
+
+    /**
+     * Преобразует ретроспективу в запись CSV.
+     * @param retrospective Ретроспектива
+     * @return Запись CSV
+     */
+    private String[] toRecord(Retrospective retrospective) {
+        return new String[]{
+                String.valueOf(retrospective.getId()),
+                retrospective.getSprint() != null ? String.valueOf(retrospective.getSprint().getId()) : "",
+                retrospective.getSummary()
+        };
+    }
+
+    /**
+     * Заменяет значения дочернего файла для группы ретроспектив за одно чтение и одну запись.
+     * @param fileName Имя дочернего файла
+     * @param replacedIds ID ретроспектив, прежние значения которых удаляются
+     * @param retrospectives Ретроспективы, значения которых добавляются
+     * @param values Извлекает значения из ретроспективы
+     */
+    private void replaceChildren(String fileName, Set<String> replacedIds, Collection<Retrospective> retrospectives,
+                                 Function<Retrospective, List<String>> values) {
+        List<String[]> records = CsvConfig.readCsv(fileName);
+        boolean changed = records.removeIf(r -> replacedIds.contains(r[0]));
+        for (Retrospective retrospective : retrospectives) {
+            if (values.apply(retrospective) != null) {
+                for (String value : values.apply(retrospective)) {
+                    records.add(new String[]{String.valueOf(retrospective.getId()), value});
+                    changed = true;
+                }
+            }
+        }
+        if (changed) {
+            CsvConfig.writeCsv(fileName, records);
+        }
+    }
+
+    /**
+     * Преобразует запись CSV в ретроспективу.
+     * @param record Запись CSV
+     * @param improvements Улучшения, сгруппированные по ID ретроспективы
+     * @param positives Положительные моменты, сгруппированные по ID ретроспективы
+     * @return Ретроспектива или null, если запись некорректна
+     */
+    private Retrospective toRetrospective(String[] record, Map<String, List<String>> improvements,
+                                          Map<String, List<String>> positives) {
+        try {
+            Retrospective retrospective = new Retrospective();
+            retrospective.setId(Integer.parseInt(record[0]));
+            retrospective.setSummary(record[2]);
+            retrospective.setImprovements(new ArrayList<>(improvements.getOrDefault(record[0], List.of())));
+            retrospective.setPositives(new ArrayList<>(positives.getOrDefault(record[0], List.of())));
+            return retrospective;
+        } catch (NumberFormatException e) {
+            // Пропускаем некорректные записи
+            return null;
+        }
+    }
+
+    /**
+     * Группирует значения дочернего файла по ID ретроспективы.
+     * @param fileName Имя дочернего файла
+     * @return Значения по ID ретроспективы
+     */
+    private Map<String, List<String>> groupByRetrospective(String fileName) {
+        try (Stream<String[]> records = CsvConfig.streamCsv(fileName)) {
+            return records.collect(Collectors.groupingBy(r -> r[0],
+                    Collectors.mapping(r -> r[1], Collectors.toList())));
+        }
+    }
 }
\ No newline at end of file
@@ -8,8 +8,11 @@ import ru.sfedu.agileflow.config.CsvConfig;
 import ru.sfedu.agileflow.config.CsvDateUtil;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * DAO-класс для работы со спринтами в CSV.
@@ -21,43 +24,77 @@ public class SprintCsvDAO implements GenericDAO<Sprint, Integer> {
     @Override
     public void create(Sprint sprint) {
         String methodName = "create";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
         if (sprint == null) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Спринт не может быть null"));
             throw new IllegalArgumentException("Спринт не может быть null");
         }
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, sprint.toString()));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, sprint.toString()));
+        }
 
         try {
-            List<String[]> records = CsvConfig.readCsv(FILE_NAME);
             sprint.setId(CsvConfig.generateId(FILE_NAME));
-            String[] record = new String[]{
-                    String.valueOf(sprint.getId()),
-                    CsvDateUtil.serializeDate(sprint.getStartDate(), false),
-                    CsvDateUtil.serializeDate(sprint.getEndDate(), false),
-                    sprint.getProject() != null ? String.valueOf(sprint.getProject().getId()) : ""
-            };
-            records.add(record);
-            CsvConfig.writeCsv(FILE_NAME, records);
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Спринт сохранен с ID: " + sprint.getId()));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            String[] record = toRecord(sprint);
+            CsvConfig.insertRecord(FILE_NAME, record);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Спринт сохранен с ID: " + sprint.getId()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось создать спринт: " + e.getMessage()), e);
             throw new RuntimeException("Не удалось создать спринт", e);
         }
     }
 
+    @Override
+    public void createAll(Collection<Sprint> sprints) {
+        String methodName = "createAll";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
+        if (sprints == null || sprints.contains(null)) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Спринт не может быть null"));
+            throw new IllegalArgumentException("Спринт не может быть null");
+        }
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "size: " + sprints.size()));
+        }
+
+        try {
+            List<String[]> records = new ArrayList<>(sprints.size());
+            for (Sprint sprint : sprints) {
+                sprint.setId(CsvConfig.generateId(FILE_NAME));
+                records.add(toRecord(sprint));
+            }
+            CsvConfig.insertRecords(FILE_NAME, records);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Сохранено спринтов: " + records.size()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось создать спринты: " + e.getMessage()), e);
+            throw new RuntimeException("Не удалось создать спринты", e);
+        }
+    }
+
     @Override
     public Optional<Sprint> findById(Integer id) {
         String methodName = "findById";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "id: " + id));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "id: " + id));
+        }
 
         try {
             Optional<String[]> recordOpt = CsvConfig.findById(FILE_NAME, id);
             if (recordOpt.isEmpty()) {
-                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Спринт не найден"));
-                log.info(String.format(Constants.LOG_METHOD_END, methodName));
+                if (log.isDebugEnabled()) {
+                    log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Спринт не найден"));
+                    log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+                }
                 return Optional.empty();
             }
             String[] record = recordOpt.get();
@@ -66,8 +103,10 @@ public class SprintCsvDAO implements GenericDAO<Sprint, Integer> {
             sprint.setStartDate(CsvDateUtil.deserializeDate(record[1], false));
             sprint.setEndDate(CsvDateUtil.deserializeDate(record[2], false));
             // Project будет загружен отдельно, если нужен
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Спринт найден: " + sprint));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Спринт найден: " + sprint));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
             return Optional.of(sprint);
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось найти спринт: " + e.getMessage()), e);
@@ -78,25 +117,44 @@ public class SprintCsvDAO implements GenericDAO<Sprint, Integer> {
     @Override
     public List<Sprint> findAll() {
         String methodName = "findAll";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
 
         try {
             List<String[]> records = CsvConfig.readCsv(FILE_NAME);
             List<Sprint> sprints = new ArrayList<>();
             for (String[] record : records) {
-                try {
-                    Sprint sprint = new Sprint();
-                    sprint.setId(Integer.parseInt(record[0]));
-                    sprint.setStartDate(CsvDateUtil.deserializeDate(record[1], false));
-                    sprint.setEndDate(CsvDateUtil.deserializeDate(record[2], false));
-                    // Project будет загружен отдельно, если нужен
+                Sprint sprint = toSprint(record);
+                if (sprint != null) {
                     sprints.add(sprint);
-                } catch (NumberFormatException e) {
-                    // Пропускаем некорректные записи
                 }
             }
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Найдено спринтов: " + sprints.size()));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Найдено спринтов: " + sprints.size()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+            return sprints;
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось получить спринты: " + e.getMessage()), e);
+            throw new RuntimeException("Не удалось получить спринты", e);
+        }
+    }
+
+    @Override
+    public Stream<Sprint> streamAll() {
+        String methodName = "streamAll";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
+
+        try {
+            Stream<Sprint> sprints = CsvConfig.streamCsv(FILE_NAME)
+                    .map(this::toSprint)
+                    .filter(Objects::nonNull);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
             return sprints;
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось получить спринты: " + e.getMessage()), e);
@@ -107,56 +165,171 @@ public class SprintCsvDAO implements GenericDAO<Sprint, Integer> {
     @Override
     public void update(Sprint sprint) {
         String methodName = "update";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
         if (sprint == null) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Спринт не может быть null"));
             throw new IllegalArgumentException("Спринт не может быть null");
         }
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, sprint.toString()));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, sprint.toString()));
+        }
 
         try {
-            List<String[]> records = CsvConfig.readCsv(FILE_NAME);
-            boolean found = false;
-            for (int i = 0; i < records.size(); i++) {
-                if (records.get(i)[0].equals(String.valueOf(sprint.getId()))) {
-                    records.set(i, new String[]{
-                            String.valueOf(sprint.getId()),
-                            CsvDateUtil.serializeDate(sprint.getStartDate(), false),
-                            CsvDateUtil.serializeDate(sprint.getEndDate(), false),
-                            sprint.getProject() != null ? String.valueOf(sprint.getProject().getId()) : ""
-                    });
-                    found = true;
-                    break;
-                }
-            }
-            if (!found) {
+            String[] record = toRecord(sprint);
+            if (!CsvConfig.updateRecord(FILE_NAME, record)) {
                 log.error(String.format(Constants.LOG_ERROR, methodName, "Спринт с ID " + sprint.getId() + " не найден"));
                 throw new RuntimeException("Спринт не найден");
             }
-            CsvConfig.writeCsv(FILE_NAME, records);
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Спринт обновлен"));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Спринт обновлен"));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось обновить спринт: " + e.getMessage()), e);
             throw new RuntimeException("Не удалось обновить спринт", e);
         }
     }
 
+    @Override
+    public void updateAll(Collection<Sprint> sprints) {
+        String methodName = "updateAll";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
+        if (sprints == null || sprints.contains(null)) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Спринт не может быть null"));
+            throw new IllegalArgumentException("Спринт не может быть null");
+        }
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "size: " + sprints.size()));
+        }
+
+        try {
+            List<String[]> records = new ArrayList<>(sprints.size());
+            for (Sprint sprint : sprints) {
+                records.add(toRecord(sprint));
+            }
+            if (!CsvConfig.updateRecords(FILE_NAME, records)) {
+                log.error(String.format(Constants.LOG_ERROR, methodName, "Не все спринты найдены"));
+                throw new RuntimeException("Не все спринты найдены");
+            }
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Обновлено спринтов: " + records.size()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось обновить спринты: " + e.getMessage()), e);
+            throw new RuntimeException("Не удалось обновить спринты", e);
+        }
+    }
+
     @Override
     public void delete(Integer id) {
         String methodName = "delete";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "id: " + id));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "id: " + id));
+        }
 
         try {
-            List<String[]> records = CsvConfig.readCsv(FILE_NAME);
-            records.removeIf(record -> record[0].equals(String.valueOf(id)));
-            CsvConfig.writeCsv(FILE_NAME, records);
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Спринт удален"));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            CsvConfig.deleteRecord(FILE_NAME, String.valueOf(id));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Спринт удален"));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось удалить спринт: " + e.getMessage()), e);
             throw new RuntimeException("Не удалось удалить спринт", e);
         }
     }
+
+    @Override
+    public void deleteAllById(Collection<Integer> ids) {
+        String methodName = "deleteAllById";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "ids: " + ids));
+        }
+
+        try {
+            List<String[]> keys = new ArrayList<>(ids.size());
+            for (Integer id : ids) {
+                keys.add(new String[]{String.valueOf(id)});
+            }
+            int removed = CsvConfig.deleteRecords(FILE_NAME, keys);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Удалено спринтов: " + removed));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось удалить спринты: " + e.getMessage()), e);
+            throw new RuntimeException("Не удалось удалить спринты", e);
+        }
+    }
+
+    /**
+     * Находит спринты проекта через вторичный индекс по столбцу projectId.
+     * @param projectId Идентификатор проекта
+     * @return Список спринтов в порядке добавления
+     */
+    public List<Sprint> findByProject(int projectId) {
+        String methodName = "findByProject";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "projectId: " + projectId));
+        }
+
+        try {
+            List<Sprint> sprints = new ArrayList<>();
+            for (String[] record : CsvConfig.findByIndex(FILE_NAME, "projectId", String.valueOf(projectId))) {
+                Sprint sprint = toSprint(record);
+                if (sprint != null) {
+                    sprints.add(sprint);
+                }
+            }
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Найдено спринтов: " + sprints.size()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+            return sprints;
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось найти спринты проекта: " + e.getMessage()), e);
+            throw new RuntimeException("Не удалось найти спринты проекта", e);
+        }
+    }
+
+    /**
+     * Преобразует спринт в запись CSV.
+     * @param sprint Спринт
+     * @return Запись CSV
+     */
+    private String[] toRecord(Sprint sprint) {
+        return new String[]{
+                String.valueOf(sprint.getId()),
+                CsvDateUtil.serializeDate(sprint.getStartDate(), false),
+                CsvDateUtil.serializeDate(sprint.getEndDate(), false),
+                sprint.getProject() != null ? String.valueOf(sprint.getProject().getId()) : ""
+        };
+    }
+
+    /**
+     * Преобразует запись CSV в спринт.
+     * @param record Запись CSV
+     * @return Спринт или null, если запись некорректна
+     */
+    private Sprint toSprint(String[] record) {
+        try {
+            Sprint sprint = new Sprint();
+            sprint.setId(Integer.parseInt(record[0]));
+            sprint.setStartDate(CsvDateUtil.deserializeDate(record[1], false));
+            sprint.setEndDate(CsvDateUtil.deserializeDate(record[2], false));
+            // Project будет загружен отдельно, если нужен
+            return sprint;
+        } catch (NumberFormatException e) {
+            // Пропускаем некорректные записи
+            return null;
+        }
+    }
 }
\ No newline at end of file
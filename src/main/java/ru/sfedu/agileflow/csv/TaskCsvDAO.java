@@ -8,8 +8,11 @@ import ru.sfedu.agileflow.models.TaskStatus;
 import ru.sfedu.agileflow.config.CsvConfig;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * DAO-класс для работы с задачами в CSV.
@@ -21,46 +24,77 @@ public class TaskCsvDAO implements GenericDAO<Task, Integer> {
     @Override
     public void create(Task task) {
         String methodName = "create";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
         if (task == null) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Задача не может быть null"));
             throw new IllegalArgumentException("Задача не может быть null");
         }
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, task.toString()));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, task.toString()));
+        }
 
         try {
-            List<String[]> records = CsvConfig.readCsv(FILE_NAME);
             task.setId(CsvConfig.generateId(FILE_NAME));
-            String[] record = new String[]{
-                    String.valueOf(task.getId()),
-                    task.getTitle(),
-                    task.getDescription() != null ? task.getDescription() : "",
-                    task.getStatus().name(),
-                    String.valueOf(task.getPriority()),
-                    task.getSprint() != null ? String.valueOf(task.getSprint().getId()) : "",
-                    task.getAssignedUser() != null ? String.valueOf(task.getAssignedUser().getId()) : ""
-            };
-            records.add(record);
-            CsvConfig.writeCsv(FILE_NAME, records);
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Задача сохранена с ID: " + task.getId()));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            String[] record = toRecord(task);
+            CsvConfig.insertRecord(FILE_NAME, record);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Задача сохранена с ID: " + task.getId()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось создать задачу: " + e.getMessage()), e);
             throw new RuntimeException("Не удалось создать задачу", e);
         }
     }
 
+    @Override
+    public void createAll(Collection<Task> tasks) {
+        String methodName = "createAll";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
+        if (tasks == null || tasks.contains(null)) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Задача не может быть null"));
+            throw new IllegalArgumentException("Задача не может быть null");
+        }
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "size: " + tasks.size()));
+        }
+
+        try {
+            List<String[]> records = new ArrayList<>(tasks.size());
+            for (Task task : tasks) {
+                task.setId(CsvConfig.generateId(FILE_NAME));
+                records.add(toRecord(task));
+            }
+            CsvConfig.insertRecords(FILE_NAME, records);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Сохранено задач: " + records.size()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось создать задачи: " + e.getMessage()), e);
+            throw new RuntimeException("Не удалось создать задачи", e);
+        }
+    }
+
     @Override
     public Optional<Task> findById(Integer id) {
         String methodName = "findById";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "id: " + id));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "id: " + id));
+        }
 
         try {
             Optional<String[]> recordOpt = CsvConfig.findById(FILE_NAME, id);
             if (recordOpt.isEmpty()) {
-                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Задача не найдена"));
-                log.info(String.format(Constants.LOG_METHOD_END, methodName));
+                if (log.isDebugEnabled()) {
+                    log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Задача не найдена"));
+                    log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+                }
                 return Optional.empty();
             }
             String[] record = recordOpt.get();
@@ -71,8 +105,10 @@ public class TaskCsvDAO implements GenericDAO<Task, Integer> {
             task.setStatus(TaskStatus.valueOf(record[3]));
             task.setPriority(Integer.parseInt(record[4]));
             // Sprint и User будут загружены отдельно, если нужны
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Задача найдена: " + task));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Задача найдена: " + task));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
             return Optional.of(task);
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось найти задачу: " + e.getMessage()), e);
@@ -83,27 +119,44 @@ public class TaskCsvDAO implements GenericDAO<Task, Integer> {
     @Override
     public List<Task> findAll() {
         String methodName = "findAll";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
 
         try {
             List<String[]> records = CsvConfig.readCsv(FILE_NAME);
             List<Task> tasks = new ArrayList<>();
             for (String[] record : records) {
-                try {
-                    Task task = new Task();
-                    task.setId(Integer.parseInt(record[0]));
-                    task.setTitle(record[1]);
-                    task.setDescription(record[2]);
-                    task.setStatus(TaskStatus.valueOf(record[3]));
-                    task.setPriority(Integer.parseInt(record[4]));
-                    // Sprint и User будут загружены отдельно, если нужны
+                Task task = toTask(record);
+                if (task != null) {
                     tasks.add(task);
-                } catch (IllegalArgumentException e) {
-                    // Пропускаем некорректные записи
                 }
             }
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Найдено задач: " + tasks.size()));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Найдено задач: " + tasks.size()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+            return tasks;
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось получить задачи: " + e.getMessage()), e);
+            throw new RuntimeException("Не удалось получить задачи", e);
+        }
+    }
+
+    @Override
+    public Stream<Task> streamAll() {
+        String methodName = "streamAll";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
+
+        try {
+            Stream<Task> tasks = CsvConfig.streamCsv(FILE_NAME)
+                    .map(this::toTask)
+                    .filter(Objects::nonNull);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
             return tasks;
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось получить задачи: " + e.getMessage()), e);
@@ -114,59 +167,239 @@ public class TaskCsvDAO implements GenericDAO<Task, Integer> {
     @Override
     public void update(Task task) {
         String methodName = "update";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
         if (task == null) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Задача не может быть null"));
             throw new IllegalArgumentException("Задача не может быть null");
         }
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, task.toString()));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, task.toString()));
+        }
 
         try {
-            List<String[]> records = CsvConfig.readCsv(FILE_NAME);
-            boolean found = false;
-            for (int i = 0; i < records.size(); i++) {
-                if (records.get(i)[0].equals(String.valueOf(task.getId()))) {
-                    records.set(i, new String[]{
-                            String.valueOf(task.getId()),
-                            task.getTitle(),
-                            task.getDescription() != null ? task.getDescription() : "",
-                            task.getStatus().name(),
-                            String.valueOf(task.getPriority()),
-                            task.getSprint() != null ? String.valueOf(task.getSprint().getId()) : "",
-                            task.getAssignedUser() != null ? String.valueOf(task.getAssignedUser().getId()) : ""
-                    });
-                    found = true;
-                    break;
-                }
-            }
-            if (!found) {
+            String[] record = toRecord(task);
+            if (!CsvConfig.updateRecord(FILE_NAME, record)) {
                 log.error(String.format(Constants.LOG_ERROR, methodName, "Задача с ID " + task.getId() + " не найдена"));
                 throw new RuntimeException("Задача не найдена");
             }
-            CsvConfig.writeCsv(FILE_NAME, records);
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Задача обновлена"));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Задача обновлена"));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось обновить задачу: " + e.getMessage()), e);
             throw new RuntimeException("Не удалось обновить задачу", e);
         }
     }
 
+    @Override
+    public void updateAll(Collection<Task> tasks) {
+        String methodName = "updateAll";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
+        if (tasks == null || tasks.contains(null)) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Задача не может быть null"));
+            throw new IllegalArgumentException("Задача не может быть null");
+        }
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "size: " + tasks.size()));
+        }
+
+        try {
+            List<String[]> records = new ArrayList<>(tasks.size());
+            for (Task task : tasks) {
+                records.add(toRecord(task));
+            }
+            if (!CsvConfig.updateRecords(FILE_NAME, records)) {
+                log.error(String.format(Constants.LOG_ERROR, methodName, "Не все задачи найдены"));
+                throw new RuntimeException("Не все задачи найдены");
+            }
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Обновлено задач: " + records.size()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось обновить задачи: " + e.getMessage()), e);
+            throw new RuntimeException("Не удалось обновить задачи", e);
+        }
+    }
+
     @Override
     public void delete(Integer id) {
         String methodName = "delete";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "id: " + id));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "id: " + id));
+        }
 
         try {
-            List<String[]> records = CsvConfig.readCsv(FILE_NAME);
-            records.removeIf(record -> record[0].equals(String.valueOf(id)));
-            CsvConfig.writeCsv(FILE_NAME, records);
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Задача удалена"));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            CsvConfig.deleteRecord(FILE_NAME, String.valueOf(id));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Задача удалена"));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось удалить задачу: " + e.getMessage()), e);
             throw new RuntimeException("Не удалось удалить задачу", e);
         }
     }
-}
\ No newline at end of file
+
+    @Override
+    public void deleteAllById(Collection<Integer> ids) {
+        String methodName = "deleteAllById";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "ids: " + ids));
+        }
+
+        try {
+            List<String[]> keys = new ArrayList<>(ids.size());
+            for (Integer id : ids) {
+                keys.add(new String[]{String.valueOf(id)});
+            }
+            int removed = CsvConfig.deleteRecords(FILE_NAME, keys);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Удалено задач: " + removed));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось удалить задачи: " + e.getMessage()), e);
+            throw new RuntimeException("Не удалось удалить задачи", e);
+        }
+    }
+
+    /**
+     * Находит задачи спринта через вторичный индекс по столбцу sprintId.
+     * @param sprintId Идентификатор спринта
+     * @return Список задач в порядке добавления
+     */
+    public List<Task> findBySprint(int sprintId) {
+        String methodName = "findBySprint";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "sprintId: " + sprintId));
+        }
+
+        try {
+            List<Task> tasks = toTasks(CsvConfig.findByIndex(FILE_NAME, "sprintId", String.valueOf(sprintId)));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Найдено задач: " + tasks.size()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+            return tasks;
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось найти задачи спринта: " + e.getMessage()), e);
+            throw new RuntimeException("Не удалось найти задачи спринта", e);
+        }
+    }
+
+    /**
+     * Находит задачи пользователя через вторичный индекс по столбцу assignedUserId.
+     * @param userId Идентификатор пользователя
+     * @return Список задач в порядке добавления
+     */
+    public List<Task> findByAssignee(int userId) {
+        String methodName = "findByAssignee";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "userId: " + userId));
+        }
+
+        try {
+            List<Task> tasks = toTasks(CsvConfig.findByIndex(FILE_NAME, "assignedUserId", String.valueOf(userId)));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Найдено задач: " + tasks.size()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+            return tasks;
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось найти задачи пользователя: " + e.getMessage()), e);
+            throw new RuntimeException("Не удалось найти задачи пользователя", e);
+        }
+    }
+
+    /**
+     * Находит задачи по статусу одним потоковым проходом по файлу. Индекс по статусу не ведется:
+     * при трех значениях он отбирал бы треть файла и читал каждую запись отдельно.
+     * Статус сравнивается до разбора записи в объект.
+     * @param status Статус задачи
+     * @return Список задач в порядке хранения
+     */
+    public List<Task> findByStatus(TaskStatus status) {
+        String methodName = "findByStatus";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "status: " + status));
+        }
+
+        try (Stream<String[]> records = CsvConfig.streamCsv(FILE_NAME)) {
+            String name = status.name();
+            List<Task> tasks = toTasks(records.filter(record -> record.length > 3 && name.equals(record[3])).toList());
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Найдено задач: " + tasks.size()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+            return tasks;
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось найти задачи по статусу: " + e.getMessage()), e);
+            throw new RuntimeException("Не удалось найти задачи по статусу", e);
+        }
+    }
+
+    /**
+     * Преобразует задачу в запись CSV.
+     * @param task Задача
+     * @return Запись CSV
+     */
+    private String[] toRecord(Task task) {
+        return new String[]{
+                String.valueOf(task.getId()),
+                task.getTitle(),
+                task.getDescription() != null ? task.getDescription() : "",
+                task.getStatus().name(),
+                String.valueOf(task.getPriority()),
+                task.getSprint() != null ? String.valueOf(task.getSprint().getId()) : "",
+                task.getAssignedUser() != null ? String.valueOf(task.getAssignedUser().getId()) : ""
+        };
+    }
+
+    /**
+     * Преобразует запись CSV в задачу.
+     * @param record Запись CSV
+     * @return Задача или null, если запись некорректна
+     */
+    private Task toTask(String[] record) {
+        try {
+            Task task = new Task();
+            task.setId(Integer.parseInt(record[0]));
+            task.setTitle(record[1]);
+            task.setDescription(record[2]);
+            task.setStatus(TaskStatus.valueOf(record[3]));
+            task.setPriority(Integer.parseInt(record[4]));
+            // Sprint и User будут загружены отдельно, если нужны
+            return task;
+        } catch (IllegalArgumentException e) {
+            // Пропускаем некорректные записи
+            return null;
+        }
+    }
+
+    /**
+     * Преобразует записи CSV в задачи, пропуская некорректные.
+     * @param records Записи CSV
+     * @return Список задач
+     */
+    private List<Task> toTasks(List<String[]> records) {
+        List<Task> tasks = new ArrayList<>(records.size());
+        for (String[] record : records) {
+            Task task = toTask(record);
+            if (task != null) {
+                tasks.add(task);
+            }
+        }
+        return tasks;
+    }
+}
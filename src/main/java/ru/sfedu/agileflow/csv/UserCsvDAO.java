@@ -8,8 +8,11 @@ import ru.sfedu.agileflow.config.CsvConfig;
 import ru.sfedu.agileflow.config.CsvDateUtil;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * DAO-класс для работы с пользователями в CSV.
@@ -21,46 +24,77 @@ public class UserCsvDAO implements GenericDAO<User, Integer> {
     @Override
     public void create(User user) {
         String methodName = "create";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
         if (user == null) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Пользователь не может быть null"));
             throw new IllegalArgumentException("Пользователь не может быть null");
         }
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, user.toString()));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, user.toString()));
+        }
 
         try {
-            List<String[]> records = CsvConfig.readCsv(FILE_NAME);
             user.setId(CsvConfig.generateId(FILE_NAME));
-            String[] record = new String[]{
-                    String.valueOf(user.getId()),
-                    user.getName(),
-                    user.getEmail(),
-                    user.getBio() != null ? user.getBio() : "",
-                    String.valueOf(user.isActive()),
-                    CsvDateUtil.serializeDate(user.getLastLogin(), true),
-                    CsvDateUtil.serializeDate(user.getDateJoined(), true)
-            };
-            records.add(record);
-            CsvConfig.writeCsv(FILE_NAME, records);
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Пользователь сохранен с ID: " + user.getId()));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            String[] record = toRecord(user);
+            CsvConfig.insertRecord(FILE_NAME, record);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Пользователь сохранен с ID: " + user.getId()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось создать пользователя: " + e.getMessage()), e);
             throw new RuntimeException("Не удалось создать пользователя", e);
         }
     }
 
+    @Override
+    public void createAll(Collection<User> users) {
+        String methodName = "createAll";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
+        if (users == null || users.contains(null)) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Пользователь не может быть null"));
+            throw new IllegalArgumentException("Пользователь не может быть null");
+        }
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "size: " + users.size()));
+        }
+
+        try {
+            List<String[]> records = new ArrayList<>(users.size());
+            for (User user : users) {
+                user.setId(CsvConfig.generateId(FILE_NAME));
+                records.add(toRecord(user));
+            }
+            CsvConfig.insertRecords(FILE_NAME, records);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Сохранено пользователей: " + records.size()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось создать пользователей: " + e.getMessage()), e);
+            throw new RuntimeException("Не удалось создать пользователей", e);
+        }
+    }
+
     @Override
     public Optional<User> findById(Integer id) {
         String methodName = "findById";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "id: " + id));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "id: " + id));
+        }
 
         try {
             Optional<String[]> recordOpt = CsvConfig.findById(FILE_NAME, id);
             if (recordOpt.isEmpty()) {
-                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Пользователь не найден"));
-                log.info(String.format(Constants.LOG_METHOD_END, methodName));
+                if (log.isDebugEnabled()) {
+                    log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Пользователь не найден"));
+                    log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+                }
                 return Optional.empty();
             }
             String[] record = recordOpt.get();
@@ -72,8 +106,10 @@ public class UserCsvDAO implements GenericDAO<User, Integer> {
             user.setActive(Boolean.parseBoolean(record[4]));
             user.setLastLogin(CsvDateUtil.deserializeDate(record[5], true));
             user.setDateJoined(CsvDateUtil.deserializeDate(record[6], true));
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Пользователь найден: " + user));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Пользователь найден: " + user));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
             return Optional.of(user);
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось найти пользователя: " + e.getMessage()), e);
@@ -84,28 +120,44 @@ public class UserCsvDAO implements GenericDAO<User, Integer> {
     @Override
     public List<User> findAll() {
         String methodName = "findAll";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
 
         try {
             List<String[]> records = CsvConfig.readCsv(FILE_NAME);
             List<User> users = new ArrayList<>();
             for (String[] record : records) {
-                try {
-                    User user = new User();
-                    user.setId(Integer.parseInt(record[0]));
-                    user.setName(record[1]);
-                    user.setEmail(record[2]);
-                    user.setBio(record[3]);
-                    user.setActive(Boolean.parseBoolean(record[4]));
-                    user.setLastLogin(CsvDateUtil.deserializeDate(record[5], true));
-                    user.setDateJoined(CsvDateUtil.deserializeDate(record[6], true));
+                User user = toUser(record);
+                if (user != null) {
                     users.add(user);
-                } catch (NumberFormatException e) {
-                    // Пропускаем некорректные записи
                 }
             }
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Найдено пользователей: " + users.size()));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Найдено пользователей: " + users.size()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+            return users;
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось получить пользователей: " + e.getMessage()), e);
+            throw new RuntimeException("Не удалось получить пользователей", e);
+        }
+    }
+
+    @Override
+    public Stream<User> streamAll() {
+        String methodName = "streamAll";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
+
+        try {
+            Stream<User> users = CsvConfig.streamCsv(FILE_NAME)
+                    .map(this::toUser)
+                    .filter(Objects::nonNull);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
             return users;
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось получить пользователей: " + e.getMessage()), e);
@@ -116,62 +168,110 @@ public class UserCsvDAO implements GenericDAO<User, Integer> {
     @Override
     public void update(User user) {
         String methodName = "update";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
         if (user == null) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Пользователь не может быть null"));
             throw new IllegalArgumentException("Пользователь не может быть null");
         }
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, user.toString()));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, user.toString()));
+        }
 
         try {
-            List<String[]> records = CsvConfig.readCsv(FILE_NAME);
-            boolean found = false;
-            for (int i = 0; i < records.size(); i++) {
-                if (records.get(i)[0].equals(String.valueOf(user.getId()))) {
-                    records.set(i, new String[]{
-                            String.valueOf(user.getId()),
-                            user.getName(),
-                            user.getEmail(),
-                            user.getBio() != null ? user.getBio() : "",
-                            String.valueOf(user.isActive()),
-                            CsvDateUtil.serializeDate(user.getLastLogin(), true),
-                            CsvDateUtil.serializeDate(user.getDateJoined(), true)
-                    });
-                    found = true;
-                    break;
-                }
-            }
-            if (!found) {
+            String[] record = toRecord(user);
+            if (!CsvConfig.updateRecord(FILE_NAME, record)) {
                 log.error(String.format(Constants.LOG_ERROR, methodName, "Пользователь с ID " + user.getId() + " не найден"));
                 throw new RuntimeException("Пользователь не найден");
             }
-            CsvConfig.writeCsv(FILE_NAME, records);
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Пользователь обновлен"));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Пользователь обновлен"));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось обновить пользователя: " + e.getMessage()), e);
             throw new RuntimeException("Не удалось обновить пользователя", e);
         }
     }
 
+    @Override
+    public void updateAll(Collection<User> users) {
+        String methodName = "updateAll";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
+        if (users == null || users.contains(null)) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Пользователь не может быть null"));
+            throw new IllegalArgumentException("Пользователь не может быть null");
+        }
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "size: " + users.size()));
+        }
+
+        try {
+            List<String[]> records = new ArrayList<>(users.size());
+            for (User user : users) {
+                records.add(toRecord(user));
+            }
+            if (!CsvConfig.updateRecords(FILE_NAME, records)) {
+                log.error(String.format(Constants.LOG_ERROR, methodName, "Не все пользователи найдены"));
+                throw new RuntimeException("Не все пользователи найдены");
+            }
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Обновлено пользователей: " + records.size()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось обновить пользователей: " + e.getMessage()), e);
+            throw new RuntimeException("Не удалось обновить пользователей", e);
+        }
+    }
+
     @Override
     public void delete(Integer id) {
         String methodName = "delete";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "id: " + id));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "id: " + id));
+        }
 
         try {
-            List<String[]> records = CsvConfig.readCsv(FILE_NAME);
-            records.removeIf(record -> record[0].equals(String.valueOf(id)));
-            CsvConfig.writeCsv(FILE_NAME, records);
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Пользователь удален"));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            CsvConfig.deleteRecord(FILE_NAME, String.valueOf(id));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Пользователь удален"));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось удалить пользователя: " + e.getMessage()), e);
             throw new RuntimeException("Не удалось удалить пользователя", e);
         }
     }
 
+    @Override
+    public void deleteAllById(Collection<Integer> ids) {
+        String methodName = "deleteAllById";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "ids: " + ids));
+        }
+
+        try {
+            List<String[]> keys = new ArrayList<>(ids.size());
+            for (Integer id : ids) {
+                keys.add(new String[]{String.valueOf(id)});
+            }
+            int removed = CsvConfig.deleteRecords(FILE_NAME, keys);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Удалено пользователей: " + removed));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось удалить пользователей: " + e.getMessage()), e);
+            throw new RuntimeException("Не удалось удалить пользователей", e);
+        }
+    }
+
     /**
      * Находит пользователя по email.
      * @param email Email пользователя
@@ -179,20 +279,63 @@ public class UserCsvDAO implements GenericDAO<User, Integer> {
      */
     public Optional<User> findByEmail(String email) {
         String methodName = "findByEmail";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "email: " + email));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "email: " + email));
+        }
 
         try {
-            List<User> users = findAll();
-            Optional<User> userOpt = users.stream()
-                    .filter(user -> user.getEmail().equals(email))
+            Optional<User> userOpt = CsvConfig.findByIndex(FILE_NAME, "email", email).stream()
+                    .map(this::toUser)
+                    .filter(Objects::nonNull)
                     .findFirst();
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, userOpt.isPresent() ? "Пользователь найден" : "Пользователь не найден"));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, userOpt.isPresent() ? "Пользователь найден" : "Пользователь не найден"));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
             return userOpt;
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось найти пользователя по email: " + e.getMessage()), e);
             throw new RuntimeException("Не удалось найти пользователя по email", e);
         }
     }
+
+    /**
+     * Преобразует пользователя в запись CSV.
+     * @param user Пользователь
+     * @return Запись CSV
+     */
+    private String[] toRecord(User user) {
+        return new String[]{
+                String.valueOf(user.getId()),
+                user.getName(),
+                user.getEmail(),
+                user.getBio() != null ? user.getBio() : "",
+                String.valueOf(user.isActive()),
+                CsvDateUtil.serializeDate(user.getLastLogin(), true),
+                CsvDateUtil.serializeDate(user.getDateJoined(), true)
+        };
+    }
+
+    /**
+     * Преобразует запись CSV в пользователя.
+     * @param record Запись CSV
+     * @return Пользователь или null, если запись некорректна
+     */
+    private User toUser(String[] record) {
+        try {
+            User user = new User();
+            user.setId(Integer.parseInt(record[0]));
+            user.setName(record[1]);
+            user.setEmail(record[2]);
+            user.setBio(record[3]);
+            user.setActive(Boolean.parseBoolean(record[4]));
+            user.setLastLogin(CsvDateUtil.deserializeDate(record[5], true));
+            user.setDateJoined(CsvDateUtil.deserializeDate(record[6], true));
+            return user;
+        } catch (NumberFormatException e) {
+            // Пропускаем некорректные записи
+            return null;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,57 @@
+package ru.sfedu.agileflow.dao;
+
+import java.util.Objects;
+
+/**
+ * Позиция в постраничной выборке: значение поля сортировки и идентификатор последней
+ * записи предыдущей страницы. Следующая страница начинается строго после этой пары,
+ * поэтому вставки и удаления между запросами не сдвигают и не дублируют записи.
+ */
+public final class Cursor {
+    private final Object value;
+    private final Object id;
+
+    private Cursor(Object value, Object id) {
+        this.value = value;
+        this.id = Objects.requireNonNull(id, "Идентификатор курсора не может быть null");
+    }
+
+    /**
+     * Создает курсор по значению поля сортировки и идентификатору.
+     * @param value Значение поля сортировки (может быть null)
+     * @param id Идентификатор записи
+     * @return Курсор
+     */
+    public static Cursor of(Object value, Object id) {
+        return new Cursor(value, id);
+    }
+
+    public Object getValue() {
+        return value;
+    }
+
+    public Object getId() {
+        return id;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Cursor cursor = (Cursor) o;
+        return Objects.equals(value, cursor.value) && id.equals(cursor.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(value, id);
+    }
+
+    @Override
+    public String toString() {
+        return "Cursor{" +
+                "value=" + value +
+                ", id=" + id +
+                '}';
+    }
+}
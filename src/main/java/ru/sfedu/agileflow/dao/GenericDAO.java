@@ -1,7 +1,9 @@
 package ru.sfedu.agileflow.dao;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Общий интерфейс для DAO-классов, предоставляющий CRUD-операции.
@@ -29,15 +31,70 @@ public interface GenericDAO<T, ID> {
      */
     List<T> findAll();
 
+    /**
+     * Возвращает все записи потоком, не загружая их в память целиком.
+     * Поток может удерживать файл или соединение с базой данных, поэтому его необходимо
+     * закрывать (try-with-resources). Реализация по умолчанию строит поток по {@link #findAll()}.
+     * @return Поток объектов типа T
+     */
+    default Stream<T> streamAll() {
+        return findAll().stream();
+    }
+
+    /**
+     * Возвращает страницу записей, следующих в порядке sort строго после курсора.
+     * Реализация по умолчанию проходит {@link #streamAll()} один раз и держит в памяти
+     * не более limit + 1 записей; реализации для базы данных выполняют keyset-выборку.
+     * Неизвестное поле сортировки приводит к исключению.
+     * @param after Курсор из {@link Page#getNext()} или null для первой страницы
+     * @param limit Размер страницы
+     * @param sort Порядок выборки; null означает порядок по идентификатору
+     * @return Страница записей
+     * @throws IllegalArgumentException если размер страницы меньше единицы
+     */
+    default Page<T> findPage(Cursor after, int limit, Sort sort) {
+        try (Stream<T> all = streamAll()) {
+            return Page.seek(all, after, limit, sort != null ? sort : Sort.byId());
+        }
+    }
+
+    /**
+     * Создает несколько записей за одну операцию с хранилищем.
+     * Реализация по умолчанию вызывает {@link #create(Object)} для каждого объекта.
+     * @param entities Объекты для сохранения
+     */
+    default void createAll(Collection<T> entities) {
+        entities.forEach(this::create);
+    }
+
     /**
      * Обновляет существующую запись.
      * @param entity Обновленный объект
      */
     void update(T entity);
 
+    /**
+     * Обновляет несколько записей за одну операцию с хранилищем.
+     * Реализация по умолчанию вызывает {@link #update(Object)} для каждого объекта.
+     * @param entities Обновленные объекты
+     */
+    default void updateAll(Collection<T> entities) {
+        entities.forEach(this::update);
+    }
+
     /**
      * Удаляет запись по идентификатору.
      * @param id Идентификатор записи
      */
     void delete(ID id);
+
+    /**
+     * Удаляет несколько записей по идентификаторам за одну операцию с хранилищем.
+     * Отсутствующие идентификаторы пропускаются.
+     * Реализация по умолчанию вызывает {@link #delete(Object)} для каждого идентификатора.
+     * @param ids Идентификаторы записей
+     */
+    default void deleteAllById(Collection<ID> ids) {
+        ids.forEach(this::delete);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,168 @@
+package ru.sfedu.agileflow.dao;
+
+import ru.sfedu.agileflow.config.Instrumentation;
+import ru.sfedu.agileflow.config.MetricsRegistry;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Обертка над любой реализацией {@link GenericDAO} (JPA, CSV, XML), которая записывает в
+ * {@link Instrumentation#getRegistry() реестр метрик} длительность каждой операции и число
+ * прочитанных и записанных записей.
+ * <p>
+ * Имена метрик строятся от простого имени класса обернутого DAO:
+ * таймер {@code TaskCsvDAO.update}, счетчики {@code TaskCsvDAO.rowsRead},
+ * {@code TaskCsvDAO.rowsWritten} и {@code TaskCsvDAO.update.errors}.
+ * Время операции записывается и при исключении. Для {@link #streamAll()} таймер
+ * измеряет только открытие потока, а прочитанные записи считаются по мере потребления.
+ * @param <T> Тип модели
+ * @param <ID> Тип идентификатора
+ */
+public class InstrumentedDAO<T, ID> implements GenericDAO<T, ID> {
+    private final GenericDAO<T, ID> delegate;
+    private final String name;
+    private final String rowsRead;
+    private final String rowsWritten;
+
+    private InstrumentedDAO(GenericDAO<T, ID> delegate, String name) {
+        this.delegate = Objects.requireNonNull(delegate, "DAO не может быть null");
+        this.name = name;
+        this.rowsRead = name + ".rowsRead";
+        this.rowsWritten = name + ".rowsWritten";
+    }
+
+    /**
+     * Оборачивает DAO. Уже обернутый DAO возвращается без изменений.
+     * @param dao DAO
+     * @param <T> Тип модели
+     * @param <ID> Тип идентификатора
+     * @return DAO с метриками
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, ID> InstrumentedDAO<T, ID> wrap(GenericDAO<T, ID> dao) {
+        if (dao instanceof InstrumentedDAO) {
+            return (InstrumentedDAO<T, ID>) dao;
+        }
+        return new InstrumentedDAO<>(dao, dao.getClass().getSimpleName());
+    }
+
+    /**
+     * Возвращает обернутый DAO.
+     * @return DAO без метрик
+     */
+    public GenericDAO<T, ID> getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Возвращает префикс имен метрик этого DAO.
+     * @return Простое имя класса обернутого DAO
+     */
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public void create(T entity) {
+        measure("create", () -> {
+            delegate.create(entity);
+            return null;
+        });
+        Instrumentation.count(rowsWritten, 1);
+    }
+
+    @Override
+    public Optional<T> findById(ID id) {
+        Optional<T> result = measure("findById", () -> delegate.findById(id));
+        Instrumentation.count(rowsRead, result.isPresent() ? 1 : 0);
+        return result;
+    }
+
+    @Override
+    public List<T> findAll() {
+        List<T> result = measure("findAll", delegate::findAll);
+        Instrumentation.count(rowsRead, result.size());
+        return result;
+    }
+
+    @Override
+    public Stream<T> streamAll() {
+        return measure("streamAll", delegate::streamAll).peek(entity -> Instrumentation.count(rowsRead, 1));
+    }
+
+    @Override
+    public Page<T> findPage(Cursor after, int limit, Sort sort) {
+        Page<T> result = measure("findPage", () -> delegate.findPage(after, limit, sort));
+        Instrumentation.count(rowsRead, result.getItems().size());
+        return result;
+    }
+
+    @Override
+    public void createAll(Collection<T> entities) {
+        measure("createAll", () -> {
+            delegate.createAll(entities);
+            return null;
+        });
+        Instrumentation.count(rowsWritten, entities.size());
+    }
+
+    @Override
+    public void update(T entity) {
+        measure("update", () -> {
+            delegate.update(entity);
+            return null;
+        });
+        Instrumentation.count(rowsWritten, 1);
+    }
+
+    @Override
+    public void updateAll(Collection<T> entities) {
+        measure("updateAll", () -> {
+            delegate.updateAll(entities);
+            return null;
+        });
+        Instrumentation.count(rowsWritten, entities.size());
+    }
+
+    @Override
+    public void delete(ID id) {
+        measure("delete", () -> {
+            delegate.delete(id);
+            return null;
+        });
+        Instrumentation.count(rowsWritten, 1);
+    }
+
+    @Override
+    public void deleteAllById(Collection<ID> ids) {
+        measure("deleteAllById", () -> {
+            delegate.deleteAllById(ids);
+            return null;
+        });
+        Instrumentation.count(rowsWritten, ids.size());
+    }
+
+    private <R> R measure(String operation, Supplier<R> call) {
+        MetricsRegistry registry = Instrumentation.getRegistry();
+        String timer = name + "." + operation;
+        long start = System.nanoTime();
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            registry.increment(timer + ".errors", 1);
+            throw e;
+        } finally {
+            registry.recordTime(timer, System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "InstrumentedDAO{" + name + '}';
+    }
+}
@@ -0,0 +1,110 @@
+package ru.sfedu.agileflow.dao;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.stream.Stream;
+
+/**
+ * Страница результатов постраничной выборки.
+ * @param <T> Тип модели
+ */
+public final class Page<T> {
+    private final List<T> items;
+    private final Cursor next;
+
+    /**
+     * Создает страницу.
+     * @param items Записи страницы
+     * @param next Курсор следующей страницы или null, если страница последняя
+     */
+    public Page(List<T> items, Cursor next) {
+        this.items = Collections.unmodifiableList(items);
+        this.next = next;
+    }
+
+    /**
+     * Собирает страницу из выборки, запрошенной с запасом в одну запись:
+     * лишняя запись только показывает, что следующая страница существует.
+     * @param fetched Не более limit + 1 записей в порядке sort
+     * @param limit Размер страницы
+     * @param sort Порядок выборки
+     * @param <T> Тип модели
+     * @return Страница
+     */
+    public static <T> Page<T> of(List<T> fetched, int limit, Sort sort) {
+        if (fetched.size() <= limit) {
+            return new Page<>(fetched, null);
+        }
+        List<T> items = new ArrayList<>(fetched.subList(0, limit));
+        return new Page<>(items, sort.cursorOf(items.get(limit - 1)));
+    }
+
+    /**
+     * Выбирает страницу из неупорядоченного потока за один проход. В памяти держится не более
+     * limit + 1 записей: куча хранит наименьшие в порядке sort записи после курсора.
+     * @param source Поток записей; закрывается вызывающим
+     * @param after Курсор предыдущей страницы или null для первой страницы
+     * @param limit Размер страницы
+     * @param sort Порядок выборки
+     * @param <T> Тип модели
+     * @return Страница
+     */
+    public static <T> Page<T> seek(Stream<T> source, Cursor after, int limit, Sort sort) {
+        checkLimit(limit);
+        Comparator<T> order = sort.comparator();
+        PriorityQueue<T> smallest = new PriorityQueue<>(limit + 1, order.reversed());
+        source.filter(item -> after == null || sort.compare(item, after) > 0).forEach(item -> {
+            if (smallest.size() <= limit) {
+                smallest.add(item);
+            } else if (order.compare(item, smallest.peek()) < 0) {
+                smallest.poll();
+                smallest.add(item);
+            }
+        });
+        List<T> fetched = new ArrayList<>(smallest);
+        fetched.sort(order);
+        return of(fetched, limit, sort);
+    }
+
+    /**
+     * Проверяет размер страницы.
+     * @param limit Размер страницы
+     * @throws IllegalArgumentException если размер меньше единицы
+     */
+    public static void checkLimit(int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Размер страницы должен быть положительным: " + limit);
+        }
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    /**
+     * Возвращает курсор для запроса следующей страницы.
+     * @return Курсор или null, если страница последняя
+     */
+    public Cursor getNext() {
+        return next;
+    }
+
+    public boolean hasNext() {
+        return next != null;
+    }
+
+    public boolean isEmpty() {
+        return items.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "Page{" +
+                "size=" + items.size() +
+                ", next=" + next +
+                '}';
+    }
+}
@@ -7,8 +7,11 @@ import ru.sfedu.agileflow.config.DatabaseConfig;
 import ru.sfedu.agileflow.constants.Constants;
 import ru.sfedu.agileflow.models.Project;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * DAO-класс для управления проектами в базе данных.
@@ -23,22 +26,55 @@ public class ProjectDAO implements GenericDAO<Project, Integer> {
     @Override
     public void create(Project project) {
         String methodName = "create";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, project.toString()));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, project.toString()));
+        }
 
         try (EntityManager em = DatabaseConfig.getEntityManager()) {
             em.getTransaction().begin();
-            log.info(String.format(Constants.LOG_DB_OPERATION, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
             em.persist(project);
             em.getTransaction().commit();
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Project persisted with ID: " + project.getId()));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Project persisted with ID: " + project.getId()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
             throw new RuntimeException("Failed to create project", e);
         }
     }
 
+    /**
+     * Создает несколько проектов в одной транзакции с пакетной вставкой.
+     * @param projects Проекты
+     */
+    @Override
+    public void createAll(Collection<Project> projects) {
+        String methodName = "createAll";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "size: " + projects.size()));
+        }
+
+        try {
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
+            DatabaseConfig.executeBatch(projects, EntityManager::persist);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Projects persisted: " + projects.size()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
+            throw new RuntimeException("Failed to create projects", e);
+        }
+    }
+
     /**
      * Находит проект по идентификатору.
      * @param id Идентификатор проекта
@@ -47,14 +83,20 @@ public class ProjectDAO implements GenericDAO<Project, Integer> {
     @Override
     public Optional<Project> findById(Integer id) {
         String methodName = "findById";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "id: " + id));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "id: " + id));
+        }
 
         try (EntityManager em = DatabaseConfig.getEntityManager()) {
-            log.info(String.format(Constants.LOG_DB_OPERATION, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
             Project project = em.find(Project.class, id);
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, project != null ? "Project found" : "Project not found"));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, project != null ? "Project found" : "Project not found"));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
             return Optional.ofNullable(project);
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
@@ -69,14 +111,20 @@ public class ProjectDAO implements GenericDAO<Project, Integer> {
     @Override
     public List<Project> findAll() {
         String methodName = "findAll";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
 
         try (EntityManager em = DatabaseConfig.getEntityManager()) {
-            log.info(String.format(Constants.LOG_DB_OPERATION, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
             TypedQuery<Project> query = em.createQuery("SELECT p FROM Project p", Project.class);
             List<Project> projects = query.getResultList();
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Found " + projects.size() + " projects"));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Found " + projects.size() + " projects"));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
             return projects;
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
@@ -84,6 +132,57 @@ public class ProjectDAO implements GenericDAO<Project, Integer> {
         }
     }
 
+    /**
+     * Возвращает страницу проектов keyset-запросом.
+     * @param after Курсор предыдущей страницы или null для первой страницы
+     * @param limit Размер страницы
+     * @param sort Порядок выборки
+     * @return Страница проектов
+     */
+    @Override
+    public Page<Project> findPage(Cursor after, int limit, Sort sort) {
+        String methodName = "findPage";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "after: " + after + ", limit: " + limit + ", sort: " + sort));
+        }
+        Page.checkLimit(limit);
+
+        try (EntityManager em = DatabaseConfig.getEntityManager()) {
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
+            Page<Project> page = DatabaseConfig.findPage(em, Project.class, Map.of(), after, limit, sort);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Found " + page.getItems().size() + " projects"));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+            return page;
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
+            throw new RuntimeException("Failed to retrieve page of projects", e);
+        }
+    }
+
+    /**
+     * Возвращает все проекты потоком с порционной выборкой из базы данных.
+     * Поток необходимо закрыть, чтобы освободить EntityManager.
+     * @return Поток проектов
+     */
+    @Override
+    public Stream<Project> streamAll() {
+        String methodName = "streamAll";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+        }
+        Stream<Project> projects = DatabaseConfig.streamResults("SELECT p FROM Project p ORDER BY p.id", Project.class);
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+        }
+        return projects;
+    }
+
     /**
      * Обновляет данные проекта.
      * @param project Обновленный проект
@@ -91,22 +190,55 @@ public class ProjectDAO implements GenericDAO<Project, Integer> {
     @Override
     public void update(Project project) {
         String methodName = "update";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, project.toString()));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, project.toString()));
+        }
 
         try (EntityManager em = DatabaseConfig.getEntityManager()) {
             em.getTransaction().begin();
-            log.info(String.format(Constants.LOG_DB_OPERATION, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
             em.merge(project);
             em.getTransaction().commit();
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Project updated"));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Project updated"));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
             throw new RuntimeException("Failed to update project", e);
         }
     }
 
+    /**
+     * Обновляет несколько проектов в одной транзакции с пакетным обновлением.
+     * @param projects Проекты
+     */
+    @Override
+    public void updateAll(Collection<Project> projects) {
+        String methodName = "updateAll";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "size: " + projects.size()));
+        }
+
+        try {
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
+            DatabaseConfig.executeBatch(projects, EntityManager::merge);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Projects updated: " + projects.size()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
+            throw new RuntimeException("Failed to update projects", e);
+        }
+    }
+
     /**
      * Удаляет проект по идентификатору.
      * @param id Идентификатор проекта
@@ -114,22 +246,55 @@ public class ProjectDAO implements GenericDAO<Project, Integer> {
     @Override
     public void delete(Integer id) {
         String methodName = "delete";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "id: " + id));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "id: " + id));
+        }
 
         try (EntityManager em = DatabaseConfig.getEntityManager()) {
             em.getTransaction().begin();
-            log.info(String.format(Constants.LOG_DB_OPERATION, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
             Project project = em.find(Project.class, id);
             if (project != null) {
                 em.remove(project);
             }
             em.getTransaction().commit();
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, project != null ? "Project deleted" : "Project not found"));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, project != null ? "Project deleted" : "Project not found"));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
             throw new RuntimeException("Failed to delete project", e);
         }
     }
+
+    /**
+     * Удаляет несколько проектов по идентификаторам в одной транзакции.
+     * @param ids Идентификаторы
+     */
+    @Override
+    public void deleteAllById(Collection<Integer> ids) {
+        String methodName = "deleteAllById";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "size: " + ids.size()));
+        }
+
+        try {
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
+            DatabaseConfig.removeAllById(Project.class, ids);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Projects deleted by ids: " + ids.size()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
+            throw new RuntimeException("Failed to delete projects", e);
+        }
+    }
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package ru.sfedu.agileflow.dao;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
 import org.apache.log4j.Logger;
+import org.hibernate.Hibernate;
 import ru.sfedu.agileflow.config.DatabaseConfig;
 import ru.sfedu.agileflow.constants.Constants;
 import ru.sfedu.agileflow.models.Project;
@@ -25,12 +26,16 @@ public class ProjectUserDAO {
      */
     public void addUserToProject(int projectId, int userId) {
         String methodName = "addUserToProject";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "projectId: " + projectId + ", userId: " + userId));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "projectId: " + projectId + ", userId: " + userId));
+        }
 
         try (EntityManager em = DatabaseConfig.getEntityManager()) {
             em.getTransaction().begin();
-            log.info(String.format(Constants.LOG_DB_OPERATION, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
             Project project = em.find(Project.class, projectId);
             User user = em.find(User.class, userId);
             if (project != null && user != null) {
@@ -38,8 +43,10 @@ public class ProjectUserDAO {
                 em.merge(project);
             }
             em.getTransaction().commit();
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "User added to project"));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "User added to project"));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
             throw new RuntimeException("Не удалось добавить пользователя в проект", e);
@@ -53,12 +60,16 @@ public class ProjectUserDAO {
      */
     public void removeUserFromProject(int projectId, int userId) {
         String methodName = "removeUserFromProject";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "projectId: " + projectId + ", userId: " + userId));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "projectId: " + projectId + ", userId: " + userId));
+        }
 
         try (EntityManager em = DatabaseConfig.getEntityManager()) {
             em.getTransaction().begin();
-            log.info(String.format(Constants.LOG_DB_OPERATION, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
             Project project = em.find(Project.class, projectId);
             User user = em.find(User.class, userId);
             if (project != null && user != null) {
@@ -66,8 +77,10 @@ public class ProjectUserDAO {
                 em.merge(project);
             }
             em.getTransaction().commit();
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "User removed from project"));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "User removed from project"));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
             throw new RuntimeException("Не удалось удалить пользователя из проекта", e);
@@ -81,15 +94,23 @@ public class ProjectUserDAO {
      */
     public List<User> getUsersByProject(int projectId) {
         String methodName = "getUsersByProject";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "projectId: " + projectId));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "projectId: " + projectId));
+        }
 
         try (EntityManager em = DatabaseConfig.getEntityManager()) {
-            log.info(String.format(Constants.LOG_DB_OPERATION, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
             Project project = em.find(Project.class, projectId);
             List<User> users = project != null ? project.getUsers() : List.of();
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Найдено пользователей: " + users.size()));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            // Коллекция ленивая: загружаем ее до закрытия EntityManager
+            Hibernate.initialize(users);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Найдено пользователей: " + users.size()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
             return users;
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
@@ -104,15 +125,23 @@ public class ProjectUserDAO {
      */
     public List<Project> getProjectsByUser(int userId) {
         String methodName = "getProjectsByUser";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "userId: " + userId));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "userId: " + userId));
+        }
 
         try (EntityManager em = DatabaseConfig.getEntityManager()) {
-            log.info(String.format(Constants.LOG_DB_OPERATION, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
             User user = em.find(User.class, userId);
             List<Project> projects = user != null ? user.getProjects() : List.of();
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Найдено проектов: " + projects.size()));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            // Коллекция ленивая: загружаем ее до закрытия EntityManager
+            Hibernate.initialize(projects);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Найдено проектов: " + projects.size()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
             return projects;
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
@@ -3,12 +3,16 @@ package ru.sfedu.agileflow.dao;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.TypedQuery;
 import org.apache.log4j.Logger;
+import org.hibernate.Hibernate;
 import ru.sfedu.agileflow.config.DatabaseConfig;
 import ru.sfedu.agileflow.constants.Constants;
 import ru.sfedu.agileflow.models.Retrospective;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * DAO-класс для управления ретроспективами в базе данных.
@@ -23,22 +27,55 @@ public class RetrospectiveDAO implements GenericDAO<Retrospective, Integer> {
     @Override
     public void create(Retrospective retrospective) {
         String methodName = "create";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, retrospective.toString()));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, retrospective.toString()));
+        }
 
         try (EntityManager em = DatabaseConfig.getEntityManager()) {
             em.getTransaction().begin();
-            log.info(String.format(Constants.LOG_DB_OPERATION, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
             em.persist(retrospective);
             em.getTransaction().commit();
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Retrospective persisted with ID: " + retrospective.getId()));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Retrospective persisted with ID: " + retrospective.getId()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
             throw new RuntimeException("Failed to create retrospective", e);
         }
     }
 
+    /**
+     * Создает несколько ретроспектив в одной транзакции с пакетной вставкой.
+     * @param retrospectives Ретроспективы
+     */
+    @Override
+    public void createAll(Collection<Retrospective> retrospectives) {
+        String methodName = "createAll";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "size: " + retrospectives.size()));
+        }
+
+        try {
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
+            DatabaseConfig.executeBatch(retrospectives, EntityManager::persist);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Retrospectives persisted: " + retrospectives.size()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
+            throw new RuntimeException("Failed to create retrospectives", e);
+        }
+    }
+
     /**
      * Находит ретроспективу по идентификатору.
      * @param id Идентификатор ретроспективы
@@ -47,14 +84,23 @@ public class RetrospectiveDAO implements GenericDAO<Retrospective, Integer> {
     @Override
     public Optional<Retrospective> findById(Integer id) {
         String methodName = "findById";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "id: " + id));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "id: " + id));
+        }
 
         try (EntityManager em = DatabaseConfig.getEntityManager()) {
-            log.info(String.format(Constants.LOG_DB_OPERATION, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
             Retrospective retrospective = em.find(Retrospective.class, id);
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, retrospective != null ? "Retrospective found" : "Retrospective not found"));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (retrospective != null) {
+                initialize(retrospective);
+            }
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, retrospective != null ? "Retrospective found" : "Retrospective not found"));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
             return Optional.ofNullable(retrospective);
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
@@ -69,14 +115,21 @@ public class RetrospectiveDAO implements GenericDAO<Retrospective, Integer> {
     @Override
     public List<Retrospective> findAll() {
         String methodName = "findAll";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
 
         try (EntityManager em = DatabaseConfig.getEntityManager()) {
-            log.info(String.format(Constants.LOG_DB_OPERATION, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
             TypedQuery<Retrospective> query = em.createQuery("SELECT r FROM Retrospective r", Retrospective.class);
             List<Retrospective> retrospectives = query.getResultList();
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Found " + retrospectives.size() + " retrospectives"));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            retrospectives.forEach(RetrospectiveDAO::initialize);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Found " + retrospectives.size() + " retrospectives"));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
             return retrospectives;
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
@@ -84,6 +137,59 @@ public class RetrospectiveDAO implements GenericDAO<Retrospective, Integer> {
         }
     }
 
+    /**
+     * Возвращает страницу ретроспектив keyset-запросом.
+     * @param after Курсор предыдущей страницы или null для первой страницы
+     * @param limit Размер страницы
+     * @param sort Порядок выборки
+     * @return Страница ретроспектив
+     */
+    @Override
+    public Page<Retrospective> findPage(Cursor after, int limit, Sort sort) {
+        String methodName = "findPage";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "after: " + after + ", limit: " + limit + ", sort: " + sort));
+        }
+        Page.checkLimit(limit);
+
+        try (EntityManager em = DatabaseConfig.getEntityManager()) {
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
+            Page<Retrospective> page = DatabaseConfig.findPage(em, Retrospective.class, Map.of(), after, limit, sort);
+            page.getItems().forEach(RetrospectiveDAO::initialize);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Found " + page.getItems().size() + " retrospectives"));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+            return page;
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
+            throw new RuntimeException("Failed to retrieve page of retrospectives", e);
+        }
+    }
+
+    /**
+     * Возвращает все ретроспективы потоком с порционной выборкой из базы данных.
+     * Поток необходимо закрыть, чтобы освободить EntityManager.
+     * @return Поток ретроспектив
+     */
+    @Override
+    public Stream<Retrospective> streamAll() {
+        String methodName = "streamAll";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+        }
+        Stream<Retrospective> retrospectives = DatabaseConfig.streamResults("SELECT r FROM Retrospective r ORDER BY r.id", Retrospective.class,
+                null, RetrospectiveDAO::initialize);
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+        }
+        return retrospectives;
+    }
+
     /**
      * Обновляет данные ретроспективы.
      * @param retrospective Обновленная ретроспектива
@@ -91,22 +197,55 @@ public class RetrospectiveDAO implements GenericDAO<Retrospective, Integer> {
     @Override
     public void update(Retrospective retrospective) {
         String methodName = "update";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, retrospective.toString()));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, retrospective.toString()));
+        }
 
         try (EntityManager em = DatabaseConfig.getEntityManager()) {
             em.getTransaction().begin();
-            log.info(String.format(Constants.LOG_DB_OPERATION, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
             em.merge(retrospective);
             em.getTransaction().commit();
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Retrospective updated"));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Retrospective updated"));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
             throw new RuntimeException("Failed to update retrospective", e);
         }
     }
 
+    /**
+     * Обновляет несколько ретроспектив в одной транзакции с пакетным обновлением.
+     * @param retrospectives Ретроспективы
+     */
+    @Override
+    public void updateAll(Collection<Retrospective> retrospectives) {
+        String methodName = "updateAll";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "size: " + retrospectives.size()));
+        }
+
+        try {
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
+            DatabaseConfig.executeBatch(retrospectives, EntityManager::merge);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Retrospectives updated: " + retrospectives.size()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
+            throw new RuntimeException("Failed to update retrospectives", e);
+        }
+    }
+
     /**
      * Удаляет ретроспективу по идентификатору.
      * @param id Идентификатор ретроспективы
@@ -114,23 +253,65 @@ public class RetrospectiveDAO implements GenericDAO<Retrospective, Integer> {
     @Override
     public void delete(Integer id) {
         String methodName = "delete";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "id: " + id));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "id: " + id));
+        }
 
         try (EntityManager em = DatabaseConfig.getEntityManager()) {
             em.getTransaction().begin();
-            log.info(String.format(Constants.LOG_DB_OPERATION, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
             Retrospective retrospective = em.find(Retrospective.class, id);
             if (retrospective != null) {
                 em.remove(retrospective);
             }
             em.getTransaction().commit();
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, retrospective != null ? "Retrospective deleted" : "Retrospective not found"));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, retrospective != null ? "Retrospective deleted" : "Retrospective not found"));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
             throw new RuntimeException("Failed to delete retrospective", e);
         }
     }
 
-}
\ No newline at end of file
+    /**
+     * Удаляет несколько ретроспектив по идентификаторам в одной транзакции.
+     * @param ids Идентификаторы
+     */
+    @Override
+    public void deleteAllById(Collection<Integer> ids) {
+        String methodName = "deleteAllById";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "size: " + ids.size()));
+        }
+
+        try {
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
+            DatabaseConfig.removeAllById(Retrospective.class, ids);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Retrospectives deleted by ids: " + ids.size()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
+            throw new RuntimeException("Failed to delete retrospectives", e);
+        }
+    }
+
+    /**
+     * Загружает ленивые коллекции ретроспективы, пока она присоединена к контексту.
+     * Коллекции остальных ретроспектив контекста загружаются тем же запросом (см. @BatchSize).
+     * @param retrospective Ретроспектива
+     */
+    private static void initialize(Retrospective retrospective) {
+        Hibernate.initialize(retrospective.getImprovements());
+        Hibernate.initialize(retrospective.getPositives());
+    }
+}
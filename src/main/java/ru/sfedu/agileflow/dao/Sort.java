@@ -0,0 +1,177 @@
+package ru.sfedu.agileflow.dao;
+
+import java.lang.reflect.Field;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Порядок постраничной выборки: поле сортировки и направление.
+ * При равных значениях поля записи упорядочиваются по идентификатору в том же направлении,
+ * поэтому порядок всегда полный и позиция страницы однозначно задается парой (значение, id).
+ * Пустые значения поля идут первыми при сортировке по возрастанию и последними при убывании.
+ */
+public final class Sort {
+    /**
+     * Направление сортировки.
+     */
+    public enum Direction {
+        ASC,
+        DESC
+    }
+
+    /** Имя поля идентификатора. */
+    public static final String ID = "id";
+
+    private static final Sort BY_ID = new Sort(ID, Direction.ASC);
+    private static final Map<String, Field> fields = new ConcurrentHashMap<>();
+
+    private final String property;
+    private final Direction direction;
+
+    private Sort(String property, Direction direction) {
+        this.property = Objects.requireNonNull(property, "Поле сортировки не может быть null");
+        this.direction = Objects.requireNonNull(direction, "Направление сортировки не может быть null");
+    }
+
+    /**
+     * Сортировка по идентификатору по возрастанию.
+     * @return Порядок по id
+     */
+    public static Sort byId() {
+        return BY_ID;
+    }
+
+    /**
+     * Сортировка по полю по возрастанию.
+     * @param property Имя поля модели
+     * @return Порядок
+     */
+    public static Sort asc(String property) {
+        return new Sort(property, Direction.ASC);
+    }
+
+    /**
+     * Сортировка по полю по убыванию.
+     * @param property Имя поля модели
+     * @return Порядок
+     */
+    public static Sort desc(String property) {
+        return new Sort(property, Direction.DESC);
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public Direction getDirection() {
+        return direction;
+    }
+
+    /**
+     * Проверяет, идет ли сортировка по идентификатору.
+     * @return true, если поле сортировки - id
+     */
+    public boolean isById() {
+        return ID.equals(property);
+    }
+
+    /**
+     * Возвращает значение поля сортировки сущности.
+     * @param entity Сущность
+     * @return Значение поля
+     * @throws IllegalArgumentException если у сущности нет такого поля
+     */
+    public Object valueOf(Object entity) {
+        return read(entity, property);
+    }
+
+    /**
+     * Возвращает идентификатор сущности.
+     * @param entity Сущность
+     * @return Значение поля id
+     */
+    public static Object idOf(Object entity) {
+        return read(entity, ID);
+    }
+
+    /**
+     * Возвращает позицию сущности в этом порядке.
+     * @param entity Сущность
+     * @return Курсор, указывающий на сущность
+     */
+    public Cursor cursorOf(Object entity) {
+        return Cursor.of(valueOf(entity), idOf(entity));
+    }
+
+    /**
+     * Сравнивает позицию сущности с курсором в этом порядке.
+     * @param entity Сущность
+     * @param cursor Курсор
+     * @return Отрицательное число, ноль или положительное, если сущность стоит до, на или после курсора
+     */
+    public int compare(Object entity, Cursor cursor) {
+        return compareKeys(valueOf(entity), idOf(entity), cursor.getValue(), cursor.getId());
+    }
+
+    /**
+     * Возвращает компаратор сущностей в этом порядке.
+     * @param <T> Тип сущности
+     * @return Компаратор
+     */
+    public <T> Comparator<T> comparator() {
+        return (a, b) -> compareKeys(valueOf(a), idOf(a), valueOf(b), idOf(b));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private int compareKeys(Object value, Object id, Object otherValue, Object otherId) {
+        Comparator<Comparable> nullsFirst = Comparator.nullsFirst(Comparator.naturalOrder());
+        int result = nullsFirst.compare((Comparable) value, (Comparable) otherValue);
+        if (result == 0) {
+            result = nullsFirst.compare((Comparable) id, (Comparable) otherId);
+        }
+        return direction == Direction.ASC ? result : -result;
+    }
+
+    private static Object read(Object entity, String property) {
+        Field field = fields.computeIfAbsent(entity.getClass().getName() + "#" + property,
+                key -> findField(entity.getClass(), property));
+        try {
+            return field.get(entity);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Не удалось прочитать поле сортировки " + property, e);
+        }
+    }
+
+    private static Field findField(Class<?> type, String property) {
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            try {
+                Field field = current.getDeclaredField(property);
+                field.setAccessible(true);
+                return field;
+            } catch (NoSuchFieldException e) {
+                // Ищем в суперклассе
+            }
+        }
+        throw new IllegalArgumentException("Неизвестное поле сортировки: " + type.getSimpleName() + "." + property);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Sort sort = (Sort) o;
+        return property.equals(sort.property) && direction == sort.direction;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(property, direction);
+    }
+
+    @Override
+    public String toString() {
+        return property + " " + direction;
+    }
+}
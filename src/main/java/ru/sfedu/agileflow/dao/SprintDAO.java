@@ -7,8 +7,11 @@ import ru.sfedu.agileflow.config.DatabaseConfig;
 import ru.sfedu.agileflow.constants.Constants;
 import ru.sfedu.agileflow.models.Sprint;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * DAO-класс для управления спринтами в базе данных.
@@ -23,16 +26,22 @@ public class SprintDAO implements GenericDAO<Sprint, Integer> {
     @Override
     public void create(Sprint sprint) {
         String methodName = "create";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, sprint.toString()));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, sprint.toString()));
+        }
 
         try (EntityManager em = DatabaseConfig.getEntityManager()) {
             em.getTransaction().begin();
-            log.info(String.format(Constants.LOG_DB_OPERATION, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
             em.persist(sprint);
             em.getTransaction().commit();
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Sprint persisted with ID: " + sprint.getId()));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Sprint persisted with ID: " + sprint.getId()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
             throw new RuntimeException("Failed to create sprint", e);
@@ -40,21 +49,65 @@ public class SprintDAO implements GenericDAO<Sprint, Integer> {
     }
 
     /**
-     * Находит спринт по идентификатору.
+     * Создает несколько спринтов в одной транзакции с пакетной вставкой.
+     * @param sprints Спринты
+     */
+    @Override
+    public void createAll(Collection<Sprint> sprints) {
+        String methodName = "createAll";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "size: " + sprints.size()));
+        }
+
+        try {
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
+            DatabaseConfig.executeBatch(sprints, EntityManager::persist);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Sprints persisted: " + sprints.size()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
+            throw new RuntimeException("Failed to create sprints", e);
+        }
+    }
+
+    /**
+     * Находит спринт по идентификатору вместе с проектом и ретроспективой (граф {@value Sprint#GRAPH_LIST}).
      * @param id Идентификатор спринта
      * @return Optional с спринтом, если найден, иначе пустой Optional
      */
     @Override
     public Optional<Sprint> findById(Integer id) {
+        return findById(id, Sprint.GRAPH_LIST);
+    }
+
+    /**
+     * Находит спринт по идентификатору, загружая связи по графу. Граф {@value Sprint#GRAPH_BOARD}
+     * загружает также задачи спринта с исполнителями.
+     * @param id Идентификатор спринта
+     * @param graph Имя графа сущностей ({@link Sprint#GRAPH_LIST}, {@link Sprint#GRAPH_BOARD}) или null
+     * @return Optional с спринтом, если найден, иначе пустой Optional
+     */
+    public Optional<Sprint> findById(Integer id, String graph) {
         String methodName = "findById";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "id: " + id));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "id: " + id + ", graph: " + graph));
+        }
 
         try (EntityManager em = DatabaseConfig.getEntityManager()) {
-            log.info(String.format(Constants.LOG_DB_OPERATION, methodName));
-            Sprint sprint = em.find(Sprint.class, id);
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, sprint != null ? "Sprint found" : "Sprint not found"));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
+            Sprint sprint = DatabaseConfig.find(em, Sprint.class, id, graph);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, sprint != null ? "Sprint found" : "Sprint not found"));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
             return Optional.ofNullable(sprint);
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
@@ -63,20 +116,37 @@ public class SprintDAO implements GenericDAO<Sprint, Integer> {
     }
 
     /**
-     * Возвращает список всех спринтов.
+     * Возвращает список всех спринтов с проектами и ретроспективами (граф {@value Sprint#GRAPH_LIST}).
      * @return Список спринтов
      */
     @Override
     public List<Sprint> findAll() {
+        return findAll(Sprint.GRAPH_LIST);
+    }
+
+    /**
+     * Возвращает список всех спринтов, загружая связи по графу.
+     * @param graph Имя графа сущностей ({@link Sprint#GRAPH_LIST}, {@link Sprint#GRAPH_BOARD}) или null
+     * @return Список спринтов
+     */
+    public List<Sprint> findAll(String graph) {
         String methodName = "findAll";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "graph: " + graph));
+        }
 
         try (EntityManager em = DatabaseConfig.getEntityManager()) {
-            log.info(String.format(Constants.LOG_DB_OPERATION, methodName));
-            TypedQuery<Sprint> query = em.createQuery("SELECT s FROM Sprint s", Sprint.class);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
+            // Соединение с коллекцией задач графа доски повторяло бы спринт в каждой строке
+            TypedQuery<Sprint> query = DatabaseConfig.withGraph(em, em.createQuery("SELECT DISTINCT s FROM Sprint s", Sprint.class), graph);
             List<Sprint> sprints = query.getResultList();
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Found " + sprints.size() + " sprints"));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Found " + sprints.size() + " sprints"));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
             return sprints;
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
@@ -84,6 +154,57 @@ public class SprintDAO implements GenericDAO<Sprint, Integer> {
         }
     }
 
+    /**
+     * Возвращает страницу спринтов keyset-запросом.
+     * @param after Курсор предыдущей страницы или null для первой страницы
+     * @param limit Размер страницы
+     * @param sort Порядок выборки
+     * @return Страница спринтов
+     */
+    @Override
+    public Page<Sprint> findPage(Cursor after, int limit, Sort sort) {
+        String methodName = "findPage";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "after: " + after + ", limit: " + limit + ", sort: " + sort));
+        }
+        Page.checkLimit(limit);
+
+        try (EntityManager em = DatabaseConfig.getEntityManager()) {
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
+            Page<Sprint> page = DatabaseConfig.findPage(em, Sprint.class, Map.of(), after, limit, sort, Sprint.GRAPH_LIST);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Found " + page.getItems().size() + " sprints"));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+            return page;
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
+            throw new RuntimeException("Failed to retrieve page of sprints", e);
+        }
+    }
+
+    /**
+     * Возвращает все спринты потоком с порционной выборкой из базы данных.
+     * Поток необходимо закрыть, чтобы освободить EntityManager.
+     * @return Поток спринтов
+     */
+    @Override
+    public Stream<Sprint> streamAll() {
+        String methodName = "streamAll";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+        }
+        Stream<Sprint> sprints = DatabaseConfig.streamResults("SELECT s FROM Sprint s ORDER BY s.id", Sprint.class, Sprint.GRAPH_LIST);
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+        }
+        return sprints;
+    }
+
     /**
      * Обновляет данные спринта.
      * @param sprint Обновленный спринт
@@ -91,22 +212,55 @@ public class SprintDAO implements GenericDAO<Sprint, Integer> {
     @Override
     public void update(Sprint sprint) {
         String methodName = "update";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, sprint.toString()));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, sprint.toString()));
+        }
 
         try (EntityManager em = DatabaseConfig.getEntityManager()) {
             em.getTransaction().begin();
-            log.info(String.format(Constants.LOG_DB_OPERATION, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
             em.merge(sprint);
             em.getTransaction().commit();
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Sprint updated"));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Sprint updated"));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
             throw new RuntimeException("Failed to update sprint", e);
         }
     }
 
+    /**
+     * Обновляет несколько спринтов в одной транзакции с пакетным обновлением.
+     * @param sprints Спринты
+     */
+    @Override
+    public void updateAll(Collection<Sprint> sprints) {
+        String methodName = "updateAll";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "size: " + sprints.size()));
+        }
+
+        try {
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
+            DatabaseConfig.executeBatch(sprints, EntityManager::merge);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Sprints updated: " + sprints.size()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
+            throw new RuntimeException("Failed to update sprints", e);
+        }
+    }
+
     /**
      * Удаляет спринт по идентификатору.
      * @param id Идентификатор спринта
@@ -114,22 +268,161 @@ public class SprintDAO implements GenericDAO<Sprint, Integer> {
     @Override
     public void delete(Integer id) {
         String methodName = "delete";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "id: " + id));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "id: " + id));
+        }
 
         try (EntityManager em = DatabaseConfig.getEntityManager()) {
             em.getTransaction().begin();
-            log.info(String.format(Constants.LOG_DB_OPERATION, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
             Sprint sprint = em.find(Sprint.class, id);
             if (sprint != null) {
                 em.remove(sprint);
             }
             em.getTransaction().commit();
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, sprint != null ? "Sprint deleted" : "Sprint not found"));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, sprint != null ? "Sprint deleted" : "Sprint not found"));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
             throw new RuntimeException("Failed to delete sprint", e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Удаляет несколько спринтов по идентификаторам в одной транзакции.
+     * @param ids Идентификаторы
+     */
+    @Override
+    public void deleteAllById(Collection<Integer> ids) {
+        String methodName = "deleteAllById";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "size: " + ids.size()));
+        }
+
+        try {
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
+            DatabaseConfig.removeAllById(Sprint.class, ids);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Sprints deleted by ids: " + ids.size()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
+            throw new RuntimeException("Failed to delete sprints", e);
+        }
+    }
+
+    /**
+     * Удаляет спринт вместе с его задачами и ретроспективой в одной транзакции: по одному оператору
+     * DELETE на таблицу (списки ретроспективы Hibernate удаляет вместе с ней) без загрузки сущностей.
+     * Hibernate очищает затронутые регионы кэша второго уровня и кэш запросов.
+     * @param sprintId Идентификатор спринта
+     * @return true, если спринт был удален
+     */
+    public boolean deleteCascade(int sprintId) {
+        String methodName = "deleteCascade";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "sprintId: " + sprintId));
+        }
+
+        try (EntityManager em = DatabaseConfig.getEntityManager()) {
+            em.getTransaction().begin();
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
+            int tasks = em.createQuery("DELETE FROM Task t WHERE t.sprint.id = :sprintId")
+                    .setParameter("sprintId", sprintId)
+                    .executeUpdate();
+            int retrospectives = em.createQuery("DELETE FROM Retrospective r WHERE r.sprint.id = :sprintId")
+                    .setParameter("sprintId", sprintId)
+                    .executeUpdate();
+            int sprints = em.createQuery("DELETE FROM Sprint s WHERE s.id = :sprintId")
+                    .setParameter("sprintId", sprintId)
+                    .executeUpdate();
+            em.getTransaction().commit();
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Deleted sprints: " + sprints
+                        + ", tasks: " + tasks + ", retrospectives: " + retrospectives));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+            return sprints > 0;
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
+            throw new RuntimeException("Failed to delete sprint", e);
+        }
+    }
+
+    /**
+     * Находит спринты проекта вместе с проектом и ретроспективой одним запросом (граф {@value Sprint#GRAPH_LIST}).
+     * Выборка идет по индексу sprints.project_id.
+     * @param projectId Идентификатор проекта
+     * @return Список спринтов в порядке даты начала
+     */
+    public List<Sprint> findByProject(int projectId) {
+        String methodName = "findByProject";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "projectId: " + projectId));
+        }
+
+        try (EntityManager em = DatabaseConfig.getEntityManager()) {
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
+            TypedQuery<Sprint> query = em.createQuery(
+                    "SELECT s FROM Sprint s WHERE s.project.id = :projectId ORDER BY s.startDate, s.id", Sprint.class);
+            List<Sprint> sprints = DatabaseConfig.withGraph(em, query, Sprint.GRAPH_LIST)
+                    .setParameter("projectId", projectId)
+                    .getResultList();
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Found " + sprints.size() + " sprints"));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+            return sprints;
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
+            throw new RuntimeException("Failed to find sprints by project", e);
+        }
+    }
+
+    /**
+     * Возвращает страницу спринтов проекта в порядке даты начала.
+     * @param projectId Идентификатор проекта
+     * @param after Курсор предыдущей страницы или null для первой страницы
+     * @param limit Размер страницы
+     * @return Страница спринтов
+     */
+    public Page<Sprint> findByProject(int projectId, Cursor after, int limit) {
+        String methodName = "findByProject";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "projectId: " + projectId + ", after: " + after + ", limit: " + limit));
+        }
+        Page.checkLimit(limit);
+
+        try (EntityManager em = DatabaseConfig.getEntityManager()) {
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
+            Page<Sprint> page = DatabaseConfig.findPage(em, Sprint.class, Map.of("project.id", projectId), after, limit,
+                    Sort.asc("startDate"), Sprint.GRAPH_LIST);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Found " + page.getItems().size() + " sprints"));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+            return page;
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
+            throw new RuntimeException("Failed to find sprints by project", e);
+        }
+    }
+}
@@ -1,14 +1,20 @@
 package ru.sfedu.agileflow.dao;
 
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
 import jakarta.persistence.TypedQuery;
 import org.apache.log4j.Logger;
 import ru.sfedu.agileflow.config.DatabaseConfig;
 import ru.sfedu.agileflow.constants.Constants;
 import ru.sfedu.agileflow.models.Task;
+import ru.sfedu.agileflow.models.TaskStatus;
+import ru.sfedu.agileflow.models.User;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * DAO-класс для управления задачами в базе данных.
@@ -23,16 +29,22 @@ public class TaskDAO implements GenericDAO<Task, Integer> {
     @Override
     public void create(Task task) {
         String methodName = "create";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, task.toString()));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, task.toString()));
+        }
 
         try (EntityManager em = DatabaseConfig.getEntityManager()) {
             em.getTransaction().begin();
-            log.info(String.format(Constants.LOG_DB_OPERATION, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
             em.persist(task);
             em.getTransaction().commit();
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Task persisted with ID: " + task.getId()));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Task persisted with ID: " + task.getId()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
             throw new RuntimeException("Failed to create task", e);
@@ -40,21 +52,65 @@ public class TaskDAO implements GenericDAO<Task, Integer> {
     }
 
     /**
-     * Находит задачу по идентификатору.
+     * Создает несколько задач в одной транзакции с пакетной вставкой.
+     * @param tasks Задачи
+     */
+    @Override
+    public void createAll(Collection<Task> tasks) {
+        String methodName = "createAll";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "size: " + tasks.size()));
+        }
+
+        try {
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
+            DatabaseConfig.executeBatch(tasks, EntityManager::persist);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Tasks persisted: " + tasks.size()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
+            throw new RuntimeException("Failed to create tasks", e);
+        }
+    }
+
+    /**
+     * Находит задачу по идентификатору вместе со спринтом, проектом и исполнителем
+     * (граф {@value Task#GRAPH_DETAIL}).
      * @param id Идентификатор задачи
      * @return Optional с задачей, если найдена, иначе пустой Optional
      */
     @Override
     public Optional<Task> findById(Integer id) {
+        return findById(id, Task.GRAPH_DETAIL);
+    }
+
+    /**
+     * Находит задачу по идентификатору, загружая связи по графу.
+     * @param id Идентификатор задачи
+     * @param graph Имя графа сущностей ({@link Task#GRAPH_LIST}, {@link Task#GRAPH_DETAIL}) или null
+     * @return Optional с задачей, если найдена, иначе пустой Optional
+     */
+    public Optional<Task> findById(Integer id, String graph) {
         String methodName = "findById";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "id: " + id));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "id: " + id + ", graph: " + graph));
+        }
 
         try (EntityManager em = DatabaseConfig.getEntityManager()) {
-            log.info(String.format(Constants.LOG_DB_OPERATION, methodName));
-            Task task = em.find(Task.class, id);
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, task != null ? "Task found" : "Task not found"));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
+            Task task = DatabaseConfig.find(em, Task.class, id, graph);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, task != null ? "Task found" : "Task not found"));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
             return Optional.ofNullable(task);
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
@@ -63,20 +119,36 @@ public class TaskDAO implements GenericDAO<Task, Integer> {
     }
 
     /**
-     * Возвращает список всех задач.
+     * Возвращает список всех задач со спринтами и исполнителями (граф {@value Task#GRAPH_LIST}).
      * @return Список задач
      */
     @Override
     public List<Task> findAll() {
+        return findAll(Task.GRAPH_LIST);
+    }
+
+    /**
+     * Возвращает список всех задач, загружая связи по графу.
+     * @param graph Имя графа сущностей ({@link Task#GRAPH_LIST}, {@link Task#GRAPH_DETAIL}) или null
+     * @return Список задач
+     */
+    public List<Task> findAll(String graph) {
         String methodName = "findAll";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "graph: " + graph));
+        }
 
         try (EntityManager em = DatabaseConfig.getEntityManager()) {
-            log.info(String.format(Constants.LOG_DB_OPERATION, methodName));
-            TypedQuery<Task> query = em.createQuery("SELECT t FROM Task t", Task.class);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
+            TypedQuery<Task> query = DatabaseConfig.withGraph(em, em.createQuery("SELECT t FROM Task t", Task.class), graph);
             List<Task> tasks = query.getResultList();
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Found " + tasks.size() + " tasks"));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Found " + tasks.size() + " tasks"));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
             return tasks;
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
@@ -84,6 +156,57 @@ public class TaskDAO implements GenericDAO<Task, Integer> {
         }
     }
 
+    /**
+     * Возвращает страницу задач keyset-запросом.
+     * @param after Курсор предыдущей страницы или null для первой страницы
+     * @param limit Размер страницы
+     * @param sort Порядок выборки
+     * @return Страница задач
+     */
+    @Override
+    public Page<Task> findPage(Cursor after, int limit, Sort sort) {
+        String methodName = "findPage";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "after: " + after + ", limit: " + limit + ", sort: " + sort));
+        }
+        Page.checkLimit(limit);
+
+        try (EntityManager em = DatabaseConfig.getEntityManager()) {
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
+            Page<Task> page = DatabaseConfig.findPage(em, Task.class, Map.of(), after, limit, sort, Task.GRAPH_LIST);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Found " + page.getItems().size() + " tasks"));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+            return page;
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
+            throw new RuntimeException("Failed to retrieve page of tasks", e);
+        }
+    }
+
+    /**
+     * Возвращает все задачи потоком с порционной выборкой из базы данных.
+     * Поток необходимо закрыть, чтобы освободить EntityManager.
+     * @return Поток задач
+     */
+    @Override
+    public Stream<Task> streamAll() {
+        String methodName = "streamAll";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+        }
+        Stream<Task> tasks = DatabaseConfig.streamResults("SELECT t FROM Task t ORDER BY t.id", Task.class, Task.GRAPH_LIST);
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+        }
+        return tasks;
+    }
+
     /**
      * Обновляет данные задачи.
      * @param task Обновленная задача
@@ -91,22 +214,55 @@ public class TaskDAO implements GenericDAO<Task, Integer> {
     @Override
     public void update(Task task) {
         String methodName = "update";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, task.toString()));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, task.toString()));
+        }
 
         try (EntityManager em = DatabaseConfig.getEntityManager()) {
             em.getTransaction().begin();
-            log.info(String.format(Constants.LOG_DB_OPERATION, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
             em.merge(task);
             em.getTransaction().commit();
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Task updated"));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Task updated"));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
             throw new RuntimeException("Failed to update task", e);
         }
     }
 
+    /**
+     * Обновляет несколько задач в одной транзакции с пакетным обновлением.
+     * @param tasks Задачи
+     */
+    @Override
+    public void updateAll(Collection<Task> tasks) {
+        String methodName = "updateAll";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "size: " + tasks.size()));
+        }
+
+        try {
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
+            DatabaseConfig.executeBatch(tasks, EntityManager::merge);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Tasks updated: " + tasks.size()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
+            throw new RuntimeException("Failed to update tasks", e);
+        }
+    }
+
     /**
      * Удаляет задачу по идентификатору.
      * @param id Идентификатор задачи
@@ -114,22 +270,254 @@ public class TaskDAO implements GenericDAO<Task, Integer> {
     @Override
     public void delete(Integer id) {
         String methodName = "delete";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "id: " + id));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "id: " + id));
+        }
 
         try (EntityManager em = DatabaseConfig.getEntityManager()) {
             em.getTransaction().begin();
-            log.info(String.format(Constants.LOG_DB_OPERATION, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
             Task task = em.find(Task.class, id);
             if (task != null) {
                 em.remove(task);
             }
             em.getTransaction().commit();
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, task != null ? "Task deleted" : "Task not found"));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, task != null ? "Task deleted" : "Task not found"));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
             throw new RuntimeException("Failed to delete task", e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Удаляет несколько задач по идентификаторам в одной транзакции.
+     * @param ids Идентификаторы
+     */
+    @Override
+    public void deleteAllById(Collection<Integer> ids) {
+        String methodName = "deleteAllById";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "size: " + ids.size()));
+        }
+
+        try {
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
+            DatabaseConfig.removeAllById(Task.class, ids);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Tasks deleted by ids: " + ids.size()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
+            throw new RuntimeException("Failed to delete tasks", e);
+        }
+    }
+
+    /**
+     * Находит задачи спринта вместе с проектом (граф {@value Task#GRAPH_DETAIL}). Выборка идет по индексу tasks.sprint_id.
+     * @param sprintId Идентификатор спринта
+     * @return Список задач в порядке идентификаторов
+     */
+    public List<Task> findBySprint(int sprintId) {
+        String methodName = "findBySprint";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "sprintId: " + sprintId));
+        }
+
+        try (EntityManager em = DatabaseConfig.getEntityManager()) {
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
+            TypedQuery<Task> query = em.createQuery("SELECT t FROM Task t WHERE t.sprint.id = :sprintId ORDER BY t.id", Task.class);
+            List<Task> tasks = DatabaseConfig.withGraph(em, query, Task.GRAPH_DETAIL)
+                    .setParameter("sprintId", sprintId)
+                    .getResultList();
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Found " + tasks.size() + " tasks"));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+            return tasks;
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
+            throw new RuntimeException("Failed to find tasks by sprint", e);
+        }
+    }
+
+    /**
+     * Находит задачи, назначенные пользователю, вместе с проектами (граф {@value Task#GRAPH_DETAIL}).
+     * Выборка идет по индексу tasks.assigned_user_id.
+     * @param userId Идентификатор пользователя
+     * @return Список задач в порядке идентификаторов
+     */
+    public List<Task> findByAssignee(int userId) {
+        String methodName = "findByAssignee";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "userId: " + userId));
+        }
+
+        try (EntityManager em = DatabaseConfig.getEntityManager()) {
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
+            TypedQuery<Task> query = em.createQuery("SELECT t FROM Task t WHERE t.assignedUser.id = :userId ORDER BY t.id", Task.class);
+            List<Task> tasks = DatabaseConfig.withGraph(em, query, Task.GRAPH_DETAIL)
+                    .setParameter("userId", userId)
+                    .getResultList();
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Found " + tasks.size() + " tasks"));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+            return tasks;
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
+            throw new RuntimeException("Failed to find tasks by assignee", e);
+        }
+    }
+
+    /**
+     * Находит задачи по статусу (граф {@value Task#GRAPH_LIST}). Выборка идет по индексу tasks.status.
+     * @param status Статус задачи
+     * @return Список задач в порядке идентификаторов
+     */
+    public List<Task> findByStatus(TaskStatus status) {
+        String methodName = "findByStatus";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "status: " + status));
+        }
+
+        try (EntityManager em = DatabaseConfig.getEntityManager()) {
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
+            TypedQuery<Task> query = em.createQuery("SELECT t FROM Task t WHERE t.status = :status ORDER BY t.id", Task.class);
+            List<Task> tasks = DatabaseConfig.withGraph(em, query, Task.GRAPH_LIST)
+                    .setParameter("status", status)
+                    .getResultList();
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Found " + tasks.size() + " tasks"));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+            return tasks;
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
+            throw new RuntimeException("Failed to find tasks by status", e);
+        }
+    }
+
+    /**
+     * Возвращает страницу задач спринта в порядке идентификаторов.
+     * @param sprintId Идентификатор спринта
+     * @param after Курсор предыдущей страницы или null для первой страницы
+     * @param limit Размер страницы
+     * @return Страница задач
+     */
+    public Page<Task> findBySprint(int sprintId, Cursor after, int limit) {
+        String methodName = "findBySprint";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "sprintId: " + sprintId + ", after: " + after + ", limit: " + limit));
+        }
+        Page.checkLimit(limit);
+
+        try (EntityManager em = DatabaseConfig.getEntityManager()) {
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
+            Page<Task> page = DatabaseConfig.findPage(em, Task.class, Map.of("sprint.id", sprintId), after, limit, Sort.byId(), Task.GRAPH_LIST);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Found " + page.getItems().size() + " tasks"));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+            return page;
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
+            throw new RuntimeException("Failed to find tasks by sprint", e);
+        }
+    }
+
+    /**
+     * Переводит задачи спринта из одного статуса в другой одним оператором UPDATE, не загружая их.
+     * Hibernate очищает затронутые регионы кэша второго уровня (задачи и коллекции задач) и кэш запросов.
+     * @param sprintId Идентификатор спринта
+     * @param from Исходный статус или null для всех задач, у которых статус отличается от нового
+     * @param to Новый статус
+     * @return Количество измененных задач
+     */
+    public int bulkUpdateStatus(int sprintId, TaskStatus from, TaskStatus to) {
+        String methodName = "bulkUpdateStatus";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "sprintId: " + sprintId + ", from: " + from + ", to: " + to));
+        }
+
+        try (EntityManager em = DatabaseConfig.getEntityManager()) {
+            em.getTransaction().begin();
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
+            Query query = from != null
+                    ? em.createQuery("UPDATE Task t SET t.status = :to WHERE t.sprint.id = :sprintId AND t.status = :from")
+                            .setParameter("from", from)
+                    : em.createQuery("UPDATE Task t SET t.status = :to WHERE t.sprint.id = :sprintId AND t.status <> :to");
+            int updated = query.setParameter("to", to)
+                    .setParameter("sprintId", sprintId)
+                    .executeUpdate();
+            em.getTransaction().commit();
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Tasks updated: " + updated));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+            return updated;
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
+            throw new RuntimeException("Failed to update task status", e);
+        }
+    }
+
+    /**
+     * Переназначает все задачи пользователя другому пользователю одним оператором UPDATE.
+     * @param fromUserId Идентификатор текущего исполнителя
+     * @param toUserId Идентификатор нового исполнителя или null, чтобы снять назначение
+     * @return Количество переназначенных задач
+     */
+    public int reassign(int fromUserId, Integer toUserId) {
+        String methodName = "reassign";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "fromUserId: " + fromUserId + ", toUserId: " + toUserId));
+        }
+
+        try (EntityManager em = DatabaseConfig.getEntityManager()) {
+            em.getTransaction().begin();
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
+            Query query = toUserId != null
+                    ? em.createQuery("UPDATE Task t SET t.assignedUser = :toUser WHERE t.assignedUser.id = :fromUserId")
+                            .setParameter("toUser", em.getReference(User.class, toUserId))
+                    : em.createQuery("UPDATE Task t SET t.assignedUser = null WHERE t.assignedUser.id = :fromUserId");
+            int updated = query.setParameter("fromUserId", fromUserId).executeUpdate();
+            em.getTransaction().commit();
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Tasks reassigned: " + updated));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+            return updated;
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
+            throw new RuntimeException("Failed to reassign tasks", e);
+        }
+    }
+}
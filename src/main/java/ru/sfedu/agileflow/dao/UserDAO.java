@@ -7,14 +7,18 @@ import ru.sfedu.agileflow.config.DatabaseConfig;
 import ru.sfedu.agileflow.constants.Constants;
 import ru.sfedu.agileflow.models.User;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * DAO-класс для управления пользователями в базе данных.
  */
 public class UserDAO implements GenericDAO<User, Integer> {
     private static final Logger log = Logger.getLogger(UserDAO.class);
+    private static final String USER_BY_EMAIL_REGION = "query.userByEmail";
 
     /**
      * Создает нового пользователя в базе данных.
@@ -23,22 +27,55 @@ public class UserDAO implements GenericDAO<User, Integer> {
     @Override
     public void create(User user) {
         String methodName = "create";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, user.toString()));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, user.toString()));
+        }
 
         try (EntityManager em = DatabaseConfig.getEntityManager()) {
             em.getTransaction().begin();
-            log.info(String.format(Constants.LOG_DB_OPERATION, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
             em.persist(user);
             em.getTransaction().commit();
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "User persisted with ID: " + user.getId()));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "User persisted with ID: " + user.getId()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
             throw new RuntimeException("Не удалось создать пользователя", e);
         }
     }
 
+    /**
+     * Создает несколько пользователей в одной транзакции с пакетной вставкой.
+     * @param users Пользователи
+     */
+    @Override
+    public void createAll(Collection<User> users) {
+        String methodName = "createAll";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "size: " + users.size()));
+        }
+
+        try {
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
+            DatabaseConfig.executeBatch(users, EntityManager::persist);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Сохранено пользователей: " + users.size()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
+            throw new RuntimeException("Не удалось создать пользователей", e);
+        }
+    }
+
     /**
      * Находит пользователя по идентификатору.
      * @param id Идентификатор пользователя
@@ -47,14 +84,20 @@ public class UserDAO implements GenericDAO<User, Integer> {
     @Override
     public Optional<User> findById(Integer id) {
         String methodName = "findById";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "id: " + id));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "id: " + id));
+        }
 
         try (EntityManager em = DatabaseConfig.getEntityManager()) {
-            log.info(String.format(Constants.LOG_DB_OPERATION, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
             User user = em.find(User.class, id);
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, user != null ? "User found" : "User not found"));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, user != null ? "User found" : "User not found"));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
             return Optional.ofNullable(user);
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
@@ -69,16 +112,25 @@ public class UserDAO implements GenericDAO<User, Integer> {
      */
     public Optional<User> findByEmail(String email) {
         String methodName = "findByEmail";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "email: " + email));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "email: " + email));
+        }
 
         try (EntityManager em = DatabaseConfig.getEntityManager()) {
-            log.info(String.format(Constants.LOG_DB_OPERATION, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
             TypedQuery<User> query = em.createQuery("SELECT u FROM User u WHERE u.email = :email", User.class);
             query.setParameter("email", email);
+            // Результат кэшируется до изменения таблицы users или истечения времени жизни региона
+            query.setHint("org.hibernate.cacheable", true);
+            query.setHint("org.hibernate.cacheRegion", USER_BY_EMAIL_REGION);
             User user = query.getResultList().stream().findFirst().orElse(null);
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, user != null ? "User found" : "User not found"));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, user != null ? "User found" : "User not found"));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
             return Optional.ofNullable(user);
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
@@ -93,14 +145,20 @@ public class UserDAO implements GenericDAO<User, Integer> {
     @Override
     public List<User> findAll() {
         String methodName = "findAll";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
 
         try (EntityManager em = DatabaseConfig.getEntityManager()) {
-            log.info(String.format(Constants.LOG_DB_OPERATION, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
             TypedQuery<User> query = em.createQuery("SELECT u FROM User u", User.class);
             List<User> users = query.getResultList();
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Найдено пользователей: " + users.size()));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Найдено пользователей: " + users.size()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
             return users;
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
@@ -108,6 +166,57 @@ public class UserDAO implements GenericDAO<User, Integer> {
         }
     }
 
+    /**
+     * Возвращает страницу пользователей keyset-запросом.
+     * @param after Курсор предыдущей страницы или null для первой страницы
+     * @param limit Размер страницы
+     * @param sort Порядок выборки
+     * @return Страница пользователей
+     */
+    @Override
+    public Page<User> findPage(Cursor after, int limit, Sort sort) {
+        String methodName = "findPage";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "after: " + after + ", limit: " + limit + ", sort: " + sort));
+        }
+        Page.checkLimit(limit);
+
+        try (EntityManager em = DatabaseConfig.getEntityManager()) {
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
+            Page<User> page = DatabaseConfig.findPage(em, User.class, Map.of(), after, limit, sort);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Found " + page.getItems().size() + " users"));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+            return page;
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
+            throw new RuntimeException("Failed to retrieve page of users", e);
+        }
+    }
+
+    /**
+     * Возвращает всех пользователей потоком с порционной выборкой из базы данных.
+     * Поток необходимо закрыть, чтобы освободить EntityManager.
+     * @return Поток пользователей
+     */
+    @Override
+    public Stream<User> streamAll() {
+        String methodName = "streamAll";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+        }
+        Stream<User> users = DatabaseConfig.streamResults("SELECT u FROM User u ORDER BY u.id", User.class);
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+        }
+        return users;
+    }
+
     /**
      * Обновляет данные пользователя.
      * @param user Обновленный пользователь
@@ -115,22 +224,55 @@ public class UserDAO implements GenericDAO<User, Integer> {
     @Override
     public void update(User user) {
         String methodName = "update";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, user.toString()));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, user.toString()));
+        }
 
         try (EntityManager em = DatabaseConfig.getEntityManager()) {
             em.getTransaction().begin();
-            log.info(String.format(Constants.LOG_DB_OPERATION, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
             em.merge(user);
             em.getTransaction().commit();
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "User updated"));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "User updated"));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
             throw new RuntimeException("Не удалось обновить пользователя", e);
         }
     }
 
+    /**
+     * Обновляет несколько пользователей в одной транзакции с пакетным обновлением.
+     * @param users Пользователи
+     */
+    @Override
+    public void updateAll(Collection<User> users) {
+        String methodName = "updateAll";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "size: " + users.size()));
+        }
+
+        try {
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
+            DatabaseConfig.executeBatch(users, EntityManager::merge);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Обновлено пользователей: " + users.size()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
+            throw new RuntimeException("Не удалось обновить пользователей", e);
+        }
+    }
+
     /**
      * Удаляет пользователя по идентификатору.
      * @param id Идентификатор пользователя
@@ -138,22 +280,55 @@ public class UserDAO implements GenericDAO<User, Integer> {
     @Override
     public void delete(Integer id) {
         String methodName = "delete";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "id: " + id));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "id: " + id));
+        }
 
         try (EntityManager em = DatabaseConfig.getEntityManager()) {
             em.getTransaction().begin();
-            log.info(String.format(Constants.LOG_DB_OPERATION, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
             User user = em.find(User.class, id);
             if (user != null) {
                 em.remove(user);
             }
             em.getTransaction().commit();
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, user != null ? "User deleted" : "User not found"));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, user != null ? "User deleted" : "User not found"));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
             throw new RuntimeException("Не удалось удалить пользователя", e);
         }
     }
+
+    /**
+     * Удаляет несколько пользователей по идентификаторам в одной транзакции.
+     * @param ids Идентификаторы
+     */
+    @Override
+    public void deleteAllById(Collection<Integer> ids) {
+        String methodName = "deleteAllById";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "size: " + ids.size()));
+        }
+
+        try {
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
+            DatabaseConfig.removeAllById(User.class, ids);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Удалено по идентификаторам: " + ids.size()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
+            throw new RuntimeException("Не удалось удалить пользователей", e);
+        }
+    }
 }
\ No newline at end of file
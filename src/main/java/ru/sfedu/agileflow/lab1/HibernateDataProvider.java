@@ -30,14 +30,18 @@ public class HibernateDataProvider {
      */
     public Optional<String> getDatabaseName() {
         String methodName = "getDatabaseName";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
 
         try (Session session = sessionFactory.openSession()) {
             log.info("getDatabaseName [1] Выполнение запроса для получения имени базы данных");
             NativeQuery<String> query = session.createNativeQuery("SELECT current_database()", String.class);
             String result = query.getSingleResult();
             log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Имя базы данных: " + result));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
             return Optional.ofNullable(result);
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось получить имя базы данных: " + e.getMessage()), e);
@@ -52,7 +56,9 @@ public class HibernateDataProvider {
      */
     public Optional<Double> getDatabaseSize() {
         String methodName = "getDatabaseSize";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
 
         try (Session session = sessionFactory.openSession()) {
             log.info("getDatabaseSize [1] Выполнение запроса для получения размера базы данных");
@@ -60,7 +66,9 @@ public class HibernateDataProvider {
                     "SELECT pg_database_size(current_database()) / 1024.0 / 1024.0", Double.class);
             Double result = query.getSingleResult();
             log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Размер базы данных: " + result + " MB"));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
             return Optional.ofNullable(result);
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось получить размер базы данных: " + e.getMessage()), e);
@@ -75,7 +83,9 @@ public class HibernateDataProvider {
      */
     public List<String> getTableNames() {
         String methodName = "getTableNames";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
 
         try (Session session = sessionFactory.openSession()) {
             log.info("getTableNames [1] Выполнение запроса для получения списка таблиц");
@@ -83,7 +93,9 @@ public class HibernateDataProvider {
                     "SELECT table_name FROM information_schema.tables WHERE table_schema = 'public'", String.class);
             List<String> result = query.getResultList();
             log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Список таблиц: " + result));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
             return result;
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось получить список таблиц: " + e.getMessage()), e);
@@ -98,14 +110,18 @@ public class HibernateDataProvider {
      */
     public Optional<String> getServerVersion() {
         String methodName = "getServerVersion";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
 
         try (Session session = sessionFactory.openSession()) {
             log.info("getServerVersion [1] Выполнение запроса для получения версии сервера");
             NativeQuery<String> query = session.createNativeQuery("SELECT version()", String.class);
             String result = query.getSingleResult();
             log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Версия сервера: " + result));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
             return Optional.ofNullable(result);
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось получить версию сервера: " + e.getMessage()), e);
@@ -32,7 +32,9 @@ public class HibernateUtil {
      */
     public static synchronized SessionFactory getSessionFactory() {
         String methodName = "getSessionFactory";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
 
         if (sessionFactory == null || sessionFactory.isClosed()) {
             try {
@@ -63,7 +65,9 @@ public class HibernateUtil {
 
                 log.info("getSessionFactory [3] Создание SessionFactory");
                 sessionFactory = metadataSources.buildMetadata().buildSessionFactory();
-                log.info(String.format(Constants.LOG_METHOD_END, methodName));
+                if (log.isDebugEnabled()) {
+                    log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+                }
             } catch (Exception e) {
                 log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось инициализировать SessionFactory: " + e.getMessage()), e);
                 throw new RuntimeException("Не удалось инициализировать SessionFactory", e);
@@ -77,7 +81,9 @@ public class HibernateUtil {
      */
     public static void close() {
         String methodName = "close";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
         try {
             if (sessionFactory != null && !sessionFactory.isClosed()) {
                 log.info("close [1] Закрытие SessionFactory");
@@ -87,7 +93,9 @@ public class HibernateUtil {
             } else {
                 log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "SessionFactory уже закрыт или не инициализирован"));
             }
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось закрыть SessionFactory: " + e.getMessage()), e);
             throw new RuntimeException("Не удалось закрыть SessionFactory", e);
@@ -21,7 +21,9 @@ public class Lab1CLI {
      */
     public static void main(String[] args) {
         String methodName = "main";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
 
         try (Scanner scanner = new Scanner(System.in)) {
             while (true) {
@@ -46,7 +48,9 @@ public class Lab1CLI {
                         break;
                     case "5":
                         log.info("main [2] Завершение работы программы");
-                        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+                        if (log.isDebugEnabled()) {
+                            log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+                        }
                         return;
                     default:
                         result = "Неверный выбор. Пожалуйста, выберите число от 1 до 5.";
@@ -84,7 +88,9 @@ public class Lab1CLI {
      * @return Строковое представление результата или ошибки
      */
     private static <T> String executeAndLog(String methodName, Supplier<T> supplier) {
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
         log.info(String.format("%s [1] Выполнение запроса", methodName));
 
         try {
@@ -100,12 +106,16 @@ public class Lab1CLI {
                 message = result != null ? result.toString() : "Результат не возвращён";
             }
             log.info(String.format("%s [2] Успешно: %s", methodName, message));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
             return formatResult(methodName, message);
         } catch (Exception e) {
             String errorMessage = "Ошибка: " + e.getMessage();
             log.error(String.format(Constants.LOG_ERROR, methodName, errorMessage), e);
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
             return errorMessage;
         }
     }
@@ -25,16 +25,22 @@ public class TaskMappedSuperclassDAOImpl implements TaskMappedSuperclassDAO {
     @Override
     public void create(Task task) {
         String methodName = "create_" + UUID.randomUUID().toString();
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
         log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, task.toString()));
 
         try (EntityManager em = DatabaseConfig.getLab3MappedSuperclassEntityManager()) {
             em.getTransaction().begin();
-            log.info(String.format(Constants.LOG_DB_OPERATION, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
             em.persist(task);
             em.getTransaction().commit();
             log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Task persisted with ID: " + task.getId()));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()), e);
             throw new RuntimeException("Failed to create task", e);
@@ -50,14 +56,20 @@ public class TaskMappedSuperclassDAOImpl implements TaskMappedSuperclassDAO {
     @Override
     public <T extends Task> Optional<T> findById(Integer id, Class<T> taskClass) {
         String methodName = "findById_" + UUID.randomUUID().toString();
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
         log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "id: " + id + ", class: " + taskClass.getSimpleName()));
 
         try (EntityManager em = DatabaseConfig.getLab3MappedSuperclassEntityManager()) {
-            log.info(String.format(Constants.LOG_DB_OPERATION, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
             T task = em.find(taskClass, id);
             log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, task != null ? "Task found" : "Task not found"));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
             return Optional.ofNullable(task);
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()), e);
@@ -72,17 +84,23 @@ public class TaskMappedSuperclassDAOImpl implements TaskMappedSuperclassDAO {
     @Override
     public List<Task> findAll() {
         String methodName = "findAll_" + UUID.randomUUID().toString();
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
 
         try (EntityManager em = DatabaseConfig.getLab3MappedSuperclassEntityManager()) {
-            log.info(String.format(Constants.LOG_DB_OPERATION, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
             List<Task> tasks = new ArrayList<>();
             TypedQuery<BugTask> bugQuery = em.createQuery("SELECT t FROM BugTask t", BugTask.class);
             TypedQuery<FeatureTask> featureQuery = em.createQuery("SELECT t FROM FeatureTask t", FeatureTask.class);
             tasks.addAll(bugQuery.getResultList());
             tasks.addAll(featureQuery.getResultList());
             log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Found " + tasks.size() + " tasks"));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
             return tasks;
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()), e);
@@ -97,16 +115,22 @@ public class TaskMappedSuperclassDAOImpl implements TaskMappedSuperclassDAO {
     @Override
     public void update(Task task) {
         String methodName = "update_" + UUID.randomUUID().toString();
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
         log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, task.toString()));
 
         try (EntityManager em = DatabaseConfig.getLab3MappedSuperclassEntityManager()) {
             em.getTransaction().begin();
-            log.info(String.format(Constants.LOG_DB_OPERATION, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
             em.merge(task);
             em.getTransaction().commit();
             log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Task updated"));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()), e);
             throw new RuntimeException("Failed to update task", e);
@@ -121,19 +145,25 @@ public class TaskMappedSuperclassDAOImpl implements TaskMappedSuperclassDAO {
     @Override
     public <T extends Task> void delete(Integer id, Class<T> taskClass) {
         String methodName = "delete_" + UUID.randomUUID().toString();
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
         log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "id: " + id + ", class: " + taskClass.getSimpleName()));
 
         try (EntityManager em = DatabaseConfig.getLab3MappedSuperclassEntityManager()) {
             em.getTransaction().begin();
-            log.info(String.format(Constants.LOG_DB_OPERATION, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
             T task = em.find(taskClass, id);
             if (task != null) {
                 em.remove(task);
             }
             em.getTransaction().commit();
             log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, task != null ? "Task deleted" : "Task not found"));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()), e);
             throw new RuntimeException("Failed to delete task", e);
@@ -148,11 +178,15 @@ public class TaskMappedSuperclassDAOImpl implements TaskMappedSuperclassDAO {
     @Override
     public List<Task> findByStatus(TaskStatus status) {
         String methodName = "findByStatus_" + UUID.randomUUID().toString();
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
         log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "status: " + status));
 
         try (EntityManager em = DatabaseConfig.getLab3MappedSuperclassEntityManager()) {
-            log.info(String.format(Constants.LOG_DB_OPERATION, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
             List<Task> tasks = new ArrayList<>();
             TypedQuery<BugTask> bugQuery = em.createQuery("SELECT t FROM BugTask t WHERE t.status = :status", BugTask.class);
             TypedQuery<FeatureTask> featureQuery = em.createQuery("SELECT t FROM FeatureTask t WHERE t.status = :status", FeatureTask.class);
@@ -161,7 +195,9 @@ public class TaskMappedSuperclassDAOImpl implements TaskMappedSuperclassDAO {
             tasks.addAll(bugQuery.getResultList());
             tasks.addAll(featureQuery.getResultList());
             log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Found " + tasks.size() + " tasks with status " + status));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
             return tasks;
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()), e);
@@ -24,16 +24,22 @@ public class TaskTablePerClassDAOImpl implements TaskTablePerClassDAO {
     @Override
     public void create(Task task) {
         String methodName = "create_" + UUID.randomUUID().toString();
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
         log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, task.toString()));
 
         try (EntityManager em = DatabaseConfig.getLab3TablePerClassEntityManager()) {
             em.getTransaction().begin();
-            log.info(String.format(Constants.LOG_DB_OPERATION, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
             em.persist(task);
             em.getTransaction().commit();
             log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Task persisted with ID: " + task.getId()));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()), e);
             throw new RuntimeException("Failed to create task", e);
@@ -48,14 +54,20 @@ public class TaskTablePerClassDAOImpl implements TaskTablePerClassDAO {
     @Override
     public Optional<Task> findById(Integer id) {
         String methodName = "findById_" + UUID.randomUUID().toString();
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
         log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "id: " + id));
 
         try (EntityManager em = DatabaseConfig.getLab3TablePerClassEntityManager()) {
-            log.info(String.format(Constants.LOG_DB_OPERATION, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
             Task task = em.find(Task.class, id);
             log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, task != null ? "Task found" : "Task not found"));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
             return Optional.ofNullable(task);
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()), e);
@@ -70,14 +82,20 @@ public class TaskTablePerClassDAOImpl implements TaskTablePerClassDAO {
     @Override
     public List<Task> findAll() {
         String methodName = "findAll_" + UUID.randomUUID().toString();
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
 
         try (EntityManager em = DatabaseConfig.getLab3TablePerClassEntityManager()) {
-            log.info(String.format(Constants.LOG_DB_OPERATION, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
             TypedQuery<Task> query = em.createQuery("SELECT t FROM Task t", Task.class);
             List<Task> tasks = query.getResultList();
             log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Found " + tasks.size() + " tasks"));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
             return tasks;
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()), e);
@@ -92,16 +110,22 @@ public class TaskTablePerClassDAOImpl implements TaskTablePerClassDAO {
     @Override
     public void update(Task task) {
         String methodName = "update_" + UUID.randomUUID().toString();
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
         log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, task.toString()));
 
         try (EntityManager em = DatabaseConfig.getLab3TablePerClassEntityManager()) {
             em.getTransaction().begin();
-            log.info(String.format(Constants.LOG_DB_OPERATION, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
             em.merge(task);
             em.getTransaction().commit();
             log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Task updated"));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()), e);
             throw new RuntimeException("Failed to update task", e);
@@ -115,19 +139,25 @@ public class TaskTablePerClassDAOImpl implements TaskTablePerClassDAO {
     @Override
     public void delete(Integer id) {
         String methodName = "delete_" + UUID.randomUUID().toString();
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
         log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "id: " + id));
 
         try (EntityManager em = DatabaseConfig.getLab3TablePerClassEntityManager()) {
             em.getTransaction().begin();
-            log.info(String.format(Constants.LOG_DB_OPERATION, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
             Task task = em.find(Task.class, id);
             if (task != null) {
                 em.remove(task);
             }
             em.getTransaction().commit();
             log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, task != null ? "Task deleted" : "Task not found"));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()), e);
             throw new RuntimeException("Failed to delete task", e);
@@ -142,16 +172,22 @@ public class TaskTablePerClassDAOImpl implements TaskTablePerClassDAO {
     @Override
     public List<Task> findByStatus(TaskStatus status) {
         String methodName = "findByStatus_" + UUID.randomUUID().toString();
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
         log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "status: " + status));
 
         try (EntityManager em = DatabaseConfig.getLab3TablePerClassEntityManager()) {
-            log.info(String.format(Constants.LOG_DB_OPERATION, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
             TypedQuery<Task> query = em.createQuery("SELECT t FROM Task t WHERE t.status = :status", Task.class);
             query.setParameter("status", status);
             List<Task> tasks = query.getResultList();
             log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Found " + tasks.size() + " tasks with status " + status));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
             return tasks;
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()), e);
@@ -0,0 +1,120 @@
+package ru.sfedu.agileflow.lab5;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Сводка по проекту для обзора портфеля: количество задач по статусам, спринтов и участников,
+ * средний приоритет задач и покрытие спринтов ретроспективами.
+ */
+public final class ProjectSummary {
+    private final int projectId;
+    private final Map<TaskStatus, Long> taskCounts;
+    private final long sprintCount;
+    private final long retrospectiveCount;
+    private final long memberCount;
+    private final Double averagePriority;
+
+    /**
+     * @param projectId Идентификатор проекта
+     * @param taskCounts Количество задач по статусам; отсутствующие статусы считаются нулем
+     * @param sprintCount Количество спринтов
+     * @param retrospectiveCount Количество спринтов с ретроспективой
+     * @param memberCount Количество участников
+     * @param averagePriority Средний приоритет задач или null, если задач нет
+     */
+    public ProjectSummary(int projectId, Map<TaskStatus, Long> taskCounts, long sprintCount,
+                          long retrospectiveCount, long memberCount, Double averagePriority) {
+        this.projectId = projectId;
+        this.taskCounts = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus status : TaskStatus.values()) {
+            this.taskCounts.put(status, taskCounts.getOrDefault(status, 0L));
+        }
+        this.sprintCount = sprintCount;
+        this.retrospectiveCount = retrospectiveCount;
+        this.memberCount = memberCount;
+        this.averagePriority = averagePriority;
+    }
+
+    public int getProjectId() {
+        return projectId;
+    }
+
+    /**
+     * Возвращает количество задач по всем статусам.
+     * @return Статус → количество задач, включая нулевые
+     */
+    public Map<TaskStatus, Long> getTaskCounts() {
+        return Collections.unmodifiableMap(taskCounts);
+    }
+
+    /**
+     * Возвращает количество задач с указанным статусом.
+     * @param status Статус задачи
+     * @return Количество задач
+     */
+    public long getTaskCount(TaskStatus status) {
+        return taskCounts.get(status);
+    }
+
+    /**
+     * Возвращает общее количество задач проекта.
+     * @return Количество задач
+     */
+    public long getTaskCount() {
+        return taskCounts.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    public long getSprintCount() {
+        return sprintCount;
+    }
+
+    public long getRetrospectiveCount() {
+        return retrospectiveCount;
+    }
+
+    public long getMemberCount() {
+        return memberCount;
+    }
+
+    public Double getAveragePriority() {
+        return averagePriority;
+    }
+
+    /**
+     * Возвращает долю спринтов, по которым проведена ретроспектива.
+     * @return Значение от 0 до 1; 0, если спринтов нет
+     */
+    public double getRetrospectiveCoverage() {
+        return sprintCount == 0 ? 0 : (double) retrospectiveCount / sprintCount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ProjectSummary that = (ProjectSummary) o;
+        return projectId == that.projectId && sprintCount == that.sprintCount
+                && retrospectiveCount == that.retrospectiveCount && memberCount == that.memberCount
+                && taskCounts.equals(that.taskCounts) && Objects.equals(averagePriority, that.averagePriority);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(projectId, taskCounts, sprintCount, retrospectiveCount, memberCount, averagePriority);
+    }
+
+    @Override
+    public String toString() {
+        return "ProjectSummary{" +
+                "projectId=" + projectId +
+                ", taskCounts=" + taskCounts +
+                ", sprintCount=" + sprintCount +
+                ", retrospectiveCount=" + retrospectiveCount +
+                ", memberCount=" + memberCount +
+                ", averagePriority=" + averagePriority +
+                '}';
+    }
+}
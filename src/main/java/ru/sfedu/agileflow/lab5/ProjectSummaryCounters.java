@@ -0,0 +1,273 @@
+package ru.sfedu.agileflow.lab5;
+
+import org.apache.log4j.Logger;
+import ru.sfedu.agileflow.constants.Constants;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Хранилище счетчиков проектов в памяти: количество задач, спринтов и участников по идентификатору проекта.
+ * <p>
+ * Счетчики проекта загружаются из базы данных при первом обращении ({@link SummaryDAO}) и дальше
+ * изменяются инкрементально слушателем {@link ProjectSummaryListener} после фиксации транзакций,
+ * которые создают или удаляют задачи, спринты и участников. Изменения в обход Hibernate
+ * (массовые HQL/SQL-операции) счетчики не видят - такое расхождение исправляет сверка
+ * {@link SummaryDAO#reconcileSummaryCounters()}.
+ * <p>
+ * Результат загрузки или сверки сохраняется для проекта, только если за время запроса к базе
+ * по нему не начиналось, не завершалось и не выполнялось ни одного изменения; иначе проект остается незагруженным
+ * и будет прочитан заново при следующем обращении. Поэтому незафиксированное на момент запроса
+ * изменение не может быть ни потеряно, ни учтено дважды.
+ */
+public final class ProjectSummaryCounters {
+    private static final Logger log = Logger.getLogger(ProjectSummaryCounters.class);
+    /** Ключ изменения, проект которого неизвестен: блокирует сохранение для всех проектов. */
+    static final int ANY_PROJECT = -1;
+
+    private static final Map<Integer, Counter> counters = new ConcurrentHashMap<>();
+    private static final Map<Integer, Integer> sprintProjects = new ConcurrentHashMap<>();
+    private static final Map<Integer, Change> changes = new ConcurrentHashMap<>();
+    private static final AtomicLong epoch = new AtomicLong();
+
+    private ProjectSummaryCounters() {
+    }
+
+    /**
+     * Значения счетчиков проекта на момент чтения.
+     */
+    public static final class Counts {
+        private final long tasks;
+        private final long sprints;
+        private final long members;
+
+        public Counts(long tasks, long sprints, long members) {
+            this.tasks = tasks;
+            this.sprints = sprints;
+            this.members = members;
+        }
+
+        public long getTasks() {
+            return tasks;
+        }
+
+        public long getSprints() {
+            return sprints;
+        }
+
+        public long getMembers() {
+            return members;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Counts counts = (Counts) o;
+            return tasks == counts.tasks && sprints == counts.sprints && members == counts.members;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(tasks, sprints, members);
+        }
+
+        @Override
+        public String toString() {
+            return "Counts{" +
+                    "tasks=" + tasks +
+                    ", sprints=" + sprints +
+                    ", members=" + members +
+                    '}';
+        }
+    }
+
+    /**
+     * Изменяемые счетчики одного проекта.
+     */
+    static final class Counter {
+        final AtomicLong tasks = new AtomicLong();
+        final AtomicLong sprints = new AtomicLong();
+        final AtomicLong members = new AtomicLong();
+
+        Counter(Counts counts) {
+            tasks.set(counts.getTasks());
+            sprints.set(counts.getSprints());
+            members.set(counts.getMembers());
+        }
+
+        Counts snapshot() {
+            return new Counts(tasks.get(), sprints.get(), members.get());
+        }
+    }
+
+    /**
+     * Незавершенные изменения проекта и номер последнего начала или завершения изменения.
+     */
+    private static final class Change {
+        final AtomicLong inFlight = new AtomicLong();
+        volatile long lastEpoch;
+    }
+
+    /**
+     * Возвращает счетчики проекта, если они загружены.
+     * @param projectId Идентификатор проекта
+     * @return Значения счетчиков или null
+     */
+    public static Counts get(int projectId) {
+        Counter counter = counters.get(projectId);
+        return counter != null ? counter.snapshot() : null;
+    }
+
+    /**
+     * Возвращает номер последнего начатого изменения. Его нужно получить до запроса к базе данных
+     * и передать в {@link #store} или {@link #reconcile}.
+     * @return Номер изменения
+     */
+    public static long currentEpoch() {
+        return epoch.get();
+    }
+
+    /**
+     * Сохраняет прочитанные из базы данных счетчики проекта, если с момента since по проекту не было изменений.
+     * @param projectId Идентификатор проекта
+     * @param counts Счетчики
+     * @param sprintIds Идентификаторы спринтов проекта
+     * @param since Номер изменения, полученный до запроса
+     * @return true, если счетчики сохранены
+     */
+    public static boolean store(int projectId, Counts counts, Collection<Integer> sprintIds, long since) {
+        if (!isStable(projectId, since)) {
+            return false;
+        }
+        sprintIds.forEach(sprintId -> sprintProjects.put(sprintId, projectId));
+        counters.put(projectId, new Counter(counts));
+        return true;
+    }
+
+    /**
+     * Заменяет все счетчики значениями, прочитанными из базы данных.
+     * Проекты, по которым за время чтения были изменения, выгружаются и будут прочитаны заново.
+     * @param actual Идентификатор проекта → счетчики для всех существующих проектов
+     * @param sprints Идентификатор спринта → идентификатор проекта для всех спринтов
+     * @param since Номер изменения, полученный до запроса
+     * @return Количество загруженных проектов, счетчики которых расходились с базой данных
+     */
+    public static int reconcile(Map<Integer, Counts> actual, Map<Integer, Integer> sprints, long since) {
+        String methodName = "reconcile";
+        // Удаленные в обход Hibernate спринты не мешают: идентификаторы не переиспользуются
+        sprintProjects.putAll(sprints);
+        int corrected = 0;
+        for (Integer projectId : counters.keySet()) {
+            if (!actual.containsKey(projectId)) {
+                counters.remove(projectId);
+                if (isStable(projectId, since)) {
+                    corrected++;
+                }
+            }
+        }
+        for (Map.Entry<Integer, Counts> entry : actual.entrySet()) {
+            int projectId = entry.getKey();
+            Counts cached = get(projectId);
+            if (!isStable(projectId, since)) {
+                counters.remove(projectId);
+                continue;
+            }
+            if (cached != null && !cached.equals(entry.getValue())) {
+                log.warn(String.format(Constants.LOG_DB_DEBUG, methodName, "Счетчики проекта " + projectId
+                        + " расходились с базой данных: " + cached + " вместо " + entry.getValue()));
+                corrected++;
+            }
+            counters.put(projectId, new Counter(entry.getValue()));
+        }
+        return corrected;
+    }
+
+    /**
+     * Выгружает счетчики всех проектов; они будут прочитаны заново при следующем обращении.
+     */
+    public static void invalidate() {
+        counters.clear();
+        sprintProjects.clear();
+    }
+
+    /**
+     * Возвращает проект спринта, если он известен.
+     * Спринты всех загруженных проектов известны.
+     */
+    static Integer projectOfSprint(int sprintId) {
+        return sprintProjects.get(sprintId);
+    }
+
+    /**
+     * Отмечает начало изменения проекта. Вызывается до фиксации транзакции.
+     */
+    static void beginChange(int projectId) {
+        Change change = changes.computeIfAbsent(projectId, key -> new Change());
+        change.inFlight.incrementAndGet();
+        change.lastEpoch = epoch.incrementAndGet();
+    }
+
+    /**
+     * Завершает изменение проекта: после успешной фиксации применяет его к загруженным счетчикам.
+     * @param projectId Идентификатор проекта
+     * @param committed true, если транзакция зафиксирована
+     * @param update Изменение счетчиков
+     */
+    static void endChange(int projectId, boolean committed, Consumer<Counter> update) {
+        try {
+            if (committed && projectId != ANY_PROJECT) {
+                Counter counter = counters.get(projectId);
+                if (counter != null) {
+                    update.accept(counter);
+                }
+            }
+        } finally {
+            Change change = changes.get(projectId);
+            // Фиксация могла произойти после запроса, начатого до этого момента
+            change.lastEpoch = epoch.incrementAndGet();
+            change.inFlight.decrementAndGet();
+        }
+    }
+
+    /**
+     * Создает нулевые счетчики нового проекта после фиксации его создания.
+     */
+    static void create(int projectId) {
+        counters.putIfAbsent(projectId, new Counter(new Counts(0, 0, 0)));
+    }
+
+    /**
+     * Отмечает спринт проекта после фиксации его создания.
+     */
+    static void mapSprint(int sprintId, int projectId) {
+        sprintProjects.put(sprintId, projectId);
+    }
+
+    /**
+     * Забывает спринт после фиксации его удаления.
+     */
+    static void unmapSprint(int sprintId) {
+        sprintProjects.remove(sprintId);
+    }
+
+    /**
+     * Выгружает счетчики проекта, например после его удаления или если изменение нельзя применить инкрементально.
+     */
+    static void evict(int projectId) {
+        counters.remove(projectId);
+        sprintProjects.values().removeIf(project -> project == projectId);
+    }
+
+    private static boolean isStable(int projectId, long since) {
+        return isStable(changes.get(projectId), since) && isStable(changes.get(ANY_PROJECT), since);
+    }
+
+    private static boolean isStable(Change change, long since) {
+        return change == null || (change.inFlight.get() == 0 && change.lastEpoch <= since);
+    }
+}
@@ -0,0 +1,223 @@
+package ru.sfedu.agileflow.lab5;
+
+import org.hibernate.Hibernate;
+import org.hibernate.collection.spi.PersistentCollection;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionRemoveEvent;
+import org.hibernate.event.spi.PostCollectionRemoveEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.proxy.LazyInitializer;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Слушатель событий Hibernate для PU лабораторной работы 5, поддерживающий {@link ProjectSummaryCounters}:
+ * создание и удаление задач и спринтов, перенос задачи в спринт другого проекта и изменение
+ * состава участников проекта. Изменение применяется к счетчикам после фиксации транзакции
+ * и не применяется при откате.
+ * <p>
+ * Слушатель не обращается к базе данных и не инициализирует ленивые связи: проект задачи
+ * определяется по известному спринту, а если спринт неизвестен, значит счетчики его проекта
+ * не загружены и изменять нечего.
+ */
+public class ProjectSummaryListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener,
+        PostCollectionRecreateEventListener, PostCollectionUpdateEventListener, PostCollectionRemoveEventListener {
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        Object entity = event.getEntity();
+        if (entity instanceof Task task) {
+            Integer projectId = projectOf(task.getSprint());
+            if (projectId != null) {
+                change(event.getSession(), projectId, null, counter -> counter.tasks.incrementAndGet());
+            }
+        } else if (entity instanceof Sprint sprint) {
+            Integer projectId = idOf(sprint.getProject());
+            if (projectId != null) {
+                int sprintId = sprint.getId();
+                change(event.getSession(), projectId, () -> ProjectSummaryCounters.mapSprint(sprintId, projectId),
+                        counter -> counter.sprints.incrementAndGet());
+            }
+        } else if (entity instanceof Project project) {
+            int projectId = project.getId();
+            change(event.getSession(), projectId, () -> ProjectSummaryCounters.create(projectId), counter -> { });
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        Object entity = event.getEntity();
+        if (entity instanceof Task) {
+            Object[] sprints = changedValues(event, "sprint");
+            if (sprints != null) {
+                Integer from = projectOf((Sprint) sprints[0]);
+                Integer to = projectOf((Sprint) sprints[1]);
+                if (!Objects.equals(from, to) || Objects.equals(from, ProjectSummaryCounters.ANY_PROJECT)) {
+                    if (from != null) {
+                        change(event.getSession(), from, null, counter -> counter.tasks.decrementAndGet());
+                    }
+                    if (to != null) {
+                        change(event.getSession(), to, null, counter -> counter.tasks.incrementAndGet());
+                    }
+                }
+            }
+        } else if (entity instanceof Sprint sprint) {
+            Object[] projects = changedValues(event, "project");
+            if (projects != null) {
+                // Количество задач спринта неизвестно: оба проекта будут прочитаны заново
+                int sprintId = sprint.getId();
+                for (Object project : projects) {
+                    Integer projectId = idOf((Project) project);
+                    if (projectId != null) {
+                        change(event.getSession(), projectId, () -> {
+                            ProjectSummaryCounters.unmapSprint(sprintId);
+                            ProjectSummaryCounters.evict(projectId);
+                        }, counter -> { });
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        Object entity = event.getEntity();
+        if (entity instanceof Task task) {
+            Integer projectId = projectOf(task.getSprint());
+            if (projectId != null) {
+                change(event.getSession(), projectId, null, counter -> counter.tasks.decrementAndGet());
+            }
+        } else if (entity instanceof Sprint sprint) {
+            Integer projectId = idOf(sprint.getProject());
+            if (projectId != null) {
+                int sprintId = sprint.getId();
+                change(event.getSession(), projectId, () -> ProjectSummaryCounters.unmapSprint(sprintId),
+                        counter -> counter.sprints.decrementAndGet());
+            }
+        } else if (entity instanceof Project project) {
+            int projectId = project.getId();
+            change(event.getSession(), projectId, () -> ProjectSummaryCounters.evict(projectId), counter -> { });
+        }
+    }
+
+    @Override
+    public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+        membersChanged(event);
+    }
+
+    @Override
+    public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+        membersChanged(event);
+    }
+
+    @Override
+    public void onPostRemoveCollection(PostCollectionRemoveEvent event) {
+        if (isUsers(event)) {
+            change(event.getSession(), (Integer) event.getAffectedOwnerIdOrNull(), null, counter -> counter.members.set(0));
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void membersChanged(AbstractCollectionEvent event) {
+        PersistentCollection<?> collection = event.getCollection();
+        if (!isUsers(event)) {
+            return;
+        }
+        int projectId = (Integer) event.getAffectedOwnerIdOrNull();
+        if (collection.wasInitialized()) {
+            int members = ((Collection<?>) collection).size();
+            change(event.getSession(), projectId, null, counter -> counter.members.set(members));
+        } else {
+            // Изменения накоплены без загрузки коллекции, итоговый размер неизвестен
+            change(event.getSession(), projectId, () -> ProjectSummaryCounters.evict(projectId), counter -> { });
+        }
+    }
+
+    /**
+     * Проверяет, что событие относится к участникам проекта. Роль коллекции при создании
+     * еще не заполнена, поэтому коллекция сравнивается с полем владельца.
+     */
+    private static boolean isUsers(AbstractCollectionEvent event) {
+        return event.getAffectedOwnerOrNull() instanceof Project project
+                && project.getUsers() == event.getCollection()
+                && event.getAffectedOwnerIdOrNull() != null;
+    }
+
+    /**
+     * Регистрирует изменение проекта: отмечает его начало сейчас, а после завершения транзакции
+     * при фиксации выполняет onCommit и применяет update к загруженным счетчикам.
+     */
+    private static void change(EventSource session, int projectId, Runnable onCommit,
+                               Consumer<ProjectSummaryCounters.Counter> update) {
+        ProjectSummaryCounters.beginChange(projectId);
+        session.getActionQueue().registerProcess((committed, completedSession) -> {
+            if (committed && onCommit != null) {
+                onCommit.run();
+            }
+            ProjectSummaryCounters.endChange(projectId, committed, update);
+        });
+    }
+
+    /**
+     * Возвращает проект спринта; {@link ProjectSummaryCounters#ANY_PROJECT}, если спринт есть, но его проект неизвестен;
+     * null, если спринта нет.
+     */
+    private static Integer projectOf(Sprint sprint) {
+        Integer sprintId = idOf(sprint);
+        if (sprintId == null) {
+            return null;
+        }
+        Integer projectId = ProjectSummaryCounters.projectOfSprint(sprintId);
+        if (projectId == null && Hibernate.isInitialized(sprint)) {
+            projectId = idOf(sprint.getProject());
+        }
+        return projectId != null ? projectId : ProjectSummaryCounters.ANY_PROJECT;
+    }
+
+    private static Integer idOf(Sprint sprint) {
+        if (sprint == null) {
+            return null;
+        }
+        LazyInitializer proxy = HibernateProxy.extractLazyInitializer(sprint);
+        return proxy != null ? (Integer) proxy.getIdentifier() : Integer.valueOf(sprint.getId());
+    }
+
+    private static Integer idOf(Project project) {
+        if (project == null) {
+            return null;
+        }
+        LazyInitializer proxy = HibernateProxy.extractLazyInitializer(project);
+        return proxy != null ? (Integer) proxy.getIdentifier() : Integer.valueOf(project.getId());
+    }
+
+    /**
+     * Возвращает старое и новое значение свойства, если оно изменилось и старое значение известно.
+     */
+    private static Object[] changedValues(PostUpdateEvent event, String property) {
+        int index = Arrays.asList(event.getPersister().getPropertyNames()).indexOf(property);
+        if (index < 0 || event.getOldState() == null) {
+            return null;
+        }
+        Object before = event.getOldState()[index];
+        Object after = event.getState()[index];
+        return before == after ? null : new Object[]{before, after};
+    }
+}
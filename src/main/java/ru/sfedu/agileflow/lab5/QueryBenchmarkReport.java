@@ -0,0 +1,257 @@
+package ru.sfedu.agileflow.lab5;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Отчет сравнения вариантов запроса ({@link SummaryDAO#analyzeTaskCountPerformance(int, int, int, int)}):
+ * параметры замера и статистика длительностей по каждому варианту в порядке замера.
+ */
+public final class QueryBenchmarkReport {
+    /**
+     * Квантили распределения Стьюдента t(0.975, df) для df от 1 до 30; при большем числе
+     * степеней свободы используется нормальное приближение.
+     */
+    private static final double[] T_975 = {
+            12.706, 4.303, 3.182, 2.776, 2.571, 2.447, 2.365, 2.306, 2.262, 2.228,
+            2.201, 2.179, 2.160, 2.145, 2.131, 2.120, 2.110, 2.101, 2.093, 2.086,
+            2.080, 2.074, 2.069, 2.064, 2.060, 2.056, 2.052, 2.048, 2.045, 2.042
+    };
+    private static final double Z_975 = 1.960;
+
+    private final int projectId;
+    private final int warmupIterations;
+    private final int measurementIterations;
+    private final int threads;
+    private final Map<String, Statistics> variants = new LinkedHashMap<>();
+
+    QueryBenchmarkReport(int projectId, int warmupIterations, int measurementIterations, int threads) {
+        this.projectId = projectId;
+        this.warmupIterations = warmupIterations;
+        this.measurementIterations = measurementIterations;
+        this.threads = threads;
+    }
+
+    void add(Statistics statistics) {
+        variants.put(statistics.getName(), statistics);
+    }
+
+    public int getProjectId() {
+        return projectId;
+    }
+
+    public int getWarmupIterations() {
+        return warmupIterations;
+    }
+
+    public int getMeasurementIterations() {
+        return measurementIterations;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Возвращает статистику всех вариантов.
+     * @return Название варианта → статистика в порядке замера
+     */
+    public Map<String, Statistics> getVariants() {
+        return Collections.unmodifiableMap(variants);
+    }
+
+    /**
+     * Возвращает статистику варианта.
+     * @param name Название варианта (NativeSQL, HQL, Criteria)
+     * @return Статистика или null, если вариант не замерялся
+     */
+    public Statistics getVariant(String name) {
+        return variants.get(name);
+    }
+
+    /**
+     * Возвращает средние длительности вариантов.
+     * @return Название варианта → среднее в наносекундах
+     */
+    public Map<String, Long> getMeans() {
+        Map<String, Long> means = new LinkedHashMap<>();
+        variants.forEach((name, statistics) -> means.put(name, Math.round(statistics.getMeanNanos())));
+        return means;
+    }
+
+    /**
+     * Форматирует отчет таблицей для вывода в консоль. Длительности в микросекундах.
+     * @return Текст отчета
+     */
+    public String format() {
+        StringBuilder builder = new StringBuilder();
+        builder.append(String.format("Проект %d: прогрев %d, замер %d итераций, потоков %d%n",
+                projectId, warmupIterations, measurementIterations, threads));
+        builder.append(String.format("%-10s %8s %10s %10s %21s %10s %10s %10s %10s %10s%n",
+                "Вариант", "n", "среднее", "ст.откл.", "95% дов. интервал", "p50", "p90", "p99", "макс.", "оп/с"));
+        for (Statistics s : variants.values()) {
+            builder.append(String.format("%-10s %8d %10.1f %10.1f %10.1f..%-9.1f %10.1f %10.1f %10.1f %10.1f %10.1f%n",
+                    s.getName(), s.getCount(), micros(s.getMeanNanos()), micros(s.getStdDevNanos()),
+                    micros(s.getConfidenceLowNanos()), micros(s.getConfidenceHighNanos()),
+                    micros(s.getP50Nanos()), micros(s.getP90Nanos()), micros(s.getP99Nanos()),
+                    micros(s.getMaxNanos()), s.getThroughput()));
+        }
+        return builder.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "QueryBenchmarkReport{" +
+                "projectId=" + projectId +
+                ", warmupIterations=" + warmupIterations +
+                ", measurementIterations=" + measurementIterations +
+                ", threads=" + threads +
+                ", variants=" + variants.values() +
+                '}';
+    }
+
+    private static double micros(double nanos) {
+        return nanos / TimeUnit.MICROSECONDS.toNanos(1);
+    }
+
+    /**
+     * Статистика длительностей одного варианта запроса по всем потокам.
+     * Доверительный интервал среднего строится по распределению Стьюдента с уровнем 95%
+     * в предположении независимости замеров.
+     */
+    public static final class Statistics {
+        private final String name;
+        private final int count;
+        private final double meanNanos;
+        private final double stdDevNanos;
+        private final double confidenceLowNanos;
+        private final double confidenceHighNanos;
+        private final long minNanos;
+        private final long p50Nanos;
+        private final long p90Nanos;
+        private final long p99Nanos;
+        private final long maxNanos;
+        private final double throughput;
+
+        private Statistics(String name, long[] sorted, long wallNanos) {
+            this.name = name;
+            this.count = sorted.length;
+            double sum = 0;
+            for (long sample : sorted) {
+                sum += sample;
+            }
+            this.meanNanos = sum / count;
+            double squares = 0;
+            for (long sample : sorted) {
+                squares += (sample - meanNanos) * (sample - meanNanos);
+            }
+            this.stdDevNanos = count > 1 ? Math.sqrt(squares / (count - 1)) : 0;
+            double halfWidth = count > 1 ? tQuantile(count - 1) * stdDevNanos / Math.sqrt(count) : 0;
+            this.confidenceLowNanos = meanNanos - halfWidth;
+            this.confidenceHighNanos = meanNanos + halfWidth;
+            this.minNanos = sorted[0];
+            this.p50Nanos = percentile(sorted, 0.50);
+            this.p90Nanos = percentile(sorted, 0.90);
+            this.p99Nanos = percentile(sorted, 0.99);
+            this.maxNanos = sorted[count - 1];
+            this.throughput = wallNanos > 0 ? count * (double) TimeUnit.SECONDS.toNanos(1) / wallNanos : 0;
+        }
+
+        /**
+         * Вычисляет статистику по замерам.
+         * @param name Название варианта
+         * @param samples Длительности операций в наносекундах, не пустой массив
+         * @param wallNanos Время замера по часам от начала первой до конца последней операции
+         * @return Статистика
+         */
+        static Statistics of(String name, long[] samples, long wallNanos) {
+            if (samples.length == 0) {
+                throw new IllegalArgumentException("At least one sample is required");
+            }
+            long[] sorted = samples.clone();
+            Arrays.sort(sorted);
+            return new Statistics(name, sorted, wallNanos);
+        }
+
+        private static double tQuantile(int degreesOfFreedom) {
+            return degreesOfFreedom <= T_975.length ? T_975[degreesOfFreedom - 1] : Z_975;
+        }
+
+        /**
+         * Процентиль методом ближайшего ранга.
+         */
+        private static long percentile(long[] sorted, double quantile) {
+            int rank = (int) Math.ceil(quantile * sorted.length);
+            return sorted[Math.max(rank, 1) - 1];
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public double getMeanNanos() {
+            return meanNanos;
+        }
+
+        public double getStdDevNanos() {
+            return stdDevNanos;
+        }
+
+        public double getConfidenceLowNanos() {
+            return confidenceLowNanos;
+        }
+
+        public double getConfidenceHighNanos() {
+            return confidenceHighNanos;
+        }
+
+        public long getMinNanos() {
+            return minNanos;
+        }
+
+        public long getP50Nanos() {
+            return p50Nanos;
+        }
+
+        public long getP90Nanos() {
+            return p90Nanos;
+        }
+
+        public long getP99Nanos() {
+            return p99Nanos;
+        }
+
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+
+        /**
+         * Возвращает пропускную способность всех потоков вместе.
+         * @return Операций в секунду
+         */
+        public double getThroughput() {
+            return throughput;
+        }
+
+        @Override
+        public String toString() {
+            return "Statistics{" +
+                    "name='" + name + '\'' +
+                    ", count=" + count +
+                    ", meanNanos=" + meanNanos +
+                    ", stdDevNanos=" + stdDevNanos +
+                    ", p50Nanos=" + p50Nanos +
+                    ", p99Nanos=" + p99Nanos +
+                    ", maxNanos=" + maxNanos +
+                    ", throughput=" + throughput +
+                    '}';
+        }
+    }
+}
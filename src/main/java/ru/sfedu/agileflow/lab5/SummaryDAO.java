@@ -10,14 +10,43 @@ import org.hibernate.Session;
 import ru.sfedu.agileflow.config.DatabaseConfig;
 import ru.sfedu.agileflow.constants.Constants;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
 
 /**
  * DAO-класс для выполнения суммарных запросов по сущностям с использованием NativeSQL, Criteria API и HQL.
+ * Методы без суффикса (getTaskCountByProject и др.) читают счетчики {@link ProjectSummaryCounters}
+ * и обращаются к базе данных только при первом чтении проекта.
  */
 public class SummaryDAO {
     private static final Logger log = Logger.getLogger(SummaryDAO.class);
+    private static final long DEFAULT_RECONCILE_INTERVAL = TimeUnit.MINUTES.toMillis(5);
+    private static final ScheduledExecutorService reconciler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "summary-reconciliation");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static ScheduledFuture<?> reconciliation;
+    /** Максимальное количество проектов в одном запросе сводки. */
+    private static final int SUMMARY_BATCH_SIZE = 1000;
+    private static final String SUMMARY_SQL = buildSummarySql();
 
     /**
      * Выполняет NativeSQL-запрос для получения количества задач в проекте.
@@ -26,11 +55,15 @@ public class SummaryDAO {
      */
     public Long getTaskCountByProjectNativeSQL(int projectId) {
         String methodName = "getTaskCountByProjectNativeSQL";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
         log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "projectId: " + projectId));
 
         try (EntityManager em = DatabaseConfig.getLab5EntityManager()) {
-            log.info(String.format(Constants.LOG_DB_OPERATION, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
             Long count = (Long) em.createNativeQuery(
                             "SELECT COUNT(t.id) " +
                                     "FROM lab5_tasks t " +
@@ -39,7 +72,9 @@ public class SummaryDAO {
                     .setParameter("projectId", projectId)
                     .getSingleResult();
             log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Task count: " + count));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
             return count;
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
@@ -54,12 +89,16 @@ public class SummaryDAO {
      */
     public Long getTaskCountByProjectHQL(int projectId) {
         String methodName = "getTaskCountByProjectHQL";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
         log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "projectId: " + projectId));
 
         try (EntityManager em = DatabaseConfig.getLab5EntityManager()) {
             Session session = em.unwrap(Session.class);
-            log.info(String.format(Constants.LOG_DB_OPERATION, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
             Long count = (Long) session.createQuery(
                             "SELECT COUNT(t.id) " +
                                     "FROM Task t " +
@@ -68,7 +107,9 @@ public class SummaryDAO {
                     .setParameter("projectId", projectId)
                     .uniqueResult();
             log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Task count: " + count));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
             return count;
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
@@ -83,11 +124,15 @@ public class SummaryDAO {
      */
     public Long getTaskCountByProjectCriteria(int projectId) {
         String methodName = "getTaskCountByProjectCriteria";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
         log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "projectId: " + projectId));
 
         try (EntityManager em = DatabaseConfig.getLab5EntityManager()) {
-            log.info(String.format(Constants.LOG_DB_OPERATION, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
             CriteriaBuilder cb = em.getCriteriaBuilder();
             CriteriaQuery<Long> cq = cb.createQuery(Long.class);
             Root<Task> taskRoot = cq.from(Task.class);
@@ -99,7 +144,9 @@ public class SummaryDAO {
 
             Long count = em.createQuery(cq).getSingleResult();
             log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Task count: " + count));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
             return count;
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
@@ -114,11 +161,15 @@ public class SummaryDAO {
      */
     public Long getUserCountByProjectNativeSQL(int projectId) {
         String methodName = "getUserCountByProjectNativeSQL";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
         log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "projectId: " + projectId));
 
         try (EntityManager em = DatabaseConfig.getLab5EntityManager()) {
-            log.info(String.format(Constants.LOG_DB_OPERATION, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
             Long count = (Long) em.createNativeQuery(
                             "SELECT COUNT(u.id) " +
                                     "FROM lab5_users u " +
@@ -127,7 +178,9 @@ public class SummaryDAO {
                     .setParameter("projectId", projectId)
                     .getSingleResult();
             log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "User count: " + count));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
             return count;
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
@@ -142,12 +195,16 @@ public class SummaryDAO {
      */
     public Long getUserCountByProjectHQL(int projectId) {
         String methodName = "getUserCountByProjectHQL";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
         log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "projectId: " + projectId));
 
         try (EntityManager em = DatabaseConfig.getLab5EntityManager()) {
             Session session = em.unwrap(Session.class);
-            log.info(String.format(Constants.LOG_DB_OPERATION, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
             Long count = (Long) session.createQuery(
                             "SELECT COUNT(u.id) " +
                                     "FROM Project p " +
@@ -156,7 +213,9 @@ public class SummaryDAO {
                     .setParameter("projectId", projectId)
                     .uniqueResult();
             log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "User count: " + count));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
             return count;
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
@@ -171,11 +230,15 @@ public class SummaryDAO {
      */
     public Long getUserCountByProjectCriteria(int projectId) {
         String methodName = "getUserCountByProjectCriteria";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
         log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "projectId: " + projectId));
 
         try (EntityManager em = DatabaseConfig.getLab5EntityManager()) {
-            log.info(String.format(Constants.LOG_DB_OPERATION, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
             CriteriaBuilder cb = em.getCriteriaBuilder();
             CriteriaQuery<Long> cq = cb.createQuery(Long.class);
             Root<Project> projectRoot = cq.from(Project.class);
@@ -186,7 +249,9 @@ public class SummaryDAO {
 
             Long count = em.createQuery(cq).getSingleResult();
             log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "User count: " + count));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
             return count;
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
@@ -201,11 +266,15 @@ public class SummaryDAO {
      */
     public Long getSprintCountByProjectNativeSQL(int projectId) {
         String methodName = "getSprintCountByProjectNativeSQL";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
         log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "projectId: " + projectId));
 
         try (EntityManager em = DatabaseConfig.getLab5EntityManager()) {
-            log.info(String.format(Constants.LOG_DB_OPERATION, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
             Long count = (Long) em.createNativeQuery(
                             "SELECT COUNT(s.id) " +
                                     "FROM lab5_sprints s " +
@@ -213,7 +282,9 @@ public class SummaryDAO {
                     .setParameter("projectId", projectId)
                     .getSingleResult();
             log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Sprint count: " + count));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
             return count;
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
@@ -228,12 +299,16 @@ public class SummaryDAO {
      */
     public Long getSprintCountByProjectHQL(int projectId) {
         String methodName = "getSprintCountByProjectHQL";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
         log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "projectId: " + projectId));
 
         try (EntityManager em = DatabaseConfig.getLab5EntityManager()) {
             Session session = em.unwrap(Session.class);
-            log.info(String.format(Constants.LOG_DB_OPERATION, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
             Long count = (Long) session.createQuery(
                             "SELECT COUNT(s.id) " +
                                     "FROM Sprint s " +
@@ -241,7 +316,9 @@ public class SummaryDAO {
                     .setParameter("projectId", projectId)
                     .uniqueResult();
             log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Sprint count: " + count));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
             return count;
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
@@ -256,11 +333,15 @@ public class SummaryDAO {
      */
     public Long getSprintCountByProjectCriteria(int projectId) {
         String methodName = "getSprintCountByProjectCriteria";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
         log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "projectId: " + projectId));
 
         try (EntityManager em = DatabaseConfig.getLab5EntityManager()) {
-            log.info(String.format(Constants.LOG_DB_OPERATION, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
             CriteriaBuilder cb = em.getCriteriaBuilder();
             CriteriaQuery<Long> cq = cb.createQuery(Long.class);
             Root<Sprint> sprintRoot = cq.from(Sprint.class);
@@ -271,7 +352,9 @@ public class SummaryDAO {
 
             Long count = em.createQuery(cq).getSingleResult();
             log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Sprint count: " + count));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
             return count;
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
@@ -280,55 +363,375 @@ public class SummaryDAO {
     }
 
     /**
-     * Анализирует производительность запроса для подсчета задач в проекте.
+     * Возвращает количество задач в проекте из счетчиков без запроса к базе данных.
      * @param projectId Идентификатор проекта
-     * @param iterations Количество итераций для замера
-     * @return Map с результатами времени выполнения (в наносекундах)
+     * @return Количество задач
      */
-    public Map<String, Long> analyzeTaskCountPerformance(int projectId, int iterations) {
-        String methodName = "analyzeTaskCountPerformance";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "projectId: " + projectId + ", iterations: " + iterations));
+    public long getTaskCountByProject(int projectId) {
+        return getProjectCounters(projectId).getTasks();
+    }
 
-        Map<String, Long> results = new HashMap<>();
-        long nativeSqlTotalTime = 0;
-        long hqlTotalTime = 0;
-        long criteriaTotalTime = 0;
+    /**
+     * Возвращает количество участников проекта из счетчиков без запроса к базе данных.
+     * @param projectId Идентификатор проекта
+     * @return Количество пользователей
+     */
+    public long getUserCountByProject(int projectId) {
+        return getProjectCounters(projectId).getMembers();
+    }
+
+    /**
+     * Возвращает количество спринтов в проекте из счетчиков без запроса к базе данных.
+     * @param projectId Идентификатор проекта
+     * @return Количество спринтов
+     */
+    public long getSprintCountByProject(int projectId) {
+        return getProjectCounters(projectId).getSprints();
+    }
 
+    /**
+     * Возвращает счетчики проекта. Если они еще не загружены, читает их из базы данных двумя запросами
+     * и сохраняет; при первом обращении запускает периодическую сверку
+     * (интервал задается свойством {@code summary.reconcile.interval} в миллисекундах, 0 отключает сверку).
+     * Для несуществующего проекта возвращаются нули, которые не сохраняются.
+     * @param projectId Идентификатор проекта
+     * @return Счетчики проекта
+     */
+    public ProjectSummaryCounters.Counts getProjectCounters(int projectId) {
+        String methodName = "getProjectCounters";
+        ProjectSummaryCounters.Counts counts = ProjectSummaryCounters.get(projectId);
+        if (counts != null) {
+            return counts;
+        }
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
+        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "projectId: " + projectId));
+        startCounterReconciliation(Long.getLong(Constants.SUMMARY_RECONCILE_INTERVAL_KEY, DEFAULT_RECONCILE_INTERVAL));
+
+        long since = ProjectSummaryCounters.currentEpoch();
         try (EntityManager em = DatabaseConfig.getLab5EntityManager()) {
-            for (int i = 0; i < iterations; i++) {
-                // NativeSQL
-                long startTime = System.nanoTime();
-                getTaskCountByProjectNativeSQL(projectId);
-                long endTime = System.nanoTime();
-                nativeSqlTotalTime += (endTime - startTime);
-
-                // HQL
-                startTime = System.nanoTime();
-                getTaskCountByProjectHQL(projectId);
-                endTime = System.nanoTime();
-                hqlTotalTime += (endTime - startTime);
-
-                // Criteria
-                startTime = System.nanoTime();
-                getTaskCountByProjectCriteria(projectId);
-                endTime = System.nanoTime();
-                criteriaTotalTime += (endTime - startTime);
-            }
-
-            results.put("NativeSQL", nativeSqlTotalTime / iterations);
-            results.put("HQL", hqlTotalTime / iterations);
-            results.put("Criteria", criteriaTotalTime / iterations);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
+            Object[] row = (Object[]) em.createNativeQuery(
+                            "SELECT (SELECT COUNT(p.id) FROM lab5_projects p WHERE p.id = :projectId), " +
+                                    "(SELECT COUNT(t.id) FROM lab5_tasks t " +
+                                    "JOIN lab5_sprints s ON t.sprint_id = s.id WHERE s.project_id = :projectId), " +
+                                    "(SELECT COUNT(pu.user_id) FROM lab5_project_users pu WHERE pu.project_id = :projectId)")
+                    .setParameter("projectId", projectId)
+                    .getSingleResult();
+            List<Integer> sprintIds = ((List<?>) em.createNativeQuery(
+                            "SELECT s.id FROM lab5_sprints s WHERE s.project_id = :projectId")
+                    .setParameter("projectId", projectId)
+                    .getResultList()).stream().map(id -> ((Number) id).intValue()).toList();
+            counts = new ProjectSummaryCounters.Counts(((Number) row[1]).longValue(), sprintIds.size(),
+                    ((Number) row[2]).longValue());
+            if (((Number) row[0]).longValue() > 0) {
+                boolean stored = ProjectSummaryCounters.store(projectId, counts, sprintIds, since);
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName,
+                        "Counters loaded: " + counts + (stored ? "" : ", not cached due to concurrent changes")));
+            }
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+            return counts;
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
+            throw new RuntimeException("Failed to load project counters", e);
+        }
+    }
 
+    /**
+     * Сверяет счетчики всех проектов с базой данных четырьмя запросами с группировкой и исправляет расхождения,
+     * например после массовых операций в обход Hibernate. После сверки загружены счетчики всех проектов.
+     * @return Количество проектов, счетчики которых были исправлены
+     */
+    public int reconcileSummaryCounters() {
+        String methodName = "reconcileSummaryCounters";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
+        long since = ProjectSummaryCounters.currentEpoch();
+        try (EntityManager em = DatabaseConfig.getLab5EntityManager()) {
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
+            Map<Integer, long[]> values = new HashMap<>();
+            for (Object id : em.createNativeQuery("SELECT p.id FROM lab5_projects p").getResultList()) {
+                values.put(((Number) id).intValue(), new long[3]);
+            }
+            Map<Integer, Integer> sprints = new HashMap<>();
+            for (Object result : em.createNativeQuery("SELECT s.id, s.project_id FROM lab5_sprints s").getResultList()) {
+                Object[] row = (Object[]) result;
+                if (row[1] != null) {
+                    int projectId = ((Number) row[1]).intValue();
+                    sprints.put(((Number) row[0]).intValue(), projectId);
+                    values.computeIfPresent(projectId, (id, counts) -> {
+                        counts[1]++;
+                        return counts;
+                    });
+                }
+            }
+            addGrouped(em, values, 0, "SELECT s.project_id, COUNT(t.id) " +
+                    "FROM lab5_tasks t JOIN lab5_sprints s ON t.sprint_id = s.id GROUP BY s.project_id");
+            addGrouped(em, values, 2, "SELECT pu.project_id, COUNT(pu.user_id) " +
+                    "FROM lab5_project_users pu GROUP BY pu.project_id");
+
+            Map<Integer, ProjectSummaryCounters.Counts> actual = new HashMap<>();
+            values.forEach((id, counts) -> actual.put(id, new ProjectSummaryCounters.Counts(counts[0], counts[1], counts[2])));
+            int corrected = ProjectSummaryCounters.reconcile(actual, sprints, since);
             log.debug(String.format(Constants.LOG_DB_DEBUG, methodName,
-                    "Performance results: NativeSQL=" + results.get("NativeSQL") + "ns, " +
-                            "HQL=" + results.get("HQL") + "ns, " +
-                            "Criteria=" + results.get("Criteria") + "ns"));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
-            return results;
+                    "Projects: " + actual.size() + ", corrected: " + corrected));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+            return corrected;
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
+            throw new RuntimeException("Failed to reconcile project counters", e);
+        }
+    }
+
+    /**
+     * Запускает периодическую сверку счетчиков в фоновом потоке. Повторный вызов ничего не делает,
+     * пока сверка не остановлена.
+     * @param intervalMillis Интервал между сверками в миллисекундах; 0 или меньше - не запускать
+     */
+    public static synchronized void startCounterReconciliation(long intervalMillis) {
+        if (reconciliation != null || intervalMillis <= 0) {
+            return;
+        }
+        reconciliation = reconciler.scheduleWithFixedDelay(() -> {
+            try {
+                new SummaryDAO().reconcileSummaryCounters();
+            } catch (RuntimeException e) {
+                // Следующая сверка повторит попытку
+                log.error(String.format(Constants.LOG_ERROR, "startCounterReconciliation", e.getMessage()), e);
+            }
+        }, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Останавливает периодическую сверку счетчиков.
+     */
+    public static synchronized void stopCounterReconciliation() {
+        if (reconciliation != null) {
+            reconciliation.cancel(false);
+            reconciliation = null;
+        }
+    }
+
+    private static void addGrouped(EntityManager em, Map<Integer, long[]> values, int index, String sql) {
+        for (Object result : em.createNativeQuery(sql).getResultList()) {
+            Object[] row = (Object[]) result;
+            long[] counts = values.get(((Number) row[0]).intValue());
+            if (counts != null) {
+                counts[index] = ((Number) row[1]).longValue();
+            }
+        }
+    }
+
+    /**
+     * Возвращает сводку по проекту одним запросом к базе данных.
+     * @param projectId Идентификатор проекта
+     * @return Сводка или null, если проекта нет
+     */
+    public ProjectSummary getProjectSummary(int projectId) {
+        return getProjectSummaries(List.of(projectId)).get(projectId);
+    }
+
+    /**
+     * Возвращает сводки по проектам. Все показатели считаются одним SQL-запросом с группировкой
+     * на каждые {@value #SUMMARY_BATCH_SIZE} проектов, поэтому обзор портфеля не выполняет запросов на проект.
+     * @param projectIds Идентификаторы проектов
+     * @return Идентификатор проекта → сводка в порядке идентификаторов; несуществующие проекты отсутствуют
+     */
+    public Map<Integer, ProjectSummary> getProjectSummaries(Collection<Integer> projectIds) {
+        String methodName = "getProjectSummaries";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
+        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "projects: " + projectIds.size()));
+        Map<Integer, ProjectSummary> summaries = new TreeMap<>();
+        if (projectIds.isEmpty()) {
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+            return summaries;
+        }
+        List<Integer> ids = new ArrayList<>(new LinkedHashSet<>(projectIds));
+        try (EntityManager em = DatabaseConfig.getLab5EntityManager()) {
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_OPERATION, methodName));
+            }
+            for (int from = 0; from < ids.size(); from += SUMMARY_BATCH_SIZE) {
+                List<?> rows = em.createNativeQuery(SUMMARY_SQL)
+                        .setParameter("projectIds", ids.subList(from, Math.min(from + SUMMARY_BATCH_SIZE, ids.size())))
+                        .getResultList();
+                for (Object result : rows) {
+                    ProjectSummary summary = toProjectSummary((Object[]) result);
+                    summaries.put(summary.getProjectId(), summary);
+                }
+            }
+            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Summaries found: " + summaries.size()));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+            return summaries;
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
+            throw new RuntimeException("Failed to get project summaries", e);
+        }
+    }
+
+    /**
+     * Строит запрос сводки: задачи, спринты с ретроспективами и участники агрегируются
+     * в отдельных подзапросах с группировкой по проекту, чтобы соединения не размножали строки.
+     * Колонки: id проекта, количество задач по каждому статусу {@link TaskStatus}, средний приоритет,
+     * количество спринтов, спринтов с ретроспективой и участников.
+     */
+    private static String buildSummarySql() {
+        StringBuilder statusColumns = new StringBuilder();
+        StringBuilder taskColumns = new StringBuilder();
+        for (TaskStatus status : TaskStatus.values()) {
+            String column = "status_" + status.ordinal();
+            statusColumns.append("SUM(CASE WHEN t.status = '").append(status.name()).append("' THEN 1 ELSE 0 END) AS ")
+                    .append(column).append(", ");
+            taskColumns.append("COALESCE(ts.").append(column).append(", 0), ");
+        }
+        return "SELECT p.id, " + taskColumns + "ts.avg_priority, " +
+                "COALESCE(ss.sprint_count, 0), COALESCE(ss.retrospective_count, 0), COALESCE(ms.member_count, 0) " +
+                "FROM lab5_projects p " +
+                "LEFT JOIN (SELECT s.project_id, " + statusColumns +
+                "AVG(CAST(t.priority AS DOUBLE PRECISION)) AS avg_priority " +
+                "FROM lab5_tasks t JOIN lab5_sprints s ON t.sprint_id = s.id " +
+                "WHERE s.project_id IN (:projectIds) GROUP BY s.project_id) ts ON ts.project_id = p.id " +
+                "LEFT JOIN (SELECT s.project_id, COUNT(DISTINCT s.id) AS sprint_count, " +
+                "COUNT(DISTINCT r.sprint_id) AS retrospective_count " +
+                "FROM lab5_sprints s LEFT JOIN lab5_retrospectives r ON r.sprint_id = s.id " +
+                "WHERE s.project_id IN (:projectIds) GROUP BY s.project_id) ss ON ss.project_id = p.id " +
+                "LEFT JOIN (SELECT pu.project_id, COUNT(pu.user_id) AS member_count " +
+                "FROM lab5_project_users pu " +
+                "WHERE pu.project_id IN (:projectIds) GROUP BY pu.project_id) ms ON ms.project_id = p.id " +
+                "WHERE p.id IN (:projectIds)";
+    }
+
+    private static ProjectSummary toProjectSummary(Object[] row) {
+        TaskStatus[] statuses = TaskStatus.values();
+        Map<TaskStatus, Long> taskCounts = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus status : statuses) {
+            taskCounts.put(status, ((Number) row[1 + status.ordinal()]).longValue());
+        }
+        int column = 1 + statuses.length;
+        Number averagePriority = (Number) row[column];
+        return new ProjectSummary(((Number) row[0]).intValue(), taskCounts,
+                ((Number) row[column + 1]).longValue(), ((Number) row[column + 2]).longValue(),
+                ((Number) row[column + 3]).longValue(),
+                averagePriority != null ? averagePriority.doubleValue() : null);
+    }
+
+    /**
+     * Анализирует производительность запроса для подсчета задач в проекте.
+     * Каждый вариант прогревается и замеряется iterations раз в одном потоке.
+     * @param projectId Идентификатор проекта
+     * @param iterations Количество итераций для замера
+     * @return Map со средним временем выполнения (в наносекундах)
+     */
+    public Map<String, Long> analyzeTaskCountPerformance(int projectId, int iterations) {
+        return analyzeTaskCountPerformance(projectId, iterations, iterations, 1).getMeans();
+    }
+
+    /**
+     * Сравнивает варианты запроса для подсчета задач в проекте: NativeSQL, HQL и Criteria.
+     * Варианты замеряются по очереди; каждый сначала прогревается, затем все потоки одновременно
+     * начинают замер, поэтому при threads &gt; 1 результат учитывает конкуренцию за пул соединений и базу данных.
+     * @param projectId Идентификатор проекта
+     * @param warmupIterations Количество итераций прогрева в каждом потоке
+     * @param measurementIterations Количество замеров в каждом потоке
+     * @param threads Количество параллельных потоков
+     * @return Отчет со статистикой по каждому варианту
+     */
+    public QueryBenchmarkReport analyzeTaskCountPerformance(int projectId, int warmupIterations,
+                                                            int measurementIterations, int threads) {
+        String methodName = "analyzeTaskCountPerformance";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
+        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "projectId: " + projectId
+                + ", warmup: " + warmupIterations + ", iterations: " + measurementIterations + ", threads: " + threads));
+        if (warmupIterations < 0 || measurementIterations < 1 || threads < 1) {
+            throw new IllegalArgumentException("Warmup must be non-negative, iterations and threads must be positive");
+        }
+
+        Map<String, IntFunction<Long>> variants = new LinkedHashMap<>();
+        variants.put("NativeSQL", this::getTaskCountByProjectNativeSQL);
+        variants.put("HQL", this::getTaskCountByProjectHQL);
+        variants.put("Criteria", this::getTaskCountByProjectCriteria);
+
+        QueryBenchmarkReport report = new QueryBenchmarkReport(projectId, warmupIterations, measurementIterations, threads);
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "summary-benchmark-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            for (Map.Entry<String, IntFunction<Long>> variant : variants.entrySet()) {
+                report.add(measure(executor, variant.getKey(), variant.getValue(), projectId,
+                        warmupIterations, measurementIterations, threads));
+            }
+            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Performance results: " + report.getMeans()));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+            return report;
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()));
             throw new RuntimeException("Failed to analyze performance", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static QueryBenchmarkReport.Statistics measure(ExecutorService executor, String name, IntFunction<Long> query,
+                                                           int projectId, int warmupIterations, int measurementIterations,
+                                                           int threads) throws Exception {
+        CyclicBarrier start = new CyclicBarrier(threads);
+        List<Future<long[]>> results = new ArrayList<>(threads);
+        long[] startTimes = new long[threads];
+        long[] endTimes = new long[threads];
+        for (int t = 0; t < threads; t++) {
+            int index = t;
+            results.add(executor.submit(() -> {
+                try {
+                    for (int i = 0; i < warmupIterations; i++) {
+                        query.apply(projectId);
+                    }
+                } catch (RuntimeException e) {
+                    // Остальные потоки не должны ждать упавший поток на барьере
+                    start.reset();
+                    throw e;
+                }
+                start.await();
+                long[] samples = new long[measurementIterations];
+                startTimes[index] = System.nanoTime();
+                for (int i = 0; i < measurementIterations; i++) {
+                    long startTime = System.nanoTime();
+                    query.apply(projectId);
+                    samples[i] = System.nanoTime() - startTime;
+                }
+                endTimes[index] = System.nanoTime();
+                return samples;
+            }));
+        }
+        long[] samples = new long[threads * measurementIterations];
+        for (int t = 0; t < threads; t++) {
+            long[] threadSamples = results.get(t).get();
+            System.arraycopy(threadSamples, 0, samples, t * measurementIterations, measurementIterations);
         }
+        // Future.get гарантирует видимость записей потоков в массивы времени
+        long wallNanos = Arrays.stream(endTimes).max().orElse(0) - Arrays.stream(startTimes).min().orElse(0);
+        return QueryBenchmarkReport.Statistics.of(name, samples, wallNanos);
     }
-}
\ No newline at end of file
+}
@@ -2,16 +2,21 @@ package ru.sfedu.agileflow.models;
 
 import jakarta.persistence.*;
 import jakarta.xml.bind.annotation.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.List;
 import java.util.Objects;
 
 @Entity
 @Table(name = "projects")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "project")
 @XmlRootElement
 @XmlAccessorType(XmlAccessType.FIELD)
 public class Project {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "projects_seq")
+    @SequenceGenerator(name = "projects_seq", sequenceName = "projects_id_seq", allocationSize = 50)
     @XmlAttribute
     private int id;
 
@@ -22,6 +27,7 @@ public class Project {
     private String description;
 
     @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "project.users")
     @JoinTable(
             name = "project_users",
             joinColumns = @JoinColumn(name = "project_id"),
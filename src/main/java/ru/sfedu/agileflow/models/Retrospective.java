@@ -2,6 +2,7 @@ package ru.sfedu.agileflow.models;
 
 import jakarta.persistence.*;
 import jakarta.xml.bind.annotation.*;
+import org.hibernate.annotations.BatchSize;
 import java.util.List;
 
 @Entity
@@ -10,11 +11,12 @@ import java.util.List;
 @XmlAccessorType(XmlAccessType.FIELD)
 public class Retrospective {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "retrospectives_seq")
+    @SequenceGenerator(name = "retrospectives_seq", sequenceName = "retrospectives_id_seq", allocationSize = 50)
     @XmlAttribute
     private int id;
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "sprint_id")
     @XmlElement
     private Sprint sprint;
@@ -22,14 +24,18 @@ public class Retrospective {
     @XmlElement
     private String summary;
 
-    @ElementCollection(fetch = FetchType.EAGER)
+    // Две коллекции-bag нельзя загрузить одним соединением; при инициализации одной коллекции
+    // Hibernate загружает ее и для остальных ретроспектив контекста, до 50 за запрос
+    @ElementCollection
+    @BatchSize(size = 50)
     @CollectionTable(name = "retrospective_improvements", joinColumns = @JoinColumn(name = "retrospective_id"))
     @Column(name = "improvement")
     @XmlElementWrapper(name = "improvements")
     @XmlElement(name = "improvement")
     private List<String> improvements;
 
-    @ElementCollection(fetch = FetchType.EAGER)
+    @ElementCollection
+    @BatchSize(size = 50)
     @CollectionTable(name = "retrospective_positives", joinColumns = @JoinColumn(name = "retrospective_id"))
     @Column(name = "positive")
     @XmlElementWrapper(name = "positives")
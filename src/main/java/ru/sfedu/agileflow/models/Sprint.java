@@ -2,16 +2,37 @@ package ru.sfedu.agileflow.models;
 
 import jakarta.persistence.*;
 import jakarta.xml.bind.annotation.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.Date;
 import java.util.List;
 
 @Entity
-@Table(name = "sprints")
+@Table(name = "sprints", indexes = @Index(name = "idx_sprints_project_id", columnList = "project_id"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "sprint")
+@NamedEntityGraphs({
+        // Списки спринтов: проект и ретроспектива (обратная сторона @OneToOne загружается всегда)
+        @NamedEntityGraph(name = Sprint.GRAPH_LIST, attributeNodes = {
+                @NamedAttributeNode("project"),
+                @NamedAttributeNode("retrospective")
+        }),
+        // Доска спринта: дополнительно задачи с исполнителями
+        @NamedEntityGraph(name = Sprint.GRAPH_BOARD, attributeNodes = {
+                @NamedAttributeNode("project"),
+                @NamedAttributeNode("retrospective"),
+                @NamedAttributeNode(value = "tasks", subgraph = "tasks")
+        }, subgraphs = @NamedSubgraph(name = "tasks", attributeNodes = @NamedAttributeNode("assignedUser")))
+})
 @XmlRootElement
 @XmlAccessorType(XmlAccessType.FIELD)
 public class Sprint {
+    public static final String GRAPH_LIST = "sprint-list";
+    public static final String GRAPH_BOARD = "sprint-board";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sprints_seq")
+    @SequenceGenerator(name = "sprints_seq", sequenceName = "sprints_id_seq", allocationSize = 50)
     @XmlAttribute
     private int id;
 
@@ -25,12 +46,13 @@ public class Sprint {
     @XmlElement
     private Date endDate;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "project_id")
     @XmlElement
     private Project project;
 
     @OneToMany(mappedBy = "sprint")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "sprint.tasks")
     @XmlElementWrapper(name = "tasks")
     @XmlElement(name = "task")
     private List<Task> tasks;
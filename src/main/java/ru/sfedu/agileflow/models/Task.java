@@ -2,14 +2,45 @@ package ru.sfedu.agileflow.models;
 
 import jakarta.persistence.*;
 import jakarta.xml.bind.annotation.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        @Index(name = "idx_tasks_sprint_id", columnList = "sprint_id"),
+        @Index(name = "idx_tasks_assigned_user_id", columnList = "assigned_user_id"),
+        @Index(name = "idx_tasks_status", columnList = "status")
+})
+// Кэшируется, чтобы попадание в кэш коллекции Sprint.tasks не загружало задачи по одной
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "task")
+// Связи ленивые; что загружать вместе с задачей, выбирает вызов DAO через граф
+@NamedEntityGraphs({
+        // Списки задач: исполнитель и спринт; ретроспектива спринта - обратная сторона @OneToOne,
+        // которую Hibernate иначе догружал бы отдельным запросом на каждый спринт
+        @NamedEntityGraph(name = Task.GRAPH_LIST, attributeNodes = {
+                @NamedAttributeNode("assignedUser"),
+                @NamedAttributeNode(value = "sprint", subgraph = "sprint")
+        }, subgraphs = @NamedSubgraph(name = "sprint", attributeNodes = @NamedAttributeNode("retrospective"))),
+        // Карточка задачи: дополнительно проект спринта
+        @NamedEntityGraph(name = Task.GRAPH_DETAIL, attributeNodes = {
+                @NamedAttributeNode("assignedUser"),
+                @NamedAttributeNode(value = "sprint", subgraph = "sprint")
+        }, subgraphs = @NamedSubgraph(name = "sprint", attributeNodes = {
+                @NamedAttributeNode("project"),
+                @NamedAttributeNode("retrospective")
+        }))
+})
 @XmlRootElement
 @XmlAccessorType(XmlAccessType.FIELD)
 public class Task {
+    public static final String GRAPH_LIST = "task-list";
+    public static final String GRAPH_DETAIL = "task-detail";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Последовательность столбца SERIAL с шагом 50 по размеру пакета JDBC; IDENTITY отключил бы пакетную вставку в Hibernate
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_id_seq", allocationSize = 50)
     @XmlAttribute
     private int id;
 
@@ -26,12 +57,12 @@ public class Task {
     @XmlElement
     private int priority;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "sprint_id")
     @XmlElement
     private Sprint sprint;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "assigned_user_id")
     @XmlElement
     private User assignedUser;
@@ -27,8 +27,10 @@ public class ProjectUserXmlDAO {
      */
     public void addUserToProject(int projectId, int userId) {
         String methodName = "addUserToProject";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "projectId: " + projectId + ", userId: " + userId));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "projectId: " + projectId + ", userId: " + userId));
+        }
 
         try {
             Optional<Project> projectOpt = projectDAO.findById(projectId);
@@ -53,11 +55,17 @@ public class ProjectUserXmlDAO {
             if (!project.getUsers().contains(user)) {
                 project.getUsers().add(user);
                 projectDAO.update(project);
-                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Пользователь добавлен в проект"));
+                if (log.isDebugEnabled()) {
+                    log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Пользователь добавлен в проект"));
+                }
             } else {
-                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Пользователь уже в проекте"));
+                if (log.isDebugEnabled()) {
+                    log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Пользователь уже в проекте"));
+                }
+            }
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
             }
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось добавить пользователя в проект: " + e.getMessage()));
             throw new RuntimeException("Не удалось добавить пользователя в проект", e);
@@ -71,8 +79,10 @@ public class ProjectUserXmlDAO {
      */
     public void removeUserFromProject(int projectId, int userId) {
         String methodName = "removeUserFromProject";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "projectId: " + projectId + ", userId: " + userId));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "projectId: " + projectId + ", userId: " + userId));
+        }
 
         try {
             Optional<Project> projectOpt = projectDAO.findById(projectId);
@@ -93,11 +103,17 @@ public class ProjectUserXmlDAO {
             if (project.getUsers() != null && project.getUsers().contains(user)) {
                 project.getUsers().remove(user);
                 projectDAO.update(project);
-                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Пользователь удален из проекта"));
+                if (log.isDebugEnabled()) {
+                    log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Пользователь удален из проекта"));
+                }
             } else {
-                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Пользователь не найден в проекте"));
+                if (log.isDebugEnabled()) {
+                    log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Пользователь не найден в проекте"));
+                }
+            }
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
             }
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось удалить пользователя из проекта: " + e.getMessage()));
             throw new RuntimeException("Не удалось удалить пользователя из проекта", e);
@@ -111,8 +127,10 @@ public class ProjectUserXmlDAO {
      */
     public List<User> getUsersByProject(int projectId) {
         String methodName = "getUsersByProject";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "projectId: " + projectId));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "projectId: " + projectId));
+        }
 
         try {
             Optional<Project> projectOpt = projectDAO.findById(projectId);
@@ -123,8 +141,10 @@ public class ProjectUserXmlDAO {
 
             Project project = projectOpt.get();
             List<User> users = project.getUsers() != null ? project.getUsers() : new ArrayList<>();
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Найдено пользователей: " + users.size()));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Найдено пользователей: " + users.size()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
             return users;
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось получить пользователей проекта: " + e.getMessage()));
@@ -139,8 +159,10 @@ public class ProjectUserXmlDAO {
      */
     public List<Project> getProjectsByUser(int userId) {
         String methodName = "getProjectsByUser";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "userId: " + userId));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "userId: " + userId));
+        }
 
         try {
             Optional<User> userOpt = userDAO.findById(userId);
@@ -156,8 +178,10 @@ public class ProjectUserXmlDAO {
                     userProjects.add(project);
                 }
             }
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Найдено проектов: " + userProjects.size()));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Найдено проектов: " + userProjects.size()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
             return userProjects;
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось получить проекты пользователя: " + e.getMessage()));
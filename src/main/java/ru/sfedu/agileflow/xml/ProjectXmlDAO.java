@@ -1,23 +1,23 @@
 package ru.sfedu.agileflow.xml;
 
-import jakarta.xml.bind.JAXBException;
 import org.apache.log4j.Logger;
 import ru.sfedu.agileflow.config.XmlConfig;
+import ru.sfedu.agileflow.config.XmlEntityStore;
 import ru.sfedu.agileflow.constants.Constants;
 import ru.sfedu.agileflow.dao.GenericDAO;
 import ru.sfedu.agileflow.models.Project;
 
-import java.io.File;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 /**
  * DAO-класс для управления проектами в XML хранилище.
  */
 public class ProjectXmlDAO implements GenericDAO<Project, Integer> {
     private static final Logger log = Logger.getLogger(ProjectXmlDAO.class);
-    private static final AtomicInteger idGenerator = new AtomicInteger(1);
+    private final XmlEntityStore<Project> store = XmlConfig.getStore(Project.class);
 
     /**
      * Создает новый проект в XML хранилище.
@@ -26,22 +26,51 @@ public class ProjectXmlDAO implements GenericDAO<Project, Integer> {
     @Override
     public void create(Project project) {
         String methodName = "create";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, project.toString()));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, project.toString()));
+        }
 
         try {
-            XmlDataWrapper wrapper = loadData();
-            project.setId(idGenerator.getAndIncrement());
-            wrapper.getProjects().add(project);
-            saveData(wrapper);
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Проект сохранен с ID: " + project.getId()));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            project.setId(store.nextId());
+            store.insert(List.of(project));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Проект сохранен с ID: " + project.getId()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось создать проект: " + e.getMessage()));
             throw new RuntimeException("Не удалось создать проект", e);
         }
     }
 
+    /**
+     * Создает несколько проектов за одно чтение и одну запись файла.
+     * @param projects Проекты для сохранения
+     */
+    @Override
+    public void createAll(Collection<Project> projects) {
+        String methodName = "createAll";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "size: " + projects.size()));
+        }
+
+        try {
+            for (Project project : projects) {
+                project.setId(store.nextId());
+            }
+            store.insert(projects);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Сохранено проектов: " + projects.size()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось создать проекты: " + e.getMessage()));
+            throw new RuntimeException("Не удалось создать проекты", e);
+        }
+    }
+
     /**
      * Находит проект по идентификатору.
      * @param id Идентификатор проекта
@@ -50,18 +79,18 @@ public class ProjectXmlDAO implements GenericDAO<Project, Integer> {
     @Override
     public Optional<Project> findById(Integer id) {
         String methodName = "findById";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "id: " + id));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "id: " + id));
+        }
 
         try {
-            XmlDataWrapper wrapper = loadData();
-            Project project = wrapper.getProjects().stream()
-                    .filter(p -> p.getId() == id)
-                    .findFirst()
-                    .orElse(null);
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName,
-                    project != null ? "Проект найден" : "Проект не найден"));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            Project project = store.findById(id).orElse(null);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName,
+                        project != null ? "Проект найден" : "Проект не найден"));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
             return Optional.ofNullable(project);
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName,
@@ -77,14 +106,37 @@ public class ProjectXmlDAO implements GenericDAO<Project, Integer> {
     @Override
     public List<Project> findAll() {
         String methodName = "findAll";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
 
         try {
-            XmlDataWrapper wrapper = loadData();
-            List<Project> projects = wrapper.getProjects();
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName,
-                    "Найдено проектов: " + projects.size()));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            List<Project> projects = store.findAll();
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName,
+                        "Найдено проектов: " + projects.size()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+            return projects;
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName,
+                    "Не удалось получить проекты: " + e.getMessage()));
+            throw new RuntimeException("Не удалось получить проекты", e);
+        }
+    }
+
+    @Override
+    public Stream<Project> streamAll() {
+        String methodName = "streamAll";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
+
+        try {
+            Stream<Project> projects = store.stream();
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
             return projects;
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName,
@@ -100,16 +152,17 @@ public class ProjectXmlDAO implements GenericDAO<Project, Integer> {
     @Override
     public void update(Project project) {
         String methodName = "update";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, project.toString()));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, project.toString()));
+        }
 
         try {
-            XmlDataWrapper wrapper = loadData();
-            wrapper.getProjects().removeIf(p -> p.getId() == project.getId());
-            wrapper.getProjects().add(project);
-            saveData(wrapper);
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Проект обновлен"));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            store.save(List.of(project));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Проект обновлен"));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName,
                     "Не удалось обновить проект: " + e.getMessage()));
@@ -117,6 +170,30 @@ public class ProjectXmlDAO implements GenericDAO<Project, Integer> {
         }
     }
 
+    /**
+     * Обновляет несколько проектов за одно чтение и одну запись файла.
+     * @param projects Обновленные проекты
+     */
+    @Override
+    public void updateAll(Collection<Project> projects) {
+        String methodName = "updateAll";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "size: " + projects.size()));
+        }
+
+        try {
+            store.save(projects);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Обновлено проектов: " + projects.size()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось обновить проекты: " + e.getMessage()));
+            throw new RuntimeException("Не удалось обновить проекты", e);
+        }
+    }
+
     /**
      * Удаляет проект по идентификатору.
      * @param id Идентификатор проекта
@@ -124,16 +201,18 @@ public class ProjectXmlDAO implements GenericDAO<Project, Integer> {
     @Override
     public void delete(Integer id) {
         String methodName = "delete";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "id: " + id));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "id: " + id));
+        }
 
         try {
-            XmlDataWrapper wrapper = loadData();
-            boolean removed = wrapper.getProjects().removeIf(p -> p.getId() == id);
-            saveData(wrapper);
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName,
-                    removed ? "Проект удален" : "Проект не найден"));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            boolean removed = store.delete(List.of(id)) > 0;
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName,
+                        removed ? "Проект удален" : "Проект не найден"));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName,
                     "Не удалось удалить проект: " + e.getMessage()));
@@ -141,6 +220,30 @@ public class ProjectXmlDAO implements GenericDAO<Project, Integer> {
         }
     }
 
+    /**
+     * Удаляет несколько проектов по идентификаторам за одно чтение и одну запись файла.
+     * @param ids Идентификаторы
+     */
+    @Override
+    public void deleteAllById(Collection<Integer> ids) {
+        String methodName = "deleteAllById";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "ids: " + ids));
+        }
+
+        try {
+            int removed = store.delete(ids);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Удалено проектов: " + removed));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось удалить проекты: " + e.getMessage()));
+            throw new RuntimeException("Не удалось удалить проекты", e);
+        }
+    }
+
     /**
      * Находит проекты по имени (частичное совпадение).
      * @param name Имя проекта для поиска
@@ -148,17 +251,18 @@ public class ProjectXmlDAO implements GenericDAO<Project, Integer> {
      */
     public List<Project> findByName(String name) {
         String methodName = "findByName";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "name: " + name));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "name: " + name));
+        }
 
         try {
-            XmlDataWrapper wrapper = loadData();
-            List<Project> projects = wrapper.getProjects().stream()
-                    .filter(p -> p.getName().toLowerCase().contains(name.toLowerCase()))
-                    .toList();
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName,
-                    "Найдено проектов: " + projects.size()));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            List<Project> projects = store.find(p -> p.getName().toLowerCase().contains(name.toLowerCase()));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName,
+                        "Найдено проектов: " + projects.size()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
             return projects;
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName,
@@ -166,17 +270,4 @@ public class ProjectXmlDAO implements GenericDAO<Project, Integer> {
             throw new RuntimeException("Не удалось найти проекты по имени", e);
         }
     }
-
-    private XmlDataWrapper loadData() throws JAXBException {
-        File file = new File(XmlConfig.getFilePath(Project.class));
-        if (!file.exists()) {
-            return new XmlDataWrapper();
-        }
-        return (XmlDataWrapper) XmlConfig.getUnmarshaller().unmarshal(file);
-    }
-
-    private void saveData(XmlDataWrapper wrapper) throws JAXBException {
-        File file = new File(XmlConfig.getFilePath(Project.class));
-        XmlConfig.getMarshaller().marshal(wrapper, file);
-    }
 }
\ No newline at end of file
@@ -1,23 +1,23 @@
 package ru.sfedu.agileflow.xml;
 
-import jakarta.xml.bind.JAXBException;
 import org.apache.log4j.Logger;
 import ru.sfedu.agileflow.config.XmlConfig;
+import ru.sfedu.agileflow.config.XmlEntityStore;
 import ru.sfedu.agileflow.constants.Constants;
 import ru.sfedu.agileflow.dao.GenericDAO;
 import ru.sfedu.agileflow.models.Retrospective;
 
-import java.io.File;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 /**
  * DAO-класс для управления ретроспективами в XML хранилище.
  */
 public class RetrospectiveXmlDAO implements GenericDAO<Retrospective, Integer> {
     private static final Logger log = Logger.getLogger(RetrospectiveXmlDAO.class);
-    private static final AtomicInteger idGenerator = new AtomicInteger(1);
+    private final XmlEntityStore<Retrospective> store = XmlConfig.getStore(Retrospective.class);
 
     /**
      * Создает новую ретроспективу в XML хранилище.
@@ -26,22 +26,51 @@ public class RetrospectiveXmlDAO implements GenericDAO<Retrospective, Integer> {
     @Override
     public void create(Retrospective retrospective) {
         String methodName = "create";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, retrospective.toString()));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, retrospective.toString()));
+        }
 
         try {
-            XmlDataWrapper wrapper = loadData();
-            retrospective.setId(idGenerator.getAndIncrement());
-            wrapper.getRetrospectives().add(retrospective);
-            saveData(wrapper);
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Ретроспектива сохранена с ID: " + retrospective.getId()));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            retrospective.setId(store.nextId());
+            store.insert(List.of(retrospective));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Ретроспектива сохранена с ID: " + retrospective.getId()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось создать ретроспективу: " + e.getMessage()));
             throw new RuntimeException("Не удалось создать ретроспективу", e);
         }
     }
 
+    /**
+     * Создает несколько ретроспектив за одно чтение и одну запись файла.
+     * @param retrospectives Ретроспективы для сохранения
+     */
+    @Override
+    public void createAll(Collection<Retrospective> retrospectives) {
+        String methodName = "createAll";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "size: " + retrospectives.size()));
+        }
+
+        try {
+            for (Retrospective retrospective : retrospectives) {
+                retrospective.setId(store.nextId());
+            }
+            store.insert(retrospectives);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Сохранено ретроспектив: " + retrospectives.size()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось создать ретроспективы: " + e.getMessage()));
+            throw new RuntimeException("Не удалось создать ретроспективы", e);
+        }
+    }
+
     /**
      * Находит ретроспективу по идентификатору.
      * @param id Идентификатор ретроспективы
@@ -50,17 +79,17 @@ public class RetrospectiveXmlDAO implements GenericDAO<Retrospective, Integer> {
     @Override
     public Optional<Retrospective> findById(Integer id) {
         String methodName = "findById";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "id: " + id));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "id: " + id));
+        }
 
         try {
-            XmlDataWrapper wrapper = loadData();
-            Retrospective retrospective = wrapper.getRetrospectives().stream()
-                    .filter(r -> r.getId() == id)
-                    .findFirst()
-                    .orElse(null);
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, retrospective != null ? "Ретроспектива найдена" : "Ретроспектива не найдена"));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            Retrospective retrospective = store.findById(id).orElse(null);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, retrospective != null ? "Ретроспектива найдена" : "Ретроспектива не найдена"));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
             return Optional.ofNullable(retrospective);
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось найти ретроспективу: " + e.getMessage()));
@@ -75,13 +104,35 @@ public class RetrospectiveXmlDAO implements GenericDAO<Retrospective, Integer> {
     @Override
     public List<Retrospective> findAll() {
         String methodName = "findAll";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
 
         try {
-            XmlDataWrapper wrapper = loadData();
-            List<Retrospective> retrospectives = wrapper.getRetrospectives();
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Найдено ретроспектив: " + retrospectives.size()));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            List<Retrospective> retrospectives = store.findAll();
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Найдено ретроспектив: " + retrospectives.size()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+            return retrospectives;
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось получить ретроспективы: " + e.getMessage()));
+            throw new RuntimeException("Не удалось получить ретроспективы", e);
+        }
+    }
+
+    @Override
+    public Stream<Retrospective> streamAll() {
+        String methodName = "streamAll";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
+
+        try {
+            Stream<Retrospective> retrospectives = store.stream();
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
             return retrospectives;
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось получить ретроспективы: " + e.getMessage()));
@@ -96,22 +147,47 @@ public class RetrospectiveXmlDAO implements GenericDAO<Retrospective, Integer> {
     @Override
     public void update(Retrospective retrospective) {
         String methodName = "update";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, retrospective.toString()));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, retrospective.toString()));
+        }
 
         try {
-            XmlDataWrapper wrapper = loadData();
-            wrapper.getRetrospectives().removeIf(r -> r.getId() == retrospective.getId());
-            wrapper.getRetrospectives().add(retrospective);
-            saveData(wrapper);
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Ретроспектива обновлена"));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            store.save(List.of(retrospective));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Ретроспектива обновлена"));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось обновить ретроспективу: " + e.getMessage()));
             throw new RuntimeException("Не удалось обновить ретроспективу", e);
         }
     }
 
+    /**
+     * Обновляет несколько ретроспектив за одно чтение и одну запись файла.
+     * @param retrospectives Обновленные ретроспективы
+     */
+    @Override
+    public void updateAll(Collection<Retrospective> retrospectives) {
+        String methodName = "updateAll";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "size: " + retrospectives.size()));
+        }
+
+        try {
+            store.save(retrospectives);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Обновлено ретроспектив: " + retrospectives.size()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось обновить ретроспективы: " + e.getMessage()));
+            throw new RuntimeException("Не удалось обновить ретроспективы", e);
+        }
+    }
+
     /**
      * Удаляет ретроспективу по идентификатору.
      * @param id Идентификатор ретроспективы
@@ -119,21 +195,47 @@ public class RetrospectiveXmlDAO implements GenericDAO<Retrospective, Integer> {
     @Override
     public void delete(Integer id) {
         String methodName = "delete";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "id: " + id));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "id: " + id));
+        }
 
         try {
-            XmlDataWrapper wrapper = loadData();
-            boolean removed = wrapper.getRetrospectives().removeIf(r -> r.getId() == id);
-            saveData(wrapper);
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, removed ? "Ретроспектива удалена" : "Ретроспектива не найдена"));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            boolean removed = store.delete(List.of(id)) > 0;
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, removed ? "Ретроспектива удалена" : "Ретроспектива не найдена"));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось удалить ретроспективу: " + e.getMessage()));
             throw new RuntimeException("Не удалось удалить ретроспективу", e);
         }
     }
 
+    /**
+     * Удаляет несколько ретроспектив по идентификаторам за одно чтение и одну запись файла.
+     * @param ids Идентификаторы
+     */
+    @Override
+    public void deleteAllById(Collection<Integer> ids) {
+        String methodName = "deleteAllById";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "ids: " + ids));
+        }
+
+        try {
+            int removed = store.delete(ids);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Удалено ретроспектив: " + removed));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось удалить ретроспективы: " + e.getMessage()));
+            throw new RuntimeException("Не удалось удалить ретроспективы", e);
+        }
+    }
+
     /**
      * Находит ретроспективы по идентификатору спринта.
      * @param sprintId Идентификатор спринта
@@ -141,34 +243,23 @@ public class RetrospectiveXmlDAO implements GenericDAO<Retrospective, Integer> {
      */
     public Optional<Retrospective> findBySprintId(int sprintId) {
         String methodName = "findBySprintId";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "sprintId: " + sprintId));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "sprintId: " + sprintId));
+        }
 
         try {
-            XmlDataWrapper wrapper = loadData();
-            Retrospective retrospective = wrapper.getRetrospectives().stream()
-                    .filter(r -> r.getSprint() != null && r.getSprint().getId() == sprintId)
+            Retrospective retrospective = store.findByIndex("sprintId", sprintId).stream()
                     .findFirst()
                     .orElse(null);
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, retrospective != null ? "Ретроспектива найдена" : "Ретроспектива не найдена"));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, retrospective != null ? "Ретроспектива найдена" : "Ретроспектива не найдена"));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
             return Optional.ofNullable(retrospective);
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось найти ретроспективу по спринту: " + e.getMessage()));
             throw new RuntimeException("Не удалось найти ретроспективу по спринту", e);
         }
     }
-
-    private XmlDataWrapper loadData() throws JAXBException {
-        File file = new File(XmlConfig.getFilePath(Retrospective.class));
-        if (!file.exists()) {
-            return new XmlDataWrapper();
-        }
-        return (XmlDataWrapper) XmlConfig.getUnmarshaller().unmarshal(file);
-    }
-
-    private void saveData(XmlDataWrapper wrapper) throws JAXBException {
-        File file = new File(XmlConfig.getFilePath(Retrospective.class));
-        XmlConfig.getMarshaller().marshal(wrapper, file);
-    }
 }
@@ -1,24 +1,24 @@
 package ru.sfedu.agileflow.xml;
 
-import jakarta.xml.bind.JAXBException;
 import org.apache.log4j.Logger;
 import ru.sfedu.agileflow.config.XmlConfig;
+import ru.sfedu.agileflow.config.XmlEntityStore;
 import ru.sfedu.agileflow.constants.Constants;
 import ru.sfedu.agileflow.dao.GenericDAO;
 import ru.sfedu.agileflow.models.Sprint;
 
-import java.io.File;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 /**
  * DAO-класс для управления спринтами в XML хранилище.
  */
 public class SprintXmlDAO implements GenericDAO<Sprint, Integer> {
     private static final Logger log = Logger.getLogger(SprintXmlDAO.class);
-    private static final AtomicInteger idGenerator = new AtomicInteger(1);
+    private final XmlEntityStore<Sprint> store = XmlConfig.getStore(Sprint.class);
 
     /**
      * Создает новый спринт в XML хранилище.
@@ -27,22 +27,51 @@ public class SprintXmlDAO implements GenericDAO<Sprint, Integer> {
     @Override
     public void create(Sprint sprint) {
         String methodName = "create";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, sprint.toString()));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, sprint.toString()));
+        }
 
         try {
-            XmlDataWrapper wrapper = loadData();
-            sprint.setId(idGenerator.getAndIncrement());
-            wrapper.getSprints().add(sprint);
-            saveData(wrapper);
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Спринт сохранен с ID: " + sprint.getId()));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            sprint.setId(store.nextId());
+            store.insert(List.of(sprint));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Спринт сохранен с ID: " + sprint.getId()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось создать спринт: " + e.getMessage()));
             throw new RuntimeException("Не удалось создать спринт", e);
         }
     }
 
+    /**
+     * Создает несколько спринтов за одно чтение и одну запись файла.
+     * @param sprints Спринты для сохранения
+     */
+    @Override
+    public void createAll(Collection<Sprint> sprints) {
+        String methodName = "createAll";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "size: " + sprints.size()));
+        }
+
+        try {
+            for (Sprint sprint : sprints) {
+                sprint.setId(store.nextId());
+            }
+            store.insert(sprints);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Сохранено спринтов: " + sprints.size()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось создать спринты: " + e.getMessage()));
+            throw new RuntimeException("Не удалось создать спринты", e);
+        }
+    }
+
     /**
      * Находит спринт по идентификатору.
      * @param id Идентификатор спринта
@@ -51,17 +80,17 @@ public class SprintXmlDAO implements GenericDAO<Sprint, Integer> {
     @Override
     public Optional<Sprint> findById(Integer id) {
         String methodName = "findById";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "id: " + id));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "id: " + id));
+        }
 
         try {
-            XmlDataWrapper wrapper = loadData();
-            Sprint sprint = wrapper.getSprints().stream()
-                    .filter(s -> s.getId() == id)
-                    .findFirst()
-                    .orElse(null);
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, sprint != null ? "Спринт найден" : "Спринт не найден"));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            Sprint sprint = store.findById(id).orElse(null);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, sprint != null ? "Спринт найден" : "Спринт не найден"));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
             return Optional.ofNullable(sprint);
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось найти спринт: " + e.getMessage()));
@@ -76,13 +105,35 @@ public class SprintXmlDAO implements GenericDAO<Sprint, Integer> {
     @Override
     public List<Sprint> findAll() {
         String methodName = "findAll";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
+
+        try {
+            List<Sprint> sprints = store.findAll();
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Найдено спринтов: " + sprints.size()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+            return sprints;
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось получить спринты: " + e.getMessage()));
+            throw new RuntimeException("Не удалось получить спринты", e);
+        }
+    }
+
+    @Override
+    public Stream<Sprint> streamAll() {
+        String methodName = "streamAll";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
 
         try {
-            XmlDataWrapper wrapper = loadData();
-            List<Sprint> sprints = wrapper.getSprints();
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Найдено спринтов: " + sprints.size()));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            Stream<Sprint> sprints = store.stream();
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
             return sprints;
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось получить спринты: " + e.getMessage()));
@@ -97,22 +148,47 @@ public class SprintXmlDAO implements GenericDAO<Sprint, Integer> {
     @Override
     public void update(Sprint sprint) {
         String methodName = "update";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, sprint.toString()));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, sprint.toString()));
+        }
 
         try {
-            XmlDataWrapper wrapper = loadData();
-            wrapper.getSprints().removeIf(s -> s.getId() == sprint.getId());
-            wrapper.getSprints().add(sprint);
-            saveData(wrapper);
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Спринт обновлен"));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            store.save(List.of(sprint));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Спринт обновлен"));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось обновить спринт: " + e.getMessage()));
             throw new RuntimeException("Не удалось обновить спринт", e);
         }
     }
 
+    /**
+     * Обновляет несколько спринтов за одно чтение и одну запись файла.
+     * @param sprints Обновленные спринты
+     */
+    @Override
+    public void updateAll(Collection<Sprint> sprints) {
+        String methodName = "updateAll";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "size: " + sprints.size()));
+        }
+
+        try {
+            store.save(sprints);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Обновлено спринтов: " + sprints.size()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось обновить спринты: " + e.getMessage()));
+            throw new RuntimeException("Не удалось обновить спринты", e);
+        }
+    }
+
     /**
      * Удаляет спринт по идентификатору.
      * @param id Идентификатор спринта
@@ -120,21 +196,47 @@ public class SprintXmlDAO implements GenericDAO<Sprint, Integer> {
     @Override
     public void delete(Integer id) {
         String methodName = "delete";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "id: " + id));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "id: " + id));
+        }
 
         try {
-            XmlDataWrapper wrapper = loadData();
-            boolean removed = wrapper.getSprints().removeIf(s -> s.getId() == id);
-            saveData(wrapper);
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, removed ? "Спринт удален" : "Спринт не найден"));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            boolean removed = store.delete(List.of(id)) > 0;
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, removed ? "Спринт удален" : "Спринт не найден"));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось удалить спринт: " + e.getMessage()));
             throw new RuntimeException("Не удалось удалить спринт", e);
         }
     }
 
+    /**
+     * Удаляет несколько спринтов по идентификаторам за одно чтение и одну запись файла.
+     * @param ids Идентификаторы
+     */
+    @Override
+    public void deleteAllById(Collection<Integer> ids) {
+        String methodName = "deleteAllById";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "ids: " + ids));
+        }
+
+        try {
+            int removed = store.delete(ids);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Удалено спринтов: " + removed));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось удалить спринты: " + e.getMessage()));
+            throw new RuntimeException("Не удалось удалить спринты", e);
+        }
+    }
+
     /**
      * Находит спринты по дате начала.
      * @param startDate Дата начала спринта
@@ -142,16 +244,17 @@ public class SprintXmlDAO implements GenericDAO<Sprint, Integer> {
      */
     public List<Sprint> findByStartDate(Date startDate) {
         String methodName = "findByStartDate";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "startDate: " + startDate));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "startDate: " + startDate));
+        }
 
         try {
-            XmlDataWrapper wrapper = loadData();
-            List<Sprint> sprints = wrapper.getSprints().stream()
-                    .filter(s -> s.getStartDate().equals(startDate))
-                    .toList();
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Найдено спринтов: " + sprints.size()));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            List<Sprint> sprints = store.find(s -> s.getStartDate().equals(startDate));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Найдено спринтов: " + sprints.size()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
             return sprints;
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось найти спринты по дате начала: " + e.getMessage()));
@@ -159,16 +262,28 @@ public class SprintXmlDAO implements GenericDAO<Sprint, Integer> {
         }
     }
 
-    private XmlDataWrapper loadData() throws JAXBException {
-        File file = new File(XmlConfig.getFilePath(Sprint.class));
-        if (!file.exists()) {
-            return new XmlDataWrapper();
+    /**
+     * Находит спринты проекта по индексу projectId.
+     * @param projectId Идентификатор проекта
+     * @return Список найденных спринтов
+     */
+    public List<Sprint> findByProject(int projectId) {
+        String methodName = "findByProject";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "projectId: " + projectId));
         }
-        return (XmlDataWrapper) XmlConfig.getUnmarshaller().unmarshal(file);
-    }
 
-    private void saveData(XmlDataWrapper wrapper) throws JAXBException {
-        File file = new File(XmlConfig.getFilePath(Sprint.class));
-        XmlConfig.getMarshaller().marshal(wrapper, file);
+        try {
+            List<Sprint> sprints = store.findByIndex("projectId", projectId);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Найдено спринтов: " + sprints.size()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+            return sprints;
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось найти спринты проекта: " + e.getMessage()));
+            throw new RuntimeException("Не удалось найти спринты проекта", e);
+        }
     }
 }
@@ -1,24 +1,24 @@
 package ru.sfedu.agileflow.xml;
 
-import jakarta.xml.bind.JAXBException;
 import org.apache.log4j.Logger;
 import ru.sfedu.agileflow.config.XmlConfig;
+import ru.sfedu.agileflow.config.XmlEntityStore;
 import ru.sfedu.agileflow.constants.Constants;
 import ru.sfedu.agileflow.dao.GenericDAO;
 import ru.sfedu.agileflow.models.Task;
 import ru.sfedu.agileflow.models.TaskStatus;
 
-import java.io.File;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 /**
  * DAO-класс для управления задачами в XML хранилище.
  */
 public class TaskXmlDAO implements GenericDAO<Task, Integer> {
     private static final Logger log = Logger.getLogger(TaskXmlDAO.class);
-    private static final AtomicInteger idGenerator = new AtomicInteger(1);
+    private final XmlEntityStore<Task> store = XmlConfig.getStore(Task.class);
 
     /**
      * Создает новую задачу в XML хранилище.
@@ -27,22 +27,51 @@ public class TaskXmlDAO implements GenericDAO<Task, Integer> {
     @Override
     public void create(Task task) {
         String methodName = "create";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, task.toString()));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, task.toString()));
+        }
 
         try {
-            XmlDataWrapper wrapper = loadData();
-            task.setId(idGenerator.getAndIncrement());
-            wrapper.getTasks().add(task);
-            saveData(wrapper);
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Задача сохранена с ID: " + task.getId()));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            task.setId(store.nextId());
+            store.insert(List.of(task));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Задача сохранена с ID: " + task.getId()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось создать задачу: " + e.getMessage()));
             throw new RuntimeException("Не удалось создать задачу", e);
         }
     }
 
+    /**
+     * Создает несколько задач за одно чтение и одну запись файла.
+     * @param tasks Задачи для сохранения
+     */
+    @Override
+    public void createAll(Collection<Task> tasks) {
+        String methodName = "createAll";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "size: " + tasks.size()));
+        }
+
+        try {
+            for (Task task : tasks) {
+                task.setId(store.nextId());
+            }
+            store.insert(tasks);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Сохранено задач: " + tasks.size()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось создать задачи: " + e.getMessage()));
+            throw new RuntimeException("Не удалось создать задачи", e);
+        }
+    }
+
     /**
      * Находит задачу по идентификатору.
      * @param id Идентификатор задачи
@@ -51,17 +80,17 @@ public class TaskXmlDAO implements GenericDAO<Task, Integer> {
     @Override
     public Optional<Task> findById(Integer id) {
         String methodName = "findById";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "id: " + id));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "id: " + id));
+        }
 
         try {
-            XmlDataWrapper wrapper = loadData();
-            Task task = wrapper.getTasks().stream()
-                    .filter(t -> t.getId() == id)
-                    .findFirst()
-                    .orElse(null);
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, task != null ? "Задача найдена" : "Задача не найдена"));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            Task task = store.findById(id).orElse(null);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, task != null ? "Задача найдена" : "Задача не найдена"));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
             return Optional.ofNullable(task);
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось найти задачу: " + e.getMessage()));
@@ -76,13 +105,35 @@ public class TaskXmlDAO implements GenericDAO<Task, Integer> {
     @Override
     public List<Task> findAll() {
         String methodName = "findAll";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
+
+        try {
+            List<Task> tasks = store.findAll();
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Найдено задач: " + tasks.size()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+            return tasks;
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось получить задачи: " + e.getMessage()));
+            throw new RuntimeException("Не удалось получить задачи", e);
+        }
+    }
+
+    @Override
+    public Stream<Task> streamAll() {
+        String methodName = "streamAll";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
 
         try {
-            XmlDataWrapper wrapper = loadData();
-            List<Task> tasks = wrapper.getTasks();
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Найдено задач: " + tasks.size()));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            Stream<Task> tasks = store.stream();
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
             return tasks;
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось получить задачи: " + e.getMessage()));
@@ -97,22 +148,47 @@ public class TaskXmlDAO implements GenericDAO<Task, Integer> {
     @Override
     public void update(Task task) {
         String methodName = "update";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, task.toString()));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, task.toString()));
+        }
 
         try {
-            XmlDataWrapper wrapper = loadData();
-            wrapper.getTasks().removeIf(t -> t.getId() == task.getId());
-            wrapper.getTasks().add(task);
-            saveData(wrapper);
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Задача обновлена"));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            store.save(List.of(task));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Задача обновлена"));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось обновить задачу: " + e.getMessage()));
             throw new RuntimeException("Не удалось обновить задачу", e);
         }
     }
 
+    /**
+     * Обновляет несколько задач за одно чтение и одну запись файла.
+     * @param tasks Обновленные задачи
+     */
+    @Override
+    public void updateAll(Collection<Task> tasks) {
+        String methodName = "updateAll";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "size: " + tasks.size()));
+        }
+
+        try {
+            store.save(tasks);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Обновлено задач: " + tasks.size()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось обновить задачи: " + e.getMessage()));
+            throw new RuntimeException("Не удалось обновить задачи", e);
+        }
+    }
+
     /**
      * Удаляет задачу по идентификатору.
      * @param id Идентификатор задачи
@@ -120,21 +196,47 @@ public class TaskXmlDAO implements GenericDAO<Task, Integer> {
     @Override
     public void delete(Integer id) {
         String methodName = "delete";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "id: " + id));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "id: " + id));
+        }
 
         try {
-            XmlDataWrapper wrapper = loadData();
-            boolean removed = wrapper.getTasks().removeIf(t -> t.getId() == id);
-            saveData(wrapper);
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, removed ? "Задача удалена" : "Задача не найдена"));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            boolean removed = store.delete(List.of(id)) > 0;
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, removed ? "Задача удалена" : "Задача не найдена"));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось удалить задачу: " + e.getMessage()));
             throw new RuntimeException("Не удалось удалить задачу", e);
         }
     }
 
+    /**
+     * Удаляет несколько задач по идентификаторам за одно чтение и одну запись файла.
+     * @param ids Идентификаторы
+     */
+    @Override
+    public void deleteAllById(Collection<Integer> ids) {
+        String methodName = "deleteAllById";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "ids: " + ids));
+        }
+
+        try {
+            int removed = store.delete(ids);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Удалено задач: " + removed));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось удалить задачи: " + e.getMessage()));
+            throw new RuntimeException("Не удалось удалить задачи", e);
+        }
+    }
+
     /**
      * Находит задачи по статусу.
      * @param status Статус задачи
@@ -142,16 +244,17 @@ public class TaskXmlDAO implements GenericDAO<Task, Integer> {
      */
     public List<Task> findByStatus(TaskStatus status) {
         String methodName = "findByStatus";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "status: " + status));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "status: " + status));
+        }
 
         try {
-            XmlDataWrapper wrapper = loadData();
-            List<Task> tasks = wrapper.getTasks().stream()
-                    .filter(t -> t.getStatus() == status)
-                    .toList();
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Найдено задач: " + tasks.size()));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            List<Task> tasks = store.findByIndex("status", status);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Найдено задач: " + tasks.size()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
             return tasks;
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось найти задачи по статусу: " + e.getMessage()));
@@ -159,16 +262,53 @@ public class TaskXmlDAO implements GenericDAO<Task, Integer> {
         }
     }
 
-    private XmlDataWrapper loadData() throws JAXBException {
-        File file = new File(XmlConfig.getFilePath(Task.class));
-        if (!file.exists()) {
-            return new XmlDataWrapper();
+    /**
+     * Находит задачи спринта по индексу sprintId.
+     * @param sprintId Идентификатор спринта
+     * @return Список найденных задач
+     */
+    public List<Task> findBySprint(int sprintId) {
+        String methodName = "findBySprint";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "sprintId: " + sprintId));
+        }
+
+        try {
+            List<Task> tasks = store.findByIndex("sprintId", sprintId);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Найдено задач: " + tasks.size()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+            return tasks;
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось найти задачи спринта: " + e.getMessage()));
+            throw new RuntimeException("Не удалось найти задачи спринта", e);
         }
-        return (XmlDataWrapper) XmlConfig.getUnmarshaller().unmarshal(file);
     }
 
-    private void saveData(XmlDataWrapper wrapper) throws JAXBException {
-        File file = new File(XmlConfig.getFilePath(Task.class));
-        XmlConfig.getMarshaller().marshal(wrapper, file);
+    /**
+     * Находит задачи пользователя по индексу assigneeId.
+     * @param userId Идентификатор пользователя
+     * @return Список найденных задач
+     */
+    public List<Task> findByAssignee(int userId) {
+        String methodName = "findByAssignee";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "userId: " + userId));
+        }
+
+        try {
+            List<Task> tasks = store.findByIndex("assigneeId", userId);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Найдено задач: " + tasks.size()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+            return tasks;
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось найти задачи пользователя: " + e.getMessage()));
+            throw new RuntimeException("Не удалось найти задачи пользователя", e);
+        }
     }
 }
@@ -1,23 +1,23 @@
 package ru.sfedu.agileflow.xml;
 
-import jakarta.xml.bind.JAXBException;
 import org.apache.log4j.Logger;
 import ru.sfedu.agileflow.config.XmlConfig;
+import ru.sfedu.agileflow.config.XmlEntityStore;
 import ru.sfedu.agileflow.constants.Constants;
 import ru.sfedu.agileflow.dao.GenericDAO;
 import ru.sfedu.agileflow.models.User;
 
-import java.io.File;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 /**
  * DAO-класс для управления пользователями в XML хранилище.
  */
 public class UserXmlDAO implements GenericDAO<User, Integer> {
     private static final Logger log = Logger.getLogger(UserXmlDAO.class);
-    private static final AtomicInteger idGenerator = new AtomicInteger(1);
+    private final XmlEntityStore<User> store = XmlConfig.getStore(User.class);
 
     /**
      * Создает нового пользователя в XML хранилище.
@@ -26,22 +26,51 @@ public class UserXmlDAO implements GenericDAO<User, Integer> {
     @Override
     public void create(User user) {
         String methodName = "create";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, user.toString()));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, user.toString()));
+        }
 
         try {
-            XmlDataWrapper wrapper = loadData();
-            user.setId(idGenerator.getAndIncrement());
-            wrapper.getUsers().add(user);
-            saveData(wrapper);
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Пользователь сохранен с ID: " + user.getId()));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            user.setId(store.nextId());
+            store.insert(List.of(user));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Пользователь сохранен с ID: " + user.getId()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось создать пользователя: " + e.getMessage()));
             throw new RuntimeException("Не удалось создать пользователя", e);
         }
     }
 
+    /**
+     * Создает несколько пользователей за одно чтение и одну запись файла.
+     * @param users Пользователи для сохранения
+     */
+    @Override
+    public void createAll(Collection<User> users) {
+        String methodName = "createAll";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "size: " + users.size()));
+        }
+
+        try {
+            for (User user : users) {
+                user.setId(store.nextId());
+            }
+            store.insert(users);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Сохранено пользователей: " + users.size()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось создать пользователей: " + e.getMessage()));
+            throw new RuntimeException("Не удалось создать пользователей", e);
+        }
+    }
+
     /**
      * Находит пользователя по идентификатору.
      * @param id Идентификатор пользователя
@@ -50,17 +79,17 @@ public class UserXmlDAO implements GenericDAO<User, Integer> {
     @Override
     public Optional<User> findById(Integer id) {
         String methodName = "findById";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "id: " + id));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "id: " + id));
+        }
 
         try {
-            XmlDataWrapper wrapper = loadData();
-            User user = wrapper.getUsers().stream()
-                    .filter(u -> u.getId() == id)
-                    .findFirst()
-                    .orElse(null);
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, user != null ? "Пользователь найден" : "Пользователь не найден"));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            User user = store.findById(id).orElse(null);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, user != null ? "Пользователь найден" : "Пользователь не найден"));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
             return Optional.ofNullable(user);
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось найти пользователя: " + e.getMessage()));
@@ -75,13 +104,35 @@ public class UserXmlDAO implements GenericDAO<User, Integer> {
     @Override
     public List<User> findAll() {
         String methodName = "findAll";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
 
         try {
-            XmlDataWrapper wrapper = loadData();
-            List<User> users = wrapper.getUsers();
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Найдено пользователей: " + users.size()));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            List<User> users = store.findAll();
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Найдено пользователей: " + users.size()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+            return users;
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось получить пользователей: " + e.getMessage()));
+            throw new RuntimeException("Не удалось получить пользователей", e);
+        }
+    }
+
+    @Override
+    public Stream<User> streamAll() {
+        String methodName = "streamAll";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+        }
+
+        try {
+            Stream<User> users = store.stream();
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
             return users;
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось получить пользователей: " + e.getMessage()));
@@ -96,22 +147,47 @@ public class UserXmlDAO implements GenericDAO<User, Integer> {
     @Override
     public void update(User user) {
         String methodName = "update";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, user.toString()));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, user.toString()));
+        }
 
         try {
-            XmlDataWrapper wrapper = loadData();
-            wrapper.getUsers().removeIf(u -> u.getId() == user.getId());
-            wrapper.getUsers().add(user);
-            saveData(wrapper);
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Пользователь обновлен"));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            store.save(List.of(user));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Пользователь обновлен"));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось обновить пользователя: " + e.getMessage()));
             throw new RuntimeException("Не удалось обновить пользователя", e);
         }
     }
 
+    /**
+     * Обновляет несколько пользователей за одно чтение и одну запись файла.
+     * @param users Обновленные пользователи
+     */
+    @Override
+    public void updateAll(Collection<User> users) {
+        String methodName = "updateAll";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "size: " + users.size()));
+        }
+
+        try {
+            store.save(users);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Обновлено пользователей: " + users.size()));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось обновить пользователей: " + e.getMessage()));
+            throw new RuntimeException("Не удалось обновить пользователей", e);
+        }
+    }
+
     /**
      * Удаляет пользователя по идентификатору.
      * @param id Идентификатор пользователя
@@ -119,21 +195,47 @@ public class UserXmlDAO implements GenericDAO<User, Integer> {
     @Override
     public void delete(Integer id) {
         String methodName = "delete";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "id: " + id));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "id: " + id));
+        }
 
         try {
-            XmlDataWrapper wrapper = loadData();
-            boolean removed = wrapper.getUsers().removeIf(u -> u.getId() == id);
-            saveData(wrapper);
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, removed ? "Пользователь удален" : "Пользователь не найден"));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            boolean removed = store.delete(List.of(id)) > 0;
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, removed ? "Пользователь удален" : "Пользователь не найден"));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось удалить пользователя: " + e.getMessage()));
             throw new RuntimeException("Не удалось удалить пользователя", e);
         }
     }
 
+    /**
+     * Удаляет несколько пользователей по идентификаторам за одно чтение и одну запись файла.
+     * @param ids Идентификаторы
+     */
+    @Override
+    public void deleteAllById(Collection<Integer> ids) {
+        String methodName = "deleteAllById";
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "ids: " + ids));
+        }
+
+        try {
+            int removed = store.delete(ids);
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Удалено пользователей: " + removed));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось удалить пользователей: " + e.getMessage()));
+            throw new RuntimeException("Не удалось удалить пользователей", e);
+        }
+    }
+
     /**
      * Находит пользователя по email.
      * @param email Email пользователя
@@ -141,34 +243,23 @@ public class UserXmlDAO implements GenericDAO<User, Integer> {
      */
     public Optional<User> findByEmail(String email) {
         String methodName = "findByEmail";
-        log.info(String.format(Constants.LOG_METHOD_START, methodName));
-        log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "email: " + email));
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_START, methodName));
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, methodName, "email: " + email));
+        }
 
         try {
-            XmlDataWrapper wrapper = loadData();
-            User user = wrapper.getUsers().stream()
-                    .filter(u -> u.getEmail().equalsIgnoreCase(email))
+            User user = store.findByIndex("email", email.toLowerCase()).stream()
                     .findFirst()
                     .orElse(null);
-            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, user != null ? "Пользователь найден" : "Пользователь не найден"));
-            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+            if (log.isDebugEnabled()) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, user != null ? "Пользователь найден" : "Пользователь не найден"));
+                log.debug(String.format(Constants.LOG_METHOD_END, methodName));
+            }
             return Optional.ofNullable(user);
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось найти пользователя по email: " + e.getMessage()));
             throw new RuntimeException("Не удалось найти пользователя по email", e);
         }
     }
-
-    private XmlDataWrapper loadData() throws JAXBException {
-        File file = new File(XmlConfig.getFilePath(User.class));
-        if (!file.exists()) {
-            return new XmlDataWrapper();
-        }
-        return (XmlDataWrapper) XmlConfig.getUnmarshaller().unmarshal(file);
-    }
-
-    private void saveData(XmlDataWrapper wrapper) throws JAXBException {
-        File file = new File(XmlConfig.getFilePath(User.class));
-        XmlConfig.getMarshaller().marshal(wrapper, file);
-    }
 }
@@ -0,0 +1,13 @@
+-- Миграция 001: выделение идентификаторов блоками по 50
+-- Применяется к базе, созданной RequestsSQL до перехода сущностей на @SequenceGenerator(allocationSize = 50),
+-- до запуска новой версии приложения: AgileFlowPU проверяет схему (hbm2ddl=validate) и не запустится,
+-- пока шаг последовательностей не совпадет с allocationSize.
+-- Текущие значения последовательностей сохраняются: Hibernate выдает следующий блок после уже выданных
+-- идентификаторов, поэтому существующие строки не пересекаются с новыми.
+BEGIN;
+ALTER SEQUENCE users_id_seq INCREMENT BY 50;
+ALTER SEQUENCE projects_id_seq INCREMENT BY 50;
+ALTER SEQUENCE sprints_id_seq INCREMENT BY 50;
+ALTER SEQUENCE tasks_id_seq INCREMENT BY 50;
+ALTER SEQUENCE retrospectives_id_seq INCREMENT BY 50;
+COMMIT;
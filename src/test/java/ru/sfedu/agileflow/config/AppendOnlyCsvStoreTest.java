@@ -0,0 +1,138 @@
+package ru.sfedu.agileflow.config;
+
+import org.apache.log4j.Logger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import ru.sfedu.agileflow.constants.Constants;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+/**
+ * Тестовый класс для AppendOnlyCsvStore.
+ */
+public class AppendOnlyCsvStoreTest {
+    private static final Logger log = Logger.getLogger(AppendOnlyCsvStoreTest.class);
+    private static final Path FILE_PATH = Paths.get("data/csv", "append_only_store_test.csv");
+    private static final String[] HEADER = new String[]{"id", "title", "description"};
+    private AppendOnlyCsvStore store;
+
+    @Before
+    public void setUp() {
+        String methodName = "setUp";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        try {
+            Files.deleteIfExists(FILE_PATH);
+            log.info("setUp [1] CSV-файл очищен");
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось очистить CSV: " + e.getMessage()), e);
+        }
+        store = new AppendOnlyCsvStore(FILE_PATH, HEADER, 1, 1000, 0.5);
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    @After
+    public void tearDown() {
+        String methodName = "tearDown";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        try {
+            Files.deleteIfExists(FILE_PATH);
+            log.info("tearDown [1] CSV-файл удален");
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось удалить CSV: " + e.getMessage()), e);
+        }
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    @Test
+    public void testAppendAndGet() {
+        String methodName = "testAppendAndGet";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        store.append(new String[]{"1", "Задача 1", "Строка 1\nСтрока \"2\""});
+        store.append(new String[]{"2", "Задача 2", ""});
+        Optional<String[]> found = store.get("1");
+        assertTrue("Запись должна быть найдена", found.isPresent());
+        assertEquals("Многострочное поле должно читаться целиком", "Строка 1\nСтрока \"2\"", found.get()[2]);
+        assertEquals("Название должно совпадать", "Задача 2", store.get("2").get()[1]);
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    @Test
+    public void testReplaceAndDelete() {
+        String methodName = "testReplaceAndDelete";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        store.append(new String[]{"1", "Задача 1", ""});
+        store.append(new String[]{"2", "Задача 2", ""});
+        assertTrue("Запись должна быть заменена", store.replace(new String[]{"1", "Задача 1 (изменена)", ""}));
+        assertTrue("Запись должна быть удалена", store.delete("2"));
+        assertFalse("Отсутствующую запись нельзя заменить", store.replace(new String[]{"3", "Задача 3", ""}));
+        assertEquals("Название должно быть обновлено", "Задача 1 (изменена)", store.get("1").get()[1]);
+        assertFalse("Удаленная запись не должна быть найдена", store.get("2").isPresent());
+        assertEquals("Должно быть 3 мертвые записи", 3, store.getDeadRecords());
+        List<String[]> records = store.readAll();
+        assertEquals("Должна остаться 1 живая запись", 1, records.size());
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    @Test
+    public void testIndexRebuiltFromFile() {
+        String methodName = "testIndexRebuiltFromFile";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        store.append(new String[]{"1", "Задача 1", ""});
+        store.append(new String[]{"2", "Задача 2", ""});
+        store.replace(new String[]{"1", "Задача 1 (изменена)", ""});
+        store.delete("2");
+        AppendOnlyCsvStore reopened = new AppendOnlyCsvStore(FILE_PATH, HEADER, 1, 1000, 0.5);
+        assertEquals("Должна быть 1 живая запись", 1, reopened.size());
+        assertEquals("Название должно быть обновлено", "Задача 1 (изменена)", reopened.get("1").get()[1]);
+        assertEquals("Максимальный ключ должен быть 1", 1, reopened.maxIntKey());
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    @Test
+    public void testCompaction() throws Exception {
+        String methodName = "testCompaction";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        for (int i = 1; i <= 10; i++) {
+            store.append(new String[]{String.valueOf(i), "Задача " + i, ""});
+        }
+        for (int i = 1; i <= 10; i++) {
+            store.replace(new String[]{String.valueOf(i), "Задача " + i + " (изменена)", ""});
+        }
+        store.delete("10");
+        long sizeBefore = Files.size(FILE_PATH);
+        store.compact();
+        assertTrue("Файл должен уменьшиться", Files.size(FILE_PATH) < sizeBefore);
+        assertEquals("Мертвых записей быть не должно", 0, store.getDeadRecords());
+        assertEquals("Должно быть 9 живых записей", 9, store.size());
+        assertEquals("Название должно быть обновлено", "Задача 5 (изменена)", store.get("5").get()[1]);
+        assertEquals("Порядок записей должен сохраниться", "1", store.readAll().get(0)[0]);
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    @Test
+    public void testStreamLiveSnapshot() {
+        String methodName = "testStreamLiveSnapshot";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        store.append(new String[]{"1", "Задача 1", ""});
+        store.append(new String[]{"2", "Задача 2", ""});
+        try (Stream<String[]> before = store.streamLive()) {
+            store.replace(new String[]{"1", "Задача 1 изменена", ""});
+            store.delete("2");
+            try (Stream<String[]> after = store.streamLive()) {
+                assertEquals("Поток, открытый после изменений, видит только живые записи",
+                        List.of("Задача 1 изменена"), after.map(record -> record[1]).toList());
+            }
+            assertEquals("Поток, открытый до изменений, видит записи на момент открытия",
+                    List.of("Задача 1", "Задача 2"), before.map(record -> record[1]).toList());
+        }
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+}
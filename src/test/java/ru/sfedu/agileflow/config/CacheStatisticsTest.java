@@ -0,0 +1,129 @@
+package ru.sfedu.agileflow.config;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import org.apache.log4j.Logger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import ru.sfedu.agileflow.constants.Constants;
+import ru.sfedu.agileflow.models.Project;
+import ru.sfedu.agileflow.models.Sprint;
+import ru.sfedu.agileflow.models.Task;
+import ru.sfedu.agileflow.models.TaskStatus;
+import ru.sfedu.agileflow.models.User;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Тестовый класс для кэша второго уровня основной PU и CacheStatistics.
+ * Вместо PostgreSQL используется встроенная база H2.
+ */
+public class CacheStatisticsTest {
+    private static final Logger log = Logger.getLogger(CacheStatisticsTest.class);
+
+    private EntityManagerFactory factory;
+
+    @Before
+    public void setUp() {
+        String methodName = "setUp";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        Map<String, Object> overrides = new HashMap<>();
+        overrides.put("javax.persistence.jdbc.url", "jdbc:h2:mem:cache_test;DB_CLOSE_DELAY=-1");
+        overrides.put("javax.persistence.jdbc.user", "sa");
+        overrides.put("javax.persistence.jdbc.password", "");
+        overrides.put("javax.persistence.jdbc.driver", "org.h2.Driver");
+        overrides.put("hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        overrides.put("hibernate.hbm2ddl.auto", "create-drop");
+        overrides.put("hibernate.show_sql", "false");
+        factory = Persistence.createEntityManagerFactory("AgileFlowPU", overrides);
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    @After
+    public void tearDown() {
+        String methodName = "tearDown";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        factory.close();
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    @Test
+    public void testEntityAndCollectionCache() {
+        String methodName = "testEntityAndCollectionCache";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        int projectId;
+        int sprintId;
+        try (EntityManager em = factory.createEntityManager()) {
+            em.getTransaction().begin();
+            User user = new User("Пользователь", "cache@example.com", "Био", true, new Date());
+            em.persist(user);
+            Project project = new Project("Проект", "Описание");
+            project.setUsers(List.of(user));
+            em.persist(project);
+            Sprint sprint = new Sprint(new Date(), new Date(), project);
+            em.persist(sprint);
+            em.persist(new Task("Задача", "Описание", TaskStatus.TO_DO, 1, sprint, user));
+            em.getTransaction().commit();
+            projectId = project.getId();
+            sprintId = sprint.getId();
+        }
+        factory.getCache().evictAll();
+
+        readProjectAndSprint(projectId, sprintId);
+        Map<String, CacheStatistics> cold = CacheStatistics.of(factory);
+        readProjectAndSprint(projectId, sprintId);
+        Map<String, CacheStatistics> warm = CacheStatistics.of(factory);
+        log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, warm.values()));
+
+        for (String region : List.of("project", "sprint", "user", "task", "project.users", "sprint.tasks")) {
+            assertTrue("Регион должен существовать: " + region, warm.containsKey(region));
+            assertTrue("Повторное чтение должно обслуживаться кэшем: " + region,
+                    warm.get(region).getHits() > cold.get(region).getHits());
+            assertEquals("Повторное чтение не должно обращаться к базе: " + region,
+                    cold.get(region).getMisses(), warm.get(region).getMisses());
+        }
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    @Test
+    public void testSprintTasksEvictedOnTaskChange() {
+        String methodName = "testSprintTasksEvictedOnTaskChange";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        int sprintId;
+        try (EntityManager em = factory.createEntityManager()) {
+            em.getTransaction().begin();
+            Sprint sprint = new Sprint(new Date(), new Date(), null);
+            em.persist(sprint);
+            em.getTransaction().commit();
+            sprintId = sprint.getId();
+        }
+        assertEquals("Коллекция пустого спринта должна быть пустой", 0, sprintTaskCount(sprintId));
+        try (EntityManager em = factory.createEntityManager()) {
+            em.getTransaction().begin();
+            em.persist(new Task("Задача", "Описание", TaskStatus.TO_DO, 1, em.find(Sprint.class, sprintId), null));
+            em.getTransaction().commit();
+        }
+        assertEquals("Кэш коллекции должен сбрасываться при добавлении задачи", 1, sprintTaskCount(sprintId));
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    private void readProjectAndSprint(int projectId, int sprintId) {
+        try (EntityManager em = factory.createEntityManager()) {
+            em.find(Project.class, projectId).getUsers().forEach(User::getEmail);
+            em.find(Sprint.class, sprintId).getTasks().forEach(Task::getTitle);
+        }
+    }
+
+    private int sprintTaskCount(int sprintId) {
+        try (EntityManager em = factory.createEntityManager()) {
+            return em.find(Sprint.class, sprintId).getTasks().size();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package ru.sfedu.agileflow.config;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Persistence;
+import org.apache.log4j.Logger;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.Test;
+import ru.sfedu.agileflow.constants.Constants;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Тестовый класс для ConnectionPool и PooledConnectionProvider.
+ * Вместо PostgreSQL используется встроенная база H2.
+ */
+public class ConnectionPoolTest {
+    private static final Logger log = Logger.getLogger(ConnectionPoolTest.class);
+
+    @Test
+    public void testPoolSharedBetweenUnits() {
+        String methodName = "testPoolSharedBetweenUnits";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        Map<String, Object> settings = settings("pool_shared");
+        ConnectionPool first = ConnectionPool.acquire(settings);
+        ConnectionPool second = ConnectionPool.acquire(new HashMap<>(settings));
+        assertSame("PU с одной базой данных должны использовать один пул", first, second);
+        first.release();
+        assertFalse("Пул не должен закрываться, пока его использует другая PU", second.isClosed());
+        second.release();
+        assertTrue("Пул должен закрываться после освобождения последней PU", second.isClosed());
+        assertFalse("Закрытый пул не должен возвращаться в показателях", ConnectionPool.getAllMetrics().containsKey(second.getName()));
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    @Test
+    public void testMaxSizeAndMetrics() throws Exception {
+        String methodName = "testMaxSizeAndMetrics";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        Map<String, Object> settings = settings("pool_max_size");
+        settings.put(Constants.DB_POOL_MIN_IDLE_KEY, "1");
+        settings.put(Constants.DB_POOL_MAX_SIZE_KEY, "2");
+        settings.put(Constants.DB_POOL_CONNECTION_TIMEOUT_KEY, "250");
+        ConnectionPool pool = ConnectionPool.acquire(settings);
+        try (Connection first = pool.getConnection(); Connection second = pool.getConnection()) {
+            assertNotSame("Пул должен выдать два разных соединения", first, second);
+            assertEquals("Обе выданные соединения должны считаться активными", 2, pool.getMetrics().getActive());
+            try {
+                pool.getConnection().close();
+                fail("Пул не должен выдавать соединений сверх максимального размера");
+            } catch (SQLException e) {
+                log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Ожидаемое исключение: " + e.getMessage()));
+            }
+        } finally {
+            ConnectionPool.Metrics metrics = pool.getMetrics();
+            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, metrics));
+            pool.release();
+            assertEquals("Превышение времени ожидания должно учитываться", 1, metrics.getTimeouts());
+            assertEquals("Должны учитываться все запросы соединения", 3, metrics.getAcquisitions());
+            assertTrue("Ожидание до превышения времени должно учитываться", metrics.getMaxWaitNanos() >= 200_000_000L);
+            assertTrue("Общее количество соединений не должно превышать максимум", metrics.getTotal() <= 2);
+        }
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    @Test
+    public void testDriverPropertiesBySubprotocol() throws Exception {
+        String methodName = "testDriverPropertiesBySubprotocol";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        Map<String, Object> settings = settings("pool_driver_properties");
+        settings.put(Constants.DB_POOL_PREFIX + "h2.MODE", "PostgreSQL");
+        // H2 отклоняет неизвестные настройки соединения, поэтому свойства PostgreSQL не должны ему передаваться
+        settings.put(Constants.DB_POOL_PREFIX + "postgresql.prepareThreshold", "1");
+        ConnectionPool pool = ConnectionPool.acquire(settings);
+        try (Connection connection = pool.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(
+                     "SELECT SETTING_VALUE FROM INFORMATION_SCHEMA.SETTINGS WHERE SETTING_NAME = 'MODE'")) {
+            assertTrue(resultSet.next());
+            assertEquals("Свойство драйвера H2 должно применяться", "PostgreSQL", resultSet.getString(1));
+        } finally {
+            pool.release();
+        }
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    @Test
+    public void testPersistenceUnitsShareProviderPool() {
+        String methodName = "testPersistenceUnitsShareProviderPool";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        Map<String, Object> overrides = settings("pool_units");
+        overrides.put("hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        overrides.put("hibernate.hbm2ddl.auto", "create-drop");
+        overrides.put("hibernate.show_sql", "false");
+        EntityManagerFactory lab4 = Persistence.createEntityManagerFactory("Lab4PU", overrides);
+        EntityManagerFactory lab5 = Persistence.createEntityManagerFactory("Lab5PU", overrides);
+        try {
+            ConnectionPool lab4Pool = poolOf(lab4);
+            assertSame("Фабрики с одной базой данных должны использовать один пул", lab4Pool, poolOf(lab5));
+            try (EntityManager em = lab5.createEntityManager()) {
+                em.getTransaction().begin();
+                assertEquals("Запрос должен выполняться через пул", 0L,
+                        em.createQuery("SELECT COUNT(u) FROM ru.sfedu.agileflow.lab5.User u", Long.class).getSingleResult().longValue());
+                em.getTransaction().commit();
+            }
+            assertTrue("Соединения должны выдаваться из пула", lab4Pool.getMetrics().getAcquisitions() > 0);
+            lab4.close();
+            assertFalse("Пул должен оставаться открытым для второй фабрики", lab4Pool.isClosed());
+            lab5.close();
+            assertTrue("Пул должен закрываться вместе с последней фабрикой", lab4Pool.isClosed());
+        } finally {
+            if (lab4.isOpen()) {
+                lab4.close();
+            }
+            if (lab5.isOpen()) {
+                lab5.close();
+            }
+        }
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    private static ConnectionPool poolOf(EntityManagerFactory factory) {
+        return factory.unwrap(SessionFactoryImplementor.class).getServiceRegistry()
+                .requireService(ConnectionProvider.class).unwrap(PooledConnectionProvider.class).getPool();
+    }
+
+    private static Map<String, Object> settings(String database) {
+        Map<String, Object> settings = new HashMap<>();
+        settings.put("javax.persistence.jdbc.url", "jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1");
+        settings.put("javax.persistence.jdbc.user", "sa");
+        settings.put("javax.persistence.jdbc.password", "");
+        settings.put("javax.persistence.jdbc.driver", "org.h2.Driver");
+        return settings;
+    }
+}
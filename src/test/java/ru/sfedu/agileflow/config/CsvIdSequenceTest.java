@@ -0,0 +1,96 @@
+package ru.sfedu.agileflow.config;
+
+import org.apache.log4j.Logger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import ru.sfedu.agileflow.constants.Constants;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Тестовый класс для CsvIdSequence.
+ */
+public class CsvIdSequenceTest {
+    private static final Logger log = Logger.getLogger(CsvIdSequenceTest.class);
+    private static final Path SEQUENCE_PATH = Paths.get("data/csv", "id_sequence_test.csv.seq");
+
+    @Before
+    public void setUp() throws Exception {
+        String methodName = "setUp";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        Files.deleteIfExists(SEQUENCE_PATH);
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        String methodName = "tearDown";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        Files.deleteIfExists(SEQUENCE_PATH);
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    @Test
+    public void testRecoveryWhenSequenceFileMissing() {
+        String methodName = "testRecoveryWhenSequenceFileMissing";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        AtomicInteger recoveries = new AtomicInteger();
+        CsvIdSequence sequence = new CsvIdSequence(SEQUENCE_PATH, 10, () -> {
+            recoveries.incrementAndGet();
+            return 41;
+        });
+        assertEquals("Первый ID должен следовать за максимальным в данных", 42, sequence.next());
+        assertEquals("Следующий ID должен увеличиваться на 1", 43, sequence.next());
+        assertEquals("Данные должны читаться только один раз", 1, recoveries.get());
+        assertTrue("Файл границы должен быть создан", Files.exists(SEQUENCE_PATH));
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    @Test
+    public void testNoReuseAfterUncleanShutdown() {
+        String methodName = "testNoReuseAfterUncleanShutdown";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        CsvIdSequence sequence = new CsvIdSequence(SEQUENCE_PATH, 10, () -> 0);
+        int last = 0;
+        for (int i = 0; i < 15; i++) {
+            last = sequence.next();
+        }
+        // Новый экземпляр без flush имитирует аварийное завершение
+        CsvIdSequence restarted = new CsvIdSequence(SEQUENCE_PATH, 10, () -> {
+            fail("Восстановление по данным не ожидалось");
+            return 0;
+        });
+        assertTrue("Идентификаторы не должны повторяться", restarted.next() > last);
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    @Test
+    public void testExactContinuationAfterFlush() {
+        String methodName = "testExactContinuationAfterFlush";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        CsvIdSequence sequence = new CsvIdSequence(SEQUENCE_PATH, 10, () -> 0);
+        sequence.next();
+        sequence.next();
+        sequence.flush();
+        CsvIdSequence restarted = new CsvIdSequence(SEQUENCE_PATH, 10, () -> 0);
+        assertEquals("После корректного завершения пропусков быть не должно", 3, restarted.next());
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    @Test
+    public void testRecoveryWhenSequenceFileCorrupted() throws Exception {
+        String methodName = "testRecoveryWhenSequenceFileCorrupted";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        Files.createDirectories(SEQUENCE_PATH.getParent());
+        Files.writeString(SEQUENCE_PATH, "12a");
+        CsvIdSequence sequence = new CsvIdSequence(SEQUENCE_PATH, 10, () -> 7);
+        assertEquals("Последовательность должна восстановиться по данным", 8, sequence.next());
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+}
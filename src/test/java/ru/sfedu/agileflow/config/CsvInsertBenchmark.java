@@ -0,0 +1,109 @@
+package ru.sfedu.agileflow.config;
+
+import org.apache.log4j.LogManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import ru.sfedu.agileflow.constants.Constants;
+import ru.sfedu.agileflow.csv.TaskCsvDAO;
+import ru.sfedu.agileflow.models.Task;
+import ru.sfedu.agileflow.models.TaskStatus;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * JMH-бенчмарк вставки задач в CSV в журнальном режиме хранения при 1 тыс., 100 тыс. и 1 млн строк:
+ * показывает, что стоимость генерации ID и вставки не растет с размером файла.
+ * Файлы создаются во временном каталоге (ключ -Dcsv.dir задается до загрузки {@link CsvConfig},
+ * каждый запуск идет в своей JVM) и удаляются после замера; рабочие данные data/csv не затрагиваются.
+ * Запуск: профиль Maven benchmark (-Djmh.include=CsvInsertBenchmark) или main-метод; результаты пишутся в JSON.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class CsvInsertBenchmark {
+    private static final String TASKS_FILE = "tasks.csv";
+
+    @Param({"1000", "100000", "1000000"})
+    private int rows;
+
+    private Path directory;
+    private TaskCsvDAO dao;
+    private int created;
+
+    @Setup
+    public void setUp() throws IOException {
+        // Логирование каждой операции исказило бы замеры
+        LogManager.getLoggerRepository().setThreshold(org.apache.log4j.Level.WARN);
+        directory = Files.createTempDirectory("csv-insert-benchmark");
+        System.setProperty(Constants.CSV_DIR_KEY, directory.toString());
+        CsvConfig.setStorageMode(CsvConfig.StorageMode.APPEND);
+        dao = new TaskCsvDAO();
+        List<Task> tasks = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            tasks.add(task(i));
+        }
+        dao.createAll(tasks);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        // Иначе при завершении JVM последовательность снова создаст удаленный каталог
+        CsvConfig.flush();
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    /**
+     * Вставка одной задачи, включая выдачу ее идентификатора.
+     */
+    @Benchmark
+    public void create() {
+        dao.create(task(rows + created++));
+    }
+
+    /**
+     * Выдача идентификатора персистентной последовательностью отдельно от вставки.
+     */
+    @Benchmark
+    public int generateId() {
+        return CsvConfig.generateId(TASKS_FILE);
+    }
+
+    private static Task task(int i) {
+        return new Task("Задача " + i, "Описание", TaskStatus.TO_DO, 1, null, null);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(CsvInsertBenchmark.class.getSimpleName())
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh-" + CsvInsertBenchmark.class.getSimpleName() + ".json")
+                .build()).run();
+    }
+}
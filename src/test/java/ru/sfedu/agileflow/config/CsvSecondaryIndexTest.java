@@ -0,0 +1,131 @@
+package ru.sfedu.agileflow.config;
+
+import com.opencsv.CSVWriter;
+import org.apache.log4j.Logger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import ru.sfedu.agileflow.constants.Constants;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+/**
+ * Тестовый класс для CsvSecondaryIndex.
+ */
+public class CsvSecondaryIndexTest {
+    private static final Logger log = Logger.getLogger(CsvSecondaryIndexTest.class);
+    private static final Path CSV_PATH = Paths.get("data/csv", "secondary_index_test.csv");
+    private static final Path INDEX_PATH = Paths.get("data/csv", "secondary_index_test.csv.sprintId.idx");
+
+    private final List<String[]> records = new ArrayList<>();
+    private final AtomicInteger rebuilds = new AtomicInteger();
+
+    @Before
+    public void setUp() throws Exception {
+        String methodName = "setUp";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        Files.deleteIfExists(INDEX_PATH);
+        records.clear();
+        records.add(new String[]{"1", "Задача 1", "10"});
+        records.add(new String[]{"2", "Задача 2", "20"});
+        records.add(new String[]{"3", "Задача 3", "10"});
+        writeCsv();
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        String methodName = "tearDown";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        Files.deleteIfExists(CSV_PATH);
+        Files.deleteIfExists(INDEX_PATH);
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    @Test
+    public void testLookupBuildsIndexOnce() {
+        String methodName = "testLookupBuildsIndexOnce";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        CsvSecondaryIndex index = newIndex();
+        assertEquals("Индекс не должен строиться до первого поиска", 0, rebuilds.get());
+        assertEquals("По значению 10 должно быть 2 записи", List.of("1", "3"), keys(index.lookup("10")));
+        assertEquals("По значению 20 должна быть 1 запись", List.of("2"), keys(index.lookup("20")));
+        assertTrue("По отсутствующему значению записей быть не должно", index.lookup("30").isEmpty());
+        assertEquals("Индекс должен строиться один раз", 1, rebuilds.get());
+        assertTrue("Индекс должен быть сохранен рядом с CSV", Files.exists(INDEX_PATH));
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    @Test
+    public void testWritesUpdateIndexWithoutRebuild() throws Exception {
+        String methodName = "testWritesUpdateIndexWithoutRebuild";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        CsvSecondaryIndex index = newIndex();
+        index.lookup("10");
+        String[] moved = {"1", "Задача 1", "20"};
+        records.set(0, moved);
+        writeCsv();
+        index.put(moved);
+        records.remove(1);
+        writeCsv();
+        index.remove("2");
+        assertEquals("Перемещенная запись должна уйти из старого значения", List.of("3"), keys(index.lookup("10")));
+        assertEquals("Перемещенная запись должна попасть в новое значение", List.of("1"), keys(index.lookup("20")));
+        assertEquals("Изменения не должны вызывать перестроение", 1, rebuilds.get());
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    @Test
+    public void testPersistedIndexLoadedWithoutScan() {
+        String methodName = "testPersistedIndexLoadedWithoutScan";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        newIndex().lookup("10");
+        CsvSecondaryIndex restarted = new CsvSecondaryIndex(CSV_PATH, INDEX_PATH, 2, 1, () -> {
+            fail("Перестроение не ожидалось");
+            return Stream.empty();
+        });
+        assertEquals("Сохраненный индекс должен совпадать", List.of("1", "3"), keys(restarted.lookup("10")));
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    @Test
+    public void testExternalChangeTriggersRebuild() throws Exception {
+        String methodName = "testExternalChangeTriggersRebuild";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        CsvSecondaryIndex index = newIndex();
+        index.lookup("10");
+        Files.writeString(CSV_PATH, "\"4\",\"Задача 4\",\"10\"\n", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        records.add(new String[]{"4", "Задача 4", "10"});
+        assertEquals("Запись, добавленная в обход индекса, должна находиться", List.of("1", "3", "4"), keys(index.lookup("10")));
+        assertEquals("Изменение файла должно вызвать перестроение", 2, rebuilds.get());
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    private CsvSecondaryIndex newIndex() {
+        return new CsvSecondaryIndex(CSV_PATH, INDEX_PATH, 2, 1, () -> {
+            rebuilds.incrementAndGet();
+            return new ArrayList<>(records).stream();
+        });
+    }
+
+    private void writeCsv() throws Exception {
+        Files.createDirectories(CSV_PATH.getParent());
+        try (CSVWriter writer = new CSVWriter(Files.newBufferedWriter(CSV_PATH, StandardCharsets.UTF_8))) {
+            writer.writeAll(records);
+        }
+    }
+
+    private static List<String> keys(List<String[]> keys) {
+        return keys.stream().map(key -> key[0]).toList();
+    }
+}
@@ -7,6 +7,8 @@ import org.junit.Test;
 import ru.sfedu.agileflow.constants.Constants;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
 import java.util.Properties;
 
 import static org.junit.Assert.*;
@@ -96,4 +98,46 @@ public class DatabaseConfigTest {
             log.info(String.format(Constants.LOG_METHOD_END, methodName));
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Тестирование ленивого создания EntityManagerFactory: фабрики PU, к которым
+     * не было обращений, не создаются.
+     * Тип: Позитивный
+     */
+    @Test
+    public void testLazyBootstrap() {
+        String methodName = "testLazyBootstrap";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        Map<String, Duration> times = DatabaseConfig.getBootstrapTimes();
+        log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Время создания фабрик: " + times));
+        assertFalse("Фабрика Lab4PU не должна создаваться без обращения к ней", times.containsKey("Lab4PU"));
+        times.values().forEach(time -> assertFalse("Время создания не должно быть отрицательным", time.isNegative()));
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    /**
+     * Тестирование профиля настроек: по умолчанию выбирается dev, а файл профиля prod
+     * отключает вывод SQL и включает пакетную отправку операторов, не меняя режим схемы PU.
+     * Тип: Позитивный
+     */
+    @Test
+    public void testProfile() {
+        String methodName = "testProfile";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        try {
+            assertEquals("Профиль по умолчанию", DatabaseConfig.Profile.DEV, DatabaseConfig.getProfile());
+            Properties prod = new Properties();
+            prod.load(DatabaseConfigTest.class.getClassLoader().getResourceAsStream(
+                    String.format(Constants.DB_PROFILE_PROPERTIES_PATTERN, "prod")));
+            log.debug(String.format(Constants.LOG_DB_DEBUG, methodName, "Свойства профиля prod: " + prod));
+            assertEquals("false", prod.getProperty("hibernate.show_sql"));
+            assertNull("Режим схемы задается persistence.xml для каждой PU", prod.getProperty("hibernate.hbm2ddl.auto"));
+            assertTrue("Размер пакета должен быть задан", Integer.parseInt(prod.getProperty("hibernate.jdbc.batch_size")) > 1);
+            assertNotNull("Размер выборки должен быть задан", prod.getProperty("hibernate.jdbc.fetch_size"));
+            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+        } catch (IOException e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось загрузить профиль prod: " + e.getMessage()), e);
+            fail("Не удалось загрузить профиль prod: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package ru.sfedu.agileflow.config;
+
+import org.apache.log4j.LogManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import ru.sfedu.agileflow.constants.Constants;
+import ru.sfedu.agileflow.dao.Sort;
+import ru.sfedu.agileflow.dao.TaskDAO;
+import ru.sfedu.agileflow.models.Task;
+import ru.sfedu.agileflow.models.TaskStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH-бенчмарк профилей настроек PU ({@link DatabaseConfig.Profile}): время запуска основной PU
+ * (загрузка {@link DatabaseConfig} и создание фабрики в новой JVM) и пропускная способность
+ * пакетной вставки и постраничного чтения задач.
+ * <p>
+ * По умолчанию замеры идут на встроенной H2, где схема всегда создается заново; для замера
+ * на PostgreSQL база задается ключом -Djavax.persistence.jdbc.url=...
+ * Вывод SQL задается профилем: в профиле dev он включен, как в persistence.xml.
+ * Запуск: профиль Maven benchmark (-Djmh.include=DatabaseProfileBenchmark) или main-метод; результаты пишутся в JSON.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class DatabaseProfileBenchmark {
+    private static final int ROWS = 1000;
+    private static final int BATCH = 50;
+
+    @Param({"dev", "prod"})
+    private String profile;
+
+    /**
+     * Выбирает профиль до первого обращения к {@link DatabaseConfig}; каждый запуск идет в своей JVM.
+     */
+    @Setup
+    public void setUp() {
+        // Логирование каждой операции исказило бы замеры
+        LogManager.getLoggerRepository().setThreshold(org.apache.log4j.Level.WARN);
+        System.setProperty(Constants.DB_PROFILE_KEY, profile);
+        EmbeddedDatabase.configure();
+        System.clearProperty("hibernate.show_sql");
+    }
+
+    /**
+     * Задачи для замеров пропускной способности; не используется замером запуска,
+     * чтобы фабрика создавалась внутри замера.
+     */
+    @State(Scope.Benchmark)
+    public static class Data {
+        private TaskDAO dao;
+        private final List<Integer> seeded = new ArrayList<>();
+
+        /**
+         * Параметр обеспечивает выбор профиля до создания фабрики.
+         */
+        @Setup
+        public void seed(DatabaseProfileBenchmark benchmark) {
+            dao = new TaskDAO();
+            List<Task> tasks = tasks(ROWS);
+            dao.createAll(tasks);
+            tasks.forEach(task -> seeded.add(task.getId()));
+        }
+
+        @TearDown
+        public void clean() {
+            dao.deleteAllById(seeded);
+        }
+    }
+
+    /**
+     * Время от загрузки {@link DatabaseConfig} до первого выполненного запроса основной PU.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    @Fork(5)
+    public void startup() {
+        DatabaseConfig.testConnection();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        DatabaseConfig.close();
+    }
+
+    /**
+     * Вставка и удаление пакета задач.
+     */
+    @Benchmark
+    public void batchInsert(Data data) {
+        List<Task> tasks = tasks(BATCH);
+        data.dao.createAll(tasks);
+        data.dao.deleteAllById(tasks.stream().map(Task::getId).toList());
+    }
+
+    /**
+     * Чтение первой страницы задач.
+     */
+    @Benchmark
+    public Object findPage(Data data) {
+        return data.dao.findPage(null, BATCH, Sort.byId());
+    }
+
+    private static List<Task> tasks(int count) {
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tasks.add(new Task("Задача " + i, "Описание задачи", TaskStatus.values()[i % 3], i % 5 + 1, null, null));
+        }
+        return tasks;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(DatabaseProfileBenchmark.class.getSimpleName())
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh-" + DatabaseProfileBenchmark.class.getSimpleName() + ".json")
+                .build()).run();
+    }
+}
@@ -0,0 +1,34 @@
+package ru.sfedu.agileflow.config;
+
+import java.util.Map;
+
+/**
+ * Настройка JPA-бенчмарков на встроенную базу H2 в памяти. Свойства задаются системными,
+ * поэтому их подхватывает {@link DatabaseConfig}; вызывать нужно до первого обращения к нему.
+ * Если адрес базы уже задан ключом -Djavax.persistence.jdbc.url, настройка не меняется
+ * и замеры идут на указанной базе.
+ */
+public final class EmbeddedDatabase {
+    private static final String URL_KEY = "javax.persistence.jdbc.url";
+
+    private static final Map<String, String> H2 = Map.of(
+            URL_KEY, "jdbc:h2:mem:agileflow_benchmark;DB_CLOSE_DELAY=-1",
+            "javax.persistence.jdbc.user", "sa",
+            "javax.persistence.jdbc.password", "",
+            "javax.persistence.jdbc.driver", "org.h2.Driver",
+            "hibernate.dialect", "org.hibernate.dialect.H2Dialect",
+            "hibernate.hbm2ddl.auto", "create-drop",
+            "hibernate.show_sql", "false");
+
+    private EmbeddedDatabase() {
+    }
+
+    /**
+     * Направляет все PU на базу H2 в памяти, если другая база не указана явно.
+     */
+    public static void configure() {
+        if (System.getProperty(URL_KEY) == null) {
+            H2.forEach(System::setProperty);
+        }
+    }
+}
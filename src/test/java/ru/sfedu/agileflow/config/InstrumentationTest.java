@@ -0,0 +1,148 @@
+package ru.sfedu.agileflow.config;
+
+import org.apache.log4j.Logger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import ru.sfedu.agileflow.constants.Constants;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.*;
+
+/**
+ * Тестовый класс для LatencyHistogram, SimpleMetricsRegistry и Instrumentation.
+ */
+public class InstrumentationTest {
+    private static final Logger log = Logger.getLogger(InstrumentationTest.class);
+    private MetricsRegistry previous;
+
+    @Before
+    public void setUp() {
+        String methodName = "setUp";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        previous = Instrumentation.getRegistry();
+        Instrumentation.setRegistry(new SimpleMetricsRegistry());
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    @After
+    public void tearDown() {
+        String methodName = "tearDown";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        Instrumentation.setRegistry(previous);
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    /**
+     * Процентили определяются с точностью до корзины, максимум - точно.
+     * Тип: Позитивный
+     */
+    @Test
+    public void testHistogramPercentiles() {
+        String methodName = "testHistogramPercentiles";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1_000L);
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals("Должны учитываться все значения", 1000, snapshot.getCount());
+        assertEquals("Максимум должен храниться точно", 1_000_000, snapshot.getMaxNanos());
+        assertEquals("Среднее должно считаться по сумме", 500_500, snapshot.getMeanNanos());
+        assertTrue("p50 должен быть не меньше медианы", snapshot.getP50Nanos() >= 500_000);
+        assertTrue("p50 должен отличаться от медианы не более чем на 1/16", snapshot.getP50Nanos() <= 500_000 * 17 / 16);
+        assertTrue("p99 должен быть не меньше 99-го процентиля", snapshot.getP99Nanos() >= 990_000);
+        assertTrue("p99 не должен превышать максимум", snapshot.getP99Nanos() <= snapshot.getMaxNanos());
+        for (long value : new long[]{0, 15, 16, 17, 1_000, 123_456_789, Long.MAX_VALUE}) {
+            assertTrue("Значение должно попадать в корзину с верхней границей не меньше него: " + value,
+                    LatencyHistogram.upperBoundOf(LatencyHistogram.bucketOf(value)) >= value);
+        }
+
+        histogram.reset();
+        assertEquals("После сброса гистограмма должна быть пустой", 0, histogram.snapshot().getCount());
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    /**
+     * Отчет содержит таймеры, упорядоченные по суммарному времени, и счетчики.
+     * Тип: Позитивный
+     */
+    @Test
+    public void testDump() {
+        String methodName = "testDump";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        MetricsRegistry registry = Instrumentation.getRegistry();
+        registry.recordTime("TaskDAO.findAll", 1_000_000);
+        registry.recordTime("TaskCsvDAO.update", 5_000_000);
+        registry.recordTime("TaskCsvDAO.update", 7_000_000);
+        Instrumentation.count(Instrumentation.CSV_BYTES_WRITTEN, 128);
+
+        assertEquals("Таймер должен учитывать все вызовы", 2, registry.getTimers().get("TaskCsvDAO.update").getCount());
+        assertEquals("Счетчик должен накапливать значения", Long.valueOf(128),
+                registry.getCounters().get(Instrumentation.CSV_BYTES_WRITTEN));
+        String dump = Instrumentation.dump();
+        log.info("testDump [1] Отчет:\n" + dump);
+        assertTrue("Операция с наибольшим суммарным временем должна идти первой",
+                dump.indexOf("TaskCsvDAO.update") < dump.indexOf("TaskDAO.findAll"));
+        assertTrue("Отчет должен содержать счетчики", dump.contains(Instrumentation.CSV_BYTES_WRITTEN));
+
+        registry.reset();
+        assertEquals("После сброса таймер должен быть пустым", 0, registry.getTimers().get("TaskCsvDAO.update").getCount());
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    /**
+     * Поток с подсчетом байт учитывает только фактически прочитанные байты.
+     * Тип: Позитивный
+     */
+    @Test
+    public void testCountingInput() {
+        String methodName = "testCountingInput";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        try (InputStream in = Instrumentation.countingInput(new ByteArrayInputStream(new byte[100]), "test.bytesRead")) {
+            in.read();
+            in.read(new byte[10]);
+            assertEquals("Должно быть учтено 11 байт", Long.valueOf(11),
+                    Instrumentation.getRegistry().getCounters().get("test.bytesRead"));
+            in.readAllBytes();
+            assertEquals("Должен быть учтен весь поток", Long.valueOf(100),
+                    Instrumentation.getRegistry().getCounters().get("test.bytesRead"));
+            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()), e);
+            fail("Не удалось прочитать поток: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Метрики доступны через JMX, повторная регистрация не приводит к ошибке.
+     * Тип: Позитивный
+     */
+    @Test
+    public void testRegisterMBean() {
+        String methodName = "testRegisterMBean";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        try {
+            Instrumentation.count(Instrumentation.JPA_TRANSACTIONS, 3);
+            Instrumentation.registerMBean();
+            Instrumentation.registerMBean();
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(Instrumentation.OBJECT_NAME);
+            assertTrue("Объект метрик должен быть зарегистрирован", server.isRegistered(name));
+            String dump = (String) server.invoke(name, "dump", null, null);
+            assertTrue("Отчет через JMX должен содержать счетчики", dump.contains(Instrumentation.JPA_TRANSACTIONS));
+            server.invoke(name, "reset", null, null);
+            assertEquals("Сброс через JMX должен обнулять счетчики", Long.valueOf(0),
+                    Instrumentation.getRegistry().getCounters().get(Instrumentation.JPA_TRANSACTIONS));
+            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()), e);
+            fail("Не удалось обратиться к метрикам через JMX: " + e.getMessage());
+        }
+    }
+}
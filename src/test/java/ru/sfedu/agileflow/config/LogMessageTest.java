@@ -0,0 +1,59 @@
+package ru.sfedu.agileflow.config;
+
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import ru.sfedu.agileflow.constants.Constants;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Тестовый класс для LogMessage.
+ */
+public class LogMessageTest {
+    private static final Logger log = Logger.getLogger(LogMessageTest.class);
+    private static final Logger probe = Logger.getLogger("ru.sfedu.agileflow.config.LogMessageTest.probe");
+
+    @Before
+    public void setUp() {
+        String methodName = "setUp";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        probe.setLevel(Level.INFO);
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    @After
+    public void tearDown() {
+        String methodName = "tearDown";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        probe.setLevel(null);
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    @Test
+    public void testFormatsOnlyWhenRendered() {
+        String methodName = "testFormatsOnlyWhenRendered";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        AtomicInteger renders = new AtomicInteger();
+        Object argument = new Object() {
+            @Override
+            public String toString() {
+                renders.incrementAndGet();
+                return "аргумент";
+            }
+        };
+        probe.debug(LogMessage.format(Constants.LOG_METHOD_DEBUG, methodName, argument));
+        assertEquals("Сообщение отключенного уровня не должно форматироваться", 0, renders.get());
+
+        LogMessage message = LogMessage.format(Constants.LOG_METHOD_DEBUG, methodName, argument);
+        assertEquals("Сообщение должно форматироваться по шаблону",
+                String.format(Constants.LOG_METHOD_DEBUG, methodName, "аргумент"), message.toString());
+        message.toString();
+        assertEquals("Сообщение должно форматироваться один раз", 1, renders.get());
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+}
@@ -0,0 +1,140 @@
+package ru.sfedu.agileflow.config;
+
+import org.apache.log4j.AsyncAppender;
+import org.apache.log4j.FileAppender;
+import org.apache.log4j.LogManager;
+import org.apache.log4j.Logger;
+import org.apache.log4j.PatternLayout;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import ru.sfedu.agileflow.constants.Constants;
+import ru.sfedu.agileflow.csv.TaskCsvDAO;
+import ru.sfedu.agileflow.models.Task;
+import ru.sfedu.agileflow.models.TaskStatus;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH-бенчмарк накладных расходов журналирования: синхронный вывод в файл (SYNC, прежняя конфигурация)
+ * против AsyncAppender (ASYNC, log4j.xml) при уровнях DEBUG (прежний), INFO (текущий) и OFF (без журнала).
+ * csvFindById показывает стоимость журнала в реальной операции DAO, остальные бенчмарки — стоимость
+ * одного вызова: неохраняемый debug с форматированием (как было в DAO), debug под isDebugEnabled
+ * и info с отложенным форматированием {@link LogMessage}.
+ * Запуск: профиль Maven benchmark или main-метод; результаты пишутся в JSON.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoggingBenchmark {
+    private static final Logger log = Logger.getLogger(LoggingBenchmark.class);
+    private static final String LOG_FILE = "target/benchmark-logs/logging.log";
+
+    /**
+     * Способ вывода событий журнала.
+     */
+    public enum Pipeline {
+        SYNC,
+        ASYNC
+    }
+
+    @Param({"SYNC", "ASYNC"})
+    private Pipeline pipeline;
+
+    @Param({"DEBUG", "INFO", "OFF"})
+    private String level;
+
+    private TaskCsvDAO taskDAO;
+    private List<Task> tasks;
+
+    @Setup
+    public void setUp() throws IOException {
+        // Заполнение хранилища журналируется по умолчанию и в замер не входит
+        LogManager.getLoggerRepository().setThreshold(org.apache.log4j.Level.WARN);
+        taskDAO = new TaskCsvDAO();
+        tasks = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            tasks.add(new Task("Задача " + i, "Описание задачи", TaskStatus.values()[i % 3], i % 5 + 1, null, null));
+        }
+        taskDAO.createAll(tasks);
+
+        LogManager.resetConfiguration();
+        FileAppender file = new FileAppender(new PatternLayout("%d{yyyy-MM-dd HH:mm:ss} [%p] %c{1} - %m%n"), LOG_FILE, false);
+        Logger root = Logger.getRootLogger();
+        if (pipeline == Pipeline.ASYNC) {
+            // Как в log4j.xml: файл пишется буферами, события копит AsyncAppender
+            file.setBufferedIO(true);
+            file.activateOptions();
+            AsyncAppender async = new AsyncAppender();
+            async.setBufferSize(8192);
+            async.setBlocking(false);
+            async.addAppender(file);
+            root.addAppender(async);
+        } else {
+            root.addAppender(file);
+        }
+        root.setLevel(org.apache.log4j.Level.toLevel(level));
+    }
+
+    @TearDown
+    public void tearDown() {
+        LogManager.getLoggerRepository().setThreshold(org.apache.log4j.Level.WARN);
+        taskDAO.deleteAllById(tasks.stream().map(Task::getId).toList());
+        LogManager.shutdown();
+    }
+
+    @Benchmark
+    public Object csvFindById() {
+        return taskDAO.findById(randomTask().getId());
+    }
+
+    @Benchmark
+    public void eagerDebug() {
+        Task task = randomTask();
+        log.debug(String.format(Constants.LOG_METHOD_DEBUG, "eagerDebug", task.toString()));
+    }
+
+    @Benchmark
+    public void guardedDebug() {
+        Task task = randomTask();
+        if (log.isDebugEnabled()) {
+            log.debug(String.format(Constants.LOG_METHOD_DEBUG, "guardedDebug", task.toString()));
+        }
+    }
+
+    @Benchmark
+    public void lazyInfo() {
+        log.info(LogMessage.format(Constants.LOG_METHOD_START, "lazyInfo"));
+    }
+
+    private Task randomTask() {
+        return tasks.get(ThreadLocalRandom.current().nextInt(tasks.size()));
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(LoggingBenchmark.class.getSimpleName())
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh-" + LoggingBenchmark.class.getSimpleName() + ".json")
+                .build()).run();
+    }
+}
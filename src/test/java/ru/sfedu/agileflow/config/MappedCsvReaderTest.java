@@ -0,0 +1,116 @@
+package ru.sfedu.agileflow.config;
+
+import com.opencsv.CSVWriter;
+import org.apache.log4j.Logger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import ru.sfedu.agileflow.constants.Constants;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+/**
+ * Тестовый класс для MappedCsvReader.
+ */
+public class MappedCsvReaderTest {
+    private static final Logger log = Logger.getLogger(MappedCsvReaderTest.class);
+    private static final Path FILE_PATH = Paths.get("data/csv", "mapped_reader_test.csv");
+    private static final List<String[]> RECORDS = List.of(
+            new String[]{"id", "title", "description"},
+            new String[]{"1", "Задача, с запятой", "Строка 1\nСтрока 2"},
+            new String[]{"2", "Задача \"в кавычках\"", ""},
+            new String[]{"-3", "", "Путь C:\\temp"}
+    );
+
+    @Before
+    public void setUp() throws Exception {
+        String methodName = "setUp";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        Files.createDirectories(FILE_PATH.getParent());
+        try (CSVWriter writer = new CSVWriter(Files.newBufferedWriter(FILE_PATH, StandardCharsets.UTF_8))) {
+            writer.writeAll(RECORDS);
+        }
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        String methodName = "tearDown";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        System.clearProperty(Constants.CSV_MMAP_THRESHOLD_KEY);
+        Files.deleteIfExists(FILE_PATH);
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    @Test
+    public void testReadsCsvWriterOutputFromHeap() throws Exception {
+        String methodName = "testReadsCsvWriterOutputFromHeap";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        assertRecordsMatch();
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    @Test
+    public void testReadsCsvWriterOutputFromMapping() throws Exception {
+        String methodName = "testReadsCsvWriterOutputFromMapping";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        System.setProperty(Constants.CSV_MMAP_THRESHOLD_KEY, "0");
+        assertRecordsMatch();
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    @Test
+    public void testTypedAccessWithoutStrings() throws Exception {
+        String methodName = "testTypedAccessWithoutStrings";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        try (MappedCsvReader reader = MappedCsvReader.open(FILE_PATH)) {
+            assertTrue(reader.next());
+            assertEquals("Смещение первой строки должно быть 0", 0, reader.rowOffset());
+            assertThrows(NumberFormatException.class, () -> reader.getInt(0));
+            assertTrue(reader.next());
+            assertEquals("ID должен разбираться как число", 1, reader.getInt(0));
+            assertTrue("Поле должно совпадать", reader.fieldEquals(1, "Задача, с запятой"));
+            assertTrue(reader.next());
+            assertTrue("Поле с удвоенными кавычками должно совпадать", reader.fieldEquals(1, "Задача \"в кавычках\""));
+            assertFalse("Ключ не должен совпадать", reader.startsWith("3"));
+            assertTrue(reader.next());
+            assertEquals("Отрицательное число должно разбираться", -3, reader.getInt(0));
+            assertFalse("Строк больше быть не должно", reader.next());
+        }
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    @Test
+    public void testStreamMaterializesFilteredRows() throws Exception {
+        String methodName = "testStreamMaterializesFilteredRows";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        List<String[]> records;
+        try (Stream<String[]> stream = MappedCsvReader.open(FILE_PATH).stream(row -> !row.startsWith("id"))) {
+            records = stream.toList();
+        }
+        assertEquals("Заголовок должен быть отфильтрован", RECORDS.size() - 1, records.size());
+        assertArrayEquals("Строка должна совпадать", RECORDS.get(1), records.get(0));
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    private void assertRecordsMatch() throws Exception {
+        List<String[]> records = new ArrayList<>();
+        try (MappedCsvReader reader = MappedCsvReader.open(FILE_PATH)) {
+            while (reader.next()) {
+                records.add(reader.toArray());
+            }
+        }
+        assertEquals("Количество строк должно совпадать", RECORDS.size(), records.size());
+        for (int i = 0; i < RECORDS.size(); i++) {
+            assertArrayEquals("Строка " + i + " должна совпадать", RECORDS.get(i), records.get(i));
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package ru.sfedu.agileflow.config;
+
+import org.apache.log4j.Logger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import ru.sfedu.agileflow.constants.Constants;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * Тестовый класс для журнала медленных запросов SlowQueryLog на базе H2 в памяти.
+ */
+public class SlowQueryLogTest {
+    private static final Logger log = Logger.getLogger(SlowQueryLogTest.class);
+    private Connection raw;
+    private Connection connection;
+    private long threshold;
+    private boolean explain;
+    private int capacity;
+
+    @Before
+    public void setUp() throws Exception {
+        String methodName = "setUp";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        threshold = SlowQueryLog.getThresholdMillis();
+        explain = SlowQueryLog.isExplain();
+        capacity = SlowQueryLog.getCapacity();
+        SlowQueryLog.clear();
+        // Порог 0: записывается каждый запрос
+        SlowQueryLog.setThresholdMillis(0);
+        raw = DriverManager.getConnection("jdbc:h2:mem:slow_query_log", "sa", "");
+        try (Statement statement = raw.createStatement()) {
+            statement.execute("CREATE TABLE items (id INT PRIMARY KEY, name VARCHAR(50))");
+            statement.execute("INSERT INTO items VALUES (1, 'first'), (2, 'second'), (3, 'third')");
+        }
+        connection = SlowQueryLog.wrap(raw);
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        String methodName = "tearDown";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        connection.close();
+        SlowQueryLog.setThresholdMillis(threshold);
+        SlowQueryLog.setExplain(explain);
+        SlowQueryLog.setCapacity(capacity);
+        SlowQueryLog.clear();
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    /**
+     * Запрос записывается с SQL, параметрами и количеством прочитанных строк после закрытия результата.
+     * Тип: Позитивный
+     */
+    @Test
+    public void testQueryIsRecorded() throws Exception {
+        String methodName = "testQueryIsRecorded";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        try (PreparedStatement statement = connection.prepareStatement("SELECT name FROM items WHERE id >= ? AND name <> ?")) {
+            statement.setInt(1, 2);
+            statement.setString(2, "none");
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    assertNotNull(resultSet.getString(1));
+                }
+                assertTrue("До закрытия результата запись не создается", SlowQueryLog.getEntries().isEmpty());
+            }
+        }
+        List<SlowQueryLog.Entry> entries = SlowQueryLog.getEntries();
+        assertEquals("Должна быть одна запись", 1, entries.size());
+        SlowQueryLog.Entry entry = entries.get(0);
+        log.info("testQueryIsRecorded [1] Запись: " + entry);
+        assertEquals("SQL запроса", "SELECT name FROM items WHERE id >= ? AND name <> ?", entry.getSql());
+        assertEquals("Параметры в порядке номеров", List.of("2", "none"), entry.getBinds());
+        assertEquals("Прочитано 2 строки", 2, entry.getRows());
+        assertTrue("Длительность должна быть положительной", entry.getDurationNanos() > 0);
+        assertNull("План не запрашивался", entry.getPlan());
+        assertEquals("Счетчик медленных запросов", 1, SlowQueryLog.getCount());
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    /**
+     * Для операторов изменения записывается количество измененных строк, для пакета - сумма.
+     * Тип: Позитивный
+     */
+    @Test
+    public void testUpdatesAndBatchesAreRecorded() throws Exception {
+        String methodName = "testUpdatesAndBatchesAreRecorded";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        try (PreparedStatement statement = connection.prepareStatement("UPDATE items SET name = ? WHERE id <= ?")) {
+            statement.setString(1, "changed");
+            statement.setNull(2, java.sql.Types.INTEGER);
+            assertEquals(0, statement.executeUpdate());
+            statement.clearParameters();
+            statement.setString(1, "changed");
+            statement.setInt(2, 2);
+            assertEquals(2, statement.executeUpdate());
+        }
+        try (PreparedStatement statement = connection.prepareStatement("INSERT INTO items VALUES (?, ?)")) {
+            for (int id = 10; id < 13; id++) {
+                statement.setInt(1, id);
+                statement.setString(2, "batch");
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+        List<SlowQueryLog.Entry> entries = SlowQueryLog.getEntries();
+        assertEquals("Должно быть три записи", 3, entries.size());
+        assertEquals("Параметр NULL", List.of("changed", "null"), entries.get(0).getBinds());
+        assertEquals("Изменено 2 строки", 2, entries.get(1).getRows());
+        assertEquals("Пакет вставил 3 строки", 3, entries.get(2).getRows());
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    /**
+     * Запросы быстрее порога не записываются; отрицательный порог отключает обертку.
+     * Тип: Позитивный
+     */
+    @Test
+    public void testThreshold() throws Exception {
+        String methodName = "testThreshold";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        SlowQueryLog.setThresholdMillis(60_000);
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM items")) {
+            assertTrue(resultSet.next());
+        }
+        assertTrue("Быстрый запрос не должен записываться", SlowQueryLog.getEntries().isEmpty());
+
+        SlowQueryLog.setThresholdMillis(-1);
+        assertSame("Отключенный журнал не оборачивает соединение", raw, SlowQueryLog.wrap(raw));
+        assertEquals("Порог отключенного журнала", -1, SlowQueryLog.getThresholdMillis());
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    /**
+     * Для медленного SELECT сохраняется план EXPLAIN ANALYZE, для изменений - нет.
+     * Тип: Позитивный
+     */
+    @Test
+    public void testExplainPlan() throws Exception {
+        String methodName = "testExplainPlan";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        SlowQueryLog.setExplain(true);
+        try (PreparedStatement statement = connection.prepareStatement("/* comment */ SELECT name FROM items WHERE id = ?")) {
+            statement.setInt(1, 1);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                assertTrue(resultSet.next());
+            }
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("DELETE FROM items WHERE id = 3");
+        }
+        List<SlowQueryLog.Entry> entries = SlowQueryLog.getEntries();
+        assertEquals("Должно быть две записи", 2, entries.size());
+        log.info("testExplainPlan [1] План: " + entries.get(0).getPlan());
+        assertNotNull("План SELECT должен быть сохранен", entries.get(0).getPlan());
+        assertTrue("План должен описывать запрос", entries.get(0).getPlan().toUpperCase().contains("ITEMS"));
+        assertNull("Изменения не анализируются", entries.get(1).getPlan());
+        assertTrue(SlowQueryLog.isQuery("/* comment */ select name from items"));
+        assertFalse("CTE может изменять данные", SlowQueryLog.isQuery("WITH d AS (DELETE FROM items RETURNING id) SELECT * FROM d"));
+        assertFalse(SlowQueryLog.isQuery("/* select */ UPDATE items SET name = 'x'"));
+        assertFalse("Блокировка строк", SlowQueryLog.isQuery("SELECT name FROM items WHERE id = ? FOR UPDATE"));
+        assertFalse("Значение последовательности", SlowQueryLog.isQuery("select nextval('tasks_id_seq')"));
+        assertFalse("SELECT INTO создает таблицу", SlowQueryLog.isQuery("SELECT * INTO copy FROM items"));
+        assertFalse(SlowQueryLog.isQuery("selection"));
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    /**
+     * Внутри транзакции план запрашивается между точкой сохранения и откатом к ней,
+     * и транзакция вызывающего кода продолжается.
+     * Тип: Позитивный
+     */
+    @Test
+    public void testExplainInsideTransaction() throws Exception {
+        String methodName = "testExplainInsideTransaction";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        SlowQueryLog.setExplain(true);
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("INSERT INTO items VALUES (4, 'fourth')");
+            try (ResultSet resultSet = statement.executeQuery("SELECT name FROM items WHERE id = 4")) {
+                assertTrue("Незафиксированная строка видна в транзакции", resultSet.next());
+            }
+            statement.executeUpdate("UPDATE items SET name = 'changed' WHERE id = 4");
+            connection.commit();
+            try (ResultSet resultSet = statement.executeQuery("SELECT name FROM items WHERE id = 4")) {
+                assertTrue(resultSet.next());
+                assertEquals("Изменения транзакции должны сохраниться", "changed", resultSet.getString(1));
+            }
+        } finally {
+            connection.setAutoCommit(true);
+        }
+        List<SlowQueryLog.Entry> entries = SlowQueryLog.getEntries();
+        assertNotNull("План SELECT в транзакции должен быть сохранен", entries.get(1).getPlan());
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    /**
+     * Журнал хранит не больше capacity последних записей, а настройки читаются из настроек PU.
+     * Тип: Позитивный
+     */
+    @Test
+    public void testCapacityAndConfigure() throws Exception {
+        String methodName = "testCapacityAndConfigure";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        SlowQueryLog.configure(Map.of(Constants.DB_SLOW_QUERY_CAPACITY_KEY, "2",
+                Constants.DB_SLOW_QUERY_THRESHOLD_KEY, "0"));
+        assertEquals(2, SlowQueryLog.getCapacity());
+        try (Statement statement = connection.createStatement()) {
+            for (int id = 1; id <= 3; id++) {
+                statement.executeUpdate("UPDATE items SET name = 'n" + id + "' WHERE id = " + id);
+            }
+        }
+        List<SlowQueryLog.Entry> entries = SlowQueryLog.getEntries();
+        assertEquals("Должны храниться 2 записи", 2, entries.size());
+        assertTrue("Старейшая запись вытеснена", entries.get(0).getSql().endsWith("id = 2"));
+        assertEquals("Счетчик учитывает вытесненные записи", 3, SlowQueryLog.getCount());
+        assertTrue("Отчет для CLI", SlowQueryLog.dump().contains("Медленных запросов: 3"));
+        try {
+            SlowQueryLog.setCapacity(0);
+            fail("Ожидалось исключение для нулевого размера журнала");
+        } catch (IllegalArgumentException e) {
+            log.info("testCapacityAndConfigure [1] Получено ожидаемое исключение: " + e.getMessage());
+        }
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+}
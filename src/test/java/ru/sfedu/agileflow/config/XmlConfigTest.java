@@ -0,0 +1,84 @@
+package ru.sfedu.agileflow.config;
+
+import jakarta.xml.bind.Marshaller;
+import jakarta.xml.bind.Unmarshaller;
+import org.apache.log4j.Logger;
+import org.junit.Before;
+import org.junit.Test;
+import ru.sfedu.agileflow.constants.Constants;
+import ru.sfedu.agileflow.models.Task;
+import ru.sfedu.agileflow.models.TaskStatus;
+import ru.sfedu.agileflow.xml.XmlDataWrapper;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Тестовый класс для кэша Marshaller/Unmarshaller в XmlConfig.
+ */
+public class XmlConfigTest {
+    private static final Logger log = Logger.getLogger(XmlConfigTest.class);
+
+    @Before
+    public void setUp() {
+        String methodName = "setUp";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        XmlConfig.releaseThreadResources();
+        XmlConfig.resetPoolStatistics();
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    @Test
+    public void testInstancesReusedWithinThread() {
+        String methodName = "testInstancesReusedWithinThread";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        Marshaller marshaller = XmlConfig.getMarshaller();
+        Unmarshaller unmarshaller = XmlConfig.getUnmarshaller();
+        assertSame("Поток должен получать тот же Marshaller", marshaller, XmlConfig.getMarshaller());
+        assertSame("Поток должен получать тот же Unmarshaller", unmarshaller, XmlConfig.getUnmarshaller());
+        XmlConfig.PoolStatistics statistics = XmlConfig.getPoolStatistics();
+        assertEquals("Marshaller должен создаваться один раз", 1, statistics.getMarshallerMisses());
+        assertEquals("Повторное обращение должно быть попаданием", 1, statistics.getMarshallerHits());
+        assertEquals("Unmarshaller должен создаваться один раз", 1, statistics.getUnmarshallerMisses());
+        assertEquals("Доля попаданий должна быть 0.5", 0.5, statistics.getHitRatio(), 1e-9);
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    @Test
+    public void testInstancesConfinedToThread() throws Exception {
+        String methodName = "testInstancesConfinedToThread";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        Marshaller own = XmlConfig.getMarshaller();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Marshaller> other = executor.submit(XmlConfig::getMarshaller);
+            assertNotSame("Другой поток должен получить собственный Marshaller", own, other.get(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    @Test
+    public void testCachedInstancesRoundTrip() throws Exception {
+        String methodName = "testCachedInstancesRoundTrip";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        for (int i = 0; i < 3; i++) {
+            XmlDataWrapper wrapper = new XmlDataWrapper();
+            Task task = new Task("Задача " + i, "Описание", TaskStatus.TO_DO, i, null, null);
+            task.setId(i + 1);
+            wrapper.getTasks().add(task);
+            StringWriter xml = new StringWriter();
+            XmlConfig.getMarshaller().marshal(wrapper, xml);
+            XmlDataWrapper restored = (XmlDataWrapper) XmlConfig.getUnmarshaller().unmarshal(new StringReader(xml.toString()));
+            assertEquals("Задача должна восстановиться", "Задача " + i, restored.getTasks().get(0).getTitle());
+        }
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+}
@@ -0,0 +1,106 @@
+package ru.sfedu.agileflow.config;
+
+import org.apache.log4j.Level;
+import org.apache.log4j.LogManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import ru.sfedu.agileflow.models.Task;
+import ru.sfedu.agileflow.models.TaskStatus;
+import ru.sfedu.agileflow.xml.XmlDataWrapper;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH-бенчмарк чтения из XmlEntityStore: разбор всего файла на каждый запрос (FILE),
+ * потоковое чтение StAX (STREAM) и индексы в памяти (MEMORY), с одним файлом и с разбиением
+ * на шарды, при котором изменение одной сущности переписывает только ее шард.
+ * Запуск: main-метод.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class XmlEntityStoreBenchmark {
+    private static final Path XML_PATH = Paths.get("data/xml", "store_benchmark.xml");
+
+    @Param({"FILE", "MEMORY", "STREAM"})
+    private XmlConfig.StorageMode mode;
+
+    @Param({"1000"})
+    private int tasks;
+
+    @Param({"1", "8"})
+    private int shards;
+
+    private XmlEntityStore<Task> store;
+
+    @Setup
+    public void setUp() {
+        // Логирование каждой операции исказило бы замеры
+        LogManager.getLoggerRepository().setThreshold(Level.WARN);
+        XmlConfig.setStorageMode(mode);
+        XmlConfig.setDurability(XmlConfig.Durability.SYNC);
+        store = new XmlEntityStore<>(XML_PATH, Task.class, "task", XmlDataWrapper::getTasks, Task::getId, shards)
+                .withIndex("status", Task::getStatus, "status");
+        List<Task> values = new ArrayList<>(tasks);
+        for (int i = 1; i <= tasks; i++) {
+            Task task = new Task("Задача " + i, "Описание задачи", TaskStatus.values()[i % 3], i % 5, null, null);
+            task.setId(i);
+            values.add(task);
+        }
+        store.save(values);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        store.invalidate();
+        XmlConfig.setStorageMode(XmlConfig.StorageMode.FILE);
+        for (Path path : store.getShardPaths()) {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Benchmark
+    public Object findById() {
+        return store.findById(ThreadLocalRandom.current().nextInt(1, tasks + 1));
+    }
+
+    @Benchmark
+    public Object findByStatus() {
+        return store.findByIndex("status", TaskStatus.IN_PROGRESS);
+    }
+
+    @Benchmark
+    public void updateOne() {
+        int id = ThreadLocalRandom.current().nextInt(1, tasks + 1);
+        Task task = new Task("Задача " + id, "Измененное описание", TaskStatus.DONE, id % 5, null, null);
+        task.setId(id);
+        store.save(List.of(task));
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(XmlEntityStoreBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
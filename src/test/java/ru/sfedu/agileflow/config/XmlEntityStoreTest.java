@@ -0,0 +1,276 @@
+package ru.sfedu.agileflow.config;
+
+import org.apache.log4j.Logger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import ru.sfedu.agileflow.constants.Constants;
+import ru.sfedu.agileflow.models.Task;
+import ru.sfedu.agileflow.models.TaskStatus;
+import ru.sfedu.agileflow.xml.XmlDataWrapper;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Тестовый класс для XmlEntityStore в режиме хранения в памяти и с разбиением на шарды.
+ */
+public class XmlEntityStoreTest {
+    private static final Logger log = Logger.getLogger(XmlEntityStoreTest.class);
+    private static final Path XML_PATH = Paths.get("data/xml", "store_test.xml");
+    private static final int SHARDS = 4;
+
+    private XmlConfig.StorageMode previousMode;
+    private XmlConfig.Durability previousDurability;
+    private long previousInterval;
+    private XmlEntityStore<Task> store;
+
+    @Before
+    public void setUp() throws Exception {
+        String methodName = "setUp";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        previousMode = XmlConfig.getStorageMode();
+        previousDurability = XmlConfig.getDurability();
+        previousInterval = XmlConfig.getFlushInterval();
+        XmlConfig.setStorageMode(XmlConfig.StorageMode.MEMORY);
+        Files.deleteIfExists(XML_PATH);
+        store = newStore();
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        String methodName = "tearDown";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        store.invalidate();
+        XmlConfig.setDurability(previousDurability);
+        XmlConfig.setFlushInterval(previousInterval);
+        XmlConfig.setStorageMode(previousMode);
+        Files.deleteIfExists(XML_PATH);
+        for (Path path : newShardedStore().getShardPaths()) {
+            Files.deleteIfExists(path);
+        }
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    @Test
+    public void testReadsServedFromMemory() throws Exception {
+        String methodName = "testReadsServedFromMemory";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        XmlConfig.setDurability(XmlConfig.Durability.SYNC);
+        store.save(List.of(task(1, TaskStatus.TO_DO), task(2, TaskStatus.DONE)));
+        Files.delete(XML_PATH);
+        assertEquals("Задача должна читаться из памяти", "Задача 1", store.findById(1).orElseThrow().getTitle());
+        assertEquals("Все задачи должны читаться из памяти", 2, store.findAll().size());
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    @Test
+    public void testSyncDurabilityWritesBeforeReturn() {
+        String methodName = "testSyncDurabilityWritesBeforeReturn";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        XmlConfig.setDurability(XmlConfig.Durability.SYNC);
+        store.save(List.of(task(1, TaskStatus.TO_DO)));
+        assertEquals("Каждая операция должна записывать файл", 1, store.getFlushCount());
+        store.delete(List.of(1));
+        assertEquals("Каждая операция должна записывать файл", 2, store.getFlushCount());
+        assertTrue("Файл должен отражать удаление", readFromDisk().isEmpty());
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    @Test
+    public void testPeriodicFlushCoalescesWrites() throws Exception {
+        String methodName = "testPeriodicFlushCoalescesWrites";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        XmlConfig.setDurability(XmlConfig.Durability.PERIODIC);
+        XmlConfig.setFlushInterval(200);
+        for (int i = 1; i <= 20; i++) {
+            store.save(List.of(task(i, TaskStatus.TO_DO)));
+        }
+        assertEquals("Запись не должна выполняться до истечения интервала", 0, store.getFlushCount());
+        long deadline = System.currentTimeMillis() + 5000;
+        while (store.getFlushCount() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals("Изменения за интервал должны записываться одним сбросом", 1, store.getFlushCount());
+        assertEquals("Все изменения должны попасть в файл", 20, readFromDisk().size());
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    @Test
+    public void testIndexesFollowUpdates() {
+        String methodName = "testIndexesFollowUpdates";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        XmlConfig.setDurability(XmlConfig.Durability.SYNC);
+        store.save(List.of(task(1, TaskStatus.TO_DO), task(2, TaskStatus.TO_DO)));
+        Task moved = store.findById(1).orElseThrow();
+        // Изменение хранимого экземпляра до сохранения не должно оставлять устаревших записей индекса
+        moved.setStatus(TaskStatus.DONE);
+        store.save(List.of(moved));
+        assertEquals("Задача должна уйти из старого статуса", 1, store.findByIndex("status", TaskStatus.TO_DO).size());
+        assertEquals("Задача должна попасть в новый статус", 1, store.findByIndex("status", TaskStatus.DONE).size());
+        store.delete(List.of(1));
+        assertTrue("Удаленная задача не должна находиться по индексу", store.findByIndex("status", TaskStatus.DONE).isEmpty());
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    @Test
+    public void testStateRestoredFromFile() {
+        String methodName = "testStateRestoredFromFile";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        XmlConfig.setDurability(XmlConfig.Durability.PERIODIC);
+        store.save(List.of(task(1, TaskStatus.IN_PROGRESS)));
+        store.invalidate();
+        XmlEntityStore<Task> restarted = newStore();
+        assertEquals("Индекс должен строиться по файлу", 1, restarted.findByIndex("status", TaskStatus.IN_PROGRESS).size());
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    @Test
+    public void testShardedUpdateRewritesOnlyItsShard() throws Exception {
+        String methodName = "testShardedUpdateRewritesOnlyItsShard";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        XmlConfig.setStorageMode(XmlConfig.StorageMode.FILE);
+        XmlEntityStore<Task> sharded = newShardedStore();
+        sharded.save(tasks(8));
+        // Шард задачи 2 удаляется с диска: если его перепишут, файл появится снова
+        Files.delete(sharded.getShardPaths().get(2));
+        Task changed = task(1, TaskStatus.DONE);
+        sharded.save(List.of(changed));
+        assertFalse("Незатронутый шард не должен переписываться", Files.exists(sharded.getShardPaths().get(2)));
+        assertEquals("Измененная задача должна читаться из своего шарда", TaskStatus.DONE,
+                sharded.findById(1).orElseThrow().getStatus());
+        assertEquals("Должны читаться задачи всех оставшихся шардов", 6, sharded.findAll().size());
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    @Test
+    public void testShardedFlushWritesOnlyDirtyShards() throws Exception {
+        String methodName = "testShardedFlushWritesOnlyDirtyShards";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        XmlConfig.setDurability(XmlConfig.Durability.SYNC);
+        XmlEntityStore<Task> sharded = newShardedStore();
+        sharded.save(tasks(8));
+        Files.delete(sharded.getShardPaths().get(3));
+        sharded.delete(List.of(1));
+        assertFalse("Сброс не должен переписывать шарды без изменений", Files.exists(sharded.getShardPaths().get(3)));
+        sharded.invalidate();
+        assertEquals("Индекс должен строиться по всем шардам", 1,
+                sharded.findByIndex("status", TaskStatus.IN_PROGRESS).size());
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    @Test
+    public void testShardedStreamMode() {
+        String methodName = "testShardedStreamMode";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        XmlConfig.setStorageMode(XmlConfig.StorageMode.STREAM);
+        XmlEntityStore<Task> sharded = newShardedStore();
+        sharded.save(tasks(8));
+        assertEquals("Задача должна находиться в своем шарде", 5, sharded.findById(5).orElseThrow().getId());
+        assertEquals("Поиск по индексу должен просматривать все шарды", 3,
+                sharded.findByIndex("status", TaskStatus.DONE).size());
+        assertEquals("Должна удалиться одна задача", 1, sharded.delete(List.of(5, 42)));
+        assertEquals("Поток должен проходить по всем шардам", 7, sharded.stream().count());
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    @Test
+    public void testUnshardedFileSplitIntoShards() {
+        String methodName = "testUnshardedFileSplitIntoShards";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        XmlConfig.setStorageMode(XmlConfig.StorageMode.FILE);
+        store.save(tasks(8));
+        XmlEntityStore<Task> sharded = newShardedStore();
+        assertEquals("Все задачи должны перенестись в шарды", 8, sharded.findAll().size());
+        assertFalse("Файл без шардов должен удаляться после переноса", Files.exists(XML_PATH));
+        for (Path path : sharded.getShardPaths()) {
+            assertTrue("Каждый шард должен быть записан", Files.exists(path));
+        }
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    @Test
+    public void testNextIdContinuesAfterRestart() {
+        String methodName = "testNextIdContinuesAfterRestart";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        for (XmlConfig.StorageMode mode : XmlConfig.StorageMode.values()) {
+            XmlConfig.setStorageMode(mode);
+            XmlEntityStore<Task> sharded = newShardedStore();
+            Task first = task(sharded.nextId(), TaskStatus.TO_DO);
+            sharded.insert(List.of(first));
+            sharded.invalidate();
+            // Новый экземпляр хранилища соответствует перезапуску процесса
+            XmlEntityStore<Task> restarted = newShardedStore();
+            Task second = task(restarted.nextId(), TaskStatus.DONE);
+            assertTrue(mode + ": идентификатор не должен повторяться после перезапуска", second.getId() > first.getId());
+            restarted.insert(List.of(second));
+            restarted.invalidate();
+            assertEquals(mode + ": обе задачи должны сохраниться", 2, newShardedStore().findAll().size());
+            sharded.delete(List.of(first.getId(), second.getId()));
+            sharded.invalidate();
+        }
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    @Test
+    public void testInsertRejectsExistingId() {
+        String methodName = "testInsertRejectsExistingId";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        for (XmlConfig.StorageMode mode : XmlConfig.StorageMode.values()) {
+            XmlConfig.setStorageMode(mode);
+            XmlEntityStore<Task> sharded = newShardedStore();
+            sharded.insert(List.of(task(1, TaskStatus.TO_DO)));
+            try {
+                sharded.insert(List.of(task(2, TaskStatus.TO_DO), task(1, TaskStatus.DONE)));
+                fail(mode + ": ожидалось исключение для существующего идентификатора");
+            } catch (IllegalStateException e) {
+                log.info("testInsertRejectsExistingId [1] Получено ожидаемое исключение: " + e.getMessage());
+            }
+            assertEquals(mode + ": существующая задача не должна заменяться", TaskStatus.TO_DO,
+                    sharded.findById(1).orElseThrow().getStatus());
+            assertFalse(mode + ": при ошибке ничего не сохраняется", sharded.findById(2).isPresent());
+            sharded.delete(List.of(1));
+            sharded.invalidate();
+        }
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    private static XmlEntityStore<Task> newShardedStore() {
+        return new XmlEntityStore<>(XML_PATH, Task.class, "task", XmlDataWrapper::getTasks, Task::getId, SHARDS)
+                .withIndex("status", Task::getStatus, "status");
+    }
+
+    private static List<Task> tasks(int count) {
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            tasks.add(task(i, TaskStatus.values()[i % 3]));
+        }
+        return tasks;
+    }
+
+    private static XmlEntityStore<Task> newStore() {
+        return new XmlEntityStore<>(XML_PATH, Task.class, "task", XmlDataWrapper::getTasks, Task::getId)
+                .withIndex("status", Task::getStatus);
+    }
+
+    private static Task task(int id, TaskStatus status) {
+        Task task = new Task("Задача " + id, "Описание", status, 1, null, null);
+        task.setId(id);
+        return task;
+    }
+
+    private static List<Task> readFromDisk() {
+        try {
+            XmlDataWrapper wrapper = (XmlDataWrapper) XmlConfig.getUnmarshaller().unmarshal(XML_PATH.toFile());
+            return new ArrayList<>(wrapper.getTasks());
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
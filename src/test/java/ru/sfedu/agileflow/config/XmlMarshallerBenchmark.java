@@ -0,0 +1,91 @@
+package ru.sfedu.agileflow.config;
+
+import org.apache.log4j.Level;
+import org.apache.log4j.LogManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import ru.sfedu.agileflow.models.Task;
+import ru.sfedu.agileflow.models.TaskStatus;
+import ru.sfedu.agileflow.xml.XmlDataWrapper;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH-бенчмарк сериализации XML: кэшированные по потоку Marshaller/Unmarshaller
+ * против создания нового экземпляра при каждом вызове (прежнее поведение XmlConfig).
+ * Запуск: main-метод; замеры выполняются в 4 потоках для небольшого и среднего документа.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class XmlMarshallerBenchmark {
+
+    @Param({"1", "100"})
+    private int tasks;
+
+    private XmlDataWrapper wrapper;
+    private String xml;
+
+    @Setup
+    public void setUp() throws Exception {
+        // Логирование каждой операции исказило бы замеры
+        LogManager.getLoggerRepository().setThreshold(Level.WARN);
+        wrapper = new XmlDataWrapper();
+        for (int i = 0; i < tasks; i++) {
+            Task task = new Task("Задача " + i, "Описание задачи", TaskStatus.TO_DO, i % 5, null, null);
+            task.setId(i + 1);
+            wrapper.getTasks().add(task);
+        }
+        StringWriter writer = new StringWriter();
+        XmlConfig.createMarshaller().marshal(wrapper, writer);
+        xml = writer.toString();
+    }
+
+    @Benchmark
+    public String marshalPerCall() throws Exception {
+        StringWriter writer = new StringWriter();
+        XmlConfig.createMarshaller().marshal(wrapper, writer);
+        return writer.toString();
+    }
+
+    @Benchmark
+    public String marshalCached() throws Exception {
+        StringWriter writer = new StringWriter();
+        XmlConfig.getMarshaller().marshal(wrapper, writer);
+        return writer.toString();
+    }
+
+    @Benchmark
+    public Object unmarshalPerCall() throws Exception {
+        return XmlConfig.createUnmarshaller().unmarshal(new StringReader(xml));
+    }
+
+    @Benchmark
+    public Object unmarshalCached() throws Exception {
+        return XmlConfig.getUnmarshaller().unmarshal(new StringReader(xml));
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(XmlMarshallerBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
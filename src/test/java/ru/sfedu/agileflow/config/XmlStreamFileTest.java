@@ -0,0 +1,118 @@
+package ru.sfedu.agileflow.config;
+
+import org.apache.log4j.Logger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import ru.sfedu.agileflow.constants.Constants;
+import ru.sfedu.agileflow.models.Task;
+import ru.sfedu.agileflow.models.TaskStatus;
+import ru.sfedu.agileflow.xml.XmlDataWrapper;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+/**
+ * Тестовый класс для XmlStreamFile.
+ */
+public class XmlStreamFileTest {
+    private static final Logger log = Logger.getLogger(XmlStreamFileTest.class);
+    private static final Path XML_PATH = Paths.get("data/xml", "stream_test.xml");
+
+    private XmlStreamFile<Task> file;
+
+    @Before
+    public void setUp() throws Exception {
+        String methodName = "setUp";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        Files.deleteIfExists(XML_PATH);
+        file = new XmlStreamFile<>(XML_PATH, Task.class, "task", XmlDataWrapper::getTasks, Task::getId);
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        String methodName = "tearDown";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        Files.deleteIfExists(XML_PATH);
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    @Test
+    public void testReadsFileWrittenByJaxb() throws Exception {
+        String methodName = "testReadsFileWrittenByJaxb";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        XmlDataWrapper wrapper = new XmlDataWrapper();
+        wrapper.getTasks().add(task(1, TaskStatus.TO_DO));
+        wrapper.getTasks().add(task(2, TaskStatus.DONE));
+        wrapper.getTasks().add(task(3, TaskStatus.DONE));
+        XmlConfig.getMarshaller().marshal(wrapper, XML_PATH.toFile());
+        assertEquals("Задача должна находиться по id", "Задача 2", file.findById(2).orElseThrow().getTitle());
+        assertTrue("Отсутствующая задача не должна находиться", file.findById(4).isEmpty());
+        assertEquals("Фильтр должен выбирать только подходящие задачи", 2,
+                file.find(t -> t.getStatus() == TaskStatus.DONE).size());
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    @Test
+    public void testSaveReplacesInPlaceAndAppends() {
+        String methodName = "testSaveReplacesInPlaceAndAppends";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        file.save(List.of(task(1, TaskStatus.TO_DO), task(2, TaskStatus.TO_DO)));
+        Task changed = task(1, TaskStatus.DONE);
+        changed.setTitle("Измененная задача");
+        file.save(List.of(changed, task(3, TaskStatus.IN_PROGRESS)));
+        List<Task> tasks = file.findAll();
+        assertEquals("Количество задач должно быть 3", 3, tasks.size());
+        assertEquals("Измененная задача должна остаться на месте", "Измененная задача", tasks.get(0).getTitle());
+        assertEquals("Новая задача должна добавиться в конец", 3, tasks.get(2).getId());
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    @Test
+    public void testDeleteKeepsOtherElementsIntact() throws Exception {
+        String methodName = "testDeleteKeepsOtherElementsIntact";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        Files.writeString(XML_PATH, "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<data>\n"
+                + "    <task id=\"1\">\n        <title>Первая &amp; важная</title>\n    </task>\n"
+                + "    <note>не задача</note>\n"
+                + "    <task id=\"2\">\n        <title>Вторая</title>\n    </task>\n"
+                + "</data>\n", StandardCharsets.UTF_8);
+        assertEquals("Должна удалиться одна задача", 1, file.delete(List.of(2, 5)));
+        String xml = Files.readString(XML_PATH, StandardCharsets.UTF_8);
+        assertTrue("Неизмененный элемент должен копироваться как есть",
+                xml.contains("<task id=\"1\">\n        <title>Первая &amp; важная</title>\n    </task>"));
+        assertTrue("Посторонние элементы должны сохраняться", xml.contains("<note>не задача</note>"));
+        assertFalse("Удаленный элемент не должен копироваться", xml.contains("Вторая"));
+        XmlDataWrapper wrapper = (XmlDataWrapper) XmlConfig.getUnmarshaller().unmarshal(XML_PATH.toFile());
+        assertEquals("Файл должен оставаться читаемым JAXB", "Первая & важная", wrapper.getTasks().get(0).getTitle());
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    @Test
+    public void testStreamIsLazy() {
+        String methodName = "testStreamIsLazy";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        file.save(List.of(task(1, TaskStatus.TO_DO), task(2, TaskStatus.TO_DO), task(3, TaskStatus.TO_DO)));
+        try (Stream<Task> tasks = file.stream()) {
+            assertEquals("Первая задача должна читаться без чтения остальных", 1,
+                    tasks.findFirst().orElseThrow().getId());
+        }
+        try (Stream<Task> empty = new XmlStreamFile<>(Paths.get("data/xml", "missing.xml"), Task.class, "task", XmlDataWrapper::getTasks, Task::getId).stream()) {
+            assertEquals("Поток по отсутствующему файлу должен быть пустым", 0, empty.count());
+        }
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    private static Task task(int id, TaskStatus status) {
+        Task task = new Task("Задача " + id, "Описание", status, 1, null, null);
+        task.setId(id);
+        return task;
+    }
+}
@@ -170,4 +170,26 @@ public class SprintCsvDAOTest {
             fail("Не удалось удалить спринт: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testFindByProject() {
+        String methodName = "testFindByProject";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        try {
+            Project project = new Project("Тестовый проект", "Описание");
+            Project other = new Project("Другой проект", "Описание");
+            projectDAO.create(project);
+            projectDAO.create(other);
+            sprintDAO.create(new Sprint(new Date(), new Date(System.currentTimeMillis() + 86400000), project));
+            sprintDAO.create(new Sprint(new Date(), new Date(System.currentTimeMillis() + 86400000), other));
+            sprintDAO.create(new Sprint(new Date(), new Date(System.currentTimeMillis() + 2 * 86400000), project));
+            assertEquals("У проекта должно быть 2 спринта", 2, sprintDAO.findByProject(project.getId()).size());
+            assertTrue("У несуществующего проекта не должно быть спринтов", sprintDAO.findByProject(-1).isEmpty());
+            log.info("testFindByProject [1] Спринты проекта найдены");
+            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось найти спринты: " + e.getMessage()), e);
+            fail("Не удалось найти спринты: " + e.getMessage());
+        }
+    }
+}
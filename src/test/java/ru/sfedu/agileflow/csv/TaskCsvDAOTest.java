@@ -4,17 +4,24 @@ import org.apache.log4j.Logger;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import ru.sfedu.agileflow.config.CsvConfig;
 import ru.sfedu.agileflow.constants.Constants;
+import ru.sfedu.agileflow.dao.Page;
+import ru.sfedu.agileflow.dao.Sort;
 import ru.sfedu.agileflow.models.Project;
 import ru.sfedu.agileflow.models.Sprint;
 import ru.sfedu.agileflow.models.Task;
 import ru.sfedu.agileflow.models.TaskStatus;
+import ru.sfedu.agileflow.models.User;
 
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.Assert.*;
 
@@ -124,6 +131,89 @@ public class TaskCsvDAOTest {
         }
     }
 
+    @Test
+    public void testStreamAll() {
+        String methodName = "testStreamAll";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        try {
+            Project project = new Project("Тестовый проект", "Описание");
+            projectDAO.create(project);
+            Sprint sprint = new Sprint(new Date(), new Date(System.currentTimeMillis() + 86400000), project);
+            sprintDAO.create(sprint);
+            Task first = new Task("Задача 1", "Описание 1", TaskStatus.TO_DO, 1, sprint, null);
+            Task second = new Task("Задача 2", "Описание 2", TaskStatus.TO_DO, 2, sprint, null);
+            Task third = new Task("Задача 3", "Описание 3", TaskStatus.TO_DO, 3, sprint, null);
+            taskDAO.create(first);
+            taskDAO.create(second);
+            taskDAO.create(third);
+            first.setStatus(TaskStatus.DONE);
+            taskDAO.update(first);
+            taskDAO.delete(second.getId());
+            List<Task> tasks;
+            try (Stream<Task> stream = taskDAO.streamAll()) {
+                tasks = stream.toList();
+            }
+            assertEquals("Поток должен содержать только живые задачи", 2, tasks.size());
+            Task updated = tasks.stream().filter(t -> t.getId() == first.getId()).findFirst().orElseThrow();
+            assertEquals("Поток должен отдавать последнюю версию записи", TaskStatus.DONE, updated.getStatus());
+            assertTrue("Удаленная задача не должна попадать в поток",
+                    tasks.stream().noneMatch(t -> t.getId() == second.getId()));
+            assertEquals("Поток должен совпадать с findAll", taskDAO.findAll().size(), tasks.size());
+            log.info("testStreamAll [1] Прочитано задач из потока: " + tasks.size());
+            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось прочитать задачи потоком: " + e.getMessage()), e);
+            fail("Не удалось прочитать задачи потоком: " + e.getMessage());
+        }
+    }
+
+    @Test
+    public void testBatchOperations() {
+        String methodName = "testBatchOperations";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        try {
+            Project project = new Project("Тестовый проект", "Описание");
+            projectDAO.create(project);
+            Sprint sprint = new Sprint(new Date(), new Date(System.currentTimeMillis() + 86400000), project);
+            sprintDAO.create(sprint);
+            List<Task> tasks = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                tasks.add(new Task("Задача " + i, "Описание", TaskStatus.TO_DO, i % 5, sprint, null));
+            }
+            taskDAO.createAll(tasks);
+            assertEquals("Должны быть созданы все задачи", 1000, taskDAO.findAll().size());
+            assertEquals("Задачи должны находиться через индекс спринта", 1000,
+                    CsvConfig.findByIndex("tasks.csv", "sprintId", String.valueOf(sprint.getId())).size());
+
+            tasks.forEach(task -> task.setStatus(TaskStatus.DONE));
+            taskDAO.updateAll(tasks.subList(0, 10));
+            assertEquals("Задача должна быть обновлена", TaskStatus.DONE, taskDAO.findById(tasks.get(9).getId()).get().getStatus());
+            assertEquals("Остальные задачи не должны меняться", TaskStatus.TO_DO, taskDAO.findById(tasks.get(10).getId()).get().getStatus());
+
+            taskDAO.deleteAllById(tasks.subList(0, 500).stream().map(Task::getId).toList());
+            assertEquals("Должна остаться половина задач", 500, taskDAO.findAll().size());
+            log.info("testBatchOperations [1] Пакетные операции выполнены");
+            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось выполнить пакетные операции: " + e.getMessage()), e);
+            fail("Не удалось выполнить пакетные операции: " + e.getMessage());
+        }
+    }
+
+    @Test
+    public void testUpdateAllMissingTaskLeavesFileUnchanged() {
+        String methodName = "testUpdateAllMissingTaskLeavesFileUnchanged";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        Task task = new Task("Задача", "Описание", TaskStatus.TO_DO, 1, null, null);
+        taskDAO.create(task);
+        Task missing = new Task("Отсутствующая", "Описание", TaskStatus.DONE, 1, null, null);
+        missing.setId(task.getId() + 100);
+        task.setStatus(TaskStatus.DONE);
+        assertThrows(RuntimeException.class, () -> taskDAO.updateAll(List.of(task, missing)));
+        assertEquals("Найденная задача не должна обновляться", TaskStatus.TO_DO, taskDAO.findById(task.getId()).get().getStatus());
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
     @Test
     public void testUpdateTask() {
         String methodName = "testUpdateTask";
@@ -169,4 +259,67 @@ public class TaskCsvDAOTest {
             fail("Не удалось удалить задачу: " + e.getMessage());
         }
     }
+
+    @Test
+    public void testFindBySprintAssigneeAndStatus() {
+        String methodName = "testFindBySprintAssigneeAndStatus";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        try {
+            Project project = new Project("Тестовый проект", "Описание");
+            projectDAO.create(project);
+            Sprint first = new Sprint(new Date(), new Date(), project);
+            Sprint second = new Sprint(new Date(), new Date(), project);
+            sprintDAO.create(first);
+            sprintDAO.create(second);
+            User user = new User("Исполнитель", "worker@example.com", "Биография", true, new Date());
+            user.setId(7);
+            Task assigned = new Task("Задача 1", "Описание 1", TaskStatus.IN_PROGRESS, 1, first, user);
+            Task free = new Task("Задача 2", "Описание 2", TaskStatus.TO_DO, 2, first, null);
+            Task other = new Task("Задача 3", "Описание 3", TaskStatus.TO_DO, 3, second, user);
+            taskDAO.createAll(Arrays.asList(assigned, free, other));
+            free.setStatus(TaskStatus.IN_PROGRESS);
+            taskDAO.update(free);
+
+            assertEquals("В первом спринте должно быть 2 задачи",
+                    List.of(assigned.getId(), free.getId()), taskDAO.findBySprint(first.getId()).stream().map(Task::getId).toList());
+            assertEquals("Пользователю должно быть назначено 2 задачи",
+                    List.of(assigned.getId(), other.getId()), taskDAO.findByAssignee(user.getId()).stream().map(Task::getId).toList());
+            assertEquals("В работе должно быть 2 задачи после обновления статуса", 2,
+                    taskDAO.findByStatus(TaskStatus.IN_PROGRESS).size());
+            assertTrue("Выполненных задач быть не должно", taskDAO.findByStatus(TaskStatus.DONE).isEmpty());
+            taskDAO.delete(assigned.getId());
+            assertEquals("Удаленная задача не должна находиться по спринту", 1, taskDAO.findBySprint(first.getId()).size());
+            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось найти задачи: " + e.getMessage()), e);
+            fail("Не удалось найти задачи: " + e.getMessage());
+        }
+    }
+
+    @Test
+    public void testFindPage() {
+        String methodName = "testFindPage";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        try {
+            List<Task> tasks = new ArrayList<>();
+            for (int i = 1; i <= 5; i++) {
+                tasks.add(new Task("Задача " + i, "Описание", TaskStatus.TO_DO, 6 - i, null, null));
+            }
+            taskDAO.createAll(tasks);
+            Page<Task> first = taskDAO.findPage(null, 2, Sort.asc("priority"));
+            assertEquals("Первая страница - наименьшие приоритеты", List.of(tasks.get(4).getId(), tasks.get(3).getId()),
+                    first.getItems().stream().map(Task::getId).toList());
+            taskDAO.delete(first.getItems().get(1).getId());
+            Page<Task> second = taskDAO.findPage(first.getNext(), 2, Sort.asc("priority"));
+            assertEquals("Удаление до курсора не должно сдвигать страницу", List.of(tasks.get(2).getId(), tasks.get(1).getId()),
+                    second.getItems().stream().map(Task::getId).toList());
+            Page<Task> last = taskDAO.findPage(second.getNext(), 2, Sort.asc("priority"));
+            assertEquals("Последняя страница должна содержать одну задачу", 1, last.getItems().size());
+            assertFalse("У последней страницы нет следующей", last.hasNext());
+            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось выбрать страницы задач: " + e.getMessage()), e);
+            fail("Не удалось выбрать страницы задач: " + e.getMessage());
+        }
+    }
 }
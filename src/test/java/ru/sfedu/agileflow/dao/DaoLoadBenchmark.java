@@ -0,0 +1,112 @@
+package ru.sfedu.agileflow.dao;
+
+import org.apache.log4j.LogManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import ru.sfedu.agileflow.config.EmbeddedDatabase;
+import ru.sfedu.agileflow.config.Instrumentation;
+import ru.sfedu.agileflow.csv.TaskCsvDAO;
+import ru.sfedu.agileflow.models.Task;
+import ru.sfedu.agileflow.models.TaskStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH-бенчмарк смешанной нагрузки: один поток обновляет задачи в CSV ({@code TaskCsvDAO.update}),
+ * два других одновременно читают все задачи из базы данных ({@code TaskDAO.findAll}).
+ * Писатель CSV один, потому что в режиме FILE обновление переписывает файл без блокировки.
+ * Оба DAO обернуты в {@link InstrumentedDAO}; после замера в вывод JMH печатается
+ * {@link Instrumentation#dump()}, где операции упорядочены по суммарному времени,
+ * а рядом с p50/p99/max видны байты файлового ввода-вывода, EntityManager и транзакции.
+ * Запуск: профиль Maven benchmark или main-метод.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class DaoLoadBenchmark {
+    @Param({"1000", "10000"})
+    private int rows;
+
+    private GenericDAO<Task, Integer> csvDAO;
+    private GenericDAO<Task, Integer> jpaDAO;
+    private List<Task> csvTasks;
+    private List<Task> jpaTasks;
+
+    @Setup
+    public void setUp() {
+        // Логирование каждой операции исказило бы замеры
+        LogManager.getLoggerRepository().setThreshold(org.apache.log4j.Level.WARN);
+        EmbeddedDatabase.configure();
+        csvDAO = InstrumentedDAO.wrap(new TaskCsvDAO());
+        jpaDAO = InstrumentedDAO.wrap(new TaskDAO());
+        csvTasks = tasks();
+        jpaTasks = tasks();
+        csvDAO.createAll(csvTasks);
+        jpaDAO.createAll(jpaTasks);
+        // Заполнение не должно попадать в отчет
+        Instrumentation.getRegistry().reset();
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.out.println();
+        System.out.println(Instrumentation.dump());
+        csvDAO.deleteAllById(csvTasks.stream().map(Task::getId).toList());
+        jpaDAO.deleteAllById(jpaTasks.stream().map(Task::getId).toList());
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public void csvUpdate() {
+        Task task = csvTasks.get(ThreadLocalRandom.current().nextInt(csvTasks.size()));
+        Task changed = new Task(task.getTitle(), task.getDescription(), task.getStatus(),
+                ThreadLocalRandom.current().nextInt(1, 6), null, null);
+        changed.setId(task.getId());
+        csvDAO.update(changed);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(2)
+    public Object jpaFindAll() {
+        return jpaDAO.findAll();
+    }
+
+    private List<Task> tasks() {
+        List<Task> result = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            result.add(new Task("Задача " + i, "Описание задачи", TaskStatus.values()[i % 3], i % 5 + 1, null, null));
+        }
+        return result;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(DaoLoadBenchmark.class.getSimpleName())
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh-" + DaoLoadBenchmark.class.getSimpleName() + ".json")
+                .build()).run();
+    }
+}
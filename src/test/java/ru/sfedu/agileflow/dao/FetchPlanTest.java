@@ -0,0 +1,189 @@
+package ru.sfedu.agileflow.dao;
+
+import org.apache.log4j.Logger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import ru.sfedu.agileflow.constants.Constants;
+import ru.sfedu.agileflow.models.Project;
+import ru.sfedu.agileflow.models.Retrospective;
+import ru.sfedu.agileflow.models.Sprint;
+import ru.sfedu.agileflow.models.Task;
+import ru.sfedu.agileflow.models.TaskStatus;
+import ru.sfedu.agileflow.models.User;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * Проверка планов загрузки DAO: количество SQL-операторов на вызов не должно зависеть
+ * от количества строк (отсутствие N+1), а загруженные графом связи должны быть доступны
+ * после закрытия EntityManager.
+ */
+public class FetchPlanTest {
+    private static final Logger log = Logger.getLogger(FetchPlanTest.class);
+    private static final int SPRINTS = 3;
+    private static final int TASKS_PER_SPRINT = 4;
+
+    private TaskDAO taskDAO;
+    private SprintDAO sprintDAO;
+    private ProjectDAO projectDAO;
+    private UserDAO userDAO;
+    private RetrospectiveDAO retrospectiveDAO;
+    private List<Sprint> sprints;
+    private List<Task> tasks;
+
+    /**
+     * Подготовка перед каждым тестом: проект, спринты с ретроспективами и задачи двух исполнителей.
+     */
+    @Before
+    public void setUp() {
+        String methodName = "setUp";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        taskDAO = new TaskDAO();
+        sprintDAO = new SprintDAO();
+        projectDAO = new ProjectDAO();
+        userDAO = new UserDAO();
+        retrospectiveDAO = new RetrospectiveDAO();
+        Project project = new Project("Тестовый проект", "Описание");
+        projectDAO.create(project);
+        List<User> users = List.of(new User("Первый", "first@example.com", "Биография", true, new Date()),
+                new User("Второй", "second@example.com", "Биография", true, new Date()));
+        users.forEach(userDAO::create);
+        sprints = new ArrayList<>();
+        tasks = new ArrayList<>();
+        for (int i = 0; i < SPRINTS; i++) {
+            Sprint sprint = new Sprint(new Date(), new Date(), project);
+            sprintDAO.create(sprint);
+            sprints.add(sprint);
+            retrospectiveDAO.create(new Retrospective(sprint, "Итоги спринта " + i,
+                    Arrays.asList("Улучшение"), Arrays.asList("Успех", "Еще успех")));
+            for (int j = 0; j < TASKS_PER_SPRINT; j++) {
+                tasks.add(new Task("Задача " + i + "." + j, "Описание", TaskStatus.values()[j % 3], j,
+                        sprint, users.get(j % users.size())));
+            }
+        }
+        taskDAO.createAll(tasks);
+        log.info("setUp [1] Создано задач: " + tasks.size());
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    /**
+     * Очистка после каждого теста.
+     */
+    @After
+    public void tearDown() {
+        String methodName = "tearDown";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        try {
+            taskDAO.findAll().forEach(task -> taskDAO.delete(task.getId()));
+            retrospectiveDAO.findAll().forEach(retrospective -> retrospectiveDAO.delete(retrospective.getId()));
+            sprintDAO.findAll().forEach(sprint -> sprintDAO.delete(sprint.getId()));
+            projectDAO.findAll().forEach(project -> projectDAO.delete(project.getId()));
+            userDAO.findAll().forEach(user -> userDAO.delete(user.getId()));
+            log.info("tearDown [1] Тестовые данные удалены");
+            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось очистить данные: " + e.getMessage()), e);
+        }
+    }
+
+    /**
+     * Списки задач загружаются одним запросом вместе со спринтами и исполнителями.
+     * Тип: Позитивный
+     */
+    @Test
+    public void testTaskListsUseSingleStatement() {
+        String methodName = "testTaskListsUseSingleStatement";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        try {
+            AtomicReference<List<Task>> found = new AtomicReference<>();
+            assertEquals("findAll должен выполнять один запрос", 1,
+                    SqlStatementCounter.count(() -> found.set(taskDAO.findAll())));
+            assertEquals("Должны найтись все задачи", tasks.size(), found.get().size());
+            found.get().forEach(task -> {
+                assertNotNull("Исполнитель должен быть загружен", task.getAssignedUser().getName());
+                assertNotNull("Спринт должен быть загружен", task.getSprint().getStartDate());
+            });
+
+            Sprint sprint = sprints.get(0);
+            assertEquals("findBySprint должен выполнять один запрос", 1,
+                    SqlStatementCounter.count(() -> found.set(taskDAO.findBySprint(sprint.getId()))));
+            assertEquals("Проект спринта должен быть загружен", "Тестовый проект",
+                    found.get().get(0).getSprint().getProject().getName());
+
+            int assignee = tasks.get(0).getAssignedUser().getId();
+            assertEquals("findByAssignee должен выполнять один запрос", 1,
+                    SqlStatementCounter.count(() -> found.set(taskDAO.findByAssignee(assignee))));
+            assertEquals("findByStatus должен выполнять один запрос", 1,
+                    SqlStatementCounter.count(() -> taskDAO.findByStatus(TaskStatus.TO_DO)));
+            assertEquals("Страница задач должна загружаться одним запросом", 1,
+                    SqlStatementCounter.count(() -> taskDAO.findPage(null, 5, Sort.byId())));
+            assertEquals("Поток задач должен загружаться одним запросом", 1,
+                    SqlStatementCounter.count(() -> assertEquals(tasks.size(), taskDAO.streamAll().count())));
+            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()), e);
+            fail("Не удалось проверить план загрузки задач: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Карточка задачи и доска спринта загружаются одним запросом.
+     * Тип: Позитивный
+     */
+    @Test
+    public void testDetailAndBoardUseSingleStatement() {
+        String methodName = "testDetailAndBoardUseSingleStatement";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        try {
+            AtomicReference<Task> task = new AtomicReference<>();
+            assertEquals("Карточка задачи должна загружаться одним запросом", 1,
+                    SqlStatementCounter.count(() -> task.set(taskDAO.findById(tasks.get(0).getId()).orElseThrow())));
+            assertEquals("Проект должен быть загружен с карточкой задачи", "Тестовый проект",
+                    task.get().getSprint().getProject().getName());
+
+            AtomicReference<Sprint> board = new AtomicReference<>();
+            assertEquals("Доска спринта должна загружаться одним запросом", 1,
+                    SqlStatementCounter.count(() -> board.set(sprintDAO.findById(sprints.get(0).getId(), Sprint.GRAPH_BOARD).orElseThrow())));
+            assertEquals("Доска должна содержать задачи спринта", TASKS_PER_SPRINT, board.get().getTasks().size());
+            board.get().getTasks().forEach(t -> assertNotNull("Исполнитель должен быть загружен", t.getAssignedUser().getName()));
+
+            assertEquals("Список спринтов должен загружаться одним запросом", 1,
+                    SqlStatementCounter.count(() -> sprintDAO.findAll()));
+            assertEquals("Спринты проекта должны загружаться одним запросом", 1,
+                    SqlStatementCounter.count(() -> sprintDAO.findByProject(sprints.get(0).getProject().getId())));
+            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()), e);
+            fail("Не удалось проверить план загрузки карточки и доски: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Списки ретроспектив догружаются пакетами, а не по запросу на ретроспективу.
+     * Тип: Позитивный
+     */
+    @Test
+    public void testRetrospectiveCollectionsLoadInBatches() {
+        String methodName = "testRetrospectiveCollectionsLoadInBatches";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        try {
+            AtomicReference<List<Retrospective>> found = new AtomicReference<>();
+            assertEquals("Ретроспективы и оба их списка должны загружаться тремя запросами", 3,
+                    SqlStatementCounter.count(() -> found.set(retrospectiveDAO.findAll())));
+            assertEquals("Должны найтись все ретроспективы", SPRINTS, found.get().size());
+            found.get().forEach(retrospective -> assertEquals("Положительные моменты должны быть загружены",
+                    2, retrospective.getPositives().size()));
+            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()), e);
+            fail("Не удалось проверить план загрузки ретроспектив: " + e.getMessage());
+        }
+    }
+}
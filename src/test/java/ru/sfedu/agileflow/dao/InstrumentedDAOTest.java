@@ -0,0 +1,148 @@
+package ru.sfedu.agileflow.dao;
+
+import org.apache.log4j.Logger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import ru.sfedu.agileflow.config.Instrumentation;
+import ru.sfedu.agileflow.config.MetricsRegistry;
+import ru.sfedu.agileflow.config.SimpleMetricsRegistry;
+import ru.sfedu.agileflow.config.XmlConfig;
+import ru.sfedu.agileflow.constants.Constants;
+import ru.sfedu.agileflow.csv.TaskCsvDAO;
+import ru.sfedu.agileflow.models.Task;
+import ru.sfedu.agileflow.models.TaskStatus;
+import ru.sfedu.agileflow.xml.TaskXmlDAO;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+/**
+ * Тестовый класс для InstrumentedDAO на файловых хранилищах.
+ */
+public class InstrumentedDAOTest {
+    private static final Logger log = Logger.getLogger(InstrumentedDAOTest.class);
+    private static final int TASKS = 5;
+
+    private MetricsRegistry previous;
+    private MetricsRegistry registry;
+
+    @Before
+    public void setUp() {
+        String methodName = "setUp";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        previous = Instrumentation.getRegistry();
+        registry = new SimpleMetricsRegistry();
+        Instrumentation.setRegistry(registry);
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    @After
+    public void tearDown() {
+        String methodName = "tearDown";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        try {
+            TaskCsvDAO csvDAO = new TaskCsvDAO();
+            csvDAO.deleteAllById(csvDAO.findAll().stream().map(Task::getId).toList());
+            TaskXmlDAO xmlDAO = new TaskXmlDAO();
+            xmlDAO.deleteAllById(xmlDAO.findAll().stream().map(Task::getId).toList());
+            log.info("tearDown [1] Тестовые данные удалены");
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось очистить данные: " + e.getMessage()), e);
+        }
+        Instrumentation.setRegistry(previous);
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    /**
+     * Операции CSV DAO записываются в таймеры, счетчики записей и байт файлового ввода-вывода.
+     * Тип: Позитивный
+     */
+    @Test
+    public void testCsvOperationsAreMeasured() {
+        String methodName = "testCsvOperationsAreMeasured";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        try {
+            exercise(InstrumentedDAO.wrap(new TaskCsvDAO()), "TaskCsvDAO");
+            Map<String, Long> counters = registry.getCounters();
+            assertTrue("Должны учитываться записанные в CSV байты", counters.get(Instrumentation.CSV_BYTES_WRITTEN) > 0);
+            assertTrue("Должны учитываться прочитанные из CSV байты", counters.get(Instrumentation.CSV_BYTES_READ) > 0);
+            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()), e);
+            fail("Не удалось проверить метрики CSV DAO: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Операции XML DAO записываются в таймеры, счетчики записей и байт файлового ввода-вывода.
+     * Тип: Позитивный
+     */
+    @Test
+    public void testXmlOperationsAreMeasured() {
+        String methodName = "testXmlOperationsAreMeasured";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        try {
+            exercise(InstrumentedDAO.wrap(new TaskXmlDAO()), "TaskXmlDAO");
+            // В режиме MEMORY запись в файл может быть отложена
+            XmlConfig.flushAll();
+            assertTrue("Должны учитываться записанные в XML байты",
+                    registry.getCounters().get(Instrumentation.XML_BYTES_WRITTEN) > 0);
+            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()), e);
+            fail("Не удалось проверить метрики XML DAO: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Ошибка операции учитывается отдельным счетчиком, время операции все равно записывается.
+     * Тип: Негативный
+     */
+    @Test
+    public void testFailedOperationIsCounted() {
+        String methodName = "testFailedOperationIsCounted";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        InstrumentedDAO<Task, Integer> dao = InstrumentedDAO.wrap(new TaskCsvDAO());
+        try {
+            dao.findPage(null, 0, Sort.byId());
+            fail("Страница нулевого размера должна приводить к исключению");
+        } catch (IllegalArgumentException e) {
+            log.info("testFailedOperationIsCounted [1] Ожидаемое исключение: " + e.getMessage());
+        }
+        assertEquals("Ошибка должна учитываться", Long.valueOf(1), registry.getCounters().get("TaskCsvDAO.findPage.errors"));
+        assertEquals("Время неудачной операции должно записываться", 1,
+                registry.getTimers().get("TaskCsvDAO.findPage").getCount());
+        assertSame("Повторная обертка должна возвращать тот же DAO", dao, InstrumentedDAO.wrap(dao));
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    private void exercise(InstrumentedDAO<Task, Integer> dao, String name) {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < TASKS; i++) {
+            tasks.add(new Task("Задача " + i, "Описание", TaskStatus.TO_DO, i, null, null));
+        }
+        dao.createAll(tasks);
+        Task task = tasks.get(0);
+        task.setStatus(TaskStatus.DONE);
+        dao.update(task);
+        assertTrue("Задача должна находиться", dao.findById(task.getId()).isPresent());
+        assertEquals("Должны находиться все задачи", TASKS, dao.findAll().size());
+        try (Stream<Task> stream = dao.streamAll()) {
+            assertEquals("Поток должен содержать все задачи", TASKS, stream.toList().size());
+        }
+
+        Map<String, Long> counters = registry.getCounters();
+        assertEquals("Должны учитываться записанные записи", Long.valueOf(TASKS + 1), counters.get(name + ".rowsWritten"));
+        assertEquals("Должны учитываться прочитанные записи", Long.valueOf(1 + 2 * TASKS), counters.get(name + ".rowsRead"));
+        for (String operation : List.of("createAll", "update", "findById", "findAll", "streamAll")) {
+            assertEquals("Операция должна быть измерена один раз: " + operation, 1,
+                    registry.getTimers().get(name + "." + operation).getCount());
+        }
+        log.info("exercise [1] Метрики " + name + ":\n" + Instrumentation.dump());
+    }
+}
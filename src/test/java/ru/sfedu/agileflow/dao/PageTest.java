@@ -0,0 +1,94 @@
+package ru.sfedu.agileflow.dao;
+
+import org.apache.log4j.Logger;
+import org.junit.Test;
+import ru.sfedu.agileflow.constants.Constants;
+import ru.sfedu.agileflow.models.Task;
+import ru.sfedu.agileflow.models.TaskStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Тестовый класс для постраничной выборки из потока.
+ */
+public class PageTest {
+    private static final Logger log = Logger.getLogger(PageTest.class);
+
+    /**
+     * Тестирование обхода всех страниц по возрастанию поля с повторяющимися и пустыми значениями.
+     * Тип: Позитивный
+     */
+    @Test
+    public void testSeekVisitsEveryRecordOnce() {
+        String methodName = "testSeekVisitsEveryRecordOnce";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        List<Task> tasks = new ArrayList<>();
+        for (int id = 10; id >= 1; id--) {
+            tasks.add(task(id, id % 3, id % 4 == 0 ? null : "Описание " + id % 2));
+        }
+        Sort sort = Sort.asc("description");
+        List<Integer> ids = new ArrayList<>();
+        Cursor cursor = null;
+        int pages = 0;
+        do {
+            Page<Task> page = Page.seek(tasks.stream(), cursor, 3, sort);
+            page.getItems().forEach(t -> ids.add(t.getId()));
+            cursor = page.getNext();
+            pages++;
+        } while (cursor != null);
+        assertEquals("Должно быть 4 страницы по 3 записи", 4, pages);
+        assertEquals("Пустые значения идут первыми, равные упорядочены по id",
+                List.of(4, 8, 2, 6, 10, 1, 3, 5, 7, 9), ids);
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    /**
+     * Тестирование убывающего порядка и вставки записи перед курсором между запросами.
+     * Тип: Позитивный
+     */
+    @Test
+    public void testSeekDescendingIsStableAfterInsert() {
+        String methodName = "testSeekDescendingIsStableAfterInsert";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        List<Task> tasks = new ArrayList<>();
+        for (int id = 1; id <= 6; id++) {
+            tasks.add(task(id, id, "Описание"));
+        }
+        Sort sort = Sort.desc("priority");
+        Page<Task> first = Page.seek(tasks.stream(), null, 2, sort);
+        assertEquals("Первая страница - наибольшие приоритеты", List.of(6, 5), first.getItems().stream().map(Task::getId).toList());
+        tasks.add(task(7, 10, "Описание"));
+        Page<Task> second = Page.seek(tasks.stream(), first.getNext(), 2, sort);
+        assertEquals("Запись перед курсором не должна сдвигать страницу", List.of(4, 3),
+                second.getItems().stream().map(Task::getId).toList());
+        Page<Task> last = Page.seek(tasks.stream(), second.getNext(), 2, sort);
+        assertEquals("Последняя страница - наименьшие приоритеты", List.of(2, 1), last.getItems().stream().map(Task::getId).toList());
+        assertFalse("У последней страницы нет следующей", last.hasNext());
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    /**
+     * Тестирование некорректных параметров.
+     * Тип: Негативный
+     */
+    @Test
+    public void testInvalidArguments() {
+        String methodName = "testInvalidArguments";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        List<Task> tasks = List.of(task(1, 1, null), task(2, 2, null));
+        assertThrows("Размер страницы должен быть положительным", IllegalArgumentException.class,
+                () -> Page.seek(tasks.stream(), null, 0, Sort.byId()));
+        assertThrows("Неизвестное поле сортировки должно отклоняться", IllegalArgumentException.class,
+                () -> Page.seek(tasks.stream(), null, 1, Sort.asc("unknown")));
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    private static Task task(int id, int priority, String description) {
+        Task task = new Task("Задача " + id, description, TaskStatus.TO_DO, priority, null, null);
+        task.setId(id);
+        return task;
+    }
+}
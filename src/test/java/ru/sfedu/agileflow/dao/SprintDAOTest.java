@@ -6,9 +6,13 @@ import org.junit.Before;
 import org.junit.Test;
 import ru.sfedu.agileflow.constants.Constants;
 import ru.sfedu.agileflow.models.Project;
+import ru.sfedu.agileflow.models.Retrospective;
 import ru.sfedu.agileflow.models.Sprint;
+import ru.sfedu.agileflow.models.Task;
+import ru.sfedu.agileflow.models.TaskStatus;
 
 import java.text.SimpleDateFormat;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
@@ -221,4 +225,72 @@ public class SprintDAOTest {
             fail("Не удалось удалить спринт: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Тестирование поиска спринтов проекта.
+     * Тип: Позитивный
+     */
+    @Test
+    public void testFindByProject() {
+        String methodName = "testFindByProject";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        try {
+            Project project = new Project("Тестовый проект", "Описание");
+            Project other = new Project("Другой проект", "Описание");
+            projectDAO.create(project);
+            projectDAO.create(other);
+            Sprint later = new Sprint(new Date(System.currentTimeMillis() + 86400000), new Date(), project);
+            Sprint earlier = new Sprint(new Date(), new Date(), project);
+            sprintDAO.createAll(List.of(later, earlier, new Sprint(new Date(), new Date(), other)));
+            log.info("testFindByProject [1] Поиск спринтов проекта");
+            List<Sprint> sprints = sprintDAO.findByProject(project.getId());
+            assertEquals("Спринты должны быть упорядочены по дате начала",
+                    List.of(earlier.getId(), later.getId()), sprints.stream().map(Sprint::getId).toList());
+            assertEquals("Проект должен быть загружен вместе со спринтом", "Тестовый проект", sprints.get(0).getProject().getName());
+            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось найти спринты: " + e.getMessage()), e);
+            fail("Не удалось найти спринты: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Тестирование удаления спринта вместе с задачами и ретроспективой.
+     * Тип: Позитивный
+     */
+    @Test
+    public void testDeleteCascade() {
+        String methodName = "testDeleteCascade";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        TaskDAO taskDAO = new TaskDAO();
+        RetrospectiveDAO retrospectiveDAO = new RetrospectiveDAO();
+        try {
+            Project project = new Project("Тестовый проект", "Описание");
+            projectDAO.create(project);
+            Sprint sprint = new Sprint(new Date(), new Date(), project);
+            Sprint kept = new Sprint(new Date(), new Date(), project);
+            sprintDAO.create(sprint);
+            sprintDAO.create(kept);
+            taskDAO.createAll(List.of(new Task("Задача 1", "Описание", TaskStatus.TO_DO, 1, sprint, null),
+                    new Task("Задача 2", "Описание", TaskStatus.DONE, 2, sprint, null),
+                    new Task("Задача 3", "Описание", TaskStatus.TO_DO, 3, kept, null)));
+            Retrospective retrospective = new Retrospective(sprint, "Итоги", Arrays.asList("Улучшение"), Arrays.asList("Успех"));
+            retrospectiveDAO.create(retrospective);
+            // Спринт попадает в кэш второго уровня и должен быть из него вытеснен
+            assertTrue(sprintDAO.findById(sprint.getId()).isPresent());
+
+            log.info("testDeleteCascade [1] Удаление спринта");
+            assertTrue("Спринт должен быть удален", sprintDAO.deleteCascade(sprint.getId()));
+            assertTrue("Спринт не должен находиться после удаления", sprintDAO.findById(sprint.getId()).isEmpty());
+            assertTrue("Задачи спринта должны быть удалены", taskDAO.findBySprint(sprint.getId()).isEmpty());
+            assertTrue("Ретроспектива спринта должна быть удалена", retrospectiveDAO.findById(retrospective.getId()).isEmpty());
+            assertEquals("Задачи другого спринта должны остаться", 1, taskDAO.findBySprint(kept.getId()).size());
+            assertFalse("Повторное удаление не должно ничего удалять", sprintDAO.deleteCascade(sprint.getId()));
+            taskDAO.findAll().forEach(task -> taskDAO.delete(task.getId()));
+            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось удалить спринт: " + e.getMessage()), e);
+            fail("Не удалось удалить спринт: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package ru.sfedu.agileflow.dao;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import ru.sfedu.agileflow.config.DatabaseConfig;
+
+/**
+ * Подсчет SQL-операторов, которые выполняет вызов DAO основной PU, по статистике Hibernate.
+ * Перед замером кэш второго уровня очищается, чтобы считались обращения к базе, а не попадания в кэш.
+ */
+final class SqlStatementCounter {
+    private SqlStatementCounter() {
+    }
+
+    /**
+     * Выполняет действие и возвращает количество подготовленных им SQL-операторов.
+     * @param action Вызов DAO
+     * @return Количество операторов
+     */
+    static long count(Runnable action) {
+        Statistics statistics = statistics();
+        DatabaseConfig.evictCache();
+        long before = statistics.getPrepareStatementCount();
+        action.run();
+        return statistics.getPrepareStatementCount() - before;
+    }
+
+    private static Statistics statistics() {
+        try (EntityManager em = DatabaseConfig.getEntityManager()) {
+            return em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        }
+    }
+}
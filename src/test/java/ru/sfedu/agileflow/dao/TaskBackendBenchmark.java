@@ -0,0 +1,159 @@
+package ru.sfedu.agileflow.dao;
+
+import org.apache.log4j.LogManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import ru.sfedu.agileflow.config.EmbeddedDatabase;
+import ru.sfedu.agileflow.config.XmlConfig;
+import ru.sfedu.agileflow.csv.TaskCsvDAO;
+import ru.sfedu.agileflow.models.Task;
+import ru.sfedu.agileflow.models.TaskStatus;
+import ru.sfedu.agileflow.xml.TaskXmlDAO;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * JMH-бенчмарк CRUD-операций над задачами в трех хранилищах: JPA ({@link TaskDAO}, по умолчанию
+ * на встроенной H2), CSV ({@link TaskCsvDAO}) и XML ({@link TaskXmlDAO}) при 1 тыс., 100 тыс. и 1 млн строк.
+ * Режимы файловых хранилищ задаются обычными ключами -Dcsv.storage.mode и -Dxml.storage.mode.
+ * Перед замером хранилище заполняется, после замера созданные строки удаляются.
+ * Запуск: профиль Maven benchmark или main-метод; результаты пишутся в JSON.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TaskBackendBenchmark {
+    /**
+     * Хранилище задач.
+     */
+    public enum Backend {
+        JPA(TaskDAO::new),
+        CSV(TaskCsvDAO::new),
+        XML(TaskXmlDAO::new);
+
+        private final Supplier<GenericDAO<Task, Integer>> factory;
+
+        Backend(Supplier<GenericDAO<Task, Integer>> factory) {
+            this.factory = factory;
+        }
+    }
+
+    @Param({"JPA", "CSV", "XML"})
+    private Backend backend;
+
+    @Param({"1000", "100000", "1000000"})
+    private int rows;
+
+    private GenericDAO<Task, Integer> dao;
+    private List<Task> tasks;
+    private final List<Integer> created = new ArrayList<>();
+
+    @Setup
+    public void setUp() {
+        // Логирование каждой операции исказило бы замеры
+        LogManager.getLoggerRepository().setThreshold(org.apache.log4j.Level.WARN);
+        EmbeddedDatabase.configure();
+        dao = backend.factory.get();
+        tasks = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            tasks.add(task(i));
+        }
+        dao.createAll(tasks);
+    }
+
+    @TearDown
+    public void tearDown() {
+        dao.deleteAllById(tasks.stream().map(Task::getId).toList());
+        XmlConfig.flushAll();
+    }
+
+    /**
+     * Удаляет задачи, созданные за итерацию, чтобы размер хранилища не рос от итерации к итерации.
+     */
+    @TearDown(Level.Iteration)
+    public void removeCreated() {
+        dao.deleteAllById(created);
+        created.clear();
+    }
+
+    /**
+     * Задача, которую удаляет очередной вызов бенчмарка delete; создается до начала замера вызова.
+     */
+    @State(Scope.Thread)
+    public static class Removable {
+        private int id;
+
+        @Setup(Level.Invocation)
+        public void create(TaskBackendBenchmark benchmark) {
+            Task task = task(-1);
+            benchmark.dao.create(task);
+            id = task.getId();
+        }
+    }
+
+    @Benchmark
+    public void create() {
+        Task task = task(rows + created.size());
+        dao.create(task);
+        created.add(task.getId());
+    }
+
+    @Benchmark
+    public Object findById() {
+        return dao.findById(randomTask().getId());
+    }
+
+    @Benchmark
+    public Object findAll() {
+        return dao.findAll();
+    }
+
+    @Benchmark
+    public void update() {
+        Task task = randomTask();
+        task.setPriority(ThreadLocalRandom.current().nextInt(1, 6));
+        dao.update(task);
+    }
+
+    @Benchmark
+    public void delete(Removable removable) {
+        dao.delete(removable.id);
+    }
+
+    private Task randomTask() {
+        return tasks.get(ThreadLocalRandom.current().nextInt(tasks.size()));
+    }
+
+    private static Task task(int i) {
+        return new Task("Задача " + i, "Описание задачи", TaskStatus.values()[Math.floorMod(i, 3)], Math.floorMod(i, 5) + 1, null, null);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(TaskBackendBenchmark.class.getSimpleName())
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh-" + TaskBackendBenchmark.class.getSimpleName() + ".json")
+                .build()).run();
+    }
+}
@@ -4,14 +4,21 @@ import org.apache.log4j.Logger;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import ru.sfedu.agileflow.config.Instrumentation;
+import ru.sfedu.agileflow.config.MetricsRegistry;
+import ru.sfedu.agileflow.config.SimpleMetricsRegistry;
+import ru.sfedu.agileflow.config.SlowQueryLog;
 import ru.sfedu.agileflow.constants.Constants;
 import ru.sfedu.agileflow.models.Project;
 import ru.sfedu.agileflow.models.Sprint;
 import ru.sfedu.agileflow.models.Task;
 import ru.sfedu.agileflow.models.TaskStatus;
+import ru.sfedu.agileflow.models.User;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.Assert.*;
@@ -24,6 +31,7 @@ public class TaskDAOTest {
     private TaskDAO taskDAO;
     private SprintDAO sprintDAO;
     private ProjectDAO projectDAO;
+    private UserDAO userDAO;
 
     /**
      * Подготовка перед каждым тестом.
@@ -35,6 +43,7 @@ public class TaskDAOTest {
         taskDAO = new TaskDAO();
         sprintDAO = new SprintDAO();
         projectDAO = new ProjectDAO();
+        userDAO = new UserDAO();
         log.info("setUp [1] Инициализация DAO завершена");
         log.info(String.format(Constants.LOG_METHOD_END, methodName));
     }
@@ -59,7 +68,11 @@ public class TaskDAOTest {
             for (Project project : projects) {
                 projectDAO.delete(project.getId());
             }
-            log.info("tearDown [1] Все задачи, спринты и проекты удалены");
+            List<User> users = userDAO.findAll();
+            for (User user : users) {
+                userDAO.delete(user.getId());
+            }
+            log.info("tearDown [1] Все задачи, спринты, проекты и пользователи удалены");
             log.info(String.format(Constants.LOG_METHOD_END, methodName));
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось очистить данные: " + e.getMessage()), e);
@@ -238,4 +251,237 @@ public class TaskDAOTest {
             fail("Не удалось удалить задачу: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Тестирование выборок задач по спринту, исполнителю и статусу.
+     * Тип: Позитивный
+     */
+    @Test
+    public void testFindBySprintAssigneeAndStatus() {
+        String methodName = "testFindBySprintAssigneeAndStatus";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        try {
+            Project project = new Project("Тестовый проект", "Описание");
+            projectDAO.create(project);
+            Sprint first = new Sprint(new Date(), new Date(), project);
+            Sprint second = new Sprint(new Date(), new Date(), project);
+            sprintDAO.create(first);
+            sprintDAO.create(second);
+            User user = new User("Исполнитель", "worker@example.com", "Биография", true, new Date());
+            userDAO.create(user);
+            Task assigned = new Task("Задача 1", "Описание 1", TaskStatus.IN_PROGRESS, 1, first, user);
+            Task free = new Task("Задача 2", "Описание 2", TaskStatus.TO_DO, 2, first, null);
+            Task other = new Task("Задача 3", "Описание 3", TaskStatus.IN_PROGRESS, 3, second, user);
+            taskDAO.createAll(List.of(assigned, free, other));
+
+            log.info("testFindBySprintAssigneeAndStatus [1] Поиск задач спринта");
+            List<Task> sprintTasks = taskDAO.findBySprint(first.getId());
+            assertEquals("В первом спринте должно быть 2 задачи",
+                    List.of(assigned.getId(), free.getId()), sprintTasks.stream().map(Task::getId).toList());
+            assertEquals("Проект спринта должен быть загружен вместе с задачей",
+                    "Тестовый проект", sprintTasks.get(0).getSprint().getProject().getName());
+            log.info("testFindBySprintAssigneeAndStatus [2] Поиск задач пользователя");
+            assertEquals("Пользователю должно быть назначено 2 задачи",
+                    List.of(assigned.getId(), other.getId()), taskDAO.findByAssignee(user.getId()).stream().map(Task::getId).toList());
+            log.info("testFindBySprintAssigneeAndStatus [3] Поиск задач по статусу");
+            assertEquals("В работе должно быть 2 задачи", 2, taskDAO.findByStatus(TaskStatus.IN_PROGRESS).size());
+            assertTrue("Выполненных задач быть не должно", taskDAO.findByStatus(TaskStatus.DONE).isEmpty());
+            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось найти задачи: " + e.getMessage()), e);
+            fail("Не удалось найти задачи: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Тестирование постраничной keyset-выборки задач.
+     * Тип: Позитивный
+     */
+    @Test
+    public void testFindPage() {
+        String methodName = "testFindPage";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        try {
+            Project project = new Project("Тестовый проект", "Описание");
+            projectDAO.create(project);
+            Sprint sprint = new Sprint(new Date(), new Date(), project);
+            Sprint other = new Sprint(new Date(), new Date(), project);
+            sprintDAO.create(sprint);
+            sprintDAO.create(other);
+            List<Task> tasks = new ArrayList<>();
+            for (int i = 1; i <= 7; i++) {
+                tasks.add(new Task("Задача " + i, i % 3 == 0 ? null : "Описание", TaskStatus.TO_DO, i % 3, i < 7 ? sprint : other, null));
+            }
+            taskDAO.createAll(tasks);
+
+            log.info("testFindPage [1] Обход страниц по убыванию приоритета");
+            List<Integer> ids = new ArrayList<>();
+            Cursor cursor = null;
+            do {
+                Page<Task> page = taskDAO.findPage(cursor, 3, Sort.desc("priority"));
+                page.getItems().forEach(t -> ids.add(t.getId()));
+                cursor = page.getNext();
+            } while (cursor != null);
+            List<Integer> expected = tasks.stream().sorted(Sort.desc("priority").comparator()).map(Task::getId).toList();
+            assertEquals("Страницы должны покрывать все задачи в порядке сортировки", expected, ids);
+
+            log.info("testFindPage [2] Обход по полю с пустыми значениями");
+            Page<Task> first = taskDAO.findPage(null, 2, Sort.asc("description"));
+            assertNull("Пустые описания идут первыми", first.getItems().get(0).getDescription());
+            Page<Task> second = taskDAO.findPage(first.getNext(), 10, Sort.asc("description"));
+            assertEquals("Вторая страница должна содержать остальные задачи", 5, second.getItems().size());
+            assertFalse("Вторая страница последняя", second.hasNext());
+
+            log.info("testFindPage [3] Страницы задач спринта");
+            Page<Task> sprintPage = taskDAO.findBySprint(sprint.getId(), null, 4);
+            assertTrue("У спринта должна быть вторая страница", sprintPage.hasNext());
+            assertEquals("Вторая страница спринта должна содержать 2 задачи", 2,
+                    taskDAO.findBySprint(sprint.getId(), sprintPage.getNext(), 4).getItems().size());
+            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось выбрать страницы задач: " + e.getMessage()), e);
+            fail("Не удалось выбрать страницы задач: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Тестирование массового перевода задач спринта в другой статус.
+     * Тип: Позитивный
+     */
+    @Test
+    public void testBulkUpdateStatus() {
+        String methodName = "testBulkUpdateStatus";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        try {
+            Project project = new Project("Тестовый проект", "Описание");
+            projectDAO.create(project);
+            Sprint sprint = new Sprint(new Date(), new Date(), project);
+            Sprint other = new Sprint(new Date(), new Date(), project);
+            sprintDAO.create(sprint);
+            sprintDAO.create(other);
+            List<Task> tasks = new ArrayList<>();
+            for (int i = 0; i < 30; i++) {
+                tasks.add(new Task("Задача " + i, "Описание", TaskStatus.values()[i % 3], 1, i < 20 ? sprint : other, null));
+            }
+            taskDAO.createAll(tasks);
+            // Задача попадает в кэш второго уровня и должна быть из него вытеснена
+            assertEquals(TaskStatus.TO_DO, taskDAO.findById(tasks.get(0).getId()).orElseThrow().getStatus());
+
+            log.info("testBulkUpdateStatus [1] Перевод задач TO_DO в IN_PROGRESS");
+            assertEquals("Должно измениться 7 задач спринта", 7,
+                    taskDAO.bulkUpdateStatus(sprint.getId(), TaskStatus.TO_DO, TaskStatus.IN_PROGRESS));
+            assertEquals("Статус должен читаться после изменения", TaskStatus.IN_PROGRESS,
+                    taskDAO.findById(tasks.get(0).getId()).orElseThrow().getStatus());
+            assertEquals("Задачи другого спринта не должны меняться", 3, taskDAO.findBySprint(other.getId()).stream()
+                    .filter(t -> t.getStatus() == TaskStatus.TO_DO).count());
+
+            log.info("testBulkUpdateStatus [2] Закрытие спринта одним запросом");
+            long statements = SqlStatementCounter.count(() -> assertEquals("Должны закрыться все незавершенные задачи",
+                    14, taskDAO.bulkUpdateStatus(sprint.getId(), null, TaskStatus.DONE)));
+            assertEquals("Закрытие спринта должно выполняться одним оператором", 1, statements);
+            assertTrue("Все задачи спринта должны быть выполнены", taskDAO.findBySprint(sprint.getId()).stream()
+                    .allMatch(t -> t.getStatus() == TaskStatus.DONE));
+            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось изменить статус задач: " + e.getMessage()), e);
+            fail("Не удалось изменить статус задач: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Тестирование переназначения задач другому пользователю и снятия назначения.
+     * Тип: Позитивный
+     */
+    @Test
+    public void testReassign() {
+        String methodName = "testReassign";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        try {
+            User leaving = new User("Уходящий", "leaving@example.com", "Биография", true, new Date());
+            User successor = new User("Преемник", "successor@example.com", "Биография", true, new Date());
+            userDAO.create(leaving);
+            userDAO.create(successor);
+            taskDAO.createAll(List.of(new Task("Задача 1", "Описание", TaskStatus.TO_DO, 1, null, leaving),
+                    new Task("Задача 2", "Описание", TaskStatus.DONE, 2, null, leaving),
+                    new Task("Задача 3", "Описание", TaskStatus.TO_DO, 3, null, successor)));
+
+            log.info("testReassign [1] Переназначение задач");
+            assertEquals("Должно переназначиться 2 задачи", 2, taskDAO.reassign(leaving.getId(), successor.getId()));
+            assertTrue("У ушедшего пользователя не должно остаться задач", taskDAO.findByAssignee(leaving.getId()).isEmpty());
+            assertEquals("Преемнику должно быть назначено 3 задачи", 3, taskDAO.findByAssignee(successor.getId()).size());
+
+            log.info("testReassign [2] Снятие назначения");
+            assertEquals("Должно сняться 3 назначения", 3, taskDAO.reassign(successor.getId(), null));
+            assertTrue("Задачи не должны быть назначены", taskDAO.findAll().stream().allMatch(t -> t.getAssignedUser() == null));
+            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось переназначить задачи: " + e.getMessage()), e);
+            fail("Не удалось переназначить задачи: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Тест метрик JPA: таймеры операций, EntityManager, транзакции и операторы.
+     * Тип: Позитивный
+     */
+    @Test
+    public void testMetrics() {
+        String methodName = "testMetrics";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        MetricsRegistry previous = Instrumentation.getRegistry();
+        MetricsRegistry registry = new SimpleMetricsRegistry();
+        Instrumentation.setRegistry(registry);
+        try {
+            GenericDAO<Task, Integer> dao = InstrumentedDAO.wrap(taskDAO);
+            dao.create(new Task("Задача", "Описание", TaskStatus.TO_DO, 1, null, null));
+            assertEquals("Должна находиться одна задача", 1, dao.findAll().size());
+
+            Map<String, Long> counters = registry.getCounters();
+            log.info("testMetrics [1] Метрики:\n" + Instrumentation.dump());
+            assertEquals("Каждая операция должна открывать один EntityManager", Long.valueOf(2),
+                    counters.get(Instrumentation.JPA_ENTITY_MANAGERS));
+            assertEquals("Создание должно выполняться в одной транзакции", Long.valueOf(1),
+                    counters.get(Instrumentation.JPA_TRANSACTIONS));
+            assertTrue("Должны учитываться выполненные операторы", counters.get(Instrumentation.JPA_STATEMENTS) >= 2);
+            assertEquals("Должна учитываться прочитанная запись", Long.valueOf(1), counters.get("TaskDAO.rowsRead"));
+            assertEquals("findAll должен быть измерен", 1, registry.getTimers().get("TaskDAO.findAll").getCount());
+            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось проверить метрики: " + e.getMessage()), e);
+            fail("Не удалось проверить метрики: " + e.getMessage());
+        } finally {
+            Instrumentation.setRegistry(previous);
+        }
+    }
+
+    /**
+     * Запросы DAO попадают в журнал медленных запросов с параметрами и количеством строк.
+     * Тип: Позитивный
+     */
+    @Test
+    public void testSlowQueryLog() {
+        String methodName = "testSlowQueryLog";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        long threshold = SlowQueryLog.getThresholdMillis();
+        try {
+            taskDAO.create(new Task("Задача", "Описание", TaskStatus.IN_PROGRESS, 1, null, null));
+            SlowQueryLog.clear();
+            SlowQueryLog.setThresholdMillis(0);
+            assertEquals("Должна находиться одна задача", 1, taskDAO.findByStatus(TaskStatus.IN_PROGRESS).size());
+
+            List<SlowQueryLog.Entry> entries = SlowQueryLog.getEntries();
+            log.info("testSlowQueryLog [1] Журнал:\n" + SlowQueryLog.dump());
+            assertEquals("Должен быть записан один запрос", 1, entries.size());
+            assertTrue("Должен быть записан SQL запроса", entries.get(0).getSql().toLowerCase().contains("from tasks"));
+            assertEquals("Должен быть записан параметр статуса", List.of("IN_PROGRESS"), entries.get(0).getBinds());
+            assertEquals("Должна быть прочитана одна строка", 1, entries.get(0).getRows());
+            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось проверить журнал: " + e.getMessage()), e);
+            fail("Не удалось проверить журнал медленных запросов: " + e.getMessage());
+        } finally {
+            SlowQueryLog.setThresholdMillis(threshold);
+            SlowQueryLog.clear();
+        }
+    }
+}
@@ -4,6 +4,8 @@ import org.apache.log4j.Logger;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import ru.sfedu.agileflow.config.CacheStatistics;
+import ru.sfedu.agileflow.config.DatabaseConfig;
 import ru.sfedu.agileflow.constants.Constants;
 import ru.sfedu.agileflow.models.User;
 
@@ -143,6 +145,29 @@ public class UserDAOTest {
         }
     }
 
+    /**
+     * Тестирование кэширования результата поиска пользователя по email.
+     * Тип: Позитивный
+     */
+    @Test
+    public void testFindByEmailUsesQueryCache() {
+        String methodName = "testFindByEmailUsesQueryCache";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        userDAO.create(new User("Тестовый пользователь", "cached@example.com", "Био", true, new Date()));
+        DatabaseConfig.evictCache();
+        userDAO.findByEmail("cached@example.com");
+        long hits = queryCacheHits();
+        Optional<User> found = userDAO.findByEmail("cached@example.com");
+        assertTrue("Пользователь должен быть найден", found.isPresent());
+        assertEquals("Повторный поиск должен обслуживаться кэшем запросов", hits + 1, queryCacheHits());
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    private static long queryCacheHits() {
+        CacheStatistics statistics = DatabaseConfig.getCacheStatistics().get("query.userByEmail");
+        return statistics != null ? statistics.getHits() : 0;
+    }
+
     /**
      * Тестирование поиска пользователя по несуществующему email.
      * Тип: Негативный
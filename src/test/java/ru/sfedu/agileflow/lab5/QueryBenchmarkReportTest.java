@@ -0,0 +1,96 @@
+package ru.sfedu.agileflow.lab5;
+
+import org.apache.log4j.Logger;
+import org.junit.Test;
+import ru.sfedu.agileflow.constants.Constants;
+
+import static org.junit.Assert.*;
+
+/**
+ * Тестовый класс для проверки статистики отчета сравнения запросов.
+ */
+public class QueryBenchmarkReportTest {
+    private static final Logger log = Logger.getLogger(QueryBenchmarkReportTest.class);
+
+    /**
+     * Тестирование статистики на известной выборке.
+     * Тип: Позитивный
+     */
+    @Test
+    public void testStatistics() {
+        String methodName = "testStatistics";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        long[] samples = new long[100];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = samples.length - i;
+        }
+        QueryBenchmarkReport.Statistics statistics = QueryBenchmarkReport.Statistics.of("HQL", samples, 1_000_000_000L);
+        assertEquals("Количество замеров", 100, statistics.getCount());
+        assertEquals("Среднее", 50.5, statistics.getMeanNanos(), 1e-9);
+        assertEquals("Стандартное отклонение выборки", 29.011, statistics.getStdDevNanos(), 1e-3);
+        assertEquals("Нижняя граница интервала", 50.5 - 1.96 * 2.9011, statistics.getConfidenceLowNanos(), 1e-3);
+        assertEquals("Верхняя граница интервала", 50.5 + 1.96 * 2.9011, statistics.getConfidenceHighNanos(), 1e-3);
+        assertEquals("Минимум", 1, statistics.getMinNanos());
+        assertEquals("Медиана", 50, statistics.getP50Nanos());
+        assertEquals("p90", 90, statistics.getP90Nanos());
+        assertEquals("p99", 99, statistics.getP99Nanos());
+        assertEquals("Максимум", 100, statistics.getMaxNanos());
+        assertEquals("Операций в секунду", 100.0, statistics.getThroughput(), 1e-9);
+        assertEquals("Исходный массив не должен сортироваться", 100, samples[0]);
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    /**
+     * Тестирование интервала на малой выборке: используется распределение Стьюдента.
+     * Тип: Позитивный
+     */
+    @Test
+    public void testSmallSampleConfidenceInterval() {
+        String methodName = "testSmallSampleConfidenceInterval";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        QueryBenchmarkReport.Statistics statistics = QueryBenchmarkReport.Statistics.of("HQL", new long[]{10, 20}, 0);
+        assertEquals("Половина ширины интервала t(1) * s / sqrt(2)", 15 - 12.706 * 5,
+                statistics.getConfidenceLowNanos(), 1e-6);
+        assertEquals("Без времени замера пропускная способность неизвестна", 0.0, statistics.getThroughput(), 1e-9);
+
+        QueryBenchmarkReport.Statistics single = QueryBenchmarkReport.Statistics.of("HQL", new long[]{7}, 7);
+        assertEquals("Для одного замера интервал вырождается в точку", 7.0, single.getConfidenceHighNanos(), 1e-9);
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    /**
+     * Тестирование пустой выборки.
+     * Тип: Негативный
+     */
+    @Test
+    public void testEmptySamples() {
+        String methodName = "testEmptySamples";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        try {
+            QueryBenchmarkReport.Statistics.of("HQL", new long[0], 0);
+            fail("Ожидалось исключение для пустой выборки");
+        } catch (IllegalArgumentException e) {
+            log.info("testEmptySamples [1] Получено ожидаемое исключение: " + e.getMessage());
+        }
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+
+    /**
+     * Тестирование форматирования отчета и средних значений.
+     * Тип: Позитивный
+     */
+    @Test
+    public void testFormat() {
+        String methodName = "testFormat";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        QueryBenchmarkReport report = new QueryBenchmarkReport(1, 2, 3, 4);
+        report.add(QueryBenchmarkReport.Statistics.of("NativeSQL", new long[]{1000, 3000}, 4000));
+        report.add(QueryBenchmarkReport.Statistics.of("HQL", new long[]{2000}, 2000));
+        assertEquals("Средние в порядке замера", "{NativeSQL=2000, HQL=2000}", report.getMeans().toString());
+        String text = report.format();
+        log.info("testFormat [1] Отчет:\n" + text);
+        assertTrue("Заголовок с параметрами", text.contains("потоков 4"));
+        assertEquals("Заголовок, шапка и строка на вариант", 4, text.split("\\R").length);
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+}
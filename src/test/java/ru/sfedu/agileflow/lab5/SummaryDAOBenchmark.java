@@ -0,0 +1,182 @@
+package ru.sfedu.agileflow.lab5;
+
+import jakarta.persistence.EntityManager;
+import org.apache.log4j.LogManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import ru.sfedu.agileflow.config.DatabaseConfig;
+import ru.sfedu.agileflow.config.EmbeddedDatabase;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH-бенчмарк суммарных запросов SummaryDAO: NativeSQL, HQL и Criteria API на одних и тех же данных.
+ * По умолчанию работает на встроенной H2; rows задач распределены по {@value #PROJECTS} проектам,
+ * замеряются запросы по первому из них. Сводка projectSummary сравнивается с тремя отдельными
+ * запросами projectOverviewSeparate, portfolioSummaries строит сводки по всем проектам.
+ * Запуск: профиль Maven benchmark или main-метод; результаты пишутся в JSON.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SummaryDAOBenchmark {
+    private static final int PROJECTS = 10;
+    private static final int SPRINTS_PER_PROJECT = 10;
+    private static final int USERS = 100;
+    private static final int FLUSH_SIZE = 1000;
+
+    @Param({"1000", "100000", "1000000"})
+    private int rows;
+
+    private final SummaryDAO summaryDAO = new SummaryDAO();
+    private int projectId;
+    private final List<Integer> projectIds = new ArrayList<>();
+
+    @Setup
+    public void setUp() {
+        // Логирование каждой операции исказило бы замеры
+        LogManager.getLoggerRepository().setThreshold(org.apache.log4j.Level.WARN);
+        EmbeddedDatabase.configure();
+        try (EntityManager em = DatabaseConfig.getLab5EntityManager()) {
+            em.getTransaction().begin();
+            List<User> users = new ArrayList<>(USERS);
+            for (int i = 0; i < USERS; i++) {
+                User user = new User("Пользователь " + i, "user" + i + "@example.com", "Биография", true, new Date());
+                em.persist(user);
+                users.add(user);
+            }
+            List<Sprint> sprints = new ArrayList<>(PROJECTS * SPRINTS_PER_PROJECT);
+            for (int p = 0; p < PROJECTS; p++) {
+                Project project = new Project("Проект " + p, "Описание");
+                project.setUsers(new ArrayList<>(users.subList(p * USERS / PROJECTS, (p + 1) * USERS / PROJECTS)));
+                em.persist(project);
+                projectIds.add(project.getId());
+                if (p == 0) {
+                    projectId = project.getId();
+                }
+                for (int s = 0; s < SPRINTS_PER_PROJECT; s++) {
+                    Sprint sprint = new Sprint(new Date(), new Date(), project);
+                    em.persist(sprint);
+                    sprints.add(sprint);
+                }
+            }
+            em.flush();
+            List<Integer> sprintIds = sprints.stream().map(Sprint::getId).toList();
+            List<Integer> userIds = users.stream().map(User::getId).toList();
+            em.clear();
+            for (int i = 0; i < rows; i++) {
+                Sprint sprint = em.getReference(Sprint.class, sprintIds.get(i % sprintIds.size()));
+                User user = em.getReference(User.class, userIds.get(i % userIds.size()));
+                em.persist(new Task("Задача " + i, "Описание", TaskStatus.values()[i % 3], i % 5 + 1, sprint, user));
+                if ((i + 1) % FLUSH_SIZE == 0) {
+                    em.flush();
+                    em.clear();
+                }
+            }
+            em.getTransaction().commit();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        try (EntityManager em = DatabaseConfig.getLab5EntityManager()) {
+            em.getTransaction().begin();
+            em.createNativeQuery("DELETE FROM lab5_project_users").executeUpdate();
+            em.createQuery("DELETE FROM Task").executeUpdate();
+            em.createQuery("DELETE FROM Sprint").executeUpdate();
+            em.createQuery("DELETE FROM Project").executeUpdate();
+            em.createQuery("DELETE FROM User").executeUpdate();
+            em.getTransaction().commit();
+        }
+    }
+
+    @Benchmark
+    public Long taskCountNativeSQL() {
+        return summaryDAO.getTaskCountByProjectNativeSQL(projectId);
+    }
+
+    @Benchmark
+    public Long taskCountHQL() {
+        return summaryDAO.getTaskCountByProjectHQL(projectId);
+    }
+
+    @Benchmark
+    public Long taskCountCriteria() {
+        return summaryDAO.getTaskCountByProjectCriteria(projectId);
+    }
+
+    @Benchmark
+    public Long userCountNativeSQL() {
+        return summaryDAO.getUserCountByProjectNativeSQL(projectId);
+    }
+
+    @Benchmark
+    public Long userCountHQL() {
+        return summaryDAO.getUserCountByProjectHQL(projectId);
+    }
+
+    @Benchmark
+    public Long userCountCriteria() {
+        return summaryDAO.getUserCountByProjectCriteria(projectId);
+    }
+
+    @Benchmark
+    public Long sprintCountNativeSQL() {
+        return summaryDAO.getSprintCountByProjectNativeSQL(projectId);
+    }
+
+    @Benchmark
+    public Long sprintCountHQL() {
+        return summaryDAO.getSprintCountByProjectHQL(projectId);
+    }
+
+    @Benchmark
+    public Long sprintCountCriteria() {
+        return summaryDAO.getSprintCountByProjectCriteria(projectId);
+    }
+
+    @Benchmark
+    public long projectOverviewSeparate() {
+        return summaryDAO.getTaskCountByProjectNativeSQL(projectId)
+                + summaryDAO.getUserCountByProjectNativeSQL(projectId)
+                + summaryDAO.getSprintCountByProjectNativeSQL(projectId);
+    }
+
+    @Benchmark
+    public ProjectSummary projectSummary() {
+        return summaryDAO.getProjectSummary(projectId);
+    }
+
+    @Benchmark
+    public Map<Integer, ProjectSummary> portfolioSummaries() {
+        return summaryDAO.getProjectSummaries(projectIds);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(SummaryDAOBenchmark.class.getSimpleName())
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh-" + SummaryDAOBenchmark.class.getSimpleName() + ".json")
+                .build()).run();
+    }
+}
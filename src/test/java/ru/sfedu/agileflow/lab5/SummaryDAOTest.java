@@ -13,6 +13,7 @@ import ru.sfedu.agileflow.dao.UserDAO;
 
 import jakarta.persistence.EntityManager;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Date;
 import java.util.Map;
 
@@ -102,10 +103,13 @@ public class SummaryDAOTest {
             em.getTransaction().begin();
             em.createNativeQuery("DELETE FROM lab5_project_users").executeUpdate();
             em.createQuery("DELETE FROM Task").executeUpdate();
+            em.createQuery("DELETE FROM Retrospective").executeUpdate();
             em.createQuery("DELETE FROM Sprint").executeUpdate();
             em.createQuery("DELETE FROM Project").executeUpdate();
             em.createQuery("DELETE FROM User").executeUpdate();
             em.getTransaction().commit();
+            // Массовое удаление идет в обход слушателя счетчиков
+            ProjectSummaryCounters.invalidate();
             log.info("tearDown [1] Тестовые данные удалены");
         } catch (Exception e) {
             log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось очистить данные: " + e.getMessage()), e);
@@ -367,4 +371,239 @@ public class SummaryDAOTest {
             fail("Не удалось выполнить запросы: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Тестирование счетчиков проекта: значения совпадают с запросами к базе данных.
+     * Тип: Позитивный
+     */
+    @Test
+    public void testProjectCounters() {
+        String methodName = "testProjectCounters";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        try {
+            int projectId = testProject.getId();
+            assertEquals("Счетчики должны совпадать с базой данных",
+                    new ProjectSummaryCounters.Counts(summaryDAO.getTaskCountByProjectNativeSQL(projectId),
+                            summaryDAO.getSprintCountByProjectNativeSQL(projectId),
+                            summaryDAO.getUserCountByProjectNativeSQL(projectId)),
+                    summaryDAO.getProjectCounters(projectId));
+            assertNotNull("Счетчики должны быть загружены", ProjectSummaryCounters.get(projectId));
+            assertEquals("Должно быть 2 задачи", 2L, summaryDAO.getTaskCountByProject(projectId));
+            assertEquals("Должен быть 1 спринт", 1L, summaryDAO.getSprintCountByProject(projectId));
+            assertEquals("Должен быть 1 пользователь", 1L, summaryDAO.getUserCountByProject(projectId));
+            assertEquals("Для несуществующего проекта должно быть 0 задач", 0L, summaryDAO.getTaskCountByProject(999));
+            assertNull("Счетчики несуществующего проекта не должны сохраняться", ProjectSummaryCounters.get(999));
+            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()), e);
+            fail("Не удалось проверить счетчики проекта: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Тестирование инкрементального обновления счетчиков при создании и удалении задач, спринтов и участников.
+     * Тип: Позитивный
+     */
+    @Test
+    public void testProjectCountersIncrementalUpdate() {
+        String methodName = "testProjectCountersIncrementalUpdate";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        try {
+            int projectId = testProject.getId();
+            summaryDAO.getProjectCounters(projectId);
+
+            EntityManager em = DatabaseConfig.getLab5EntityManager();
+            try {
+                em.getTransaction().begin();
+                Project project = em.find(Project.class, projectId);
+                Sprint sprint = new Sprint(new Date(), new Date(), project);
+                em.persist(sprint);
+                em.persist(new Task("Задача 3", "Описание задачи 3", TaskStatus.DONE, 3, sprint, null));
+                User user = new User("Второй пользователь", "second@example.com", "Биография", true, new Date());
+                em.persist(user);
+                project.getUsers().add(user);
+                em.getTransaction().commit();
+            } finally {
+                em.close();
+            }
+            assertEquals("Счетчики должны учесть созданные записи",
+                    new ProjectSummaryCounters.Counts(3, 2, 2), ProjectSummaryCounters.get(projectId));
+
+            em = DatabaseConfig.getLab5EntityManager();
+            try {
+                em.getTransaction().begin();
+                Task task = em.createQuery("SELECT t FROM Task t WHERE t.title = :title", Task.class)
+                        .setParameter("title", "Задача 1")
+                        .getSingleResult();
+                em.remove(task);
+                em.getTransaction().commit();
+
+                em.getTransaction().begin();
+                Task rolledBack = em.createQuery("SELECT t FROM Task t WHERE t.title = :title", Task.class)
+                        .setParameter("title", "Задача 2")
+                        .getSingleResult();
+                em.remove(rolledBack);
+                em.flush();
+                em.getTransaction().rollback();
+            } finally {
+                em.close();
+            }
+            assertEquals("Откат транзакции не должен менять счетчики",
+                    new ProjectSummaryCounters.Counts(2, 2, 2), ProjectSummaryCounters.get(projectId));
+            assertEquals("Счетчики должны совпадать с базой данных",
+                    summaryDAO.getTaskCountByProjectNativeSQL(projectId).longValue(), summaryDAO.getTaskCountByProject(projectId));
+            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()), e);
+            fail("Не удалось проверить обновление счетчиков: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Тестирование сверки: изменения в обход Hibernate исправляются сверкой счетчиков.
+     * Тип: Позитивный
+     */
+    @Test
+    public void testReconcileSummaryCounters() {
+        String methodName = "testReconcileSummaryCounters";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        try {
+            int projectId = testProject.getId();
+            assertEquals("Должно быть 2 задачи", 2L, summaryDAO.getTaskCountByProject(projectId));
+            assertEquals("Без расхождений сверка ничего не исправляет", 0, summaryDAO.reconcileSummaryCounters());
+
+            EntityManager em = DatabaseConfig.getLab5EntityManager();
+            try {
+                em.getTransaction().begin();
+                em.createNativeQuery("DELETE FROM lab5_tasks WHERE title = 'Задача 1'").executeUpdate();
+                em.getTransaction().commit();
+            } finally {
+                em.close();
+            }
+            assertEquals("Массовое удаление не видно счетчикам", 2L, summaryDAO.getTaskCountByProject(projectId));
+            assertEquals("Сверка должна исправить один проект", 1, summaryDAO.reconcileSummaryCounters());
+            assertEquals("После сверки должна остаться 1 задача", 1L, summaryDAO.getTaskCountByProject(projectId));
+            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()), e);
+            fail("Не удалось проверить сверку счетчиков: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Тестирование сводки по проекту: задачи по статусам, спринты, участники, средний приоритет и ретроспективы.
+     * Тип: Позитивный
+     */
+    @Test
+    public void testGetProjectSummary() {
+        String methodName = "testGetProjectSummary";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        try {
+            ProjectSummary summary = summaryDAO.getProjectSummary(testProject.getId());
+            assertNotNull("Сводка должна быть найдена", summary);
+            assertEquals("Должна быть 1 задача TO_DO", 1L, summary.getTaskCount(TaskStatus.TO_DO));
+            assertEquals("Должна быть 1 задача IN_PROGRESS", 1L, summary.getTaskCount(TaskStatus.IN_PROGRESS));
+            assertEquals("Не должно быть задач DONE", 0L, summary.getTaskCount(TaskStatus.DONE));
+            assertEquals("Должно быть 2 задачи", 2L, summary.getTaskCount());
+            assertEquals("Должен быть 1 спринт", 1L, summary.getSprintCount());
+            assertEquals("Должен быть 1 участник", 1L, summary.getMemberCount());
+            assertEquals("Средний приоритет должен быть 1.5", 1.5, summary.getAveragePriority(), 1e-9);
+            assertEquals("Ретроспектив нет", 0.0, summary.getRetrospectiveCoverage(), 1e-9);
+            assertNull("Для несуществующего проекта сводки нет", summaryDAO.getProjectSummary(999));
+            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()), e);
+            fail("Не удалось получить сводку по проекту: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Тестирование сводок по нескольким проектам: пустой проект и покрытие ретроспективами.
+     * Тип: Позитивный
+     */
+    @Test
+    public void testGetProjectSummaries() {
+        String methodName = "testGetProjectSummaries";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        try {
+            Project emptyProject = new Project("Пустой проект", "Без задач");
+            EntityManager em = DatabaseConfig.getLab5EntityManager();
+            try {
+                em.getTransaction().begin();
+                em.persist(emptyProject);
+                Sprint sprint = em.find(Sprint.class, testSprint.getId());
+                em.persist(new Sprint(new Date(), new Date(), em.find(Project.class, testProject.getId())));
+                em.persist(new Retrospective(sprint, "Итоги", List.of("Улучшение"), List.of("Успех")));
+                em.getTransaction().commit();
+            } finally {
+                em.close();
+            }
+
+            Map<Integer, ProjectSummary> summaries = summaryDAO.getProjectSummaries(
+                    List.of(testProject.getId(), emptyProject.getId(), 999, testProject.getId()));
+            assertEquals("Должны найтись 2 проекта", 2, summaries.size());
+            ProjectSummary summary = summaries.get(testProject.getId());
+            assertEquals("Должно быть 2 спринта", 2L, summary.getSprintCount());
+            assertEquals("Ретроспектива должна быть у половины спринтов", 0.5, summary.getRetrospectiveCoverage(), 1e-9);
+            assertEquals("Сводка должна совпадать с запросом по одному проекту",
+                    summaryDAO.getProjectSummary(testProject.getId()), summary);
+
+            ProjectSummary empty = summaries.get(emptyProject.getId());
+            assertEquals("В пустом проекте нет задач", 0L, empty.getTaskCount());
+            assertEquals("В пустом проекте нет спринтов", 0L, empty.getSprintCount());
+            assertNull("Средний приоритет пустого проекта не определен", empty.getAveragePriority());
+            assertTrue("Пустой список проектов", summaryDAO.getProjectSummaries(List.of()).isEmpty());
+            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()), e);
+            fail("Не удалось получить сводки по проектам: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Тестирование отчета сравнения запросов: прогрев, параллельные потоки и статистика.
+     * Тип: Позитивный
+     */
+    @Test
+    public void testAnalyzeTaskCountPerformanceReport() {
+        String methodName = "testAnalyzeTaskCountPerformanceReport";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        try {
+            QueryBenchmarkReport report = summaryDAO.analyzeTaskCountPerformance(testProject.getId(), 2, 5, 2);
+            assertEquals("Должны быть замерены 3 варианта", List.of("NativeSQL", "HQL", "Criteria"),
+                    List.copyOf(report.getVariants().keySet()));
+            for (QueryBenchmarkReport.Statistics statistics : report.getVariants().values()) {
+                assertEquals("Замеры всех потоков", 10, statistics.getCount());
+                assertTrue("p50 <= p99 <= max", statistics.getP50Nanos() <= statistics.getP99Nanos()
+                        && statistics.getP99Nanos() <= statistics.getMaxNanos());
+                assertTrue("Среднее внутри доверительного интервала",
+                        statistics.getConfidenceLowNanos() <= statistics.getMeanNanos()
+                                && statistics.getMeanNanos() <= statistics.getConfidenceHighNanos());
+                assertTrue("Пропускная способность должна быть положительной", statistics.getThroughput() > 0);
+            }
+            assertTrue("Отчет должен содержать варианты", report.format().contains("Criteria"));
+            log.info("testAnalyzeTaskCountPerformanceReport [1] Отчет:\n" + report.format());
+            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, e.getMessage()), e);
+            fail("Не удалось построить отчет: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Тестирование сравнения запросов с некорректными параметрами.
+     * Тип: Негативный
+     */
+    @Test
+    public void testAnalyzeTaskCountPerformanceInvalidArguments() {
+        String methodName = "testAnalyzeTaskCountPerformanceInvalidArguments";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        try {
+            summaryDAO.analyzeTaskCountPerformance(testProject.getId(), 0, 0, 1);
+            fail("Ожидалось исключение для нулевого количества замеров");
+        } catch (IllegalArgumentException e) {
+            log.info("testAnalyzeTaskCountPerformanceInvalidArguments [1] Получено ожидаемое исключение: " + e.getMessage());
+        }
+        log.info(String.format(Constants.LOG_METHOD_END, methodName));
+    }
+}
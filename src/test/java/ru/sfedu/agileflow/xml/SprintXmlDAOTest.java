@@ -277,4 +277,34 @@ public class SprintXmlDAOTest {
             fail("Не удалось выполнить поиск: " + e.getMessage());
         }
     }
+
+    /**
+     * Тестирование поиска спринтов проекта.
+     * Тип: Позитивный
+     */
+    @Test
+    public void testFindByProject() {
+        String methodName = "testFindByProject";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        try {
+            Project project = new Project("Тестовый проект", "Описание");
+            Project other = new Project("Другой проект", "Описание");
+            projectDAO.create(project);
+            projectDAO.create(other);
+            Sprint first = new Sprint(new Date(), new Date(), project);
+            Sprint foreign = new Sprint(new Date(), new Date(), other);
+            Sprint second = new Sprint(new Date(), new Date(), project);
+            sprintDAO.createAll(List.of(first, foreign, second));
+            log.info("testFindByProject [1] Поиск спринтов проекта");
+            List<Sprint> sprints = sprintDAO.findByProject(project.getId());
+            assertEquals("У проекта должно быть 2 спринта", 2, sprints.size());
+            assertTrue("Чужой спринт не должен попасть в выборку",
+                    sprints.stream().noneMatch(s -> s.getId() == foreign.getId()));
+            assertTrue("У несуществующего проекта не должно быть спринтов", sprintDAO.findByProject(-1).isEmpty());
+            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось найти спринты: " + e.getMessage()), e);
+            fail("Не удалось найти спринты: " + e.getMessage());
+        }
+    }
 }
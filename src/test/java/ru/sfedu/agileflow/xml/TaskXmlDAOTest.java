@@ -13,6 +13,7 @@ import ru.sfedu.agileflow.models.TaskStatus;
 import ru.sfedu.agileflow.models.User;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
@@ -274,6 +275,42 @@ public class TaskXmlDAOTest {
         }
     }
 
+    /**
+     * Тестирование пакетных операций с задачами.
+     * Тип: Позитивный
+     */
+    @Test
+    public void testBatchOperations() {
+        String methodName = "testBatchOperations";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        try {
+            Project project = new Project("Тестовый проект", "Описание");
+            projectDAO.create(project);
+            Sprint sprint = new Sprint(new Date(), new Date(), project);
+            sprintDAO.create(sprint);
+            List<Task> tasks = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                tasks.add(new Task("Задача " + i, "Описание", TaskStatus.TO_DO, i % 5, sprint, null));
+            }
+            log.info("testBatchOperations [1] Пакетное создание задач");
+            taskDAO.createAll(tasks);
+            assertEquals("Должны быть созданы все задачи", 1000, taskDAO.findAll().size());
+
+            log.info("testBatchOperations [2] Пакетное обновление задач");
+            tasks.forEach(task -> task.setStatus(TaskStatus.DONE));
+            taskDAO.updateAll(tasks.subList(0, 10));
+            assertEquals("Должны быть обновлены 10 задач", 10, taskDAO.findByStatus(TaskStatus.DONE).size());
+
+            log.info("testBatchOperations [3] Пакетное удаление задач");
+            taskDAO.deleteAllById(tasks.subList(0, 500).stream().map(Task::getId).toList());
+            assertEquals("Должна остаться половина задач", 500, taskDAO.findAll().size());
+            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось выполнить пакетные операции: " + e.getMessage()), e);
+            fail("Не удалось выполнить пакетные операции: " + e.getMessage());
+        }
+    }
+
     /**
      * Тестирование поиска задач по статусу.
      * Тип: Позитивный
@@ -325,4 +362,40 @@ public class TaskXmlDAOTest {
             fail("Не удалось выполнить поиск: " + e.getMessage());
         }
     }
+
+    /**
+     * Тестирование поиска задач спринта и задач пользователя.
+     * Тип: Позитивный
+     */
+    @Test
+    public void testFindBySprintAndAssignee() {
+        String methodName = "testFindBySprintAndAssignee";
+        log.info(String.format(Constants.LOG_METHOD_START, methodName));
+        try {
+            Project project = new Project("Тестовый проект", "Описание");
+            projectDAO.create(project);
+            Sprint first = new Sprint(new Date(), new Date(), project);
+            Sprint second = new Sprint(new Date(), new Date(), project);
+            sprintDAO.create(first);
+            sprintDAO.create(second);
+            User user = new User("Тестовый пользователь", "test@example.com", "Биография", true, new Date());
+            userDAO.create(user);
+            Task assigned = new Task("Задача 1", "Описание 1", TaskStatus.TO_DO, 1, first, user);
+            Task free = new Task("Задача 2", "Описание 2", TaskStatus.TO_DO, 2, first, null);
+            Task other = new Task("Задача 3", "Описание 3", TaskStatus.DONE, 3, second, user);
+            taskDAO.createAll(List.of(assigned, free, other));
+
+            log.info("testFindBySprintAndAssignee [1] Поиск задач спринта и пользователя");
+            assertEquals("В первом спринте должно быть 2 задачи", 2, taskDAO.findBySprint(first.getId()).size());
+            assertEquals("Пользователю должно быть назначено 2 задачи", 2, taskDAO.findByAssignee(user.getId()).size());
+            other.setAssignedUser(null);
+            taskDAO.update(other);
+            assertEquals("После снятия назначения у пользователя должна остаться 1 задача",
+                    List.of(assigned.getId()), taskDAO.findByAssignee(user.getId()).stream().map(Task::getId).toList());
+            log.info(String.format(Constants.LOG_METHOD_END, methodName));
+        } catch (Exception e) {
+            log.error(String.format(Constants.LOG_ERROR, methodName, "Не удалось найти задачи: " + e.getMessage()), e);
+            fail("Не удалось найти задачи: " + e.getMessage());
+        }
+    }
 }